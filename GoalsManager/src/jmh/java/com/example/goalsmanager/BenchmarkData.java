@@ -0,0 +1,115 @@
+package com.example.goalsmanager;
+
+import com.example.goalsmanager.goalutils.GoalStatus;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.Habit;
+import com.example.goalsmanager.model.Note;
+import com.example.goalsmanager.model.Task;
+import com.example.goalsmanager.model.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entity graphs shaped like production data, shared by the benchmarks
+ */
+public final class BenchmarkData {
+
+    public static final LocalDate TODAY = LocalDate.of(2025, 10, 20);
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 1, 8, 30, 15, 123_456_000);
+
+    private BenchmarkData() {
+    }
+
+    public static User user() {
+        final User user = new User("github", "583231", "octocat", "octocat@example.com");
+        user.setId(1L);
+        user.setName("The Octocat");
+        user.setAvatarUrl("https://avatars.example.com/u/583231?v=4");
+        user.setBio("Building habits one day at a time");
+        user.setLocation("San Francisco");
+        user.setCreatedAt(CREATED);
+        user.setUpdatedAt(CREATED);
+        return user;
+    }
+
+    public static List<Goal> goals(final User user, final int count) {
+        final List<Goal> goals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final Goal goal = new Goal("Run a half marathon " + i,
+                    "Build up weekly mileage gradually and keep a journal of every run and how it felt.",
+                    LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), user);
+            goal.setId(100L + i);
+            goal.setImageUrl("https://images.example.com/goals/" + i + ".jpg");
+            goal.setEmoji("🏃");
+            goal.setStatus(GoalStatus.IN_PROGRESS);
+            goal.setCreatedAt(CREATED.plusSeconds(i * 86_401L));
+            goal.setUpdatedAt(CREATED.plusSeconds(i * 90_007L));
+            goals.add(goal);
+        }
+        return goals;
+    }
+
+    public static List<Habit> habits(final Goal goal, final int count) {
+        final String[] schedules = {"Mon, Wed, Fri", "Mon, Tue, Wed, Thu, Fri, Sat, Sun", "Tue, Thu", "Sat, Sun", "Mon, Tue, Wed, Thu, Fri"};
+        final List<Habit> habits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final Habit habit = new Habit("Habit " + i, "Do the thing for at least twenty minutes",
+                    schedules[i % schedules.length], goal.getStartDate(), goal.getEndDate(),
+                    "#3B82F6", goal, goal.getUser());
+            habit.setId(1_000L + i);
+            habit.setStreakStatus(i % 12);
+            habit.setCreatedAt(CREATED.plusSeconds(i * 3_607L));
+            habit.setUpdatedAt(CREATED.plusSeconds(i * 7_919L));
+            habits.add(habit);
+        }
+        return habits;
+    }
+
+    /**
+     * One task per habit per day for the week starting at TODAY, like a week-view response
+     */
+    public static List<Task> weekOfTasks(final List<Habit> habits) {
+        final List<Task> tasks = new ArrayList<>(habits.size() * 7);
+        long id = 10_000L;
+        for (int day = 0; day < 7; day++) {
+            for (final Habit habit : habits) {
+                final Task task = new Task(habit.getName(), TODAY.plusDays(day), habit, habit.getUser());
+                task.setId(id++);
+                task.setCompleted(id % 3 != 0);
+                task.setCreatedAt(CREATED.plusSeconds(id * 2_237L));
+                task.setUpdatedAt(CREATED.plusSeconds(id * 4_111L));
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Daily task history for one habit ending at TODAY, newest first, as read by the streak calculation
+     */
+    public static List<Task> history(final Habit habit, final int days, final int brokenAtDay) {
+        final List<Task> tasks = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            final Task task = new Task(habit.getName(), TODAY.minusDays(i), habit, habit.getUser());
+            task.setId(50_000L + i);
+            task.setCompleted(i != brokenAtDay);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    public static List<Note> notes(final Goal goal, final int count) {
+        final List<Note> notes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final Note note = new Note("Day " + i + ": easy 5k at conversational pace. Legs felt heavy for the first "
+                    + "kilometre but loosened up. Remember to stretch calves tonight.", goal);
+            note.setId(20_000L + i);
+            note.setCreatedAt(CREATED.plusSeconds(i * 86_400L));
+            notes.add(note);
+        }
+        return notes;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.goalsmanager.compression;
+
+import com.example.goalsmanager.datagen.DatasetSpec;
+import com.example.goalsmanager.datagen.SyntheticDataGenerator;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * lz4 (what V12 switches notes.content to) against pglz (PostgreSQL's default) on the long notes
+ * of the generated corpus. Each invocation compresses or decompresses every note over 800 bytes;
+ * setUp prints the stored/raw ratio each method would give, counting PostgreSQL's 8-byte header
+ * for a compressed value and 4 bytes for one stored as it is.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NoteCompressionBenchmark {
+
+    private static final int LONG_NOTE_BYTES = 800;
+    private static final int COMPRESSED_HEADER = 8;
+    private static final int PLAIN_HEADER = 4;
+
+    private final LZ4Compressor lz4Compressor = LZ4Factory.safeInstance().fastCompressor();
+    private final LZ4SafeDecompressor lz4Decompressor = LZ4Factory.safeInstance().safeDecompressor();
+    private final Pglz pglz = new Pglz();
+
+    private byte[][] notes;
+    private byte[][] lz4;
+    private int[] lz4Lengths;
+    private byte[][] pglzOut;
+    private int[] pglzLengths;
+    private byte[] scratch;
+
+    @Setup
+    public void setUp() {
+        final List<String> contents = new SyntheticDataGenerator(DatasetSpec.small().withUsers(2000)).noteContents();
+        notes = contents.stream()
+                .map(content -> content.getBytes(StandardCharsets.UTF_8))
+                .filter(bytes -> bytes.length > LONG_NOTE_BYTES)
+                .toArray(byte[][]::new);
+        lz4 = new byte[notes.length][];
+        lz4Lengths = new int[notes.length];
+        pglzOut = new byte[notes.length][];
+        pglzLengths = new int[notes.length];
+        int maxOutput = 0;
+        long raw = 0;
+        long lz4Stored = 0;
+        long pglzStored = 0;
+        int pglzRejected = 0;
+        for (int i = 0; i < notes.length; i++) {
+            final byte[] note = notes[i];
+            raw += note.length;
+            lz4[i] = new byte[lz4Compressor.maxCompressedLength(note.length)];
+            lz4Lengths[i] = lz4Compressor.compress(note, 0, note.length, lz4[i], 0);
+            lz4Stored += stored(note.length, lz4Lengths[i]);
+            pglzOut[i] = new byte[Pglz.maxOutput(note.length)];
+            pglzLengths[i] = pglz.compress(note, pglzOut[i]);
+            pglzStored += stored(note.length, pglzLengths[i]);
+            if (pglzLengths[i] < 0) {
+                pglzRejected++;
+            } else if (!Arrays.equals(note, Pglz.decompress(pglzOut[i], pglzLengths[i], note.length))) {
+                throw new IllegalStateException("pglz round trip failed for note " + i);
+            }
+            maxOutput = Math.max(maxOutput, Math.max(lz4[i].length, pglzOut[i].length));
+        }
+        scratch = new byte[maxOutput];
+        System.out.printf("%n%d notes over %d bytes, %d raw bytes%n", notes.length, LONG_NOTE_BYTES, raw);
+        System.out.printf("lz4  stored %d bytes, %.3f of raw%n", lz4Stored, (double) lz4Stored / raw);
+        System.out.printf("pglz stored %d bytes, %.3f of raw, %d stored uncompressed%n",
+                pglzStored, (double) pglzStored / raw, pglzRejected);
+    }
+
+    private static long stored(final int raw, final int compressed) {
+        return compressed >= 0 && compressed + COMPRESSED_HEADER < raw + PLAIN_HEADER
+                ? compressed + COMPRESSED_HEADER
+                : raw + PLAIN_HEADER;
+    }
+
+    @Benchmark
+    public int lz4Compress() {
+        int total = 0;
+        for (final byte[] note : notes) {
+            total += lz4Compressor.compress(note, 0, note.length, scratch, 0);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int pglzCompress() {
+        int total = 0;
+        for (final byte[] note : notes) {
+            total += pglz.compress(note, scratch);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int lz4Decompress() {
+        int total = 0;
+        for (int i = 0; i < notes.length; i++) {
+            total += lz4Decompressor.decompress(lz4[i], 0, lz4Lengths[i], scratch, 0, notes[i].length);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int pglzDecompress() {
+        int total = 0;
+        for (int i = 0; i < notes.length; i++) {
+            if (pglzLengths[i] >= 0) {
+                total += Pglz.decompress(pglzOut[i], pglzLengths[i], notes[i].length).length;
+            }
+        }
+        return total;
+    }
+}
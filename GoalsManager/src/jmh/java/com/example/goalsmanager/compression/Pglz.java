@@ -0,0 +1,253 @@
+package com.example.goalsmanager.compression;
+
+/**
+ * PostgreSQL's pglz (src/common/pg_lzcompress.c) with its default strategy, ported line for line
+ * so the benchmark measures the ratio the server would store. A value is stored compressed only
+ * if it saves at least 25% and a match turns up within the first 1 KB of output.
+ */
+final class Pglz {
+
+    private static final int MAX_HISTORY_LISTS = 8192;
+    private static final int HISTORY_SIZE = 4096;
+    private static final int MAX_MATCH = 273;
+
+    // PGLZ_strategy_default
+    private static final int MIN_INPUT_SIZE = 32;
+    private static final int MIN_COMP_RATE = 25;
+    private static final int FIRST_SUCCESS_BY = 1024;
+    private static final int MATCH_SIZE_GOOD = 128;
+    private static final int MATCH_SIZE_DROP = 10;
+
+    private static final int INVALID_ENTRY = 0;
+
+    // History: hash lists of recent positions; entry 0 is the end-of-list marker
+    private final short[] histStart = new short[MAX_HISTORY_LISTS];
+    private final int[] entryNext = new int[HISTORY_SIZE + 1];
+    private final int[] entryPrev = new int[HISTORY_SIZE + 1];
+    private final int[] entryHindex = new int[HISTORY_SIZE + 1];
+    private final int[] entryPos = new int[HISTORY_SIZE + 1];
+    private int histNext;
+    private boolean histRecycle;
+
+    // Output: the current control byte, where it goes, and the bit for the next item
+    private byte[] out;
+    private int bp;
+    private int ctrlp;
+    private int ctrlb;
+    private int ctrl;
+
+    /**
+     * Worst case output size for an input of the given size
+     */
+    static int maxOutput(final int length) {
+        return length + 4;
+    }
+
+    /**
+     * Compress into dest
+     * @return the compressed size, or -1 if the value would be stored uncompressed
+     */
+    int compress(final byte[] source, final byte[] dest) {
+        final int slen = source.length;
+        if (slen < MIN_INPUT_SIZE) {
+            return -1;
+        }
+        int goodMatch = Math.max(17, Math.min(MATCH_SIZE_GOOD, MAX_MATCH));
+        final int goodDrop = Math.max(0, Math.min(MATCH_SIZE_DROP, 100));
+        final int needRate = Math.max(0, Math.min(MIN_COMP_RATE, 99));
+        final int resultMax = slen > Integer.MAX_VALUE / 100
+                ? (slen / 100) * (100 - needRate)
+                : (slen * (100 - needRate)) / 100;
+
+        final int hashSize = slen < 128 ? 512 : slen < 256 ? 1024 : slen < 512 ? 2048 : slen < 1024 ? 4096 : 8192;
+        final int mask = hashSize - 1;
+        java.util.Arrays.fill(histStart, 0, hashSize, (short) 0);
+        histNext = 1;
+        histRecycle = false;
+
+        out = dest;
+        bp = 0;
+        ctrlp = -1;
+        ctrlb = 0;
+        ctrl = 0;
+        boolean foundMatch = false;
+        final int[] match = new int[2];
+
+        int dp = 0;
+        while (dp < slen) {
+            if (bp >= resultMax) {
+                return -1;
+            }
+            if (!foundMatch && bp >= FIRST_SUCCESS_BY) {
+                return -1;
+            }
+            if (findMatch(source, dp, slen, match, goodMatch, goodDrop, mask)) {
+                outTag(match[0], match[1]);
+                for (int i = 0; i < match[0]; i++) {
+                    histAdd(source, dp, slen, mask);
+                    dp++;
+                }
+                foundMatch = true;
+            } else {
+                outLiteral(source[dp]);
+                histAdd(source, dp, slen, mask);
+                dp++;
+            }
+        }
+        if (ctrlp >= 0) {
+            out[ctrlp] = (byte) ctrlb;
+        }
+        return bp >= resultMax ? -1 : bp;
+    }
+
+    /**
+     * Decompress a value of rawSize bytes
+     */
+    static byte[] decompress(final byte[] source, final int slen, final int rawSize) {
+        final byte[] dest = new byte[rawSize];
+        int sp = 0;
+        int dp = 0;
+        while (sp < slen && dp < rawSize) {
+            int ctrl = source[sp++] & 0xff;
+            for (int ctrlc = 0; ctrlc < 8 && sp < slen && dp < rawSize; ctrlc++) {
+                if ((ctrl & 1) != 0) {
+                    int len = (source[sp] & 0x0f) + 3;
+                    final int off = ((source[sp] & 0xf0) << 4) | (source[sp + 1] & 0xff);
+                    sp += 2;
+                    if (len == 18) {
+                        len += source[sp++] & 0xff;
+                    }
+                    if (sp > slen || off == 0 || off > dp) {
+                        throw new IllegalArgumentException("compressed pglz data is corrupt");
+                    }
+                    len = Math.min(len, rawSize - dp);
+                    for (int i = 0; i < len; i++) {
+                        dest[dp] = dest[dp - off];
+                        dp++;
+                    }
+                } else {
+                    dest[dp++] = source[sp++];
+                }
+                ctrl >>= 1;
+            }
+        }
+        return dest;
+    }
+
+    private static int histIndex(final byte[] s, final int pos, final int end, final int mask) {
+        if (end - pos < 4) {
+            return s[pos] & mask;
+        }
+        return ((s[pos] << 6) ^ (s[pos + 1] << 4) ^ (s[pos + 2] << 2) ^ s[pos + 3]) & mask;
+    }
+
+    private void histAdd(final byte[] s, final int pos, final int end, final int mask) {
+        final int hindex = histIndex(s, pos, end, mask);
+        final int hn = histNext;
+        if (histRecycle) {
+            if (entryPrev[hn] < 0) {
+                histStart[entryHindex[hn]] = (short) entryNext[hn];
+            } else {
+                entryNext[entryPrev[hn]] = entryNext[hn];
+            }
+            entryPrev[entryNext[hn]] = entryPrev[hn];
+        }
+        entryNext[hn] = histStart[hindex];
+        entryPrev[hn] = -1;
+        entryHindex[hn] = hindex;
+        entryPos[hn] = pos;
+        if (histStart[hindex] != INVALID_ENTRY) {
+            entryPrev[histStart[hindex]] = hn;
+        }
+        histStart[hindex] = (short) hn;
+        if (++histNext >= HISTORY_SIZE + 1) {
+            histNext = 1;
+            histRecycle = true;
+        }
+    }
+
+    /**
+     * Longest match for the input at pos among the history, into match as {length, offset}
+     */
+    private boolean findMatch(final byte[] s, final int pos, final int end, final int[] match,
+                              int goodMatch, final int goodDrop, final int mask) {
+        int len = 0;
+        int off = 0;
+        int hent = histStart[histIndex(s, pos, end, mask)];
+        while (hent != INVALID_ENTRY) {
+            int ip = pos;
+            int hp = entryPos[hent];
+            final int thisOff = ip - hp;
+            if (thisOff >= 0x0fff) {
+                break;
+            }
+            int thisLen = 0;
+            if (len >= 16) {
+                if (java.util.Arrays.equals(s, ip, ip + len, s, hp, hp + len)) {
+                    thisLen = len;
+                    ip += len;
+                    hp += len;
+                    while (ip < end && s[ip] == s[hp] && thisLen < MAX_MATCH) {
+                        thisLen++;
+                        ip++;
+                        hp++;
+                    }
+                }
+            } else {
+                while (ip < end && s[ip] == s[hp] && thisLen < MAX_MATCH) {
+                    thisLen++;
+                    ip++;
+                    hp++;
+                }
+            }
+            if (thisLen > len) {
+                len = thisLen;
+                off = thisOff;
+            }
+            hent = entryNext[hent];
+            if (hent != INVALID_ENTRY) {
+                if (len >= goodMatch) {
+                    break;
+                }
+                goodMatch -= (goodMatch * goodDrop) / 100;
+            }
+        }
+        if (len > 2) {
+            match[0] = len;
+            match[1] = off;
+            return true;
+        }
+        return false;
+    }
+
+    private void outCtrl() {
+        if ((ctrl & 0xff) == 0) {
+            if (ctrlp >= 0) {
+                out[ctrlp] = (byte) ctrlb;
+            }
+            ctrlp = bp++;
+            ctrlb = 0;
+            ctrl = 1;
+        }
+    }
+
+    private void outLiteral(final byte b) {
+        outCtrl();
+        out[bp++] = b;
+        ctrl = (ctrl << 1) & 0xff;
+    }
+
+    private void outTag(final int len, final int off) {
+        outCtrl();
+        ctrlb |= ctrl;
+        ctrl = (ctrl << 1) & 0xff;
+        if (len > 17) {
+            out[bp++] = (byte) (((off & 0xf00) >> 4) | 0x0f);
+            out[bp++] = (byte) (off & 0xff);
+            out[bp++] = (byte) (len - 18);
+        } else {
+            out[bp++] = (byte) (((off & 0xf00) >> 4) | (len - 3));
+            out[bp++] = (byte) (off & 0xff);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.goalsmanager.dto;
+
+import com.example.goalsmanager.BenchmarkData;
+import com.example.goalsmanager.goalutils.GoalStatus;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.Habit;
+import com.example.goalsmanager.model.Task;
+import com.example.goalsmanager.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson serialization of typical list payloads, plus the gzip step applied by the server
+ * for responses above the compression threshold
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    /**
+     * Habits per user: the week view returns 7 tasks per habit
+     */
+    @Param({"1", "5", "20"})
+    public int habitCount;
+
+    private ObjectMapper objectMapper;
+    private List<TaskDTO> weekTasks;
+    private List<GoalDTO> goals;
+    private List<HabitDTO> habits;
+    private byte[] weekTasksJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same defaults Spring Boot applies to its ObjectMapper (ISO dates, JavaTimeModule)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        final User user = BenchmarkData.user();
+        final List<Goal> goalEntities = BenchmarkData.goals(user, habitCount);
+        final List<Habit> habitEntities = BenchmarkData.habits(goalEntities.get(0), habitCount);
+        final List<Task> taskEntities = BenchmarkData.weekOfTasks(habitEntities);
+
+        goals = goalEntities.stream().map(JsonSerializationBenchmark::toDto).toList();
+        habits = habitEntities.stream().map(JsonSerializationBenchmark::toDto).toList();
+        weekTasks = taskEntities.stream().map(JsonSerializationBenchmark::toDto).toList();
+        weekTasksJson = objectMapper.writeValueAsBytes(weekTasks);
+    }
+
+    @Benchmark
+    public byte[] serializeWeekTasks() throws IOException {
+        return objectMapper.writeValueAsBytes(weekTasks);
+    }
+
+    @Benchmark
+    public byte[] serializeGoals() throws IOException {
+        return objectMapper.writeValueAsBytes(goals);
+    }
+
+    @Benchmark
+    public byte[] serializeHabits() throws IOException {
+        return objectMapper.writeValueAsBytes(habits);
+    }
+
+    @Benchmark
+    public byte[] gzipWeekTasks() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(weekTasksJson.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(weekTasksJson);
+        }
+        return out.toByteArray();
+    }
+
+    private static TaskDTO toDto(final Task task) {
+        return new TaskDTO(task.getId(), task.getName(), task.getCompleted(), task.getDate(),
+                task.getHabit().getId(), task.getHabit().getName(), task.getHabit().getColor(),
+                task.getUser().getId(), task.getUser().getUsername(), task.getCreatedAt(), task.getUpdatedAt());
+    }
+
+    private static GoalDTO toDto(final Goal goal) {
+        return new GoalDTO(goal.getId(), goal.getTitle(), goal.getDescription(), goal.getImageUrl(),
+                goal.getEmoji(), goal.getStartDate(), goal.getEndDate(), GoalStatus.IN_PROGRESS,
+                goal.getUser().getId(), goal.getUser().getUsername(), goal.getCreatedAt(), goal.getUpdatedAt());
+    }
+
+    private static HabitDTO toDto(final Habit habit) {
+        return new HabitDTO(habit.getId(), habit.getName(), habit.getDescription(), habit.getDaysOfWeek(),
+                habit.getStartDate(), habit.getEndDate(), habit.getStreakStatus(), habit.getColor(),
+                habit.getGoal().getId(), habit.getGoal().getTitle(), habit.getUser().getId(),
+                habit.getUser().getUsername(), habit.getCreatedAt(), habit.getUpdatedAt());
+    }
+}
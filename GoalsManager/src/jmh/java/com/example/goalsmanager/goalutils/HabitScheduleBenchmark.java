@@ -0,0 +1,66 @@
+package com.example.goalsmanager.goalutils;
+
+import com.example.goalsmanager.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Day-of-week parsing and schedule enumeration used by lazy task generation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HabitScheduleBenchmark {
+
+    @Param({"Mon, Wed, Fri", "Mon, Tue, Wed, Thu, Fri, Sat, Sun"})
+    public String daysOfWeek;
+
+    private Set<DayOfWeek> days;
+
+    /**
+     * Requested range: a week view, a month view and a year heatmap
+     */
+    @State(Scope.Benchmark)
+    public static class Range {
+
+        @Param({"7", "31", "365"})
+        public int rangeDays;
+
+        private LocalDate start;
+        private LocalDate end;
+
+        @Setup
+        public void setUp() {
+            start = BenchmarkData.TODAY;
+            end = start.plusDays(rangeDays - 1L);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        days = HabitSchedule.parseDaysOfWeek(daysOfWeek);
+    }
+
+    @Benchmark
+    public Set<DayOfWeek> parseDaysOfWeek() {
+        return HabitSchedule.parseDaysOfWeek(daysOfWeek);
+    }
+
+    @Benchmark
+    public List<LocalDate> scheduledDates(final Range range) {
+        return HabitSchedule.scheduledDates(days, LocalDate.of(2025, 1, 1), LocalDate.of(2026, 12, 31),
+                range.start, range.end);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.goalsmanager.goalutils;
+
+import com.example.goalsmanager.BenchmarkData;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.Habit;
+import com.example.goalsmanager.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streak calculation over a habit's task history: the old row scan against the completion
+ * bitmap updateHabitStreak now uses, restored from its stored bytes as on every toggle
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StreakCalculatorBenchmark {
+
+    @Param({"30", "365", "1825"})
+    public int historyDays;
+
+    /**
+     * Day (counting back from today) of the first missed task; -1 means never missed
+     */
+    @Param({"3", "-1"})
+    public int brokenAtDay;
+
+    private List<Task> history;
+    private LocalDate today;
+    private LocalDate origin;
+    private byte[] taskDays;
+    private byte[] completedDays;
+
+    @Setup
+    public void setUp() {
+        final Goal goal = BenchmarkData.goals(BenchmarkData.user(), 1).get(0);
+        final Habit habit = BenchmarkData.habits(goal, 1).get(0);
+        history = BenchmarkData.history(habit, historyDays, brokenAtDay);
+
+        final CompletionBitmap bitmap = CompletionBitmap.empty();
+        for (final Task task : history) {
+            bitmap.set(task.getDate(), task.getCompleted());
+        }
+        today = history.get(0).getDate();
+        origin = bitmap.origin();
+        taskDays = bitmap.taskBytes();
+        completedDays = bitmap.completedBytes();
+    }
+
+    @Benchmark
+    public int currentStreak() {
+        return StreakCalculator.currentStreak(history);
+    }
+
+    @Benchmark
+    public int bitmapCurrentStreak() {
+        return CompletionBitmap.of(origin, taskDays, completedDays).currentStreak(today);
+    }
+
+    @Benchmark
+    public int bitmapLongestStreak() {
+        return CompletionBitmap.of(origin, taskDays, completedDays).longestStreak(today);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.GoalsManagerApplication;
+import com.example.goalsmanager.datagen.DatasetSpec;
+import com.example.goalsmanager.datagen.GeneratedDataset;
+import com.example.goalsmanager.datagen.SyntheticDataGenerator;
+import com.example.goalsmanager.metrics.SqlStatementCounter;
+import com.example.goalsmanager.repository.UserRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deleting a whole user through the JPA cascades (the old path) against the set-based
+ * BulkDeleteService, on a generated dataset in in-memory H2. Every invocation deletes the
+ * next generated user; the seed is fixed, so both strategies delete the same users.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BulkDeleteBenchmark {
+
+    @Param({"jpaCascade", "bulk"})
+    public String strategy;
+
+    @Param({"365", "1825"})
+    public int historyDays;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transaction;
+    private UserRepository userRepository;
+    private BulkDeleteService bulkDeleteService;
+    private SqlStatementCounter counter;
+    private GeneratedDataset dataset;
+    private long nextUserId;
+
+    /**
+     * Statements issued per deleted user, reported next to the timing
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+
+        public long statements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // Component scanning picks up every benchmark's configuration, so share the one providing the MeterRegistry
+        context = new SpringApplicationBuilder(GoalsManagerApplication.class, TaskServiceBenchmark.BenchmarkConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bulkdelete",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        userRepository = context.getBean(UserRepository.class);
+        bulkDeleteService = context.getBean(BulkDeleteService.class);
+        counter = context.getBean(SqlStatementCounter.class);
+
+        final DatasetSpec spec = DatasetSpec.small().withUsers(40).withHistoryDays(historyDays);
+        try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+            dataset = new SyntheticDataGenerator(spec).generate(connection);
+        }
+        nextUserId = 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void deleteUser(final Statements statements) {
+        final long userId = nextUserId++;
+        if (userId > dataset.users()) {
+            throw new IllegalStateException("Generated users exhausted, raise users or lower iterations");
+        }
+        try (SqlStatementCounter.Scope scope = counter.open()) {
+            transaction.executeWithoutResult(status -> {
+                if ("bulk".equals(strategy)) {
+                    bulkDeleteService.deleteUser(userId);
+                } else {
+                    userRepository.deleteById(userId);
+                }
+            });
+            statements.statements += scope.count();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.BenchmarkData;
+import com.example.goalsmanager.dto.GoalDTO;
+import com.example.goalsmanager.dto.HabitDTO;
+import com.example.goalsmanager.dto.NoteDTO;
+import com.example.goalsmanager.dto.TaskDTO;
+import com.example.goalsmanager.dto.UserDTO;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.Habit;
+import com.example.goalsmanager.model.Note;
+import com.example.goalsmanager.model.Task;
+import com.example.goalsmanager.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping for every DTO, on detached entities (no lazy loading involved)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoConversionBenchmark {
+
+    private User user;
+    private Goal goal;
+    private Habit habit;
+    private Task task;
+    private Note note;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkData.user();
+        goal = BenchmarkData.goals(user, 1).get(0);
+        final List<Habit> habits = BenchmarkData.habits(goal, 1);
+        habit = habits.get(0);
+        task = BenchmarkData.weekOfTasks(habits).get(0);
+        note = BenchmarkData.notes(goal, 1).get(0);
+    }
+
+    @Benchmark
+    public UserDTO userToDto() {
+        return new UserDTO(user);
+    }
+
+    @Benchmark
+    public GoalDTO goalToDto() {
+        return GoalService.convertToDTO(goal);
+    }
+
+    @Benchmark
+    public HabitDTO habitToDto() {
+        return HabitService.convertToDTO(habit);
+    }
+
+    @Benchmark
+    public TaskDTO taskToDto() {
+        return TaskService.convertToDTO(task);
+    }
+
+    @Benchmark
+    public NoteDTO noteToDto() {
+        return NoteService.convertToDTO(note);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.GoalsManagerApplication;
+import com.example.goalsmanager.datagen.DatasetSpec;
+import com.example.goalsmanager.datagen.GeneratedDataset;
+import com.example.goalsmanager.datagen.SyntheticDataGenerator;
+import com.example.goalsmanager.dto.TaskDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService read and write paths against a generated dataset on in-memory H2,
+ * without the HTTP layer. The database lives on the heap, hence the fixed heap size.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskServiceBenchmark {
+
+    @Param({"250"})
+    public int users;
+
+    @Param({"90", "365"})
+    public int historyDays;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private GeneratedDataset dataset;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // Command line arguments take precedence over the main application.properties (PostgreSQL)
+        context = new SpringApplicationBuilder(GoalsManagerApplication.class, BenchmarkConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        taskService = context.getBean(TaskService.class);
+
+        final DatasetSpec spec = DatasetSpec.small().withUsers(users).withHistoryDays(historyDays);
+        try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+            dataset = new SyntheticDataGenerator(spec).generate(connection);
+        }
+        random = new SplittableRandom(spec.seed());
+    }
+
+    /**
+     * The benchmark jar keeps only one AutoConfiguration.imports file, so the actuator
+     * auto-configuration that normally provides the MeterRegistry is missing
+     */
+    @Configuration
+    static class BenchmarkConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskDTO> weekView() {
+        final LocalDate weekStart = dataset.weekStart();
+        return taskService.getTasksByUserIdAndDateRange(1 + random.nextLong(dataset.users()),
+                weekStart, weekStart.plusDays(6));
+    }
+
+    /**
+     * Toggle includes the streak recomputation, which reads the habit's whole history
+     */
+    @Benchmark
+    public TaskDTO toggleTask() {
+        final long[] taskIds = dataset.currentWeekTaskIds();
+        return taskService.toggleTaskCompletion(taskIds[random.nextInt(taskIds.length)]);
+    }
+}
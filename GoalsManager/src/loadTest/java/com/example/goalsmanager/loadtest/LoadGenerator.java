@@ -0,0 +1,128 @@
+package com.example.goalsmanager.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-model HTTP load generator: a fixed number of workers each send one request at a
+ * time, picking the next operation from a weighted mix. Every worker has its own seeded
+ * random source, so the same seed replays the same sequence of requests per worker.
+ */
+public final class LoadGenerator {
+
+    /**
+     * Builds the next request for an operation from the worker's random source
+     */
+    @FunctionalInterface
+    public interface RequestFactory {
+        HttpRequest create(SplittableRandom random);
+    }
+
+    /**
+     * One entry of the workload mix. The endpoint is the URI template used as the report key.
+     */
+    public record Operation(String endpoint, int weight, RequestFactory requestFactory) {
+    }
+
+    private final HttpClient client;
+    private final List<Operation> operations;
+    private final int totalWeight;
+    private final long seed;
+
+    public LoadGenerator(final List<Operation> operations, final long seed) {
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("At least one operation is required");
+        }
+        this.operations = List.copyOf(operations);
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+        this.seed = seed;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Drive the mix with the given number of concurrent workers. Requests sent during the
+     * warm-up are not recorded.
+     */
+    public LoadReport run(final int concurrency, final Duration warmup, final Duration duration) throws Exception {
+        final long measureStart = System.nanoTime() + warmup.toNanos();
+        final long measureEnd = measureStart + duration.toNanos();
+
+        final List<Map<String, LatencyRecorder>> results = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newFixedThreadPool(concurrency)) {
+            final List<Future<Map<String, LatencyRecorder>>> workers = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                final SplittableRandom random = new SplittableRandom(seed + i);
+                workers.add(executor.submit(() -> runWorker(random, measureStart, measureEnd)));
+            }
+            for (final Future<Map<String, LatencyRecorder>> worker : workers) {
+                results.add(worker.get());
+            }
+        }
+
+        final Map<String, LatencyRecorder> merged = new LinkedHashMap<>();
+        for (final Operation operation : operations) {
+            merged.put(operation.endpoint(), new LatencyRecorder());
+        }
+        for (final Map<String, LatencyRecorder> result : results) {
+            result.forEach((endpoint, recorder) -> merged.get(endpoint).merge(recorder));
+        }
+        return new LoadReport(concurrency, duration, merged);
+    }
+
+    private Map<String, LatencyRecorder> runWorker(final SplittableRandom random,
+                                                   final long measureStart, final long measureEnd) {
+        final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        for (final Operation operation : operations) {
+            recorders.put(operation.endpoint(), new LatencyRecorder());
+        }
+
+        long now = System.nanoTime();
+        while (now < measureEnd) {
+            final Operation operation = pick(random);
+            final HttpRequest request = operation.requestFactory().create(random);
+
+            final long start = System.nanoTime();
+            boolean error;
+            try {
+                final HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                error = response.statusCode() >= 400;
+            } catch (IOException e) {
+                error = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            now = System.nanoTime();
+
+            if (start >= measureStart && now <= measureEnd) {
+                recorders.get(operation.endpoint()).record(now - start, error);
+            }
+        }
+        return recorders;
+    }
+
+    private Operation pick(final SplittableRandom random) {
+        int roll = random.nextInt(totalWeight);
+        for (final Operation operation : operations) {
+            roll -= operation.weight();
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Weights changed while picking an operation");
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.goalsmanager.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles per endpoint for one load run
+ */
+public final class LoadReport {
+
+    /**
+     * Summary of one endpoint; latencies in milliseconds
+     */
+    public record EndpointSummary(String endpoint, int requests, int errors, double throughputPerSecond,
+                                  double p50, double p90, double p95, double p99, double max) {
+    }
+
+    private final int concurrency;
+    private final Duration duration;
+    private final List<EndpointSummary> endpoints;
+    private final EndpointSummary total;
+
+    LoadReport(final int concurrency, final Duration duration, final Map<String, LatencyRecorder> recorders) {
+        this.concurrency = concurrency;
+        this.duration = duration;
+        this.endpoints = new ArrayList<>(recorders.size());
+        final LatencyRecorder all = new LatencyRecorder();
+        recorders.forEach((endpoint, recorder) -> {
+            endpoints.add(summarize(endpoint, recorder, duration));
+            all.merge(recorder);
+        });
+        this.total = summarize("TOTAL", all, duration);
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public long getDurationSeconds() {
+        return duration.toSeconds();
+    }
+
+    public List<EndpointSummary> getEndpoints() {
+        return endpoints;
+    }
+
+    public EndpointSummary getTotal() {
+        return total;
+    }
+
+    /**
+     * Fixed-width table for the console and the text report
+     */
+    public String toTable() {
+        final StringBuilder table = new StringBuilder();
+        table.append(String.format("Concurrency %d, measured for %ds%n", concurrency, duration.toSeconds()));
+        table.append(String.format("%-40s %8s %7s %9s %8s %8s %8s %8s %8s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms"));
+        for (final EndpointSummary summary : endpoints) {
+            appendRow(table, summary);
+        }
+        appendRow(table, total);
+        return table.toString();
+    }
+
+    /**
+     * Write the report as JSON (for archiving and diffing between runs) and as a text table
+     */
+    public void write(final Path directory, final String name) throws IOException {
+        Files.createDirectories(directory);
+        final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        mapper.writeValue(directory.resolve(name + ".json").toFile(), this);
+        Files.writeString(directory.resolve(name + ".txt"), toTable());
+    }
+
+    private static void appendRow(final StringBuilder table, final EndpointSummary summary) {
+        table.append(String.format("%-40s %8d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                summary.endpoint(), summary.requests(), summary.errors(), summary.throughputPerSecond(),
+                summary.p50(), summary.p90(), summary.p95(), summary.p99(), summary.max()));
+    }
+
+    private static EndpointSummary summarize(final String endpoint, final LatencyRecorder recorder,
+                                             final Duration duration) {
+        final long[] sorted = recorder.sorted();
+        final double seconds = duration.toNanos() / 1e9;
+        return new EndpointSummary(endpoint, recorder.count(), recorder.errors(), recorder.count() / seconds,
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 95), percentile(sorted, 99),
+                sorted.length == 0 ? 0 : millis(sorted[sorted.length - 1]));
+    }
+
+    /**
+     * Nearest-rank percentile in milliseconds
+     */
+    private static double percentile(final long[] sorted, final double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return millis(sorted[Math.max(rank, 1) - 1]);
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
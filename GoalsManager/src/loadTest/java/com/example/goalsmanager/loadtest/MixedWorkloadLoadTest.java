@@ -0,0 +1,137 @@
+package com.example.goalsmanager.loadtest;
+
+import com.example.goalsmanager.datagen.DatasetSpec;
+import com.example.goalsmanager.datagen.GeneratedDataset;
+import com.example.goalsmanager.datagen.SyntheticDataGenerator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the real application over HTTP with the everyday mix of the web client:
+ * mostly week views, then task toggles, note writes and the occasional new goal.
+ *
+ * Tuning (system properties, or -Ploadtest.name=value on the Gradle command line):
+ * loadtest.users, loadtest.concurrency, loadtest.warmupSeconds, loadtest.durationSeconds, loadtest.seed.
+ * The dataset shape can be changed further with any DatasetSpec field, e.g. -Ploadtest.meanHabitsPerGoal=5.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Mixed Workload Load Test")
+class MixedWorkloadLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MixedWorkloadLoadTest.class);
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 500);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 16);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmupSeconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 30);
+    private static final long SEED = Long.getLong("loadtest.seed", 42L);
+    private static final double MAX_ERROR_RATE = 0.001;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private GeneratedDataset dataset;
+
+    @BeforeAll
+    void seedDataset() throws Exception {
+        final DatasetSpec spec = DatasetSpec.small()
+                .withUsers(USERS)
+                .withHistoryDays(56)
+                .withSeed(SEED)
+                .withSystemProperties("loadtest.");
+        try (Connection connection = dataSource.getConnection()) {
+            dataset = new SyntheticDataGenerator(spec).generate(connection);
+        }
+        log.info("Seeded {}", dataset);
+    }
+
+    @Test
+    @DisplayName("Week views, toggles, goal creation and note writes under concurrency")
+    void mixedWorkload() throws Exception {
+        // Given
+        final LocalDate weekStart = dataset.weekStart();
+        final LoadGenerator generator = new LoadGenerator(List.of(
+                new LoadGenerator.Operation("GET /api/tasks/user/{userId}/week", 60, random ->
+                        get("/api/tasks/user/" + randomUser(random) + "/week?startDate=" + weekStart
+                                + "&endDate=" + weekStart.plusDays(6))),
+                new LoadGenerator.Operation("PATCH /api/tasks/{id}/toggle", 25, random ->
+                        request("/api/tasks/" + pick(random, dataset.currentWeekTaskIds()) + "/toggle")
+                                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                                .build()),
+                new LoadGenerator.Operation("POST /api/notes", 10, random ->
+                        post("/api/notes", "{\"content\":\"Load test note " + random.nextInt()
+                                + "\",\"goalId\":" + randomId(random, dataset.goals()) + "}")),
+                new LoadGenerator.Operation("POST /api/goals", 5, random ->
+                        post("/api/goals", "{\"title\":\"Load test goal\",\"description\":\"Created under load\","
+                                + "\"startDate\":\"" + weekStart + "\",\"endDate\":\"" + weekStart.plusMonths(3)
+                                + "\",\"userId\":" + randomUser(random) + "}"))
+        ), SEED);
+
+        // When
+        final LoadReport report = generator.run(CONCURRENCY,
+                Duration.ofSeconds(WARMUP_SECONDS), Duration.ofSeconds(DURATION_SECONDS));
+
+        // Then
+        log.info("\n{}", report.toTable());
+        report.write(Path.of(System.getProperty("loadtest.reportDir", "build/reports/loadtest")), "mixed-workload");
+
+        final LoadReport.EndpointSummary total = report.getTotal();
+        assertThat(total.requests()).isPositive();
+        assertThat((double) total.errors() / total.requests()).isLessThanOrEqualTo(MAX_ERROR_RATE);
+    }
+
+    private long randomUser(final SplittableRandom random) {
+        return randomId(random, dataset.users());
+    }
+
+    /**
+     * Generated ids are dense, so any id in [1, count] exists
+     */
+    private static long randomId(final SplittableRandom random, final long count) {
+        return 1 + random.nextLong(count);
+    }
+
+    private static long pick(final SplittableRandom random, final long[] ids) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    private HttpRequest get(final String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(final String path, final String json) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(final String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept-Encoding", "gzip")
+                .timeout(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.goalsmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that serializes into a buffer first so every JSON response carries a
+ * Content-Length header. Tomcat only honours server.compression.min-response-size when the
+ * length is known up front; without it every streamed JSON body is gzipped, however small.
+ */
+public class ContentLengthJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public ContentLengthJacksonHttpMessageConverter(final ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(@NonNull final Object object, @Nullable final Type type,
+                                 @NonNull final HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        final BufferedOutputMessage buffered = new BufferedOutputMessage(outputMessage.getHeaders());
+        super.writeInternal(object, type, buffered);
+
+        outputMessage.getHeaders().setContentLength(buffered.body.size());
+        buffered.body.writeTo(outputMessage.getBody());
+    }
+
+    /**
+     * Output message that shares the real response headers but collects the body in memory
+     */
+    private static final class BufferedOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        private BufferedOutputMessage(final HttpHeaders headers) {
+            this.headers = headers;
+        }
+
+        @Override
+        @NonNull
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        @NonNull
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
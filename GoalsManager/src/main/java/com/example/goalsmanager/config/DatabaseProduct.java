@@ -0,0 +1,36 @@
+package com.example.goalsmanager.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * The database behind the data source, for the statements that need PostgreSQL's own syntax.
+ * Other databases (H2 in tests and local runs) get a portable variant.
+ */
+@Component
+public class DatabaseProduct {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    @Autowired
+    public DatabaseProduct(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Whether the database is PostgreSQL, asked once and remembered
+     */
+    public boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            final String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equals(product);
+            postgres = result;
+        }
+        return result;
+    }
+}
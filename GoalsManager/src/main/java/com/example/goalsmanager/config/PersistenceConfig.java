@@ -0,0 +1,22 @@
+package com.example.goalsmanager.config;
+
+import com.example.goalsmanager.metrics.SqlStatementBudgetProperties;
+import com.example.goalsmanager.metrics.SqlStatementCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SqlStatementBudgetProperties.class)
+public class PersistenceConfig {
+
+    /**
+     * Route every statement Hibernate prepares through the per-request statement counter
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer(final SqlStatementCounter counter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.goalsmanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Read replica for read-only transactions. The primary stays spring.datasource.*,
+ * pool settings for the replica go under goals.datasource.replica.hikari.*
+ *
+ * goals.datasource.replica.enabled=false
+ * goals.datasource.replica.url=jdbc:postgresql://replica:5432/project_mercury
+ * goals.datasource.replica.read-your-writes-window=5s
+ * goals.datasource.replica.max-lag=10s
+ */
+@ConfigurationProperties(prefix = "goals.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    /**
+     * Whether read-only transactions are routed to the replica
+     */
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * After a client commits a write, its reads stay on the primary for this long
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * Replay lag above which every read goes to the primary (PostgreSQL replicas only)
+     */
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    /**
+     * How often the replica's replay lag is measured
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public Duration getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public Duration getLagCheckInterval() {
+        return lagCheckInterval;
+    }
+
+    public void setLagCheckInterval(Duration lagCheckInterval) {
+        this.lagCheckInterval = lagCheckInterval;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.goalsmanager.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether a read-only transaction may use the replica.
+ * Reads go to the primary while the replica lags more than max-lag, and for
+ * read-your-writes-window after the calling client's last committed write.
+ * Clients are told apart by principal name, falling back to the remote address.
+ */
+public class ReplicaLagGuard implements TransactionExecutionListener {
+
+    private final Duration readYourWritesWindow;
+    private final Duration maxLag;
+    private final LongSupplier nanoClock;
+    private final Map<String, Long> primaryUntil = new ConcurrentHashMap<>();
+    private volatile boolean replicaLagging;
+
+    public ReplicaLagGuard(final Duration readYourWritesWindow, final Duration maxLag) {
+        this(readYourWritesWindow, maxLag, System::nanoTime);
+    }
+
+    ReplicaLagGuard(final Duration readYourWritesWindow, final Duration maxLag, final LongSupplier nanoClock) {
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.maxLag = maxLag;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Whether the current thread's read-only transaction must use the primary
+     */
+    public boolean requiresPrimary() {
+        if (replicaLagging) {
+            return true;
+        }
+        final String client = currentClient();
+        if (client == null) {
+            return false;
+        }
+        final Long until = primaryUntil.get(client);
+        return until != null && nanoClock.getAsLong() - until < 0;
+    }
+
+    /**
+     * Pin the committing client's reads to the primary after a write
+     */
+    @Override
+    public void afterCommit(@NonNull final TransactionExecution transaction, @Nullable final Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly()) {
+            return;
+        }
+        final String client = currentClient();
+        if (client != null) {
+            primaryUntil.put(client, nanoClock.getAsLong() + readYourWritesWindow.toNanos());
+        }
+    }
+
+    /**
+     * Record the replica's latest replay lag, null when it could not be measured
+     */
+    public void recordLag(@Nullable final Duration lag) {
+        replicaLagging = lag == null || lag.compareTo(maxLag) > 0;
+    }
+
+    public boolean isReplicaLagging() {
+        return replicaLagging;
+    }
+
+    /**
+     * Forget clients whose window has passed
+     */
+    public void evictExpired() {
+        final long now = nanoClock.getAsLong();
+        primaryUntil.values().removeIf(until -> now - until >= 0);
+    }
+
+    @Nullable
+    private static String currentClient() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        final HttpServletRequest request = attributes.getRequest();
+        final Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "addr:" + request.getRemoteAddr();
+    }
+}
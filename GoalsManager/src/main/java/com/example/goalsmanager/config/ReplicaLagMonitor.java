@@ -0,0 +1,72 @@
+package com.example.goalsmanager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Measures the replica's replay lag and reports it to the lag guard.
+ * Replicas that are not PostgreSQL (H2 stand-ins in tests) report no lag.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    /**
+     * Seconds since the last replayed transaction; 0 when everything received has been
+     * replayed, since an idle primary would otherwise look like a lagging replica
+     */
+    private static final String LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END
+            """;
+
+    private final DataSource replica;
+    private final ReplicaLagGuard guard;
+
+    public ReplicaLagMonitor(final DataSource replica, final ReplicaLagGuard guard) {
+        this.replica = replica;
+        this.guard = guard;
+    }
+
+    @Scheduled(fixedDelayString = "${goals.datasource.replica.lag-check-interval:5s}")
+    public void check() {
+        guard.evictExpired();
+        final Duration lag = measure();
+        final boolean wasLagging = guard.isReplicaLagging();
+        guard.recordLag(lag);
+        if (guard.isReplicaLagging() != wasLagging) {
+            log.warn(guard.isReplicaLagging()
+                    ? "Replica lag {} exceeds the limit, reading from the primary"
+                    : "Replica lag back to {}, reading from the replica", lag);
+        }
+    }
+
+    /**
+     * Current replay lag, null when the replica could not be reached
+     */
+    Duration measure() {
+        try (Connection connection = replica.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return Duration.ZERO;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(LAG_SQL)) {
+                result.next();
+                return Duration.ofMillis(Math.round(result.getDouble(1) * 1000));
+            }
+        } catch (final SQLException e) {
+            log.warn("Could not measure replica lag: {}", e.getMessage());
+            return null;
+        }
+    }
+}
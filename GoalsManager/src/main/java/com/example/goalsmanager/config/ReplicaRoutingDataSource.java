@@ -0,0 +1,37 @@
+package com.example.goalsmanager.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Source of read-only connections: the replica, unless the lag guard sends the read to the primary
+ */
+public class ReplicaRoutingDataSource extends DelegatingDataSource {
+
+    private final DataSource primary;
+    private final ReplicaLagGuard guard;
+
+    public ReplicaRoutingDataSource(final DataSource replica, final DataSource primary, final ReplicaLagGuard guard) {
+        super(replica);
+        this.primary = primary;
+        this.guard = guard;
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection() throws SQLException {
+        return guard.requiresPrimary() ? primary.getConnection() : obtainTargetDataSource().getConnection();
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection(@NonNull final String username, @NonNull final String password) throws SQLException {
+        return guard.requiresPrimary()
+                ? primary.getConnection(username, password)
+                : obtainTargetDataSource().getConnection(username, password);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.goalsmanager.config;
+
+import com.example.goalsmanager.jobs.GoalProgressProperties;
+import com.example.goalsmanager.jobs.HabitBitmapBackfillProperties;
+import com.example.goalsmanager.jobs.LeaderboardRefreshProperties;
+import com.example.goalsmanager.jobs.SoftDeletePurgeProperties;
+import com.example.goalsmanager.jobs.TaskArchivingProperties;
+import com.example.goalsmanager.jobs.TaskPartitioningProperties;
+import com.example.goalsmanager.jobs.UserStatsProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background maintenance jobs (com.example.goalsmanager.jobs)
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({TaskPartitioningProperties.class, TaskArchivingProperties.class,
+        UserStatsProperties.class, SoftDeletePurgeProperties.class, GoalProgressProperties.class,
+        HabitBitmapBackfillProperties.class, LeaderboardRefreshProperties.class})
+public class SchedulingConfig {
+}
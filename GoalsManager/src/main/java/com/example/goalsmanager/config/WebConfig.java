@@ -1,13 +1,38 @@
 package com.example.goalsmanager.config;
 
+import com.example.goalsmanager.metrics.SqlStatementBudgetInterceptor;
+import com.example.goalsmanager.storage.ImageStorageProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@EnableConfigurationProperties(ImageStorageProperties.class)
 public class WebConfig implements WebMvcConfigurer {
 
+    private final SqlStatementBudgetInterceptor sqlStatementBudgetInterceptor;
+
+    @Autowired
+    public WebConfig(final SqlStatementBudgetInterceptor sqlStatementBudgetInterceptor) {
+        this.sqlStatementBudgetInterceptor = sqlStatementBudgetInterceptor;
+    }
+
+    /**
+     * Replaces Spring Boot's default JSON converter so responses carry a Content-Length
+     * and the compression size threshold applies to them
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(final ObjectMapper objectMapper) {
+        return new ContentLengthJacksonHttpMessageConverter(objectMapper);
+    }
+
     @Override
     public void addCorsMappings(@NonNull final CorsRegistry registry) {
         registry.addMapping("/**") // Allow all endpoints
@@ -16,4 +41,9 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
+
+    @Override
+    public void addInterceptors(@NonNull final InterceptorRegistry registry) {
+        registry.addInterceptor(sqlStatementBudgetInterceptor).addPathPatterns("/api/**");
+    }
 }
@@ -1,16 +1,24 @@
 package com.example.goalsmanager.controller;
 
+import com.example.goalsmanager.dto.CompletionAnalyticsDTO;
 import com.example.goalsmanager.dto.CreateGoalRequest;
 import com.example.goalsmanager.dto.GoalDTO;
 import com.example.goalsmanager.dto.UpdateGoalRequest;
+import com.example.goalsmanager.exception.InvalidRequestException;
 import com.example.goalsmanager.goalutils.GoalStatus;
+import com.example.goalsmanager.service.CompletionRollupService;
+import com.example.goalsmanager.service.GoalImageService;
 import com.example.goalsmanager.service.GoalService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,10 +28,15 @@ import java.util.Map;
 public class GoalController {
 
     private final GoalService goalService;
+    private final CompletionRollupService completionRollupService;
+    private final GoalImageService goalImageService;
 
     @Autowired
-    public GoalController(final GoalService goalService) {
+    public GoalController(final GoalService goalService, final CompletionRollupService completionRollupService,
+                          final GoalImageService goalImageService) {
         this.goalService = goalService;
+        this.completionRollupService = completionRollupService;
+        this.goalImageService = goalImageService;
     }
 
     /**
@@ -31,14 +44,9 @@ public class GoalController {
      * POST /api/goals
      */
     @PostMapping
-    public ResponseEntity<?> createGoal(@Valid @RequestBody final CreateGoalRequest request) {
-        try {
-            final GoalDTO goal = goalService.createGoal(request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(goal);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<GoalDTO> createGoal(@Valid @RequestBody final CreateGoalRequest request) {
+        final GoalDTO goal = goalService.createGoal(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(goal);
     }
 
     /**
@@ -56,14 +64,19 @@ public class GoalController {
      * GET /api/goals/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getGoalById(@PathVariable final Long id) {
-        try {
-            final GoalDTO goal = goalService.getGoalById(id);
-            return ResponseEntity.ok(goal);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<GoalDTO> getGoalById(@PathVariable final Long id) {
+        final GoalDTO goal = goalService.getGoalById(id);
+        return ResponseEntity.ok(goal);
+    }
+
+    /**
+     * Get completion rates across a goal's habits over the last 7, 30 and 90 days and all time
+     * GET /api/goals/{id}/analytics
+     */
+    @GetMapping("/{id}/analytics")
+    public ResponseEntity<CompletionAnalyticsDTO> getGoalAnalytics(@PathVariable final Long id) {
+        final CompletionAnalyticsDTO analytics = completionRollupService.getGoalAnalytics(id);
+        return ResponseEntity.ok(analytics);
     }
 
     /**
@@ -71,14 +84,9 @@ public class GoalController {
      * GET /api/goals/user/{userId}
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<?> getGoalsByUserId(@PathVariable final Long userId) {
-        try {
-            final List<GoalDTO> goals = goalService.getGoalsByUserId(userId);
-            return ResponseEntity.ok(goals);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<List<GoalDTO>> getGoalsByUserId(@PathVariable final Long userId) {
+        final List<GoalDTO> goals = goalService.getGoalsByUserId(userId);
+        return ResponseEntity.ok(goals);
     }
 
     /**
@@ -86,16 +94,11 @@ public class GoalController {
      * GET /api/goals/user/{userId}/status/{status}
      */
     @GetMapping("/user/{userId}/status/{status}")
-    public ResponseEntity<?> getGoalsByUserIdAndStatus(
+    public ResponseEntity<List<GoalDTO>> getGoalsByUserIdAndStatus(
             @PathVariable final Long userId,
             @PathVariable final GoalStatus status) {
-        try {
-            final List<GoalDTO> goals = goalService.getGoalsByUserIdAndStatus(userId, status);
-            return ResponseEntity.ok(goals);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+        final List<GoalDTO> goals = goalService.getGoalsByUserIdAndStatus(userId, status);
+        return ResponseEntity.ok(goals);
     }
 
     /**
@@ -113,14 +116,9 @@ public class GoalController {
      * GET /api/goals/user/{userId}/active
      */
     @GetMapping("/user/{userId}/active")
-    public ResponseEntity<?> getActiveGoalsByUserId(@PathVariable final Long userId) {
-        try {
-            final List<GoalDTO> goals = goalService.getActiveGoalsByUserId(userId);
-            return ResponseEntity.ok(goals);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<List<GoalDTO>> getActiveGoalsByUserId(@PathVariable final Long userId) {
+        final List<GoalDTO> goals = goalService.getActiveGoalsByUserId(userId);
+        return ResponseEntity.ok(goals);
     }
 
     /**
@@ -128,14 +126,9 @@ public class GoalController {
      * GET /api/goals/user/{userId}/completed
      */
     @GetMapping("/user/{userId}/completed")
-    public ResponseEntity<?> getCompletedGoalsByUserId(@PathVariable final Long userId) {
-        try {
-            final List<GoalDTO> goals = goalService.getCompletedGoalsByUserId(userId);
-            return ResponseEntity.ok(goals);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<List<GoalDTO>> getCompletedGoalsByUserId(@PathVariable final Long userId) {
+        final List<GoalDTO> goals = goalService.getCompletedGoalsByUserId(userId);
+        return ResponseEntity.ok(goals);
     }
 
     /**
@@ -143,14 +136,9 @@ public class GoalController {
      * GET /api/goals/user/{userId}/overdue
      */
     @GetMapping("/user/{userId}/overdue")
-    public ResponseEntity<?> getOverdueGoalsByUserId(@PathVariable final Long userId) {
-        try {
-            final List<GoalDTO> goals = goalService.getOverdueGoalsByUserId(userId);
-            return ResponseEntity.ok(goals);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<List<GoalDTO>> getOverdueGoalsByUserId(@PathVariable final Long userId) {
+        final List<GoalDTO> goals = goalService.getOverdueGoalsByUserId(userId);
+        return ResponseEntity.ok(goals);
     }
 
     /**
@@ -158,15 +146,23 @@ public class GoalController {
      * PUT /api/goals/{id}
      */
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateGoal(
+    public ResponseEntity<GoalDTO> updateGoal(
             @PathVariable final Long id,
             @RequestBody final UpdateGoalRequest request) {
-        try {
-            final GoalDTO goal = goalService.updateGoal(id, request);
-            return ResponseEntity.ok(goal);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
+        final GoalDTO goal = goalService.updateGoal(id, request);
+        return ResponseEntity.ok(goal);
+    }
+
+    /**
+     * Upload the goal's image (multipart field "file"); the goal's imageUrl then points to it
+     * POST /api/goals/{id}/image
+     */
+    @PostMapping(value = "/{id}/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<GoalDTO> uploadGoalImage(
+            @PathVariable final Long id,
+            @RequestParam("file") final MultipartFile file) throws IOException {
+        try (InputStream image = file.getInputStream()) {
+            return ResponseEntity.ok(goalImageService.uploadGoalImage(id, image));
         }
     }
 
@@ -175,20 +171,12 @@ public class GoalController {
      * PATCH /api/goals/{id}/status
      */
     @PatchMapping("/{id}/status")
-    public ResponseEntity<?> updateGoalStatus(
+    public ResponseEntity<GoalDTO> updateGoalStatus(
             @PathVariable final Long id,
             @RequestBody final Map<String, String> request) {
-        try {
-            final GoalStatus status = GoalStatus.valueOf(request.get("status"));
-            final GoalDTO goal = goalService.updateGoalStatus(id, status);
-            return ResponseEntity.ok(goal);
-        } catch (final IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(createErrorResponse("Invalid status value"));
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+        final GoalStatus status = parseStatus(request.get("status"));
+        final GoalDTO goal = goalService.updateGoalStatus(id, status);
+        return ResponseEntity.ok(goal);
     }
 
     /**
@@ -196,14 +184,9 @@ public class GoalController {
      * DELETE /api/goals/{id}
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteGoal(@PathVariable final Long id) {
-        try {
-            goalService.deleteGoal(id);
-            return ResponseEntity.ok(createSuccessResponse("Goal deleted successfully"));
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<Map<String, String>> deleteGoal(@PathVariable final Long id) {
+        goalService.deleteGoal(id);
+        return ResponseEntity.ok(createSuccessResponse("Goal deleted successfully"));
     }
 
     /**
@@ -244,13 +227,21 @@ public class GoalController {
         return ResponseEntity.ok(response);
     }
 
-    // Helper methods for creating response objects
-    private Map<String, String> createErrorResponse(final String message) {
-        final Map<String, String> response = new HashMap<>();
-        response.put("error", message);
-        return response;
+    /**
+     * Parse a status value from a request body, rejecting unknown values
+     */
+    private GoalStatus parseStatus(final String value) {
+        if (value == null) {
+            throw InvalidRequestException.INVALID_STATUS;
+        }
+        try {
+            return GoalStatus.valueOf(value);
+        } catch (final IllegalArgumentException e) {
+            throw InvalidRequestException.INVALID_STATUS;
+        }
     }
 
+    // Helper methods for creating response objects
     private Map<String, String> createSuccessResponse(final String message) {
         final Map<String, String> response = new HashMap<>();
         response.put("message", message);
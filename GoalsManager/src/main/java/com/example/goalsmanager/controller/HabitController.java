@@ -1,15 +1,22 @@
 package com.example.goalsmanager.controller;
 
+import com.example.goalsmanager.dto.CompletionAnalyticsDTO;
 import com.example.goalsmanager.dto.CreateHabitRequest;
 import com.example.goalsmanager.dto.HabitDTO;
+import com.example.goalsmanager.dto.HabitStatsDTO;
+import com.example.goalsmanager.dto.HeatmapDTO;
 import com.example.goalsmanager.dto.UpdateHabitRequest;
+import com.example.goalsmanager.service.CompletionRollupService;
 import com.example.goalsmanager.service.HabitService;
+import com.example.goalsmanager.service.HeatmapService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,10 +26,15 @@ import java.util.Map;
 public class HabitController {
 
     private final HabitService habitService;
+    private final HeatmapService heatmapService;
+    private final CompletionRollupService completionRollupService;
 
     @Autowired
-    public HabitController(final HabitService habitService) {
+    public HabitController(final HabitService habitService, final HeatmapService heatmapService,
+                           final CompletionRollupService completionRollupService) {
         this.habitService = habitService;
+        this.heatmapService = heatmapService;
+        this.completionRollupService = completionRollupService;
     }
 
     /**
@@ -30,14 +42,9 @@ public class HabitController {
      * POST /api/habits
      */
     @PostMapping
-    public ResponseEntity<?> createHabit(@Valid @RequestBody final CreateHabitRequest request) {
-        try {
-            final HabitDTO habit = habitService.createHabit(request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(habit);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<HabitDTO> createHabit(@Valid @RequestBody final CreateHabitRequest request) {
+        final HabitDTO habit = habitService.createHabit(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(habit);
     }
 
     /**
@@ -55,14 +62,56 @@ public class HabitController {
      * GET /api/habits/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getHabitById(@PathVariable final Long id) {
-        try {
-            final HabitDTO habit = habitService.getHabitById(id);
-            return ResponseEntity.ok(habit);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<HabitDTO> getHabitById(@PathVariable final Long id) {
+        final HabitDTO habit = habitService.getHabitById(id);
+        return ResponseEntity.ok(habit);
+    }
+
+    /**
+     * Get current and longest streak plus completion rate of a habit
+     * GET /api/habits/{id}/stats?startDate=2025-01-01&endDate=2025-03-31
+     */
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<HabitStatsDTO> getHabitStats(
+            @PathVariable final Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate endDate) {
+        final HabitStatsDTO stats = habitService.getHabitStats(id, startDate, endDate);
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Get completion rates of a habit over the last 7, 30 and 90 days and all time
+     * GET /api/habits/{id}/analytics
+     */
+    @GetMapping("/{id}/analytics")
+    public ResponseEntity<CompletionAnalyticsDTO> getHabitAnalytics(@PathVariable final Long id) {
+        final CompletionAnalyticsDTO analytics = completionRollupService.getHabitAnalytics(id);
+        return ResponseEntity.ok(analytics);
+    }
+
+    /**
+     * Get a year of daily task and completion counts of a habit, the current year by default
+     * GET /api/habits/{id}/heatmap?year=2025
+     */
+    @GetMapping("/{id}/heatmap")
+    public ResponseEntity<HeatmapDTO> getHabitHeatmap(
+            @PathVariable final Long id,
+            @RequestParam(required = false) final Integer year) {
+        final HeatmapDTO heatmap = heatmapService.getHabitHeatmap(id, year);
+        return ResponseEntity.ok(heatmap);
+    }
+
+    /**
+     * Get a year of daily task and completion counts across all of a user's habits
+     * GET /api/habits/user/{userId}/heatmap?year=2025
+     */
+    @GetMapping("/user/{userId}/heatmap")
+    public ResponseEntity<HeatmapDTO> getUserHeatmap(
+            @PathVariable final Long userId,
+            @RequestParam(required = false) final Integer year) {
+        final HeatmapDTO heatmap = heatmapService.getUserHeatmap(userId, year);
+        return ResponseEntity.ok(heatmap);
     }
 
     /**
@@ -70,14 +119,9 @@ public class HabitController {
      * GET /api/habits/user/{userId}
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<?> getHabitsByUserId(@PathVariable final Long userId) {
-        try {
-            final List<HabitDTO> habits = habitService.getHabitsByUserId(userId);
-            return ResponseEntity.ok(habits);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<List<HabitDTO>> getHabitsByUserId(@PathVariable final Long userId) {
+        final List<HabitDTO> habits = habitService.getHabitsByUserId(userId);
+        return ResponseEntity.ok(habits);
     }
 
     /**
@@ -85,14 +129,9 @@ public class HabitController {
      * GET /api/habits/goal/{goalId}
      */
     @GetMapping("/goal/{goalId}")
-    public ResponseEntity<?> getHabitsByGoalId(@PathVariable final Long goalId) {
-        try {
-            final List<HabitDTO> habits = habitService.getHabitsByGoalId(goalId);
-            return ResponseEntity.ok(habits);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<List<HabitDTO>> getHabitsByGoalId(@PathVariable final Long goalId) {
+        final List<HabitDTO> habits = habitService.getHabitsByGoalId(goalId);
+        return ResponseEntity.ok(habits);
     }
 
     /**
@@ -100,16 +139,11 @@ public class HabitController {
      * PUT /api/habits/{id}
      */
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateHabit(
+    public ResponseEntity<HabitDTO> updateHabit(
             @PathVariable final Long id,
             @RequestBody final UpdateHabitRequest request) {
-        try {
-            final HabitDTO habit = habitService.updateHabit(id, request);
-            return ResponseEntity.ok(habit);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+        final HabitDTO habit = habitService.updateHabit(id, request);
+        return ResponseEntity.ok(habit);
     }
 
     /**
@@ -117,14 +151,9 @@ public class HabitController {
      * DELETE /api/habits/{id}
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteHabit(@PathVariable final Long id) {
-        try {
-            habitService.deleteHabit(id);
-            return ResponseEntity.ok(createSuccessResponse("Habit deleted successfully"));
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<Map<String, String>> deleteHabit(@PathVariable final Long id) {
+        habitService.deleteHabit(id);
+        return ResponseEntity.ok(createSuccessResponse("Habit deleted successfully"));
     }
 
     /**
@@ -164,12 +193,6 @@ public class HabitController {
     }
 
     // Helper methods for creating response objects
-    private Map<String, String> createErrorResponse(final String message) {
-        final Map<String, String> response = new HashMap<>();
-        response.put("error", message);
-        return response;
-    }
-
     private Map<String, String> createSuccessResponse(final String message) {
         final Map<String, String> response = new HashMap<>();
         response.put("message", message);
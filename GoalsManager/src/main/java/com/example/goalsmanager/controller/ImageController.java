@@ -0,0 +1,164 @@
+package com.example.goalsmanager.controller;
+
+import com.example.goalsmanager.storage.ImageStorage;
+import com.example.goalsmanager.storage.ImageStorageProperties;
+import com.example.goalsmanager.storage.ThumbnailService;
+import com.example.goalsmanager.storage.ThumbnailSize;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Serves stored goal images and their thumbnails straight from disk, with single byte ranges
+ * and cache headers. Names derive from content hashes, so they are strong ETags and responses
+ * are immutable.
+ */
+@RestController
+@RequestMapping("/api/images")
+public class ImageController {
+
+    /**
+     * Request attributes of Tomcat's sendfile support: the connector copies the file range to
+     * the socket with FileChannel.transferTo after the handler returns, without user-space copies
+     */
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Smaller bodies are cheaper to write directly than to hand over to the poller (Tomcat's
+     * DefaultServlet uses the same threshold)
+     */
+    static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    private static final String NO_CACHE = CacheControl.noCache().getHeaderValue();
+
+    private final ImageStorage imageStorage;
+    private final ThumbnailService thumbnailService;
+    private final String cacheControl;
+
+    @Autowired
+    public ImageController(final ImageStorage imageStorage, final ThumbnailService thumbnailService,
+                           final ImageStorageProperties properties) {
+        this.imageStorage = imageStorage;
+        this.thumbnailService = thumbnailService;
+        this.cacheControl = CacheControl.maxAge(properties.getCacheMaxAge()).cachePublic().immutable().getHeaderValue();
+    }
+
+    /**
+     * Get an image, or a single byte range of it. With a size, the thumbnail of that size is
+     * served instead; until it has been made, the full image is served without long caching.
+     * GET /api/images/{key}?size=card
+     */
+    @GetMapping("/{key}")
+    public void getImage(@PathVariable final String key,
+                         @RequestParam(required = false) final String size,
+                         final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        final Path original = imageStorage.resolve(key);
+        final ThumbnailSize thumbnailSize = size == null ? null : ThumbnailSize.fromParameter(size);
+        if (thumbnailSize != null && ThumbnailService.isSupported(key)) {
+            final Path thumbnail = thumbnailService.find(key, thumbnailSize);
+            if (thumbnail != null) {
+                try {
+                    serve(thumbnail, ThumbnailService.name(key, thumbnailSize), cacheControl, request, response);
+                    return;
+                } catch (NoSuchFileException e) {
+                    // Evicted since it was looked up, or deleted behind the cache's back
+                    thumbnailService.missing(key, thumbnailSize);
+                }
+            }
+            serve(original, key, NO_CACHE, request, response);
+            return;
+        }
+        serve(original, key, cacheControl, request, response);
+    }
+
+    /**
+     * Write the file, or the single byte range requested, named by a content-derived name
+     * that doubles as its ETag
+     */
+    private void serve(final Path file, final String name, final String cacheControl,
+                       final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        final long length = Files.size(file);
+        final String etag = "\"" + name + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        final HttpRange range = range(request, etag);
+        if (range != null) {
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            if (start >= length) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        final long count = end - start + 1;
+        response.setContentType(ImageStorage.mediaType(name).toString());
+        response.setContentLengthLong(count);
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+
+        if (count >= SENDFILE_MIN_BYTES && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for (long position = start; position <= end; ) {
+                position += channel.transferTo(position, end + 1 - position, out);
+            }
+        }
+    }
+
+    /**
+     * The single range requested, or null for the whole image. Multiple ranges, malformed
+     * headers and ranges made stale by If-Range are answered with the whole image, as RFC 9110 allows.
+     */
+    private static HttpRange range(final HttpServletRequest request, final String etag) {
+        final String header = request.getHeader(HttpHeaders.RANGE);
+        final String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (header == null || (ifRange != null && !ifRange.equals(etag))) {
+            return null;
+        }
+        try {
+            final List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.goalsmanager.controller;
+
+import com.example.goalsmanager.dto.LeaderboardEntryDTO;
+import com.example.goalsmanager.service.LeaderboardService;
+import com.example.goalsmanager.service.StreakLeaderboard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    @Autowired
+    public LeaderboardController(final LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    /**
+     * Get the users with the best current or longest streaks
+     * GET /api/leaderboard?board=CURRENT&limit=10
+     */
+    @GetMapping
+    public ResponseEntity<List<LeaderboardEntryDTO>> getTop(
+            @RequestParam(defaultValue = "CURRENT") final StreakLeaderboard.Board board,
+            @RequestParam(defaultValue = "10") final int limit) {
+        return ResponseEntity.ok(leaderboardService.getTop(board, limit));
+    }
+
+    /**
+     * Get a user's place on a leaderboard
+     * GET /api/leaderboard/users/{userId}?board=CURRENT
+     */
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<LeaderboardEntryDTO> getRank(
+            @PathVariable final Long userId,
+            @RequestParam(defaultValue = "CURRENT") final StreakLeaderboard.Board board) {
+        return ResponseEntity.ok(leaderboardService.getRank(board, userId));
+    }
+
+    /**
+     * Opt a user in to the leaderboards
+     * PUT /api/leaderboard/users/{userId}
+     */
+    @PutMapping("/users/{userId}")
+    public ResponseEntity<Map<String, String>> optIn(@PathVariable final Long userId) {
+        leaderboardService.optIn(userId);
+        return ResponseEntity.ok(Map.of("message", "User joined the leaderboards"));
+    }
+
+    /**
+     * Opt a user out of the leaderboards
+     * DELETE /api/leaderboard/users/{userId}
+     */
+    @DeleteMapping("/users/{userId}")
+    public ResponseEntity<Map<String, String>> optOut(@PathVariable final Long userId) {
+        leaderboardService.optOut(userId);
+        return ResponseEntity.ok(Map.of("message", "User left the leaderboards"));
+    }
+}
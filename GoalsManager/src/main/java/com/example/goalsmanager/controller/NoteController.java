@@ -2,6 +2,8 @@ package com.example.goalsmanager.controller;
 
 import com.example.goalsmanager.dto.CreateNoteRequest;
 import com.example.goalsmanager.dto.NoteDTO;
+import com.example.goalsmanager.dto.NoteRevisionDTO;
+import com.example.goalsmanager.dto.NoteTimelineDTO;
 import com.example.goalsmanager.dto.UpdateNoteRequest;
 import com.example.goalsmanager.service.NoteService;
 import jakarta.validation.Valid;
@@ -30,14 +32,9 @@ public class NoteController {
      * POST /api/notes
      */
     @PostMapping
-    public ResponseEntity<?> createNote(@Valid @RequestBody final CreateNoteRequest request) {
-        try {
-            final NoteDTO note = noteService.createNote(request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(note);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<NoteDTO> createNote(@Valid @RequestBody final CreateNoteRequest request) {
+        final NoteDTO note = noteService.createNote(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(note);
     }
 
     /**
@@ -45,14 +42,9 @@ public class NoteController {
      * GET /api/notes/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getNoteById(@PathVariable final Long id) {
-        try {
-            final NoteDTO note = noteService.getNoteById(id);
-            return ResponseEntity.ok(note);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<NoteDTO> getNoteById(@PathVariable final Long id) {
+        final NoteDTO note = noteService.getNoteById(id);
+        return ResponseEntity.ok(note);
     }
 
     /**
@@ -60,14 +52,22 @@ public class NoteController {
      * GET /api/notes/goal/{goalId}
      */
     @GetMapping("/goal/{goalId}")
-    public ResponseEntity<?> getNotesByGoalId(@PathVariable final Long goalId) {
-        try {
-            final List<NoteDTO> notes = noteService.getNotesByGoalId(goalId);
-            return ResponseEntity.ok(notes);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<List<NoteDTO>> getNotesByGoalId(@PathVariable final Long goalId) {
+        final List<NoteDTO> notes = noteService.getNotesByGoalId(goalId);
+        return ResponseEntity.ok(notes);
+    }
+
+    /**
+     * Get a page of note previews for a goal, newest first; full notes come from GET /api/notes/{id}
+     * GET /api/notes/goal/{goalId}/timeline?cursor=...&size=20
+     */
+    @GetMapping("/goal/{goalId}/timeline")
+    public ResponseEntity<NoteTimelineDTO> getNoteTimeline(
+            @PathVariable final Long goalId,
+            @RequestParam(required = false) final String cursor,
+            @RequestParam(defaultValue = "20") final int size) {
+        final NoteTimelineDTO timeline = noteService.getNoteTimeline(goalId, cursor, size);
+        return ResponseEntity.ok(timeline);
     }
 
     /**
@@ -75,16 +75,33 @@ public class NoteController {
      * PUT /api/notes/{id}
      */
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateNote(
+    public ResponseEntity<NoteDTO> updateNote(
             @PathVariable final Long id,
             @RequestBody final UpdateNoteRequest request) {
-        try {
-            final NoteDTO note = noteService.updateNote(id, request);
-            return ResponseEntity.ok(note);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+        final NoteDTO note = noteService.updateNote(id, request);
+        return ResponseEntity.ok(note);
+    }
+
+    /**
+     * List the versions of a note, newest first
+     * GET /api/notes/{id}/revisions
+     */
+    @GetMapping("/{id}/revisions")
+    public ResponseEntity<List<NoteRevisionDTO>> getNoteRevisions(@PathVariable final Long id) {
+        final List<NoteRevisionDTO> revisions = noteService.getNoteRevisions(id);
+        return ResponseEntity.ok(revisions);
+    }
+
+    /**
+     * Get the content of a note as of one version
+     * GET /api/notes/{id}/revisions/{version}
+     */
+    @GetMapping("/{id}/revisions/{version}")
+    public ResponseEntity<NoteRevisionDTO> getNoteRevision(
+            @PathVariable final Long id,
+            @PathVariable final int version) {
+        final NoteRevisionDTO revision = noteService.getNoteRevision(id, version);
+        return ResponseEntity.ok(revision);
     }
 
     /**
@@ -92,14 +109,9 @@ public class NoteController {
      * DELETE /api/notes/{id}
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteNote(@PathVariable final Long id) {
-        try {
-            noteService.deleteNote(id);
-            return ResponseEntity.ok(createSuccessResponse("Note deleted successfully"));
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<Map<String, String>> deleteNote(@PathVariable final Long id) {
+        noteService.deleteNote(id);
+        return ResponseEntity.ok(createSuccessResponse("Note deleted successfully"));
     }
 
     /**
@@ -115,12 +127,6 @@ public class NoteController {
     }
 
     // Helper methods for creating response objects
-    private Map<String, String> createErrorResponse(final String message) {
-        final Map<String, String> response = new HashMap<>();
-        response.put("error", message);
-        return response;
-    }
-
     private Map<String, String> createSuccessResponse(final String message) {
         final Map<String, String> response = new HashMap<>();
         response.put("message", message);
@@ -0,0 +1,31 @@
+package com.example.goalsmanager.controller;
+
+import com.example.goalsmanager.dto.SearchResultsDTO;
+import com.example.goalsmanager.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @Autowired
+    public SearchController(final SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Search a user's notes, goals and habits
+     * GET /api/search/user/{userId}?q=morning run&page=0&size=20
+     */
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<SearchResultsDTO> search(@PathVariable final Long userId,
+                                                   @RequestParam final String q,
+                                                   @RequestParam(defaultValue = "0") final int page,
+                                                   @RequestParam(defaultValue = "20") final int size) {
+        return ResponseEntity.ok(searchService.search(userId, q, page, size));
+    }
+}
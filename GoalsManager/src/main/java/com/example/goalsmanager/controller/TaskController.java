@@ -32,14 +32,9 @@ public class TaskController {
      * POST /api/tasks
      */
     @PostMapping
-    public ResponseEntity<?> createTask(@Valid @RequestBody final CreateTaskRequest request) {
-        try {
-            final TaskDTO task = taskService.createTask(request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(task);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<TaskDTO> createTask(@Valid @RequestBody final CreateTaskRequest request) {
+        final TaskDTO task = taskService.createTask(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(task);
     }
 
     /**
@@ -57,14 +52,9 @@ public class TaskController {
      * GET /api/tasks/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getTaskById(@PathVariable final Long id) {
-        try {
-            final TaskDTO task = taskService.getTaskById(id);
-            return ResponseEntity.ok(task);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<TaskDTO> getTaskById(@PathVariable final Long id) {
+        final TaskDTO task = taskService.getTaskById(id);
+        return ResponseEntity.ok(task);
     }
 
     /**
@@ -72,14 +62,9 @@ public class TaskController {
      * GET /api/tasks/user/{userId}
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<?> getTasksByUserId(@PathVariable final Long userId) {
-        try {
-            final List<TaskDTO> tasks = taskService.getTasksByUserId(userId);
-            return ResponseEntity.ok(tasks);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<List<TaskDTO>> getTasksByUserId(@PathVariable final Long userId) {
+        final List<TaskDTO> tasks = taskService.getTasksByUserId(userId);
+        return ResponseEntity.ok(tasks);
     }
 
     /**
@@ -87,14 +72,9 @@ public class TaskController {
      * GET /api/tasks/habit/{habitId}
      */
     @GetMapping("/habit/{habitId}")
-    public ResponseEntity<?> getTasksByHabitId(@PathVariable final Long habitId) {
-        try {
-            final List<TaskDTO> tasks = taskService.getTasksByHabitId(habitId);
-            return ResponseEntity.ok(tasks);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<List<TaskDTO>> getTasksByHabitId(@PathVariable final Long habitId) {
+        final List<TaskDTO> tasks = taskService.getTasksByHabitId(habitId);
+        return ResponseEntity.ok(tasks);
     }
 
     /**
@@ -102,17 +82,12 @@ public class TaskController {
      * GET /api/tasks/user/{userId}/week?startDate=YYYY-MM-DD&endDate=YYYY-MM-DD
      */
     @GetMapping("/user/{userId}/week")
-    public ResponseEntity<?> getTasksByUserIdAndDateRange(
+    public ResponseEntity<List<TaskDTO>> getTasksByUserIdAndDateRange(
             @PathVariable final Long userId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate endDate) {
-        try {
-            final List<TaskDTO> tasks = taskService.getTasksByUserIdAndDateRange(userId, startDate, endDate);
-            return ResponseEntity.ok(tasks);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+        final List<TaskDTO> tasks = taskService.getTasksByUserIdAndDateRange(userId, startDate, endDate);
+        return ResponseEntity.ok(tasks);
     }
 
     /**
@@ -120,14 +95,9 @@ public class TaskController {
      * GET /api/tasks/user/{userId}/completed
      */
     @GetMapping("/user/{userId}/completed")
-    public ResponseEntity<?> getCompletedTasksByUserId(@PathVariable final Long userId) {
-        try {
-            final List<TaskDTO> tasks = taskService.getCompletedTasksByUserId(userId);
-            return ResponseEntity.ok(tasks);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<List<TaskDTO>> getCompletedTasksByUserId(@PathVariable final Long userId) {
+        final List<TaskDTO> tasks = taskService.getCompletedTasksByUserId(userId);
+        return ResponseEntity.ok(tasks);
     }
 
     /**
@@ -135,14 +105,9 @@ public class TaskController {
      * GET /api/tasks/user/{userId}/pending
      */
     @GetMapping("/user/{userId}/pending")
-    public ResponseEntity<?> getPendingTasksByUserId(@PathVariable final Long userId) {
-        try {
-            final List<TaskDTO> tasks = taskService.getPendingTasksByUserId(userId);
-            return ResponseEntity.ok(tasks);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<List<TaskDTO>> getPendingTasksByUserId(@PathVariable final Long userId) {
+        final List<TaskDTO> tasks = taskService.getPendingTasksByUserId(userId);
+        return ResponseEntity.ok(tasks);
     }
 
     /**
@@ -150,16 +115,11 @@ public class TaskController {
      * PUT /api/tasks/{id}
      */
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateTask(
+    public ResponseEntity<TaskDTO> updateTask(
             @PathVariable final Long id,
             @RequestBody final UpdateTaskRequest request) {
-        try {
-            final TaskDTO task = taskService.updateTask(id, request);
-            return ResponseEntity.ok(task);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+        final TaskDTO task = taskService.updateTask(id, request);
+        return ResponseEntity.ok(task);
     }
 
     /**
@@ -167,14 +127,9 @@ public class TaskController {
      * PATCH /api/tasks/{id}/toggle
      */
     @PatchMapping("/{id}/toggle")
-    public ResponseEntity<?> toggleTaskCompletion(@PathVariable final Long id) {
-        try {
-            final TaskDTO task = taskService.toggleTaskCompletion(id);
-            return ResponseEntity.ok(task);
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<TaskDTO> toggleTaskCompletion(@PathVariable final Long id) {
+        final TaskDTO task = taskService.toggleTaskCompletion(id);
+        return ResponseEntity.ok(task);
     }
 
     /**
@@ -182,14 +137,9 @@ public class TaskController {
      * DELETE /api/tasks/{id}
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteTask(@PathVariable final Long id) {
-        try {
-            taskService.deleteTask(id);
-            return ResponseEntity.ok(createSuccessResponse("Task deleted successfully"));
-        } catch (final RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<Map<String, String>> deleteTask(@PathVariable final Long id) {
+        taskService.deleteTask(id);
+        return ResponseEntity.ok(createSuccessResponse("Task deleted successfully"));
     }
 
     /**
@@ -229,12 +179,6 @@ public class TaskController {
     }
 
     // Helper methods for creating response objects
-    private Map<String, String> createErrorResponse(final String message) {
-        final Map<String, String> response = new HashMap<>();
-        response.put("error", message);
-        return response;
-    }
-
     private Map<String, String> createSuccessResponse(final String message) {
         final Map<String, String> response = new HashMap<>();
         response.put("message", message);
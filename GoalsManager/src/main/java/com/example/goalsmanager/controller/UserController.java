@@ -2,7 +2,9 @@ package com.example.goalsmanager.controller;
 
 import com.example.goalsmanager.dto.CreateUserRequest;
 import com.example.goalsmanager.dto.UserDTO;
+import com.example.goalsmanager.dto.UserStatsDTO;
 import com.example.goalsmanager.service.UserService;
+import com.example.goalsmanager.service.UserStatsService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -17,10 +19,12 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
+    private final UserStatsService userStatsService;
 
     @Autowired
-    public UserController(final UserService userService) {
+    public UserController(final UserService userService, final UserStatsService userStatsService) {
         this.userService = userService;
+        this.userStatsService = userStatsService;
     }
 
     /**
@@ -54,6 +58,15 @@ public class UserController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Get a user's goal, habit and task counts
+     * GET /api/users/{id}/stats
+     */
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<UserStatsDTO> getUserStats(@PathVariable final Long id) {
+        return ResponseEntity.ok(userStatsService.getStats(id));
+    }
+
     /**
      * Get a user by provider and provider ID
      * GET /api/users/provider/{provider}/{providerId}
@@ -0,0 +1,87 @@
+package com.example.goalsmanager.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Completion rates of a habit or goal over the last 7, 30 and 90 days and all time,
+ * each window ending on asOf
+ */
+public class CompletionAnalyticsDTO {
+
+    private Long habitId;
+    private Long goalId;
+    private LocalDate asOf;
+    private CompletionRateDTO last7Days;
+    private CompletionRateDTO last30Days;
+    private CompletionRateDTO last90Days;
+    private CompletionRateDTO allTime;
+
+    // Constructors
+    public CompletionAnalyticsDTO() {
+    }
+
+    public CompletionAnalyticsDTO(Long scheduled7, Long completed7, Long scheduled30, Long completed30,
+                                  Long scheduled90, Long completed90, Long scheduledAll, Long completedAll) {
+        this.last7Days = new CompletionRateDTO(scheduled7, completed7);
+        this.last30Days = new CompletionRateDTO(scheduled30, completed30);
+        this.last90Days = new CompletionRateDTO(scheduled90, completed90);
+        this.allTime = new CompletionRateDTO(scheduledAll, completedAll);
+    }
+
+    // Getters and Setters
+    public Long getHabitId() {
+        return habitId;
+    }
+
+    public void setHabitId(Long habitId) {
+        this.habitId = habitId;
+    }
+
+    public Long getGoalId() {
+        return goalId;
+    }
+
+    public void setGoalId(Long goalId) {
+        this.goalId = goalId;
+    }
+
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDate asOf) {
+        this.asOf = asOf;
+    }
+
+    public CompletionRateDTO getLast7Days() {
+        return last7Days;
+    }
+
+    public void setLast7Days(CompletionRateDTO last7Days) {
+        this.last7Days = last7Days;
+    }
+
+    public CompletionRateDTO getLast30Days() {
+        return last30Days;
+    }
+
+    public void setLast30Days(CompletionRateDTO last30Days) {
+        this.last30Days = last30Days;
+    }
+
+    public CompletionRateDTO getLast90Days() {
+        return last90Days;
+    }
+
+    public void setLast90Days(CompletionRateDTO last90Days) {
+        this.last90Days = last90Days;
+    }
+
+    public CompletionRateDTO getAllTime() {
+        return allTime;
+    }
+
+    public void setAllTime(CompletionRateDTO allTime) {
+        this.allTime = allTime;
+    }
+}
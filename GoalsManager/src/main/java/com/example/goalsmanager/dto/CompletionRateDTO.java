@@ -0,0 +1,46 @@
+package com.example.goalsmanager.dto;
+
+/**
+ * Completed share of the tasks in one time window
+ */
+public class CompletionRateDTO {
+
+    private Long scheduled;
+    private Long completed;
+    private Double rate;
+
+    // Constructors
+    public CompletionRateDTO() {
+    }
+
+    public CompletionRateDTO(Long scheduled, Long completed) {
+        this.scheduled = scheduled;
+        this.completed = completed;
+        this.rate = scheduled == 0 ? 0.0 : (double) completed / scheduled;
+    }
+
+    // Getters and Setters
+    public Long getScheduled() {
+        return scheduled;
+    }
+
+    public void setScheduled(Long scheduled) {
+        this.scheduled = scheduled;
+    }
+
+    public Long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Long completed) {
+        this.completed = completed;
+    }
+
+    public Double getRate() {
+        return rate;
+    }
+
+    public void setRate(Double rate) {
+        this.rate = rate;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.goalsmanager.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Number of tasks and completed tasks on one day, as aggregated by the database
+ */
+public class DayCountDTO {
+
+    private LocalDate date;
+    private Long scheduled;
+    private Long completed;
+
+    // Constructors
+    public DayCountDTO() {
+    }
+
+    public DayCountDTO(LocalDate date, Long scheduled, Long completed) {
+        this.date = date;
+        this.scheduled = scheduled;
+        this.completed = completed;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Long getScheduled() {
+        return scheduled;
+    }
+
+    public void setScheduled(Long scheduled) {
+        this.scheduled = scheduled;
+    }
+
+    public Long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Long completed) {
+        this.completed = completed;
+    }
+}
@@ -15,6 +15,7 @@ public class GoalDTO {
     private LocalDate startDate;
     private LocalDate endDate;
     private GoalStatus status;
+    private Integer progress;
     private Long userId;
     private String username;
     private LocalDateTime createdAt;
@@ -107,6 +108,14 @@ public class GoalDTO {
         this.status = status;
     }
 
+    public Integer getProgress() {
+        return progress;
+    }
+
+    public void setProgress(Integer progress) {
+        this.progress = progress;
+    }
+
     public Long getUserId() {
         return userId;
     }
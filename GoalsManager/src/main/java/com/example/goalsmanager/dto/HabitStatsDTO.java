@@ -0,0 +1,97 @@
+package com.example.goalsmanager.dto;
+
+import java.time.LocalDate;
+
+public class HabitStatsDTO {
+
+    private Long habitId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer currentStreak;
+    private Integer longestStreak;
+    private Integer totalTasks;
+    private Integer completedTasks;
+    private Double completionRate;
+
+    // Constructors
+    public HabitStatsDTO() {
+    }
+
+    public HabitStatsDTO(Long habitId, LocalDate startDate, LocalDate endDate,
+                         Integer currentStreak, Integer longestStreak,
+                         Integer totalTasks, Integer completedTasks, Double completionRate) {
+        this.habitId = habitId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.currentStreak = currentStreak;
+        this.longestStreak = longestStreak;
+        this.totalTasks = totalTasks;
+        this.completedTasks = completedTasks;
+        this.completionRate = completionRate;
+    }
+
+    // Getters and Setters
+    public Long getHabitId() {
+        return habitId;
+    }
+
+    public void setHabitId(Long habitId) {
+        this.habitId = habitId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Integer getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public void setCurrentStreak(Integer currentStreak) {
+        this.currentStreak = currentStreak;
+    }
+
+    public Integer getLongestStreak() {
+        return longestStreak;
+    }
+
+    public void setLongestStreak(Integer longestStreak) {
+        this.longestStreak = longestStreak;
+    }
+
+    public Integer getTotalTasks() {
+        return totalTasks;
+    }
+
+    public void setTotalTasks(Integer totalTasks) {
+        this.totalTasks = totalTasks;
+    }
+
+    public Integer getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public void setCompletedTasks(Integer completedTasks) {
+        this.completedTasks = completedTasks;
+    }
+
+    public Double getCompletionRate() {
+        return completionRate;
+    }
+
+    public void setCompletionRate(Double completionRate) {
+        this.completionRate = completionRate;
+    }
+}
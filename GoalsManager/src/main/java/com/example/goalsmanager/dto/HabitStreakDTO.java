@@ -0,0 +1,73 @@
+package com.example.goalsmanager.dto;
+
+/**
+ * A habit's current and longest streak with its owner, as loaded for the leaderboard.
+ * The habit fields are null for an opted-in user without habits.
+ */
+public class HabitStreakDTO {
+
+    private Long userId;
+    private String username;
+    private Long habitId;
+    private Integer currentStreak;
+    private Integer longestStreak;
+
+    // Constructors
+    public HabitStreakDTO() {
+    }
+
+    public HabitStreakDTO(Long userId, String username, Long habitId) {
+        this.userId = userId;
+        this.username = username;
+        this.habitId = habitId;
+    }
+
+    public HabitStreakDTO(Long userId, String username, Long habitId, Integer currentStreak, Integer longestStreak) {
+        this.userId = userId;
+        this.username = username;
+        this.habitId = habitId;
+        this.currentStreak = currentStreak;
+        this.longestStreak = longestStreak;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public Long getHabitId() {
+        return habitId;
+    }
+
+    public void setHabitId(Long habitId) {
+        this.habitId = habitId;
+    }
+
+    public Integer getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public void setCurrentStreak(Integer currentStreak) {
+        this.currentStreak = currentStreak;
+    }
+
+    public Integer getLongestStreak() {
+        return longestStreak;
+    }
+
+    public void setLongestStreak(Integer longestStreak) {
+        this.longestStreak = longestStreak;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.goalsmanager.dto;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Completion calendar of one year, one cell per day from startDate.
+ * For a single habit a day has at most one task; for a user, one per habit.
+ */
+public class HeatmapDTO {
+
+    private Long habitId;
+    private Long userId;
+    private Integer year;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int[] scheduled;
+    private int[] completed;
+    private Integer totalScheduled;
+    private Integer totalCompleted;
+
+    // Constructors
+    public HeatmapDTO() {
+    }
+
+    public HeatmapDTO(Long habitId, Long userId, Integer year, LocalDate startDate, LocalDate endDate,
+                      int[] scheduled, int[] completed) {
+        this.habitId = habitId;
+        this.userId = userId;
+        this.year = year;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.scheduled = scheduled;
+        this.completed = completed;
+        this.totalScheduled = Arrays.stream(scheduled).sum();
+        this.totalCompleted = Arrays.stream(completed).sum();
+    }
+
+    // Getters and Setters
+    public Long getHabitId() {
+        return habitId;
+    }
+
+    public void setHabitId(Long habitId) {
+        this.habitId = habitId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public int[] getScheduled() {
+        return scheduled;
+    }
+
+    public void setScheduled(int[] scheduled) {
+        this.scheduled = scheduled;
+    }
+
+    public int[] getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(int[] completed) {
+        this.completed = completed;
+    }
+
+    public Integer getTotalScheduled() {
+        return totalScheduled;
+    }
+
+    public void setTotalScheduled(Integer totalScheduled) {
+        this.totalScheduled = totalScheduled;
+    }
+
+    public Integer getTotalCompleted() {
+        return totalCompleted;
+    }
+
+    public void setTotalCompleted(Integer totalCompleted) {
+        this.totalCompleted = totalCompleted;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.goalsmanager.dto;
+
+/**
+ * One user's place on a streak leaderboard: their best streak across their habits.
+ * Users with the same streak share a rank.
+ */
+public class LeaderboardEntryDTO {
+
+    private Integer rank;
+    private Long userId;
+    private String username;
+    private Integer streak;
+
+    // Constructors
+    public LeaderboardEntryDTO() {
+    }
+
+    public LeaderboardEntryDTO(Integer rank, Long userId, String username, Integer streak) {
+        this.rank = rank;
+        this.userId = userId;
+        this.username = username;
+        this.streak = streak;
+    }
+
+    // Getters and Setters
+    public Integer getRank() {
+        return rank;
+    }
+
+    public void setRank(Integer rank) {
+        this.rank = rank;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public Integer getStreak() {
+        return streak;
+    }
+
+    public void setStreak(Integer streak) {
+        this.streak = streak;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.goalsmanager.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A note in the goal timeline: the first characters of its content only.
+ * The full content is fetched on demand through NoteDTO.
+ */
+public class NotePreviewDTO {
+
+    private Long id;
+    private Long goalId;
+    private String preview;
+    private Integer contentLength;
+    private Boolean truncated;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public NotePreviewDTO() {
+    }
+
+    public NotePreviewDTO(Long id, Long goalId, String preview, Integer contentLength, LocalDateTime createdAt) {
+        this.id = id;
+        this.goalId = goalId;
+        this.preview = preview;
+        this.contentLength = contentLength;
+        this.truncated = contentLength > preview.codePointCount(0, preview.length());
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getGoalId() {
+        return goalId;
+    }
+
+    public void setGoalId(Long goalId) {
+        this.goalId = goalId;
+    }
+
+    public String getPreview() {
+        return preview;
+    }
+
+    public void setPreview(String preview) {
+        this.preview = preview;
+    }
+
+    public Integer getContentLength() {
+        return contentLength;
+    }
+
+    public void setContentLength(Integer contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    public Boolean getTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(Boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
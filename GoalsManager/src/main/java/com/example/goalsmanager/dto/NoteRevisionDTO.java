@@ -0,0 +1,64 @@
+package com.example.goalsmanager.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One version of a note. Content is only filled in when a single version is requested.
+ */
+public class NoteRevisionDTO {
+
+    private Long noteId;
+    private Integer version;
+    private String content;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public NoteRevisionDTO() {
+    }
+
+    public NoteRevisionDTO(Long noteId, Integer version, LocalDateTime createdAt) {
+        this.noteId = noteId;
+        this.version = version;
+        this.createdAt = createdAt;
+    }
+
+    public NoteRevisionDTO(Long noteId, Integer version, String content, LocalDateTime createdAt) {
+        this.noteId = noteId;
+        this.version = version;
+        this.content = content;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getNoteId() {
+        return noteId;
+    }
+
+    public void setNoteId(Long noteId) {
+        this.noteId = noteId;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
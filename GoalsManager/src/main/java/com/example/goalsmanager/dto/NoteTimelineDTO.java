@@ -0,0 +1,39 @@
+package com.example.goalsmanager.dto;
+
+import java.util.List;
+
+/**
+ * One page of a goal's note timeline, newest first. Pass nextCursor back to get the
+ * following page; it is null on the last page.
+ */
+public class NoteTimelineDTO {
+
+    private List<NotePreviewDTO> notes;
+    private String nextCursor;
+
+    // Constructors
+    public NoteTimelineDTO() {
+    }
+
+    public NoteTimelineDTO(List<NotePreviewDTO> notes, String nextCursor) {
+        this.notes = notes;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<NotePreviewDTO> getNotes() {
+        return notes;
+    }
+
+    public void setNotes(List<NotePreviewDTO> notes) {
+        this.notes = notes;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.goalsmanager.dto;
+
+public class SearchResultDTO {
+
+    /**
+     * NOTE, GOAL or HABIT
+     */
+    private String type;
+
+    private Long id;
+    private Long goalId;
+
+    /**
+     * Goal title for notes and goals, habit name for habits
+     */
+    private String title;
+
+    /**
+     * HTML-escaped excerpt with the matched words wrapped in &lt;mark&gt;
+     */
+    private String snippet;
+
+    private Double rank;
+
+    // Constructors
+    public SearchResultDTO() {
+    }
+
+    public SearchResultDTO(String type, Long id, Long goalId, String title, String snippet, Double rank) {
+        this.type = type;
+        this.id = id;
+        this.goalId = goalId;
+        this.title = title;
+        this.snippet = snippet;
+        this.rank = rank;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getGoalId() {
+        return goalId;
+    }
+
+    public void setGoalId(Long goalId) {
+        this.goalId = goalId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+
+    public Double getRank() {
+        return rank;
+    }
+
+    public void setRank(Double rank) {
+        this.rank = rank;
+    }
+}
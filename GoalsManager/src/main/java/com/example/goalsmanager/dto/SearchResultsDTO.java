@@ -0,0 +1,65 @@
+package com.example.goalsmanager.dto;
+
+import java.util.List;
+
+public class SearchResultsDTO {
+
+    private String query;
+    private Integer page;
+    private Integer size;
+    private Long total;
+    private List<SearchResultDTO> results;
+
+    // Constructors
+    public SearchResultsDTO() {
+    }
+
+    public SearchResultsDTO(String query, Integer page, Integer size, Long total, List<SearchResultDTO> results) {
+        this.query = query;
+        this.page = page;
+        this.size = size;
+        this.total = total;
+        this.results = results;
+    }
+
+    // Getters and Setters
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    public List<SearchResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<SearchResultDTO> results) {
+        this.results = results;
+    }
+}
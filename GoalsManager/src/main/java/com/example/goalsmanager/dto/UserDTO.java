@@ -19,6 +19,7 @@ public class UserDTO {
     private String avatarUrl;
     private String bio;
     private String location;
+    private boolean leaderboardOptIn;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -32,6 +33,7 @@ public class UserDTO {
         this.avatarUrl = user.getAvatarUrl();
         this.bio = user.getBio();
         this.location = user.getLocation();
+        this.leaderboardOptIn = user.isLeaderboardOptIn();
         this.createdAt = user.getCreatedAt();
         this.updatedAt = user.getUpdatedAt();
     }
@@ -109,6 +111,14 @@ public class UserDTO {
         this.location = location;
     }
 
+    public boolean isLeaderboardOptIn() {
+        return leaderboardOptIn;
+    }
+
+    public void setLeaderboardOptIn(boolean leaderboardOptIn) {
+        this.leaderboardOptIn = leaderboardOptIn;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,88 @@
+package com.example.goalsmanager.dto;
+
+import com.example.goalsmanager.goalutils.GoalStatus;
+
+import java.util.Map;
+
+public class UserStatsDTO {
+
+    private Long userId;
+    private Long totalGoals;
+    private Map<GoalStatus, Long> goalsByStatus;
+    private Long totalHabits;
+    private Long totalTasks;
+    private Long completedTasks;
+    private Long pendingTasks;
+
+    // Constructors
+    public UserStatsDTO() {
+    }
+
+    public UserStatsDTO(Long userId, Long totalGoals, Map<GoalStatus, Long> goalsByStatus, Long totalHabits,
+                        Long totalTasks, Long completedTasks, Long pendingTasks) {
+        this.userId = userId;
+        this.totalGoals = totalGoals;
+        this.goalsByStatus = goalsByStatus;
+        this.totalHabits = totalHabits;
+        this.totalTasks = totalTasks;
+        this.completedTasks = completedTasks;
+        this.pendingTasks = pendingTasks;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getTotalGoals() {
+        return totalGoals;
+    }
+
+    public void setTotalGoals(Long totalGoals) {
+        this.totalGoals = totalGoals;
+    }
+
+    public Map<GoalStatus, Long> getGoalsByStatus() {
+        return goalsByStatus;
+    }
+
+    public void setGoalsByStatus(Map<GoalStatus, Long> goalsByStatus) {
+        this.goalsByStatus = goalsByStatus;
+    }
+
+    public Long getTotalHabits() {
+        return totalHabits;
+    }
+
+    public void setTotalHabits(Long totalHabits) {
+        this.totalHabits = totalHabits;
+    }
+
+    public Long getTotalTasks() {
+        return totalTasks;
+    }
+
+    public void setTotalTasks(Long totalTasks) {
+        this.totalTasks = totalTasks;
+    }
+
+    public Long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public void setCompletedTasks(Long completedTasks) {
+        this.completedTasks = completedTasks;
+    }
+
+    public Long getPendingTasks() {
+        return pendingTasks;
+    }
+
+    public void setPendingTasks(Long pendingTasks) {
+        this.pendingTasks = pendingTasks;
+    }
+}
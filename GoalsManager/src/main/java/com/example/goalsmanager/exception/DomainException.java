@@ -0,0 +1,36 @@
+package com.example.goalsmanager.exception;
+
+import java.util.Map;
+
+/**
+ * Base class for expected failures (unknown ids, invalid input) that are reported to the client.
+ * These are part of normal control flow, so they skip the stack trace and suppression list,
+ * which makes throwing one roughly as cheap as allocating a plain object.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private volatile Map<String, String> errorBody;
+
+    protected DomainException(final String message) {
+        super(message, null, false, false);
+    }
+
+    /**
+     * JSON error body for this exception, built once and reused on every write
+     */
+    public Map<String, String> getErrorBody() {
+        Map<String, String> body = errorBody;
+        if (body == null) {
+            body = Map.of("error", getMessage());
+            errorBody = body;
+        }
+        return body;
+    }
+
+    /**
+     * Message shared by the not-found style exceptions, e.g. "Goal not found with id: 42"
+     */
+    static String notFoundMessage(final String resource, final Object id) {
+        return resource + " not found with id: " + id;
+    }
+}
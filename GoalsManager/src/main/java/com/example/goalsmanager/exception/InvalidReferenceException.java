@@ -0,0 +1,31 @@
+package com.example.goalsmanager.exception;
+
+/**
+ * Thrown when a request body references a parent resource that does not exist,
+ * e.g. creating a habit for an unknown goal. This is a bad request (HTTP 400), not a 404,
+ * because the addressed resource is the one being created.
+ */
+public class InvalidReferenceException extends InvalidRequestException {
+
+    private final String resource;
+    private final Object id;
+
+    public InvalidReferenceException(final String resource, final Object id) {
+        super(null);
+        this.resource = resource;
+        this.id = id;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public Object getId() {
+        return id;
+    }
+
+    @Override
+    public String getMessage() {
+        return notFoundMessage(resource, id);
+    }
+}
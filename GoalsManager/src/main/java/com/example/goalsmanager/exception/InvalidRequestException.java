@@ -0,0 +1,18 @@
+package com.example.goalsmanager.exception;
+
+/**
+ * Thrown when the request itself is invalid (HTTP 400).
+ * Failures with a fixed message are exposed as shared instances so the hot path allocates nothing.
+ */
+public class InvalidRequestException extends DomainException {
+
+    public static final InvalidRequestException INVALID_DATE_RANGE =
+            new InvalidRequestException("End date must be after start date");
+
+    public static final InvalidRequestException INVALID_STATUS =
+            new InvalidRequestException("Invalid status value");
+
+    public InvalidRequestException(final String message) {
+        super(message);
+    }
+}
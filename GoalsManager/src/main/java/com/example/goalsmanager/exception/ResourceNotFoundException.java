@@ -0,0 +1,30 @@
+package com.example.goalsmanager.exception;
+
+/**
+ * Thrown when the resource addressed by the request does not exist (HTTP 404).
+ * The message is only assembled when it is actually read.
+ */
+public class ResourceNotFoundException extends DomainException {
+
+    private final String resource;
+    private final Object id;
+
+    public ResourceNotFoundException(final String resource, final Object id) {
+        super(null);
+        this.resource = resource;
+        this.id = id;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public Object getId() {
+        return id;
+    }
+
+    @Override
+    public String getMessage() {
+        return notFoundMessage(resource, id);
+    }
+}
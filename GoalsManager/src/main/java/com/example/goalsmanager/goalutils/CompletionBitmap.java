@@ -0,0 +1,228 @@
+package com.example.goalsmanager.goalutils;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+/**
+ * Completion history of one habit as two bitmaps indexed by days since an origin date.
+ * A task bit is set for every day that has a task, a completed bit for every day whose
+ * task is completed. Streaks follow {@link StreakCalculator}: only days with a task count.
+ */
+public final class CompletionBitmap {
+
+    /**
+     * Heatmap value of a day without a task
+     */
+    public static final byte NO_TASK = 0;
+
+    /**
+     * Heatmap value of a day with a pending task
+     */
+    public static final byte PENDING = 1;
+
+    /**
+     * Heatmap value of a day with a completed task
+     */
+    public static final byte COMPLETED = 2;
+
+    private LocalDate origin;
+    private BitSet tasks;
+    private BitSet completed;
+
+    private CompletionBitmap(final LocalDate origin, final BitSet tasks, final BitSet completed) {
+        this.origin = origin;
+        this.tasks = tasks;
+        this.completed = completed;
+    }
+
+    /**
+     * Bitmap without any task
+     */
+    public static CompletionBitmap empty() {
+        return new CompletionBitmap(null, new BitSet(), new BitSet());
+    }
+
+    /**
+     * Bitmap restored from its stored form, see {@link #taskBytes()} and {@link #completedBytes()}
+     */
+    public static CompletionBitmap of(final LocalDate origin, final byte[] tasks, final byte[] completed) {
+        if (origin == null) {
+            return empty();
+        }
+        return new CompletionBitmap(origin, BitSet.valueOf(tasks), BitSet.valueOf(completed));
+    }
+
+    /**
+     * Record a task on the date and whether it is completed
+     */
+    public void set(final LocalDate date, final boolean isCompleted) {
+        extendTo(date);
+        final int day = index(date);
+        tasks.set(day);
+        completed.set(day, isCompleted);
+    }
+
+    /**
+     * Forget the task on the date
+     */
+    public void clear(final LocalDate date) {
+        if (origin == null || date.isBefore(origin)) {
+            return;
+        }
+        final int day = index(date);
+        tasks.clear(day);
+        completed.clear(day);
+    }
+
+    public boolean hasTask(final LocalDate date) {
+        return origin != null && !date.isBefore(origin) && tasks.get(index(date));
+    }
+
+    public boolean isCompleted(final LocalDate date) {
+        return origin != null && !date.isBefore(origin) && completed.get(index(date));
+    }
+
+    /**
+     * Consecutive completed tasks counting back from the newest task on or before today
+     */
+    public int currentStreak(final LocalDate today) {
+        final int last = lastIndex(today);
+        if (last < 0) {
+            return 0;
+        }
+        final int newestMissed = missed().previousSetBit(last);
+        return tasks.get(newestMissed + 1, last + 1).cardinality();
+    }
+
+    /**
+     * Longest run of consecutive completed tasks on or before today
+     */
+    public int longestStreak(final LocalDate today) {
+        final int last = lastIndex(today);
+        if (last < 0) {
+            return 0;
+        }
+        final BitSet missed = missed();
+        int longest = 0;
+        int runStart = 0;
+        for (int miss = missed.nextSetBit(0); miss >= 0 && miss <= last; miss = missed.nextSetBit(miss + 1)) {
+            longest = Math.max(longest, tasks.get(runStart, miss).cardinality());
+            runStart = miss + 1;
+        }
+        return Math.max(longest, tasks.get(runStart, last + 1).cardinality());
+    }
+
+    /**
+     * Number of tasks dated within [from, to]
+     */
+    public int taskCount(final LocalDate from, final LocalDate to) {
+        return count(tasks, from, to);
+    }
+
+    /**
+     * Number of completed tasks dated within [from, to]
+     */
+    public int completedCount(final LocalDate from, final LocalDate to) {
+        return count(completed, from, to);
+    }
+
+    /**
+     * Completed share of the tasks within [from, to], 0 when there are none
+     */
+    public double completionRate(final LocalDate from, final LocalDate to) {
+        final int total = taskCount(from, to);
+        return total == 0 ? 0.0 : (double) completedCount(from, to) / total;
+    }
+
+    /**
+     * One value per day of [from, to]: {@link #NO_TASK}, {@link #PENDING} or {@link #COMPLETED}
+     */
+    public byte[] heatmap(final LocalDate from, final LocalDate to) {
+        final byte[] days = new byte[(int) ChronoUnit.DAYS.between(from, to) + 1];
+        if (origin == null) {
+            return days;
+        }
+        final int offset = (int) ChronoUnit.DAYS.between(origin, from);
+        final int first = Math.max(0, offset);
+        final int end = offset + days.length;
+        for (int day = tasks.nextSetBit(first); day >= 0 && day < end; day = tasks.nextSetBit(day + 1)) {
+            days[day - offset] = completed.get(day) ? COMPLETED : PENDING;
+        }
+        return days;
+    }
+
+    /**
+     * First day covered, null while the bitmap is empty
+     */
+    public LocalDate origin() {
+        return origin;
+    }
+
+    /**
+     * Task bits, little-endian as produced by {@link BitSet#toByteArray()}
+     */
+    public byte[] taskBytes() {
+        return tasks.toByteArray();
+    }
+
+    /**
+     * Completed bits, little-endian as produced by {@link BitSet#toByteArray()}
+     */
+    public byte[] completedBytes() {
+        return completed.toByteArray();
+    }
+
+    private BitSet missed() {
+        final BitSet missed = (BitSet) tasks.clone();
+        missed.andNot(completed);
+        return missed;
+    }
+
+    /**
+     * Index of the last day to look at when counting up to the date, -1 when there is none
+     */
+    private int lastIndex(final LocalDate date) {
+        if (origin == null || date.isBefore(origin)) {
+            return -1;
+        }
+        return (int) Math.min(ChronoUnit.DAYS.between(origin, date), Math.max(tasks.length() - 1, 0));
+    }
+
+    private int count(final BitSet bits, final LocalDate from, final LocalDate to) {
+        if (origin == null || to.isBefore(origin)) {
+            return 0;
+        }
+        final int start = from.isBefore(origin) ? 0 : index(from);
+        return bits.get(start, index(to) + 1).cardinality();
+    }
+
+    private int index(final LocalDate date) {
+        return (int) ChronoUnit.DAYS.between(origin, date);
+    }
+
+    /**
+     * Move the origin back so the date gets a non-negative index
+     */
+    private void extendTo(final LocalDate date) {
+        if (origin == null) {
+            origin = date;
+            return;
+        }
+        if (!date.isBefore(origin)) {
+            return;
+        }
+        final int shift = (int) ChronoUnit.DAYS.between(date, origin);
+        tasks = shifted(tasks, shift);
+        completed = shifted(completed, shift);
+        origin = date;
+    }
+
+    private static BitSet shifted(final BitSet bits, final int shift) {
+        final BitSet result = new BitSet(bits.length() + shift);
+        for (int day = bits.nextSetBit(0); day >= 0; day = bits.nextSetBit(day + 1)) {
+            result.set(day + shift);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.goalsmanager.goalutils;
+
+import com.example.goalsmanager.model.Habit;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parsing and enumeration of a habit's weekly schedule.
+ * Schedules are stored as short day names, e.g. "Mon, Wed, Fri".
+ */
+public final class HabitSchedule {
+
+    private HabitSchedule() {
+    }
+
+    /**
+     * Parse day of week strings (Mon, Tue, etc.) into DayOfWeek values.
+     * Unknown names are ignored; a null or blank schedule yields an empty set.
+     */
+    public static Set<DayOfWeek> parseDaysOfWeek(final String daysOfWeek) {
+        final Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        if (daysOfWeek == null) {
+            return days;
+        }
+        for (final String dayStr : daysOfWeek.split(",")) {
+            switch (dayStr.trim()) {
+                case "Mon": days.add(DayOfWeek.MONDAY); break;
+                case "Tue": days.add(DayOfWeek.TUESDAY); break;
+                case "Wed": days.add(DayOfWeek.WEDNESDAY); break;
+                case "Thu": days.add(DayOfWeek.THURSDAY); break;
+                case "Fri": days.add(DayOfWeek.FRIDAY); break;
+                case "Sat": days.add(DayOfWeek.SATURDAY); break;
+                case "Sun": days.add(DayOfWeek.SUNDAY); break;
+                default: break;
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Dates within a range on which the habit is scheduled, oldest first.
+     * The range is clipped to the habit's own start and end dates.
+     */
+    public static List<LocalDate> scheduledDates(final Habit habit, final LocalDate rangeStart, final LocalDate rangeEnd) {
+        return scheduledDates(parseDaysOfWeek(habit.getDaysOfWeek()),
+                habit.getStartDate(), habit.getEndDate(), rangeStart, rangeEnd);
+    }
+
+    /**
+     * Dates within [rangeStart, rangeEnd] and [habitStart, habitEnd] that fall on one of the given days, oldest first
+     */
+    public static List<LocalDate> scheduledDates(final Set<DayOfWeek> days,
+                                                 final LocalDate habitStart, final LocalDate habitEnd,
+                                                 final LocalDate rangeStart, final LocalDate rangeEnd) {
+        if (days.isEmpty()) {
+            return List.of(); // No days selected, nothing scheduled
+        }
+
+        // Only dates within the habit's active period are scheduled
+        final LocalDate effectiveStart = rangeStart.isBefore(habitStart) ? habitStart : rangeStart;
+        final LocalDate effectiveEnd = rangeEnd.isAfter(habitEnd) ? habitEnd : rangeEnd;
+
+        if (effectiveStart.isAfter(effectiveEnd)) {
+            return List.of(); // No overlap between range and habit period
+        }
+
+        final List<LocalDate> dates = new ArrayList<>();
+        LocalDate currentDate = effectiveStart;
+        while (!currentDate.isAfter(effectiveEnd)) {
+            if (days.contains(currentDate.getDayOfWeek())) {
+                dates.add(currentDate);
+            }
+            currentDate = currentDate.plusDays(1);
+        }
+        return dates;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.goalsmanager.goalutils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Days of one month packed into an int, bit (day of month - 1) per day
+ */
+public final class MonthDays {
+
+    private MonthDays() {
+    }
+
+    /**
+     * First day of the month containing the date
+     */
+    public static LocalDate monthStart(final LocalDate date) {
+        return date.withDayOfMonth(1);
+    }
+
+    /**
+     * Bit representing the date within its month
+     */
+    public static int bit(final LocalDate date) {
+        return 1 << (date.getDayOfMonth() - 1);
+    }
+
+    /**
+     * Whether the date's bit is set
+     */
+    public static boolean contains(final int days, final LocalDate date) {
+        return (days & bit(date)) != 0;
+    }
+
+    /**
+     * Dates whose bits are set, in ascending order
+     */
+    public static List<LocalDate> dates(final LocalDate monthStart, final int days) {
+        final List<LocalDate> dates = new ArrayList<>(Integer.bitCount(days));
+        int remaining = days;
+        while (remaining != 0) {
+            final int day = Integer.numberOfTrailingZeros(remaining);
+            dates.add(monthStart.plusDays(day));
+            remaining &= remaining - 1;
+        }
+        return dates;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.goalsmanager.goalutils;
+
+/**
+ * Preview and length of note content, as stored next to it in the notes table.
+ * Kept out of the entity so the data generator can derive the same values without JPA.
+ */
+public final class NotePreview {
+
+    /**
+     * Characters of content kept in the preview
+     */
+    public static final int LENGTH = 200;
+
+    private NotePreview() {
+    }
+
+    /**
+     * Length of the content in characters (code points)
+     */
+    public static int length(final String content) {
+        return content.codePointCount(0, content.length());
+    }
+
+    /**
+     * The first {@link #LENGTH} characters of the content, or all of it if shorter
+     */
+    public static String of(final String content) {
+        return length(content) <= LENGTH
+                ? content
+                : content.substring(0, content.offsetByCodePoints(0, LENGTH));
+    }
+}
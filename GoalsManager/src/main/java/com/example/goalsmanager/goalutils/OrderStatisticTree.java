@@ -0,0 +1,202 @@
+package com.example.goalsmanager.goalutils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Sorted set that also answers "how many elements come before this one" and "which element
+ * is at this position". It is a treap whose nodes keep the size of their subtree, so adding,
+ * removing, ranking and indexing all take O(log n) expected time. Not thread-safe.
+ */
+public final class OrderStatisticTree<T> {
+
+    private static final class Node<T> {
+        private final T value;
+        private final int priority;
+        private int size = 1;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(final T value, final int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    private record Split<T>(Node<T> less, Node<T> rest) {
+    }
+
+    private final Comparator<? super T> comparator;
+    private final SplittableRandom random = new SplittableRandom();
+    private Node<T> root;
+
+    public OrderStatisticTree(final Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean contains(final T value) {
+        Node<T> node = root;
+        while (node != null) {
+            final int compared = comparator.compare(value, node.value);
+            if (compared == 0) {
+                return true;
+            }
+            node = compared < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * Add the element unless an equal one is already present
+     * @return whether it was added
+     */
+    public boolean add(final T value) {
+        if (contains(value)) {
+            return false;
+        }
+        final Split<T> split = split(root, value);
+        root = merge(merge(split.less(), new Node<>(value, random.nextInt())), split.rest());
+        return true;
+    }
+
+    /**
+     * Remove the element equal to this one
+     * @return whether there was one
+     */
+    public boolean remove(final T value) {
+        if (!contains(value)) {
+            return false;
+        }
+        root = remove(root, value);
+        return true;
+    }
+
+    /**
+     * Number of elements that sort before the value, whether or not it is present itself
+     */
+    public int rank(final T value) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            if (comparator.compare(value, node.value) <= 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Element at the zero-based position in sort order
+     */
+    public T get(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int remaining = index;
+        Node<T> node = root;
+        while (true) {
+            final int leftSize = size(node.left);
+            if (remaining < leftSize) {
+                node = node.left;
+            } else if (remaining == leftSize) {
+                return node.value;
+            } else {
+                remaining -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Up to count elements in sort order starting at the zero-based position, in O(log n + count)
+     */
+    public List<T> range(final int from, final int count) {
+        final List<T> values = new ArrayList<>(Math.max(0, Math.min(count, size() - from)));
+        collect(root, Math.max(0, from), count, values);
+        return values;
+    }
+
+    private void collect(final Node<T> node, final int skip, final int count, final List<T> values) {
+        if (node == null || values.size() >= count) {
+            return;
+        }
+        final int leftSize = size(node.left);
+        if (skip < leftSize) {
+            collect(node.left, skip, count, values);
+        }
+        if (skip <= leftSize && values.size() < count) {
+            values.add(node.value);
+        }
+        collect(node.right, Math.max(0, skip - leftSize - 1), count, values);
+    }
+
+    /**
+     * Split into the elements that sort before the value and the rest
+     */
+    private Split<T> split(final Node<T> node, final T value) {
+        if (node == null) {
+            return new Split<>(null, null);
+        }
+        if (comparator.compare(node.value, value) < 0) {
+            final Split<T> split = split(node.right, value);
+            node.right = split.less();
+            update(node);
+            return new Split<>(node, split.rest());
+        }
+        final Split<T> split = split(node.left, value);
+        node.left = split.rest();
+        update(node);
+        return new Split<>(split.less(), node);
+    }
+
+    /**
+     * Join two trees where every element of the first sorts before every element of the second
+     */
+    private Node<T> merge(final Node<T> first, final Node<T> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            update(first);
+            return first;
+        }
+        second.left = merge(first, second.left);
+        update(second);
+        return second;
+    }
+
+    private Node<T> remove(final Node<T> node, final T value) {
+        final int compared = comparator.compare(value, node.value);
+        if (compared == 0) {
+            return merge(node.left, node.right);
+        }
+        if (compared < 0) {
+            node.left = remove(node.left, value);
+        } else {
+            node.right = remove(node.right, value);
+        }
+        update(node);
+        return node;
+    }
+
+    private static <T> void update(final Node<T> node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static <T> int size(final Node<T> node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.goalsmanager.goalutils;
+
+import com.example.goalsmanager.model.Task;
+
+import java.util.List;
+
+/**
+ * Streak rules for habits.
+ * A streak only looks at actual scheduled tasks, not arbitrary calendar days.
+ */
+public final class StreakCalculator {
+
+    private StreakCalculator() {
+    }
+
+    /**
+     * Current streak: the number of consecutive completed tasks counting back from the most recent one.
+     * If the most recent task is not completed the streak is 0.
+     *
+     * @param pastTasks tasks up to and including today, ordered by date descending (newest first)
+     */
+    public static int currentStreak(final List<Task> pastTasks) {
+        int streak = 0;
+        for (final Task task : pastTasks) {
+            if (!Boolean.TRUE.equals(task.getCompleted())) {
+                break; // Found an incomplete task, stop counting
+            }
+            streak++;
+        }
+        return streak;
+    }
+}
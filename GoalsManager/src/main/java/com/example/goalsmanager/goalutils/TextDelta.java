@@ -0,0 +1,52 @@
+package com.example.goalsmanager.goalutils;
+
+/**
+ * Difference between two versions of a text as one edited region: keep the first
+ * prefixLength and the last suffixLength characters of the old text and put inserted
+ * between them. Most journal edits touch one place, so the delta is about the size of the
+ * edit. A delta that keeps nothing is a full copy of the new text.
+ */
+public record TextDelta(int prefixLength, int suffixLength, String inserted) {
+
+    /**
+     * Delta turning from into to
+     */
+    public static TextDelta between(final String from, final String to) {
+        final int limit = Math.min(from.length(), to.length());
+        int prefix = 0;
+        while (prefix < limit && from.charAt(prefix) == to.charAt(prefix)) {
+            prefix++;
+        }
+        // Never split a surrogate pair: the stored text must be valid UTF-16 on its own
+        if (prefix > 0 && Character.isHighSurrogate(from.charAt(prefix - 1))) {
+            prefix--;
+        }
+        int suffix = 0;
+        while (suffix < limit - prefix
+                && from.charAt(from.length() - 1 - suffix) == to.charAt(to.length() - 1 - suffix)) {
+            suffix++;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(to.charAt(to.length() - suffix))) {
+            suffix--;
+        }
+        return new TextDelta(prefix, suffix, to.substring(prefix, to.length() - suffix));
+    }
+
+    /**
+     * Delta that ignores the old text and yields the given one
+     */
+    public static TextDelta snapshot(final String text) {
+        return new TextDelta(0, 0, text);
+    }
+
+    /**
+     * The new text, given the old one this delta was made against
+     */
+    public String applyTo(final String from) {
+        return from.substring(0, prefixLength) + inserted + from.substring(from.length() - suffixLength);
+    }
+
+    public boolean isSnapshot() {
+        return prefixLength == 0 && suffixLength == 0;
+    }
+}
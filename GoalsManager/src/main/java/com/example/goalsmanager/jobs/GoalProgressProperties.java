@@ -0,0 +1,53 @@
+package com.example.goalsmanager.jobs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Daily roll forward of the goal progress counters
+ *
+ * goals.progress.roll.enabled=true
+ * goals.progress.roll.batch-size=500
+ * goals.progress.roll.cron=0 1 0 * * *
+ */
+@ConfigurationProperties(prefix = "goals.progress.roll")
+public class GoalProgressProperties {
+
+    /**
+     * Whether the roller runs
+     */
+    private boolean enabled = true;
+
+    /**
+     * Goals rolled forward per transaction
+     */
+    private int batchSize = 500;
+
+    /**
+     * When the roller runs; shortly after midnight, so progress counts the new day early
+     */
+    private String cron = "0 1 0 * * *";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.goalsmanager.jobs;
+
+import com.example.goalsmanager.repository.GoalRepository;
+import com.example.goalsmanager.service.CompletionRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Moves every goal's progress date to today, adding the days in between from the goal's
+ * daily rollups. Task writes keep the counters current for days already counted, so this
+ * only reads the rollup rows of the days that have just begun. Runs at startup too, in case
+ * the instance was down at midnight.
+ */
+@Component
+public class GoalProgressRoller {
+
+    private static final Logger log = LoggerFactory.getLogger(GoalProgressRoller.class);
+
+    private final GoalRepository goalRepository;
+    private final CompletionRollupService completionRollupService;
+    private final GoalProgressProperties properties;
+
+    @Autowired
+    public GoalProgressRoller(final GoalRepository goalRepository,
+                              final CompletionRollupService completionRollupService,
+                              final GoalProgressProperties properties) {
+        this.goalRepository = goalRepository;
+        this.completionRollupService = completionRollupService;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        scheduledRoll();
+    }
+
+    @Scheduled(cron = "${goals.progress.roll.cron:0 1 0 * * *}")
+    public void scheduledRoll() {
+        if (properties.isEnabled()) {
+            roll(LocalDate.now());
+        }
+    }
+
+    /**
+     * Roll all goals forward to the date, one batch per transaction
+     * @return the number of goals rolled forward
+     */
+    public int roll(final LocalDate today) {
+        int rolled = 0;
+        List<Long> goalIds;
+        // Rolled goals drop out of the query, so the first page is always the next batch
+        final PageRequest batch = PageRequest.of(0, properties.getBatchSize());
+        while (!(goalIds = goalRepository.findIdsWithProgressBefore(today, batch)).isEmpty()) {
+            final int count = completionRollupService.rollGoalProgress(goalIds, today);
+            rolled += count;
+            if (count == 0) {
+                break;
+            }
+        }
+        if (rolled > 0) {
+            log.info("Rolled progress of {} goals forward to {}", rolled, today);
+        }
+        return rolled;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.goalsmanager.jobs;
+
+import com.example.goalsmanager.repository.HabitRepository;
+import com.example.goalsmanager.service.HabitBitmapService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Stores a bitmap for every habit that has none, so streak and history reads stop rebuilding
+ * them from tasks and archives. Habits from before the bitmaps would otherwise only get one on
+ * their next toggle. Runs at startup, one batch per transaction; once every habit has a bitmap
+ * it is a single query.
+ */
+@Component
+public class HabitBitmapBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(HabitBitmapBackfill.class);
+
+    private final HabitRepository habitRepository;
+    private final HabitBitmapService habitBitmapService;
+    private final HabitBitmapBackfillProperties properties;
+
+    @Autowired
+    public HabitBitmapBackfill(final HabitRepository habitRepository,
+                               final HabitBitmapService habitBitmapService,
+                               final HabitBitmapBackfillProperties properties) {
+        this.habitRepository = habitRepository;
+        this.habitBitmapService = habitBitmapService;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (properties.isEnabled()) {
+            backfill();
+        }
+    }
+
+    /**
+     * Store the missing bitmaps
+     * @return the number of bitmaps stored
+     */
+    public int backfill() {
+        int stored = 0;
+        long afterId = 0;
+        List<Long> habitIds;
+        while (!(habitIds = habitRepository.findIdsWithoutBitmapAfter(afterId,
+                PageRequest.of(0, properties.getBatchSize()))).isEmpty()) {
+            stored += habitBitmapService.backfill(habitIds);
+            afterId = habitIds.get(habitIds.size() - 1);
+        }
+        if (stored > 0) {
+            log.info("Stored completion bitmaps for {} habits", stored);
+        }
+        return stored;
+    }
+}
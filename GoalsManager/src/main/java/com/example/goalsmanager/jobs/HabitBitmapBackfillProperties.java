@@ -0,0 +1,39 @@
+package com.example.goalsmanager.jobs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Startup backfill of the habit completion bitmaps
+ *
+ * goals.bitmaps.backfill.enabled=true
+ * goals.bitmaps.backfill.batch-size=100
+ */
+@ConfigurationProperties(prefix = "goals.bitmaps.backfill")
+public class HabitBitmapBackfillProperties {
+
+    /**
+     * Whether the backfill runs
+     */
+    private boolean enabled = true;
+
+    /**
+     * Habits backfilled per transaction; each one reads all its tasks and archives
+     */
+    private int batchSize = 100;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.goalsmanager.jobs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Nightly reload of the streak leaderboards
+ *
+ * goals.leaderboard.refresh.enabled=true
+ * goals.leaderboard.refresh.cron=0 2 0 * * *
+ */
+@ConfigurationProperties(prefix = "goals.leaderboard.refresh")
+public class LeaderboardRefreshProperties {
+
+    /**
+     * Whether the refresher runs
+     */
+    private boolean enabled = true;
+
+    /**
+     * When the refresher runs; shortly after midnight, so streaks missed yesterday drop out early
+     */
+    private String cron = "0 2 0 * * *";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+}
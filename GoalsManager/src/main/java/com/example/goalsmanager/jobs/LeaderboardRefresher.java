@@ -0,0 +1,34 @@
+package com.example.goalsmanager.jobs;
+
+import com.example.goalsmanager.service.LeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Re-ranks every opted-in user as of the new day. Toggles keep the boards current during the
+ * day, but a current streak broken by a task left undone yesterday has no toggle to report it.
+ * Costs the two queries of the startup load, whatever the number of users.
+ */
+@Component
+public class LeaderboardRefresher {
+
+    private final LeaderboardService leaderboardService;
+    private final LeaderboardRefreshProperties properties;
+
+    @Autowired
+    public LeaderboardRefresher(final LeaderboardService leaderboardService,
+                                final LeaderboardRefreshProperties properties) {
+        this.leaderboardService = leaderboardService;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${goals.leaderboard.refresh.cron:0 2 0 * * *}")
+    public void scheduledRefresh() {
+        if (properties.isEnabled()) {
+            leaderboardService.rebuild(LocalDate.now());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.goalsmanager.jobs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Background purge of soft-deleted goals, habits, tasks and notes
+ *
+ * goals.purge.enabled=true
+ * goals.purge.batch-size=1000
+ * goals.purge.pause=100ms
+ * goals.purge.max-duration=5m
+ * goals.purge.cron=0 0/10 1-5 * * *
+ */
+@ConfigurationProperties(prefix = "goals.purge")
+public class SoftDeletePurgeProperties {
+
+    /**
+     * Whether the purger runs
+     */
+    private boolean enabled = true;
+
+    /**
+     * Rows deleted per statement, each statement committing on its own
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Pause between full batches, leaving the database to other work
+     */
+    private Duration pause = Duration.ofMillis(100);
+
+    /**
+     * Time after which a run stops; the next run continues where it left off
+     */
+    private Duration maxDuration = Duration.ofMinutes(5);
+
+    /**
+     * When the purger runs; short runs spread over the quiet hours
+     */
+    private String cron = "0 0/10 1-5 * * *";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getPause() {
+        return pause;
+    }
+
+    public void setPause(Duration pause) {
+        this.pause = pause;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+}
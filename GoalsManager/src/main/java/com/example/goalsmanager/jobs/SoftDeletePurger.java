@@ -0,0 +1,144 @@
+package com.example.goalsmanager.jobs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Physically deletes soft-deleted rows in small batches, children first: tasks deleted on
+ * their own, then soft-deleted habits with all their tasks and archived months, then notes,
+ * then goals left without habits and notes. Runs without a surrounding transaction so every
+ * statement commits on its own and holds its row locks only briefly. Plain SQL because the
+ * entities' soft-delete restriction would hide the rows.
+ */
+@Component
+public class SoftDeletePurger {
+
+    private static final Logger log = LoggerFactory.getLogger(SoftDeletePurger.class);
+
+    // Tasks are matched on (id, date), the partitioned table's primary key, so each row is one index probe
+    private static final String DELETE_TASKS_SQL = """
+            DELETE FROM tasks WHERE (id, date) IN (
+                SELECT id, date FROM tasks WHERE deleted_at IS NOT NULL FETCH FIRST ? ROWS ONLY)
+            """;
+
+    private static final String DELETED_HABITS_SQL = """
+            SELECT id FROM habits WHERE deleted_at IS NOT NULL AND id > ? ORDER BY id FETCH FIRST ? ROWS ONLY
+            """;
+
+    private static final String DELETE_HABIT_TASKS_SQL = """
+            DELETE FROM tasks WHERE (id, date) IN (
+                SELECT id, date FROM tasks WHERE habit_id = ? FETCH FIRST ? ROWS ONLY)
+            """;
+
+    private static final String DELETE_HABIT_ARCHIVES_SQL = "DELETE FROM task_archives WHERE habit_id = ?";
+
+    private static final String DELETE_HABIT_SQL = "DELETE FROM habits WHERE id = ? AND deleted_at IS NOT NULL";
+
+    private static final String DELETE_NOTES_SQL = """
+            DELETE FROM notes WHERE id IN (
+                SELECT id FROM notes WHERE deleted_at IS NOT NULL FETCH FIRST ? ROWS ONLY)
+            """;
+
+    private static final String DELETE_GOALS_SQL = """
+            DELETE FROM goals WHERE id IN (
+                SELECT g.id FROM goals g WHERE g.deleted_at IS NOT NULL
+                AND NOT EXISTS (SELECT 1 FROM habits h WHERE h.goal_id = g.id)
+                AND NOT EXISTS (SELECT 1 FROM notes n WHERE n.goal_id = g.id)
+                FETCH FIRST ? ROWS ONLY)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SoftDeletePurgeProperties properties;
+    private final Clock clock;
+
+    @Autowired
+    public SoftDeletePurger(final JdbcTemplate jdbcTemplate, final SoftDeletePurgeProperties properties) {
+        this(jdbcTemplate, properties, Clock.systemDefaultZone());
+    }
+
+    SoftDeletePurger(final JdbcTemplate jdbcTemplate, final SoftDeletePurgeProperties properties,
+                     final Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${goals.purge.cron:0 0/10 1-5 * * *}")
+    public void scheduledPurge() {
+        if (properties.isEnabled()) {
+            purge();
+        }
+    }
+
+    /**
+     * Purge soft-deleted rows until none are left or max-duration has passed
+     * @return the number of rows deleted
+     */
+    public long purge() {
+        final Instant deadline = clock.instant().plus(properties.getMaxDuration());
+        long rows = drain(deadline, DELETE_TASKS_SQL);
+
+        long afterId = 0;
+        List<Long> habitIds;
+        while (!isOver(deadline) && !(habitIds = jdbcTemplate.queryForList(
+                DELETED_HABITS_SQL, Long.class, afterId, properties.getBatchSize())).isEmpty()) {
+            for (final Long habitId : habitIds) {
+                rows += drain(deadline, DELETE_HABIT_TASKS_SQL, habitId);
+                if (isOver(deadline)) {
+                    break;
+                }
+                rows += jdbcTemplate.update(DELETE_HABIT_ARCHIVES_SQL, habitId);
+                rows += jdbcTemplate.update(DELETE_HABIT_SQL, habitId);
+            }
+            afterId = habitIds.get(habitIds.size() - 1);
+        }
+
+        rows += drain(deadline, DELETE_NOTES_SQL);
+        rows += drain(deadline, DELETE_GOALS_SQL);
+        if (rows > 0) {
+            log.info("Purged {} soft-deleted rows", rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Run a batched delete until it deletes less than a full batch or the run is over
+     * @param args leading arguments; the batch size is bound last
+     */
+    private long drain(final Instant deadline, final String sql, final Object... args) {
+        final Object[] batchArgs = new Object[args.length + 1];
+        System.arraycopy(args, 0, batchArgs, 0, args.length);
+        batchArgs[args.length] = properties.getBatchSize();
+
+        long rows = 0;
+        while (!isOver(deadline)) {
+            final int deleted = jdbcTemplate.update(sql, batchArgs);
+            rows += deleted;
+            if (deleted < properties.getBatchSize()) {
+                break;
+            }
+            pause();
+        }
+        return rows;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(properties.getPause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isOver(final Instant deadline) {
+        return Thread.currentThread().isInterrupted() || !clock.instant().isBefore(deadline);
+    }
+}
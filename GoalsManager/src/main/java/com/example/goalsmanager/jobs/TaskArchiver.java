@@ -0,0 +1,80 @@
+package com.example.goalsmanager.jobs;
+
+import com.example.goalsmanager.goalutils.MonthDays;
+import com.example.goalsmanager.repository.TaskRepository;
+import com.example.goalsmanager.service.TaskArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Moves tasks older than older-than-days into monthly TaskArchive rows, habit by habit.
+ * Each habit is archived in its own transaction so a run can stop anywhere and resume.
+ */
+@Component
+public class TaskArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiver.class);
+
+    private final TaskRepository taskRepository;
+    private final TaskArchiveService taskArchiveService;
+    private final TaskArchivingProperties properties;
+    private final Clock clock;
+
+    @Autowired
+    public TaskArchiver(final TaskRepository taskRepository, final TaskArchiveService taskArchiveService,
+                        final TaskArchivingProperties properties) {
+        this(taskRepository, taskArchiveService, properties, Clock.systemDefaultZone());
+    }
+
+    TaskArchiver(final TaskRepository taskRepository, final TaskArchiveService taskArchiveService,
+                 final TaskArchivingProperties properties, final Clock clock) {
+        this.taskRepository = taskRepository;
+        this.taskArchiveService = taskArchiveService;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${goals.tasks.archive.cron:0 45 3 * * *}")
+    public void scheduledArchive() {
+        if (properties.isEnabled()) {
+            archive();
+        }
+    }
+
+    /**
+     * Archive every task in a month that ended more than older-than-days ago
+     * @return the number of tasks archived
+     */
+    public long archive() {
+        final LocalDate cutoff = cutoff();
+        long archived = 0;
+        int habits = 0;
+        List<Long> habitIds;
+        while (!(habitIds = taskRepository.findHabitIdsWithTasksBefore(
+                cutoff, PageRequest.of(0, properties.getBatchSize()))).isEmpty()) {
+            for (final Long habitId : habitIds) {
+                archived += taskArchiveService.archiveHabit(habitId, cutoff);
+            }
+            habits += habitIds.size();
+        }
+        if (archived > 0) {
+            log.info("Archived {} tasks of {} habits dated before {}", archived, habits, cutoff);
+        }
+        return archived;
+    }
+
+    /**
+     * Tasks before this date are archived: the first day of the month containing today - older-than-days
+     */
+    LocalDate cutoff() {
+        return MonthDays.monthStart(LocalDate.now(clock).minusDays(properties.getOlderThanDays()));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.goalsmanager.jobs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Cold archival of old tasks into monthly per-habit summaries
+ *
+ * goals.tasks.archive.enabled=true
+ * goals.tasks.archive.older-than-days=400
+ * goals.tasks.archive.batch-size=100
+ * goals.tasks.archive.cron=0 45 3 * * *
+ */
+@ConfigurationProperties(prefix = "goals.tasks.archive")
+public class TaskArchivingProperties {
+
+    /**
+     * Whether the archiver runs
+     */
+    private boolean enabled = false;
+
+    /**
+     * Minimum age of archived tasks. Only whole months are archived, so tasks are archived
+     * once the month they belong to lies entirely past this age.
+     */
+    private int olderThanDays = 400;
+
+    /**
+     * Habits archived per lookup, each in its own transaction
+     */
+    private int batchSize = 100;
+
+    /**
+     * When the archiver runs
+     */
+    private String cron = "0 45 3 * * *";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getOlderThanDays() {
+        return olderThanDays;
+    }
+
+    public void setOlderThanDays(int olderThanDays) {
+        this.olderThanDays = olderThanDays;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+}
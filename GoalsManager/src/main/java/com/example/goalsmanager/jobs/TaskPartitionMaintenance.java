@@ -0,0 +1,156 @@
+package com.example.goalsmanager.jobs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Keeps monthly partitions of the tasks table created ahead of time, detaches old ones, and
+ * builds the partitions' copies of indexes created on the parent alone.
+ * Does nothing unless the database is PostgreSQL and tasks is actually partitioned, so H2
+ * and databases that have not run the partitioning migration yet are left alone.
+ */
+@Component
+public class TaskPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskPartitionMaintenance.class);
+
+    private static final String PARTITIONED_SQL = """
+            SELECT count(*) FROM pg_partitioned_table pt
+            JOIN pg_class c ON c.oid = pt.partrelid
+            WHERE c.relname = 'tasks' AND pg_table_is_visible(c.oid)
+            """;
+
+    private static final String PARTITIONS_SQL = """
+            SELECT child.relname FROM pg_inherits i
+            JOIN pg_class parent ON parent.oid = i.inhparent
+            JOIN pg_class child ON child.oid = i.inhrelid
+            WHERE parent.relname = 'tasks' AND pg_table_is_visible(parent.oid)
+            """;
+
+    /**
+     * Partitions lacking their copy of an index created ON ONLY tasks, which stays invalid until
+     * every partition has one attached
+     */
+    private static final String UNINDEXED_PARTITIONS_SQL = """
+            SELECT parent_index.relname AS parent_index, child.relname AS partition,
+                   pg_get_indexdef(pi.indexrelid) AS definition
+            FROM pg_index pi
+            JOIN pg_class parent_index ON parent_index.oid = pi.indexrelid
+            JOIN pg_class parent ON parent.oid = pi.indrelid
+            JOIN pg_inherits i ON i.inhparent = parent.oid
+            JOIN pg_class child ON child.oid = i.inhrelid
+            WHERE parent.relname = 'tasks' AND pg_table_is_visible(parent.oid) AND NOT pi.indisvalid
+              AND NOT EXISTS (SELECT 1 FROM pg_inherits ci JOIN pg_index child_index ON child_index.indexrelid = ci.inhrelid
+                              WHERE ci.inhparent = pi.indexrelid AND child_index.indrelid = child.oid)
+            ORDER BY child.relname
+            """;
+
+    private record PartitionIndex(String parentIndex, String partition, String definition) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskPartitioningProperties properties;
+    private final Clock clock;
+
+    @Autowired
+    public TaskPartitionMaintenance(final JdbcTemplate jdbcTemplate, final TaskPartitioningProperties properties) {
+        this(jdbcTemplate, properties, Clock.systemDefaultZone());
+    }
+
+    TaskPartitionMaintenance(final JdbcTemplate jdbcTemplate, final TaskPartitioningProperties properties,
+                             final Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    /**
+     * Create partitions up to months-ahead, detach those older than detach-after-months and
+     * index the partitions still missing an index of tasks. Runs without a surrounding
+     * transaction so each DDL statement commits on its own.
+     */
+    @Scheduled(cron = "${goals.tasks.partitioning.cron:0 15 3 * * *}")
+    public void maintain() {
+        if (!properties.isEnabled() || !isPartitioned()) {
+            return;
+        }
+        final LocalDate today = LocalDate.now(clock);
+        final int created = createPartitions(today);
+        final List<String> detached = detachPartitions(YearMonth.from(today));
+        final int indexed = indexPartitions();
+        if (created > 0 || !detached.isEmpty() || indexed > 0) {
+            log.info("Task partitions maintained: {} created, detached {}, {} indexes built", created, detached, indexed);
+        }
+    }
+
+    private boolean isPartitioned() {
+        final String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            return false;
+        }
+        final Integer count = jdbcTemplate.queryForObject(PARTITIONED_SQL, Integer.class);
+        return count != null && count > 0;
+    }
+
+    private int createPartitions(final LocalDate today) {
+        final LocalDate until = YearMonth.from(today).plusMonths(properties.getMonthsAhead()).atDay(1);
+        final Integer created = jdbcTemplate.queryForObject("SELECT create_task_partitions(?, ?)", Integer.class,
+                Date.valueOf(today), Date.valueOf(until));
+        return created == null ? 0 : created;
+    }
+
+    /**
+     * Detached partitions stay behind as plain tables to be archived or dropped. A plain DETACH
+     * briefly locks tasks; CONCURRENTLY is not allowed while a default partition exists.
+     */
+    private List<String> detachPartitions(final YearMonth currentMonth) {
+        if (properties.getDetachAfterMonths() <= 0) {
+            return List.of();
+        }
+        final YearMonth cutoff = currentMonth.minusMonths(properties.getDetachAfterMonths());
+        final List<String> old = TaskPartitions.endedBefore(
+                jdbcTemplate.queryForList(PARTITIONS_SQL, String.class), cutoff);
+        for (final String partition : old) {
+            jdbcTemplate.execute("ALTER TABLE tasks DETACH PARTITION " + partition);
+        }
+        return old;
+    }
+
+    /**
+     * An index on the partitioned table cannot be built concurrently, so migrations create it ON ONLY
+     * tasks and this builds each partition's copy concurrently and attaches it. Partitions created
+     * later get theirs when they are attached, before they take writes. A leftover index of the same
+     * name, e.g. an invalid one from an interrupted build, is dropped first.
+     * @return the number of indexes built
+     */
+    private int indexPartitions() {
+        final List<PartitionIndex> missing = jdbcTemplate.query(UNINDEXED_PARTITIONS_SQL, (rs, rowNum) ->
+                new PartitionIndex(rs.getString("parent_index"), rs.getString("partition"), rs.getString("definition")));
+        for (final PartitionIndex index : missing) {
+            final String name = TaskPartitions.indexName(index.partition(), index.parentIndex());
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+            jdbcTemplate.execute(TaskPartitions.createIndexConcurrently(index.definition(), name, index.partition()));
+            jdbcTemplate.execute("ALTER INDEX " + index.parentIndex() + " ATTACH PARTITION " + name);
+        }
+        return missing.size();
+    }
+}
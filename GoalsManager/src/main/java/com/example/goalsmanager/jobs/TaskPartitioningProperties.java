@@ -0,0 +1,67 @@
+package com.example.goalsmanager.jobs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Maintenance of the monthly tasks partitions (PostgreSQL only)
+ *
+ * goals.tasks.partitioning.enabled=true
+ * goals.tasks.partitioning.months-ahead=3
+ * goals.tasks.partitioning.detach-after-months=0
+ * goals.tasks.partitioning.cron=0 15 3 * * *
+ */
+@ConfigurationProperties(prefix = "goals.tasks.partitioning")
+public class TaskPartitioningProperties {
+
+    /**
+     * Whether partitions are created and detached by the application
+     */
+    private boolean enabled = true;
+
+    /**
+     * How many months past the current one always have a partition
+     */
+    private int monthsAhead = 3;
+
+    /**
+     * Detach partitions that ended this many months ago. 0 keeps every partition attached.
+     */
+    private int detachAfterMonths = 0;
+
+    /**
+     * When the maintenance runs, in addition to once at startup
+     */
+    private String cron = "0 15 3 * * *";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMonthsAhead() {
+        return monthsAhead;
+    }
+
+    public void setMonthsAhead(int monthsAhead) {
+        this.monthsAhead = monthsAhead;
+    }
+
+    public int getDetachAfterMonths() {
+        return detachAfterMonths;
+    }
+
+    public void setDetachAfterMonths(int detachAfterMonths) {
+        this.detachAfterMonths = detachAfterMonths;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.goalsmanager.jobs;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Naming of the monthly tasks partitions, tasks_pYYYYMM, as created by create_task_partitions
+ */
+public final class TaskPartitions {
+
+    private static final Pattern NAME = Pattern.compile("tasks_p(\\d{4})(\\d{2})");
+
+    private TaskPartitions() {
+    }
+
+    /**
+     * Partition holding the given month
+     */
+    public static String name(final YearMonth month) {
+        return String.format("tasks_p%04d%02d", month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * Month covered by a partition, empty for the default partition and unrelated tables
+     */
+    public static Optional<YearMonth> month(final String partitionName) {
+        final Matcher matcher = NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        final int monthValue = Integer.parseInt(matcher.group(2));
+        if (monthValue < 1 || monthValue > 12) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), monthValue));
+    }
+
+    /**
+     * Monthly partitions covering only months before the cutoff, oldest first
+     */
+    public static List<String> endedBefore(final List<String> partitionNames, final YearMonth cutoff) {
+        return partitionNames.stream()
+                .filter(name -> month(name).filter(month -> month.isBefore(cutoff)).isPresent())
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Name of a partition's copy of an index on tasks
+     */
+    public static String indexName(final String partitionName, final String parentIndex) {
+        return partitionName + "_" + parentIndex;
+    }
+
+    /**
+     * Concurrent build of a partition's copy of an index on tasks, from the parent's definition
+     * as pg_get_indexdef returns it: CREATE [UNIQUE] INDEX name ON ONLY public.tasks USING ...
+     */
+    public static String createIndexConcurrently(final String parentDefinition, final String indexName,
+                                                 final String partitionName) {
+        final String create = parentDefinition.startsWith("CREATE UNIQUE") ? "CREATE UNIQUE INDEX" : "CREATE INDEX";
+        return create + " CONCURRENTLY " + indexName + " ON " + partitionName
+                + parentDefinition.substring(parentDefinition.indexOf(" USING "));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.goalsmanager.jobs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Reconciliation of the materialized per-user stats
+ *
+ * goals.stats.reconcile.enabled=true
+ * goals.stats.reconcile.batch-size=500
+ * goals.stats.reconcile.cron=0 15 4 * * *
+ */
+@ConfigurationProperties(prefix = "goals.stats.reconcile")
+public class UserStatsProperties {
+
+    /**
+     * Whether the reconciler runs
+     */
+    private boolean enabled = true;
+
+    /**
+     * Users looked up per page, each recounted in its own transaction
+     */
+    private int batchSize = 500;
+
+    /**
+     * When the reconciler runs
+     */
+    private String cron = "0 15 4 * * *";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.goalsmanager.jobs;
+
+import com.example.goalsmanager.repository.UserRepository;
+import com.example.goalsmanager.service.UserStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Recounts every user's stats row from the tables and fixes any drift, for example from
+ * bulk loads, detached task partitions or manual SQL. Each user is recounted in its own
+ * transaction so a run can stop anywhere.
+ */
+@Component
+public class UserStatsReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(UserStatsReconciler.class);
+
+    private final UserRepository userRepository;
+    private final UserStatsService userStatsService;
+    private final UserStatsProperties properties;
+
+    @Autowired
+    public UserStatsReconciler(final UserRepository userRepository, final UserStatsService userStatsService,
+                               final UserStatsProperties properties) {
+        this.userRepository = userRepository;
+        this.userStatsService = userStatsService;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${goals.stats.reconcile.cron:0 15 4 * * *}")
+    public void scheduledReconcile() {
+        if (properties.isEnabled()) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Recount all users
+     * @return the number of users whose stats were missing or wrong
+     */
+    public int reconcile() {
+        int users = 0;
+        int fixed = 0;
+        long afterId = 0;
+        List<Long> userIds;
+        while (!(userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, properties.getBatchSize()))).isEmpty()) {
+            for (final Long userId : userIds) {
+                if (userStatsService.reconcile(userId)) {
+                    fixed++;
+                }
+            }
+            users += userIds.size();
+            afterId = userIds.get(userIds.size() - 1);
+        }
+        if (fixed > 0) {
+            log.info("Reconciled stats of {} users, {} were missing or wrong", users, fixed);
+        }
+        return fixed;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.goalsmanager.metrics;
+
+/**
+ * Raised when a request issues more SQL statements than its budget allows
+ * and goals.sql.budget.fail-on-exceed is set; only MockMvc tests see it fail the request
+ */
+public class SqlStatementBudgetExceededException extends IllegalStateException {
+
+    public SqlStatementBudgetExceededException(final String endpoint, final int statements, final int budget) {
+        super("SQL statement budget exceeded for " + endpoint + ": " + statements + " statements, budget " + budget);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.goalsmanager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Counts the SQL statements issued by each request, records them as the goals.sql.statements
+ * metric and checks the configured per-endpoint budget. Runs as a MVC interceptor rather
+ * than a servlet filter so MockMvc tests (which usually skip filters) are covered too.
+ * Only statements prepared by Hibernate are counted; see {@link SqlStatementCounter}.
+ */
+@Component
+public class SqlStatementBudgetInterceptor implements HandlerInterceptor {
+
+    static final String SCOPE_ATTRIBUTE = SqlStatementBudgetInterceptor.class.getName() + ".scope";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudgetInterceptor.class);
+
+    private final SqlStatementCounter counter;
+    private final SqlStatementBudgetProperties properties;
+    private final MeterRegistry registry;
+
+    @Autowired
+    public SqlStatementBudgetInterceptor(final SqlStatementCounter counter,
+                                         final SqlStatementBudgetProperties properties,
+                                         final MeterRegistry registry) {
+        this.counter = counter;
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull final HttpServletRequest request, @NonNull final HttpServletResponse response,
+                             @NonNull final Object handler) {
+        if (properties.isEnabled() && request.getAttribute(SCOPE_ATTRIBUTE) == null) {
+            request.setAttribute(SCOPE_ATTRIBUTE, counter.open());
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(@NonNull final HttpServletRequest request, @NonNull final HttpServletResponse response,
+                           @NonNull final Object handler, @Nullable final ModelAndView modelAndView) {
+        final SqlStatementCounter.Scope scope = currentScope(request);
+        if (scope == null) {
+            return;
+        }
+
+        final String endpoint = endpoint(request);
+        final int statements = scope.count();
+        final int budget = properties.budgetFor(endpoint);
+        if (statements > budget) {
+            // A @ResponseBody is already written by now, so failing only reaches MockMvc tests
+            if (properties.isFailOnExceed()) {
+                throw new SqlStatementBudgetExceededException(endpoint, statements, budget);
+            }
+            log.warn("SQL statement budget exceeded for {}: {} statements, budget {}", endpoint, statements, budget);
+        }
+    }
+
+    @Override
+    public void afterCompletion(@NonNull final HttpServletRequest request, @NonNull final HttpServletResponse response,
+                                @NonNull final Object handler, @Nullable final Exception ex) {
+        final SqlStatementCounter.Scope scope = currentScope(request);
+        if (scope == null) {
+            return;
+        }
+        request.removeAttribute(SCOPE_ATTRIBUTE);
+        scope.close();
+
+        DistributionSummary.builder("goals.sql.statements")
+                .description("JDBC statements issued per HTTP request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uriTemplate(request))
+                .register(registry)
+                .record(scope.count());
+    }
+
+    /**
+     * Statement count so far for the request, or -1 when counting is disabled
+     */
+    static int currentCount(final HttpServletRequest request) {
+        final SqlStatementCounter.Scope scope = currentScope(request);
+        return scope == null ? -1 : scope.count();
+    }
+
+    private static SqlStatementCounter.Scope currentScope(final HttpServletRequest request) {
+        return (SqlStatementCounter.Scope) request.getAttribute(SCOPE_ATTRIBUTE);
+    }
+
+    private static String endpoint(final HttpServletRequest request) {
+        return request.getMethod() + " " + uriTemplate(request);
+    }
+
+    /**
+     * Matched path template, e.g. /api/goals/{id}, so tags stay bounded
+     */
+    private static String uriTemplate(final HttpServletRequest request) {
+        final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
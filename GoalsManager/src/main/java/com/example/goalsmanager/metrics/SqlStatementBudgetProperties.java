@@ -0,0 +1,79 @@
+package com.example.goalsmanager.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request SQL statement budgets
+ *
+ * goals.sql.budget.enabled=true
+ * goals.sql.budget.default-max-statements=20
+ * goals.sql.budget.fail-on-exceed=false
+ * goals.sql.budget.endpoints.[GET\ /api/tasks/user/{userId}/week]=60
+ */
+@ConfigurationProperties(prefix = "goals.sql.budget")
+public class SqlStatementBudgetProperties {
+
+    /**
+     * Whether statements are counted and budgets enforced
+     */
+    private boolean enabled = true;
+
+    /**
+     * Budget for endpoints without their own entry
+     */
+    private int defaultMaxStatements = 20;
+
+    /**
+     * Fail the request instead of logging a warning. Test-only: the budget is checked in
+     * postHandle, after a response body has been written, so only MockMvc sees the failure.
+     * On a real server the client has usually received its response already.
+     */
+    private boolean failOnExceed = false;
+
+    /**
+     * Budgets keyed by "HTTP_METHOD /path/{template}"
+     */
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getDefaultMaxStatements() {
+        return defaultMaxStatements;
+    }
+
+    public void setDefaultMaxStatements(int defaultMaxStatements) {
+        this.defaultMaxStatements = defaultMaxStatements;
+    }
+
+    public boolean isFailOnExceed() {
+        return failOnExceed;
+    }
+
+    public void setFailOnExceed(boolean failOnExceed) {
+        this.failOnExceed = failOnExceed;
+    }
+
+    public Map<String, Integer> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, Integer> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * Budget for an endpoint key, falling back to the default
+     */
+    public int budgetFor(final String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultMaxStatements);
+    }
+}
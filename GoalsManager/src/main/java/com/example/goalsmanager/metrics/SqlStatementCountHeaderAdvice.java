@@ -0,0 +1,42 @@
+package com.example.goalsmanager.metrics;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the X-SQL-Statement-Count header to every response body just before it is written,
+ * which is the last point where headers can still be changed
+ */
+@ControllerAdvice
+public class SqlStatementCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-SQL-Statement-Count";
+
+    @Override
+    public boolean supports(@NonNull final MethodParameter returnType,
+                            @NonNull final Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(@Nullable final Object body, @NonNull final MethodParameter returnType,
+                                  @NonNull final MediaType selectedContentType,
+                                  @NonNull final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  @NonNull final ServerHttpRequest request, @NonNull final ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            final int count = SqlStatementBudgetInterceptor.currentCount(servletRequest.getServletRequest());
+            if (count >= 0) {
+                response.getHeaders().set(HEADER, Integer.toString(count));
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.goalsmanager.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the JDBC statements Hibernate prepares on the current thread.
+ * Registered as Hibernate's StatementInspector, so every query, insert, update and delete
+ * issued through JPA is seen, including lazy loads triggered while mapping entities to DTOs.
+ * Statements that bypass Hibernate (JdbcTemplate, raw JDBC) are not counted.
+ *
+ * Usage (also from tests):
+ * <pre>
+ * try (SqlStatementCounter.Scope scope = counter.open()) {
+ *     service.doWork();
+ *     assertThat(scope.count()).isLessThanOrEqualTo(3);
+ * }
+ * </pre>
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(final String sql) {
+        STATEMENTS.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Start counting statements on the current thread. Scopes can be nested.
+     */
+    public Scope open() {
+        return new Scope(STATEMENTS.get());
+    }
+
+    /**
+     * A counting window on one thread
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final long[] statements;
+        private final long start;
+
+        private Scope(final long[] statements) {
+            this.statements = statements;
+            this.start = statements[0];
+        }
+
+        /**
+         * Number of statements issued since this scope was opened
+         */
+        public int count() {
+            return (int) (statements[0] - start);
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release: the per-thread total keeps running for outer scopes
+        }
+    }
+}
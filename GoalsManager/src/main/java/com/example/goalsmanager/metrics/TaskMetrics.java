@@ -0,0 +1,51 @@
+package com.example.goalsmanager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Domain metrics for task generation and streak calculation.
+ * Meters carry no per-user or per-habit tags so their cardinality stays fixed.
+ */
+@Component
+public class TaskMetrics {
+
+    private final DistributionSummary tasksGenerated;
+    private final Timer streakRecompute;
+    private final DistributionSummary streakRowsScanned;
+
+    @Autowired
+    public TaskMetrics(final MeterRegistry registry) {
+        this.tasksGenerated = DistributionSummary.builder("goals.tasks.generated")
+                .description("Tasks created by lazy generation per week-view request")
+                .baseUnit("tasks")
+                .register(registry);
+        this.streakRecompute = Timer.builder("goals.streak.recompute")
+                .description("Time spent recomputing a habit streak after a toggle")
+                .register(registry);
+        this.streakRowsScanned = DistributionSummary.builder("goals.streak.rows.scanned")
+                .description("Task and archive rows read to recompute a habit streak")
+                .baseUnit("rows")
+                .register(registry);
+    }
+
+    /**
+     * Record how many tasks a single request generated
+     */
+    public void recordTasksGenerated(final int count) {
+        tasksGenerated.record(count);
+    }
+
+    /**
+     * Record one streak recomputation and the number of task and archive rows it had to read
+     */
+    public void recordStreakRecompute(final long durationNanos, final int rowsScanned) {
+        streakRecompute.record(durationNanos, TimeUnit.NANOSECONDS);
+        streakRowsScanned.record(rowsScanned);
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
@@ -13,7 +14,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "goals")
+@Table(name = "goals",
+    indexes = {
+        @Index(name = "idx_goal_user_status", columnList = "user_id, status"),
+        @Index(name = "idx_goal_user_start_date", columnList = "user_id, start_date"),
+        @Index(name = "idx_goal_status", columnList = "status"),
+        @Index(name = "idx_goal_end_date", columnList = "end_date")
+    }
+)
+@SQLRestriction("deleted_at IS NULL")
 public class Goal {
 
     @Id
@@ -45,6 +54,20 @@ public class Goal {
     @Column(nullable = false)
     private GoalStatus status = GoalStatus.NOT_STARTED;
 
+    /**
+     * Tasks of the goal's habits dated up to progressDate, and how many of those are completed.
+     * Changed only by bulk increments as tasks change and rolled forward each day, never by entity writes.
+     * The column defaults match V16, so rows inserted by plain SQL start at zero as of today
+     */
+    @Column(name = "scheduled_tasks", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private int scheduledTasks;
+
+    @Column(name = "completed_tasks", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private int completedTasks;
+
+    @Column(name = "progress_date", nullable = false, updatable = false, columnDefinition = "date default current_date")
+    private LocalDate progressDate = LocalDate.now();
+
     @OneToMany(mappedBy = "goal", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Note> notes = new ArrayList<>();
 
@@ -64,6 +87,13 @@ public class Goal {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Set by soft deletes through bulk updates, never by entity writes. Soft-deleted rows
+     * are filtered out of every query until the purger deletes them
+     */
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
     // Constructors
     public Goal() {
     }
@@ -142,6 +172,25 @@ public class Goal {
         this.status = status;
     }
 
+    public int getScheduledTasks() {
+        return scheduledTasks;
+    }
+
+    public int getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public LocalDate getProgressDate() {
+        return progressDate;
+    }
+
+    /**
+     * Completed tasks as a percentage of the tasks scheduled up to progressDate, 0 when none are
+     */
+    public int getProgress() {
+        return scheduledTasks == 0 ? 0 : (int) (100L * completedTasks / scheduledTasks);
+    }
+
     public List<Note> getNotes() {
         return notes;
     }
@@ -203,4 +252,8 @@ public class Goal {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
 }
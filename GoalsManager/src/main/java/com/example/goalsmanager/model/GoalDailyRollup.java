@@ -0,0 +1,83 @@
+package com.example.goalsmanager.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * Tasks and completed tasks across the live habits of one goal on one day, archived tasks included.
+ * Written only through increments by CompletionRollupService, never loaded for update.
+ */
+@Entity
+@Table(name = "goal_daily_rollups",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_goal_daily_rollup_goal_date", columnNames = {"goal_id", "date"})
+    }
+)
+public class GoalDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "goal_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Goal goal;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private Integer scheduled = 0;
+
+    @Column(nullable = false)
+    private Integer completed = 0;
+
+    // Constructors
+    public GoalDailyRollup() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Goal getGoal() {
+        return goal;
+    }
+
+    public void setGoal(Goal goal) {
+        this.goal = goal;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Integer getScheduled() {
+        return scheduled;
+    }
+
+    public void setScheduled(Integer scheduled) {
+        this.scheduled = scheduled;
+    }
+
+    public Integer getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Integer completed) {
+        this.completed = completed;
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
@@ -12,7 +13,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "habits")
+@Table(name = "habits",
+    indexes = {
+        @Index(name = "idx_habit_user_goal", columnList = "user_id, goal_id"),
+        @Index(name = "idx_habit_goal", columnList = "goal_id")
+    }
+)
+@SQLRestriction("deleted_at IS NULL")
 public class Habit {
 
     @Id
@@ -56,6 +63,9 @@ public class Habit {
     @OneToMany(mappedBy = "habit", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Task> tasks = new ArrayList<>();
 
+    @OneToMany(mappedBy = "habit", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<TaskArchive> taskArchives = new ArrayList<>();
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -64,6 +74,13 @@ public class Habit {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Set by soft deletes through bulk updates, never by entity writes. Soft-deleted rows
+     * are filtered out of every query until the purger deletes them
+     */
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
     // Constructors
     public Habit() {
     }
@@ -170,6 +187,14 @@ public class Habit {
         this.tasks = tasks;
     }
 
+    public List<TaskArchive> getTaskArchives() {
+        return taskArchives;
+    }
+
+    public void setTaskArchives(List<TaskArchive> taskArchives) {
+        this.taskArchives = taskArchives;
+    }
+
     // Helper methods for bidirectional relationship
     public void addTask(Task task) {
         tasks.add(task);
@@ -196,5 +221,9 @@ public class Habit {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
 }
 
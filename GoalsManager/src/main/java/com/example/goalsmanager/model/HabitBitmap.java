@@ -0,0 +1,98 @@
+package com.example.goalsmanager.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Stored form of a habit's {@link com.example.goalsmanager.goalutils.CompletionBitmap}.
+ * Bit i of taskDays / completedDays stands for origin + i days.
+ */
+@Entity
+@Table(name = "habit_bitmaps")
+public class HabitBitmap {
+
+    @Id
+    @Column(name = "habit_id")
+    private Long habitId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "habit_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Habit habit;
+
+    @Column
+    private LocalDate origin;
+
+    @Column(name = "task_days", nullable = false, length = 8192)
+    private byte[] taskDays = new byte[0];
+
+    @Column(name = "completed_days", nullable = false, length = 8192)
+    private byte[] completedDays = new byte[0];
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public HabitBitmap() {
+    }
+
+    public HabitBitmap(Habit habit) {
+        this.habit = habit;
+    }
+
+    // Getters and Setters
+    public Long getHabitId() {
+        return habitId;
+    }
+
+    public void setHabitId(Long habitId) {
+        this.habitId = habitId;
+    }
+
+    public Habit getHabit() {
+        return habit;
+    }
+
+    public void setHabit(Habit habit) {
+        this.habit = habit;
+    }
+
+    public LocalDate getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(LocalDate origin) {
+        this.origin = origin;
+    }
+
+    public byte[] getTaskDays() {
+        return taskDays;
+    }
+
+    public void setTaskDays(byte[] taskDays) {
+        this.taskDays = taskDays;
+    }
+
+    public byte[] getCompletedDays() {
+        return completedDays;
+    }
+
+    public void setCompletedDays(byte[] completedDays) {
+        this.completedDays = completedDays;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.goalsmanager.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * Tasks and completed tasks of one habit on one day, archived tasks included.
+ * Written only through increments by CompletionRollupService, never loaded for update.
+ */
+@Entity
+@Table(name = "habit_daily_rollups",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_habit_daily_rollup_habit_date", columnNames = {"habit_id", "date"})
+    }
+)
+public class HabitDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "habit_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Habit habit;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private Integer scheduled = 0;
+
+    @Column(nullable = false)
+    private Integer completed = 0;
+
+    // Constructors
+    public HabitDailyRollup() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Habit getHabit() {
+        return habit;
+    }
+
+    public void setHabit(Habit habit) {
+        this.habit = habit;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Integer getScheduled() {
+        return scheduled;
+    }
+
+    public void setScheduled(Integer scheduled) {
+        this.scheduled = scheduled;
+    }
+
+    public Integer getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Integer completed) {
+        this.completed = completed;
+    }
+}
@@ -1,16 +1,28 @@
 package com.example.goalsmanager.model;
 
+import com.example.goalsmanager.goalutils.NotePreview;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notes")
+@Table(name = "notes",
+    indexes = {
+        @Index(name = "idx_note_goal_created_id", columnList = "goal_id, created_at, id")
+    }
+)
+@SQLRestriction("deleted_at IS NULL")
 public class Note {
 
+    /**
+     * Characters of content kept in {@link #getPreview()}
+     */
+    public static final int PREVIEW_LENGTH = NotePreview.LENGTH;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -19,6 +31,18 @@ public class Note {
     @NotBlank(message = "Content is required")
     private String content;
 
+    /**
+     * Leading characters of the content, for lists that should not load the whole note
+     */
+    @Column(nullable = false, length = PREVIEW_LENGTH)
+    private String preview;
+
+    /**
+     * Length of the content in characters
+     */
+    @Column(nullable = false)
+    private Integer contentLength;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "goal_id", nullable = false)
     @NotNull(message = "Goal is required")
@@ -28,12 +52,19 @@ public class Note {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * Set by soft deletes through bulk updates, never by entity writes. Soft-deleted rows
+     * are filtered out of every query until the purger deletes them
+     */
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
     // Constructors
     public Note() {
     }
 
     public Note(String content, Goal goal) {
-        this.content = content;
+        setContent(content);
         this.goal = goal;
     }
 
@@ -50,8 +81,26 @@ public class Note {
         return content;
     }
 
+    /**
+     * Set the content and the preview and length derived from it
+     */
     public void setContent(String content) {
         this.content = content;
+        if (content == null) {
+            this.preview = null;
+            this.contentLength = null;
+            return;
+        }
+        this.contentLength = NotePreview.length(content);
+        this.preview = NotePreview.of(content);
+    }
+
+    public String getPreview() {
+        return preview;
+    }
+
+    public Integer getContentLength() {
+        return contentLength;
     }
 
     public Goal getGoal() {
@@ -69,4 +118,8 @@ public class Note {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
 }
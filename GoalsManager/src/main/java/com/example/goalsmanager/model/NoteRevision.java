@@ -0,0 +1,137 @@
+package com.example.goalsmanager.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * One version of a note's content, stored as a {@link com.example.goalsmanager.goalutils.TextDelta}
+ * against the previous version. Snapshot rows hold the whole content and start a new chain,
+ * so a version is rebuilt from the nearest snapshot at or before it.
+ */
+@Entity
+@Table(name = "note_revisions",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_note_revision_note_version", columnNames = {"note_id", "version"})
+    }
+)
+public class NoteRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "note_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Note note;
+
+    @Column(nullable = false)
+    private Integer version;
+
+    @Column(nullable = false)
+    private Boolean snapshot;
+
+    /**
+     * Characters kept from the start of the previous version
+     */
+    @Column(nullable = false)
+    private Integer prefixLength;
+
+    /**
+     * Characters kept from the end of the previous version
+     */
+    @Column(nullable = false)
+    private Integer suffixLength;
+
+    /**
+     * Text between the kept prefix and suffix; the whole content for snapshots
+     */
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String content;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public NoteRevision() {
+    }
+
+    public NoteRevision(Note note, Integer version, Boolean snapshot, Integer prefixLength,
+                        Integer suffixLength, String content, LocalDateTime createdAt) {
+        this.note = note;
+        this.version = version;
+        this.snapshot = snapshot;
+        this.prefixLength = prefixLength;
+        this.suffixLength = suffixLength;
+        this.content = content;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Note getNote() {
+        return note;
+    }
+
+    public void setNote(Note note) {
+        this.note = note;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public Boolean getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(Boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public Integer getPrefixLength() {
+        return prefixLength;
+    }
+
+    public void setPrefixLength(Integer prefixLength) {
+        this.prefixLength = prefixLength;
+    }
+
+    public Integer getSuffixLength() {
+        return suffixLength;
+    }
+
+    public void setSuffixLength(Integer suffixLength) {
+        this.suffixLength = suffixLength;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
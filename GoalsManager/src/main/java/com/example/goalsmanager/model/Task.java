@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
@@ -19,6 +20,7 @@ import java.time.LocalDateTime;
         @Index(name = "idx_task_habit_date", columnList = "habit_id, date")
     }
 )
+@SQLRestriction("deleted_at IS NULL")
 public class Task {
 
     @Id
@@ -54,6 +56,13 @@ public class Task {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Set by soft deletes through bulk updates, never by entity writes. Soft-deleted rows
+     * are filtered out of every query until the purger deletes them
+     */
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
     // Constructors
     public Task() {
     }
@@ -130,5 +139,9 @@ public class Task {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
 }
 
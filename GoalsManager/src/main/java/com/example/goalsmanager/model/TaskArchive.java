@@ -0,0 +1,144 @@
+package com.example.goalsmanager.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One month of archived tasks for a habit.
+ * Bit (day of month - 1) of scheduledDays is set when a task existed that day,
+ * the same bit of completedDays when it was completed.
+ */
+@Entity
+@Table(name = "task_archives",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_task_archive_habit_month", columnNames = {"habit_id", "month_start"})
+    },
+    indexes = {
+        @Index(name = "idx_task_archive_user_month", columnList = "user_id, month_start")
+    }
+)
+public class TaskArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "month_start", nullable = false)
+    @NotNull(message = "Month start is required")
+    private LocalDate monthStart;
+
+    @Column(name = "scheduled_days", nullable = false)
+    private Integer scheduledDays = 0;
+
+    @Column(name = "completed_days", nullable = false)
+    private Integer completedDays = 0;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "habit_id", nullable = false)
+    @NotNull(message = "Habit is required")
+    private Habit habit;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @NotNull(message = "User is required")
+    private User user;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public TaskArchive() {
+    }
+
+    public TaskArchive(LocalDate monthStart, Habit habit, User user) {
+        this.monthStart = monthStart;
+        this.habit = habit;
+        this.user = user;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDate getMonthStart() {
+        return monthStart;
+    }
+
+    public void setMonthStart(LocalDate monthStart) {
+        this.monthStart = monthStart;
+    }
+
+    public Integer getScheduledDays() {
+        return scheduledDays;
+    }
+
+    public void setScheduledDays(Integer scheduledDays) {
+        this.scheduledDays = scheduledDays;
+    }
+
+    public Integer getCompletedDays() {
+        return completedDays;
+    }
+
+    public void setCompletedDays(Integer completedDays) {
+        this.completedDays = completedDays;
+    }
+
+    public Habit getHabit() {
+        return habit;
+    }
+
+    public void setHabit(Habit habit) {
+        this.habit = habit;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
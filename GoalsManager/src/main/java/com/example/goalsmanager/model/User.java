@@ -54,6 +54,12 @@ public class User {
 
     private String location;
 
+    /**
+     * Whether the user appears on the streak leaderboards
+     */
+    @Column(name = "leaderboard_opt_in", nullable = false, columnDefinition = "boolean default false")
+    private boolean leaderboardOptIn;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -155,6 +161,14 @@ public class User {
         this.location = location;
     }
 
+    public boolean isLeaderboardOptIn() {
+        return leaderboardOptIn;
+    }
+
+    public void setLeaderboardOptIn(boolean leaderboardOptIn) {
+        this.leaderboardOptIn = leaderboardOptIn;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
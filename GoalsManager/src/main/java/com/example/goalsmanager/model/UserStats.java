@@ -0,0 +1,143 @@
+package com.example.goalsmanager.model;
+
+import com.example.goalsmanager.goalutils.GoalStatus;
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Materialized counts of a user's goals, habits and tasks, kept in step by the services
+ * that write them. Task counts include archived tasks.
+ */
+@Entity
+@Table(name = "user_stats")
+public class UserStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @Column(name = "goals_not_started", nullable = false)
+    private long goalsNotStarted;
+
+    @Column(name = "goals_in_progress", nullable = false)
+    private long goalsInProgress;
+
+    @Column(name = "goals_completed", nullable = false)
+    private long goalsCompleted;
+
+    @Column(name = "goals_paused", nullable = false)
+    private long goalsPaused;
+
+    @Column(name = "goals_cancelled", nullable = false)
+    private long goalsCancelled;
+
+    @Column(nullable = false)
+    private long habits;
+
+    @Column(nullable = false)
+    private long tasks;
+
+    @Column(name = "completed_tasks", nullable = false)
+    private long completedTasks;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public UserStats() {
+    }
+
+    public UserStats(User user) {
+        this.user = user;
+    }
+
+    /**
+     * Number of goals in the status
+     */
+    public long getGoals(GoalStatus status) {
+        return switch (status) {
+            case NOT_STARTED -> goalsNotStarted;
+            case IN_PROGRESS -> goalsInProgress;
+            case COMPLETED -> goalsCompleted;
+            case PAUSED -> goalsPaused;
+            case CANCELLED -> goalsCancelled;
+        };
+    }
+
+    public void setGoals(GoalStatus status, long count) {
+        switch (status) {
+            case NOT_STARTED -> goalsNotStarted = count;
+            case IN_PROGRESS -> goalsInProgress = count;
+            case COMPLETED -> goalsCompleted = count;
+            case PAUSED -> goalsPaused = count;
+            case CANCELLED -> goalsCancelled = count;
+        }
+    }
+
+    /**
+     * Number of goals in any status
+     */
+    public long getGoals() {
+        return goalsNotStarted + goalsInProgress + goalsCompleted + goalsPaused + goalsCancelled;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public long getHabits() {
+        return habits;
+    }
+
+    public void setHabits(long habits) {
+        this.habits = habits;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(long tasks) {
+        this.tasks = tasks;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public void setCompletedTasks(long completedTasks) {
+        this.completedTasks = completedTasks;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
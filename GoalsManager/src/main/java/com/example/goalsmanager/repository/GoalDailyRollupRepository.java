@@ -0,0 +1,99 @@
+package com.example.goalsmanager.repository;
+
+import com.example.goalsmanager.dto.CompletionAnalyticsDTO;
+import com.example.goalsmanager.model.GoalDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface GoalDailyRollupRepository extends JpaRepository<GoalDailyRollup, Long> {
+
+    /**
+     * Add to a goal's counts for a day, creating the row if needed. A concurrent insert of the same
+     * row makes this update it instead of failing on the unique key.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO goal_daily_rollups (goal_id, date, scheduled, completed) "
+            + "VALUES (:goalId, :date, :scheduled, :completed) "
+            + "ON CONFLICT (goal_id, date) DO UPDATE SET scheduled = goal_daily_rollups.scheduled + EXCLUDED.scheduled, "
+            + "completed = goal_daily_rollups.completed + EXCLUDED.completed", nativeQuery = true)
+    int add(@Param("goalId") Long goalId, @Param("date") LocalDate date,
+            @Param("scheduled") int scheduled, @Param("completed") int completed);
+
+    /**
+     * {@link #add} for databases without ON CONFLICT. PostgreSQL's MERGE would fail on the unique
+     * key when two transactions insert the same row.
+     */
+    @Modifying
+    @Query(value = "MERGE INTO goal_daily_rollups r "
+            + "USING (VALUES (CAST(:goalId AS BIGINT), CAST(:date AS DATE), CAST(:scheduled AS INTEGER), "
+            + "CAST(:completed AS INTEGER))) AS v (goal_id, date, scheduled, completed) "
+            + "ON r.goal_id = v.goal_id AND r.date = v.date "
+            + "WHEN MATCHED THEN UPDATE SET scheduled = r.scheduled + v.scheduled, completed = r.completed + v.completed "
+            + "WHEN NOT MATCHED THEN INSERT (goal_id, date, scheduled, completed) "
+            + "VALUES (v.goal_id, v.date, v.scheduled, v.completed)", nativeQuery = true)
+    int addPortable(@Param("goalId") Long goalId, @Param("date") LocalDate date,
+                    @Param("scheduled") int scheduled, @Param("completed") int completed);
+
+    /**
+     * Add a habit's live tasks on the dates to its goal's counts in one statement, as {@link #add} does
+     */
+    @Modifying
+    @Query(value = "INSERT INTO goal_daily_rollups (goal_id, date, scheduled, completed) "
+            + "SELECT h.goal_id, t.date, COUNT(*), SUM(CASE WHEN t.completed THEN 1 ELSE 0 END) "
+            + "FROM tasks t JOIN habits h ON h.id = t.habit_id "
+            + "WHERE t.habit_id = :habitId AND t.date IN (:dates) AND t.deleted_at IS NULL "
+            + "GROUP BY h.goal_id, t.date "
+            + "ON CONFLICT (goal_id, date) DO UPDATE SET scheduled = goal_daily_rollups.scheduled + EXCLUDED.scheduled, "
+            + "completed = goal_daily_rollups.completed + EXCLUDED.completed", nativeQuery = true)
+    int addTasks(@Param("habitId") Long habitId, @Param("dates") List<LocalDate> dates);
+
+    /**
+     * {@link #addTasks} for databases without ON CONFLICT
+     */
+    @Modifying
+    @Query(value = "MERGE INTO goal_daily_rollups r "
+            + "USING (SELECT h.goal_id, t.date, COUNT(*) AS scheduled, "
+            + "SUM(CASE WHEN t.completed THEN 1 ELSE 0 END) AS completed FROM tasks t JOIN habits h ON h.id = t.habit_id "
+            + "WHERE t.habit_id = :habitId AND t.date IN (:dates) AND t.deleted_at IS NULL "
+            + "GROUP BY h.goal_id, t.date) v "
+            + "ON r.goal_id = v.goal_id AND r.date = v.date "
+            + "WHEN MATCHED THEN UPDATE SET scheduled = r.scheduled + v.scheduled, completed = r.completed + v.completed "
+            + "WHEN NOT MATCHED THEN INSERT (goal_id, date, scheduled, completed) "
+            + "VALUES (v.goal_id, v.date, v.scheduled, v.completed)", nativeQuery = true)
+    int addTasksPortable(@Param("habitId") Long habitId, @Param("dates") List<LocalDate> dates);
+
+    /**
+     * Take a habit's daily counts out of its goal's, e.g. when the habit is deleted
+     */
+    @Modifying
+    @Query(value = "MERGE INTO goal_daily_rollups r "
+            + "USING (SELECT h.goal_id, d.date, d.scheduled, d.completed FROM habit_daily_rollups d "
+            + "JOIN habits h ON h.id = d.habit_id WHERE d.habit_id = :habitId) v "
+            + "ON r.goal_id = v.goal_id AND r.date = v.date "
+            + "WHEN MATCHED THEN UPDATE SET scheduled = r.scheduled - v.scheduled, completed = r.completed - v.completed",
+            nativeQuery = true)
+    int subtractHabit(@Param("habitId") Long habitId);
+
+    /**
+     * Sum a goal's counts over the windows ending on today
+     */
+    @Query("SELECT new com.example.goalsmanager.dto.CompletionAnalyticsDTO("
+            + "coalesce(sum(CASE WHEN r.date >= :from7 THEN r.scheduled ELSE 0 END), 0L), "
+            + "coalesce(sum(CASE WHEN r.date >= :from7 THEN r.completed ELSE 0 END), 0L), "
+            + "coalesce(sum(CASE WHEN r.date >= :from30 THEN r.scheduled ELSE 0 END), 0L), "
+            + "coalesce(sum(CASE WHEN r.date >= :from30 THEN r.completed ELSE 0 END), 0L), "
+            + "coalesce(sum(CASE WHEN r.date >= :from90 THEN r.scheduled ELSE 0 END), 0L), "
+            + "coalesce(sum(CASE WHEN r.date >= :from90 THEN r.completed ELSE 0 END), 0L), "
+            + "coalesce(sum(r.scheduled), 0L), coalesce(sum(r.completed), 0L)) "
+            + "FROM GoalDailyRollup r WHERE r.goal.id = :goalId AND r.date <= :today")
+    CompletionAnalyticsDTO sumByGoalId(@Param("goalId") Long goalId, @Param("today") LocalDate today,
+                                       @Param("from7") LocalDate from7, @Param("from30") LocalDate from30,
+                                       @Param("from90") LocalDate from90);
+}
@@ -2,11 +2,16 @@ package com.example.goalsmanager.repository;
 
 import com.example.goalsmanager.goalutils.GoalStatus;
 import com.example.goalsmanager.model.Goal;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface GoalRepository extends JpaRepository<Goal, Long> {
@@ -55,5 +60,80 @@ public interface GoalRepository extends JpaRepository<Goal, Long> {
      * Count goals by user ID and status
      */
     long countByUserIdAndStatus(Long userId, GoalStatus status);
-}
 
+    /**
+     * Count a user's goals per status; statuses without goals are left out
+     * @return rows of [GoalStatus, Long]
+     */
+    @Query("SELECT g.status, count(g) FROM Goal g WHERE g.user.id = :userId GROUP BY g.status")
+    List<Object[]> countByUserIdGroupByStatus(@Param("userId") Long userId);
+
+    /**
+     * Soft-delete a goal in one statement; its habits and notes must be soft-deleted with it
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Goal g SET g.deletedAt = CURRENT_TIMESTAMP WHERE g.id = :id")
+    int softDeleteById(@Param("id") Long id);
+
+    /**
+     * Delete all goals of a user in one statement. Native so soft-deleted goals go too.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM goals WHERE user_id = :userId", nativeQuery = true)
+    int bulkDeleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Add to a goal's progress counters if the task's date is already counted. Always writes the
+     * row, so a concurrent roll forward either waits for this change or is waited for
+     */
+    @Modifying
+    @Query("UPDATE Goal g SET "
+            + "g.scheduledTasks = g.scheduledTasks + CASE WHEN g.progressDate >= :date THEN :scheduled ELSE 0 END, "
+            + "g.completedTasks = g.completedTasks + CASE WHEN g.progressDate >= :date THEN :completed ELSE 0 END "
+            + "WHERE g.id = :goalId")
+    int addProgress(@Param("goalId") Long goalId, @Param("date") LocalDate date,
+                    @Param("scheduled") int scheduled, @Param("completed") int completed);
+
+    /**
+     * Add a habit's live tasks on the dates, up to the progress date, to its goal's progress counters
+     */
+    @Modifying
+    @Query(value = "UPDATE goals SET "
+            + "scheduled_tasks = scheduled_tasks + (SELECT COUNT(*) FROM tasks t WHERE t.habit_id = :habitId "
+            + "AND t.date IN (:dates) AND t.date <= goals.progress_date AND t.deleted_at IS NULL), "
+            + "completed_tasks = completed_tasks + (SELECT COUNT(*) FROM tasks t WHERE t.habit_id = :habitId "
+            + "AND t.date IN (:dates) AND t.date <= goals.progress_date AND t.deleted_at IS NULL AND t.completed) "
+            + "WHERE id = (SELECT h.goal_id FROM habits h WHERE h.id = :habitId)", nativeQuery = true)
+    int addTaskProgress(@Param("habitId") Long habitId, @Param("dates") List<LocalDate> dates);
+
+    /**
+     * Take a habit's counted days out of its goal's progress counters, e.g. when the habit is deleted
+     */
+    @Modifying
+    @Query(value = "UPDATE goals SET "
+            + "scheduled_tasks = scheduled_tasks - COALESCE((SELECT SUM(d.scheduled) FROM habit_daily_rollups d "
+            + "WHERE d.habit_id = :habitId AND d.date <= goals.progress_date), 0), "
+            + "completed_tasks = completed_tasks - COALESCE((SELECT SUM(d.completed) FROM habit_daily_rollups d "
+            + "WHERE d.habit_id = :habitId AND d.date <= goals.progress_date), 0) "
+            + "WHERE id = (SELECT h.goal_id FROM habits h WHERE h.id = :habitId)", nativeQuery = true)
+    int subtractHabitProgress(@Param("habitId") Long habitId);
+
+    /**
+     * Find IDs of goals whose progress has not been rolled forward to the date
+     */
+    @Query("SELECT g.id FROM Goal g WHERE g.progressDate < :today ORDER BY g.id")
+    List<Long> findIdsWithProgressBefore(@Param("today") LocalDate today, Pageable pageable);
+
+    /**
+     * Count the goals' daily rollups after their progress date and up to today, and move the date to today
+     */
+    @Modifying
+    @Query(value = "UPDATE goals SET "
+            + "scheduled_tasks = scheduled_tasks + COALESCE((SELECT SUM(r.scheduled) FROM goal_daily_rollups r "
+            + "WHERE r.goal_id = goals.id AND r.date > goals.progress_date AND r.date <= :today), 0), "
+            + "completed_tasks = completed_tasks + COALESCE((SELECT SUM(r.completed) FROM goal_daily_rollups r "
+            + "WHERE r.goal_id = goals.id AND r.date > goals.progress_date AND r.date <= :today), 0), "
+            + "progress_date = :today "
+            + "WHERE id IN (:goalIds) AND progress_date < :today", nativeQuery = true)
+    int rollProgress(@Param("goalIds") List<Long> goalIds, @Param("today") LocalDate today);
+}
@@ -0,0 +1,36 @@
+package com.example.goalsmanager.repository;
+
+import com.example.goalsmanager.model.HabitBitmap;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface HabitBitmapRepository extends JpaRepository<HabitBitmap, Long> {
+
+    /**
+     * Find a habit's bitmap and lock it until the transaction ends, so concurrent toggles
+     * of the same habit do not overwrite each other's bits
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM HabitBitmap b WHERE b.habitId = :habitId")
+    Optional<HabitBitmap> findByIdForUpdate(@Param("habitId") Long habitId);
+
+    /**
+     * Stored bitmaps of a user's live habits
+     */
+    @Query("SELECT b FROM HabitBitmap b WHERE b.habit.user.id = :userId AND b.habit.deletedAt IS NULL")
+    List<HabitBitmap> findByUserId(@Param("userId") Long userId);
+
+    /**
+     * Stored bitmaps of the live habits of users on the leaderboard
+     */
+    @Query("SELECT b FROM HabitBitmap b WHERE b.habit.user.leaderboardOptIn = true AND b.habit.deletedAt IS NULL")
+    List<HabitBitmap> findByLeaderboardUsers();
+}
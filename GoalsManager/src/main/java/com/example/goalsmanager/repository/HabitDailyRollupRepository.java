@@ -0,0 +1,87 @@
+package com.example.goalsmanager.repository;
+
+import com.example.goalsmanager.dto.CompletionAnalyticsDTO;
+import com.example.goalsmanager.model.HabitDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HabitDailyRollupRepository extends JpaRepository<HabitDailyRollup, Long> {
+
+    /**
+     * Add to a habit's counts for a day, creating the row if needed. A concurrent insert of the same
+     * row makes this update it instead of failing on the unique key.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO habit_daily_rollups (habit_id, date, scheduled, completed) "
+            + "VALUES (:habitId, :date, :scheduled, :completed) "
+            + "ON CONFLICT (habit_id, date) DO UPDATE SET scheduled = habit_daily_rollups.scheduled + EXCLUDED.scheduled, "
+            + "completed = habit_daily_rollups.completed + EXCLUDED.completed", nativeQuery = true)
+    int add(@Param("habitId") Long habitId, @Param("date") LocalDate date,
+            @Param("scheduled") int scheduled, @Param("completed") int completed);
+
+    /**
+     * {@link #add} for databases without ON CONFLICT. PostgreSQL's MERGE would fail on the unique
+     * key when two transactions insert the same row.
+     */
+    @Modifying
+    @Query(value = "MERGE INTO habit_daily_rollups r "
+            + "USING (VALUES (CAST(:habitId AS BIGINT), CAST(:date AS DATE), CAST(:scheduled AS INTEGER), "
+            + "CAST(:completed AS INTEGER))) AS v (habit_id, date, scheduled, completed) "
+            + "ON r.habit_id = v.habit_id AND r.date = v.date "
+            + "WHEN MATCHED THEN UPDATE SET scheduled = r.scheduled + v.scheduled, completed = r.completed + v.completed "
+            + "WHEN NOT MATCHED THEN INSERT (habit_id, date, scheduled, completed) "
+            + "VALUES (v.habit_id, v.date, v.scheduled, v.completed)", nativeQuery = true)
+    int addPortable(@Param("habitId") Long habitId, @Param("date") LocalDate date,
+                    @Param("scheduled") int scheduled, @Param("completed") int completed);
+
+    /**
+     * Add a habit's live tasks on the dates to its counts in one statement, as {@link #add} does
+     */
+    @Modifying
+    @Query(value = "INSERT INTO habit_daily_rollups (habit_id, date, scheduled, completed) "
+            + "SELECT t.habit_id, t.date, COUNT(*), SUM(CASE WHEN t.completed THEN 1 ELSE 0 END) "
+            + "FROM tasks t "
+            + "WHERE t.habit_id = :habitId AND t.date IN (:dates) AND t.deleted_at IS NULL "
+            + "GROUP BY t.habit_id, t.date "
+            + "ON CONFLICT (habit_id, date) DO UPDATE SET scheduled = habit_daily_rollups.scheduled + EXCLUDED.scheduled, "
+            + "completed = habit_daily_rollups.completed + EXCLUDED.completed", nativeQuery = true)
+    int addTasks(@Param("habitId") Long habitId, @Param("dates") List<LocalDate> dates);
+
+    /**
+     * {@link #addTasks} for databases without ON CONFLICT
+     */
+    @Modifying
+    @Query(value = "MERGE INTO habit_daily_rollups r "
+            + "USING (SELECT t.habit_id, t.date, COUNT(*) AS scheduled, "
+            + "SUM(CASE WHEN t.completed THEN 1 ELSE 0 END) AS completed FROM tasks t "
+            + "WHERE t.habit_id = :habitId AND t.date IN (:dates) AND t.deleted_at IS NULL "
+            + "GROUP BY t.habit_id, t.date) v "
+            + "ON r.habit_id = v.habit_id AND r.date = v.date "
+            + "WHEN MATCHED THEN UPDATE SET scheduled = r.scheduled + v.scheduled, completed = r.completed + v.completed "
+            + "WHEN NOT MATCHED THEN INSERT (habit_id, date, scheduled, completed) "
+            + "VALUES (v.habit_id, v.date, v.scheduled, v.completed)", nativeQuery = true)
+    int addTasksPortable(@Param("habitId") Long habitId, @Param("dates") List<LocalDate> dates);
+
+    /**
+     * Sum a habit's counts over the windows ending on today
+     */
+    @Query("SELECT new com.example.goalsmanager.dto.CompletionAnalyticsDTO("
+            + "coalesce(sum(CASE WHEN r.date >= :from7 THEN r.scheduled ELSE 0 END), 0L), "
+            + "coalesce(sum(CASE WHEN r.date >= :from7 THEN r.completed ELSE 0 END), 0L), "
+            + "coalesce(sum(CASE WHEN r.date >= :from30 THEN r.scheduled ELSE 0 END), 0L), "
+            + "coalesce(sum(CASE WHEN r.date >= :from30 THEN r.completed ELSE 0 END), 0L), "
+            + "coalesce(sum(CASE WHEN r.date >= :from90 THEN r.scheduled ELSE 0 END), 0L), "
+            + "coalesce(sum(CASE WHEN r.date >= :from90 THEN r.completed ELSE 0 END), 0L), "
+            + "coalesce(sum(r.scheduled), 0L), coalesce(sum(r.completed), 0L)) "
+            + "FROM HabitDailyRollup r WHERE r.habit.id = :habitId AND r.date <= :today")
+    CompletionAnalyticsDTO sumByHabitId(@Param("habitId") Long habitId, @Param("today") LocalDate today,
+                                        @Param("from7") LocalDate from7, @Param("from30") LocalDate from30,
+                                        @Param("from90") LocalDate from90);
+}
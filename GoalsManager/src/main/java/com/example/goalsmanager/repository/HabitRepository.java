@@ -1,10 +1,18 @@
 package com.example.goalsmanager.repository;
 
+import com.example.goalsmanager.dto.HabitStreakDTO;
 import com.example.goalsmanager.model.Habit;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface HabitRepository extends JpaRepository<Habit, Long> {
@@ -14,6 +22,27 @@ public interface HabitRepository extends JpaRepository<Habit, Long> {
      */
     List<Habit> findByUserId(Long userId);
 
+    /**
+     * Find the ids of a user's habits
+     */
+    @Query("SELECT h.id FROM Habit h WHERE h.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Find every live habit of users on the leaderboard, with a row without a habit for such
+     * users who have none. Streaks are left empty, to be filled in from the bitmaps.
+     */
+    @Query("SELECT new com.example.goalsmanager.dto.HabitStreakDTO(u.id, u.username, h.id) "
+            + "FROM User u LEFT JOIN Habit h ON h.user = u AND h.deletedAt IS NULL WHERE u.leaderboardOptIn = true")
+    List<HabitStreakDTO> findLeaderboardHabits();
+
+    /**
+     * Find a user's live habits for the leaderboard, with a row without a habit if they have none
+     */
+    @Query("SELECT new com.example.goalsmanager.dto.HabitStreakDTO(u.id, u.username, h.id) "
+            + "FROM User u LEFT JOIN Habit h ON h.user = u AND h.deletedAt IS NULL WHERE u.id = :userId")
+    List<HabitStreakDTO> findLeaderboardHabitsByUserId(@Param("userId") Long userId);
+
     /**
      * Find all habits for a specific goal
      */
@@ -38,5 +67,52 @@ public interface HabitRepository extends JpaRepository<Habit, Long> {
      * Count habits by goal ID
      */
     long countByGoalId(Long goalId);
-}
 
+    /**
+     * Count a user's habits under a goal
+     */
+    long countByGoalIdAndUserId(Long goalId, Long userId);
+
+    /**
+     * Lock a habit until the transaction ends, e.g. so only one writer creates its bitmap
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM Habit h WHERE h.id = :id")
+    Optional<Habit> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Page through the ids of live habits without a stored bitmap, in ascending order
+     */
+    @Query("SELECT h.id FROM Habit h WHERE h.id > :afterId "
+            + "AND NOT EXISTS (SELECT 1 FROM HabitBitmap b WHERE b.habitId = h.id) ORDER BY h.id")
+    List<Long> findIdsWithoutBitmapAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Find the ID of a habit's owner without loading the habit
+     */
+    @Query("SELECT h.user.id FROM Habit h WHERE h.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    /**
+     * Soft-delete a habit in one statement; the purger deletes it with its tasks later
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Habit h SET h.deletedAt = CURRENT_TIMESTAMP WHERE h.id = :id")
+    int softDeleteById(@Param("id") Long id);
+
+    /**
+     * Soft-delete all habits of a goal in one statement
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Habit h SET h.deletedAt = CURRENT_TIMESTAMP WHERE h.goal.id = :goalId")
+    int softDeleteByGoalId(@Param("goalId") Long goalId);
+
+    /**
+     * Delete a user's habits and the habits under the user's goals in one statement.
+     * Native so soft-deleted habits go too.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM habits WHERE user_id = :userId " +
+            "OR goal_id IN (SELECT g.id FROM goals g WHERE g.user_id = :userId)", nativeQuery = true)
+    int bulkDeleteByUserId(@Param("userId") Long userId);
+}
@@ -1,14 +1,31 @@
 package com.example.goalsmanager.repository;
 
+import com.example.goalsmanager.dto.NotePreviewDTO;
 import com.example.goalsmanager.model.Note;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface NoteRepository extends JpaRepository<Note, Long> {
 
+    /**
+     * Find a note and lock it until the transaction ends, so concurrent edits of the same
+     * note number their revisions one after the other
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM Note n WHERE n.id = :id")
+    Optional<Note> findByIdForUpdate(@Param("id") Long id);
+
     /**
      * Find all notes for a specific goal, ordered by creation date descending
      */
@@ -19,13 +36,47 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
      */
     List<Note> findByGoalId(Long goalId);
 
+    /**
+     * First page of a goal's note timeline, newest first. Reads only the preview columns.
+     */
+    @Query("SELECT new com.example.goalsmanager.dto.NotePreviewDTO(n.id, n.goal.id, n.preview, n.contentLength, n.createdAt) "
+            + "FROM Note n WHERE n.goal.id = :goalId ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotePreviewDTO> findPreviewsByGoalId(@Param("goalId") Long goalId, Pageable pageable);
+
+    /**
+     * Next page of a goal's note timeline: notes strictly older than the (createdAt, id) cursor
+     */
+    @Query("SELECT new com.example.goalsmanager.dto.NotePreviewDTO(n.id, n.goal.id, n.preview, n.contentLength, n.createdAt) "
+            + "FROM Note n WHERE n.goal.id = :goalId AND (n.createdAt, n.id) < (:createdAt, :id) "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotePreviewDTO> findPreviewsByGoalIdBefore(@Param("goalId") Long goalId,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Long id, Pageable pageable);
+
     /**
      * Count notes for a specific goal
      */
     long countByGoalId(Long goalId);
 
     /**
-     * Delete all notes for a specific goal
+     * Soft-delete a note in one statement
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Note n SET n.deletedAt = CURRENT_TIMESTAMP WHERE n.id = :id")
+    int softDeleteById(@Param("id") Long id);
+
+    /**
+     * Soft-delete all notes of a goal in one statement
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Note n SET n.deletedAt = CURRENT_TIMESTAMP WHERE n.goal.id = :goalId")
+    int softDeleteByGoalId(@Param("goalId") Long goalId);
+
+    /**
+     * Delete all notes of a user's goals in one statement. Native so soft-deleted notes go too.
      */
-    void deleteByGoalId(Long goalId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM notes WHERE goal_id IN (SELECT g.id FROM goals g WHERE g.user_id = :userId)",
+            nativeQuery = true)
+    int bulkDeleteByUserId(@Param("userId") Long userId);
 }
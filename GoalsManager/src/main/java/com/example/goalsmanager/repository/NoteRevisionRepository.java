@@ -0,0 +1,37 @@
+package com.example.goalsmanager.repository;
+
+import com.example.goalsmanager.dto.NoteRevisionDTO;
+import com.example.goalsmanager.model.NoteRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface NoteRevisionRepository extends JpaRepository<NoteRevision, Long> {
+
+    /**
+     * Latest version of a note, null if it has never been edited
+     */
+    @Query("SELECT max(r.version) FROM NoteRevision r WHERE r.note.id = :noteId")
+    Integer findLatestVersion(@Param("noteId") Long noteId);
+
+    /**
+     * Rows needed to rebuild a version: the nearest snapshot at or before it and the deltas
+     * after that snapshot, oldest first. Empty if the version does not exist.
+     */
+    @Query("SELECT r FROM NoteRevision r WHERE r.note.id = :noteId AND r.version <= :version "
+            + "AND r.version >= (SELECT max(s.version) FROM NoteRevision s "
+            + "WHERE s.note.id = :noteId AND s.snapshot = true AND s.version <= :version) "
+            + "ORDER BY r.version")
+    List<NoteRevision> findChain(@Param("noteId") Long noteId, @Param("version") Integer version);
+
+    /**
+     * Versions of a note, newest first, without their content
+     */
+    @Query("SELECT new com.example.goalsmanager.dto.NoteRevisionDTO(r.note.id, r.version, r.createdAt) "
+            + "FROM NoteRevision r WHERE r.note.id = :noteId ORDER BY r.version DESC")
+    List<NoteRevisionDTO> findVersions(@Param("noteId") Long noteId);
+}
@@ -0,0 +1,61 @@
+package com.example.goalsmanager.repository;
+
+import com.example.goalsmanager.model.TaskArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskArchiveRepository extends JpaRepository<TaskArchive, Long> {
+
+    /**
+     * Find the archived month of a habit
+     */
+    Optional<TaskArchive> findByHabitIdAndMonthStart(Long habitId, LocalDate monthStart);
+
+    /**
+     * Find all archived months of a habit with habit and user loaded, newest first
+     */
+    @Query("SELECT a FROM TaskArchive a JOIN FETCH a.habit JOIN FETCH a.user " +
+            "WHERE a.habit.id = :habitId ORDER BY a.monthStart DESC")
+    List<TaskArchive> findByHabitIdNewestFirst(@Param("habitId") Long habitId);
+
+    /**
+     * Find a user's archived months under a goal's live habits
+     */
+    @Query("SELECT a FROM TaskArchive a WHERE a.habit.goal.id = :goalId AND a.user.id = :userId " +
+            "AND a.habit.deletedAt IS NULL")
+    List<TaskArchive> findByGoalIdAndUserId(@Param("goalId") Long goalId, @Param("userId") Long userId);
+
+    /**
+     * Find all archived months of a user with habit and user loaded, oldest first
+     */
+    @Query("SELECT a FROM TaskArchive a JOIN FETCH a.habit JOIN FETCH a.user " +
+            "WHERE a.user.id = :userId ORDER BY a.monthStart")
+    List<TaskArchive> findByUserIdOldestFirst(@Param("userId") Long userId);
+
+    /**
+     * Find archived months of a user overlapping a date range, oldest first
+     */
+    @Query("SELECT a FROM TaskArchive a JOIN FETCH a.habit JOIN FETCH a.user " +
+            "WHERE a.user.id = :userId AND a.monthStart BETWEEN :fromMonth AND :toMonth ORDER BY a.monthStart")
+    List<TaskArchive> findByUserIdAndMonthStartBetween(@Param("userId") Long userId,
+                                                       @Param("fromMonth") LocalDate fromMonth,
+                                                       @Param("toMonth") LocalDate toMonth);
+
+    /**
+     * Delete a user's archived months and those of the user's habits in one statement.
+     * Native so the archives of soft-deleted habits go too.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM task_archives WHERE user_id = :userId OR habit_id IN (SELECT h.id FROM habits h " +
+            "WHERE h.user_id = :userId OR h.goal_id IN (SELECT g.id FROM goals g WHERE g.user_id = :userId))",
+            nativeQuery = true)
+    int bulkDeleteByUserId(@Param("userId") Long userId);
+}
@@ -1,63 +1,214 @@
 package com.example.goalsmanager.repository;
 
+import com.example.goalsmanager.dto.DayCountDTO;
 import com.example.goalsmanager.model.Task;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
     /**
-     * Find all tasks for a specific user
+     * Find a task, leaving out tasks of soft-deleted habits
      */
-    List<Task> findByUserId(Long userId);
+    @Override
+    @Query("SELECT t FROM Task t WHERE t.id = :id AND t.habit.deletedAt IS NULL")
+    Optional<Task> findById(@Param("id") Long id);
 
     /**
-     * Find all tasks for a specific habit
+     * Check if a task exists, leaving out tasks of soft-deleted habits
      */
-    List<Task> findByHabitId(Long habitId);
+    @Override
+    @Query("SELECT count(t) > 0 FROM Task t WHERE t.id = :id AND t.habit.deletedAt IS NULL")
+    boolean existsById(@Param("id") Long id);
 
     /**
-     * Find tasks for a habit up to and including a date, ordered by date descending
+     * Find all tasks, leaving out tasks of soft-deleted habits
      */
-    List<Task> findByHabitIdAndDateLessThanEqualOrderByDateDesc(Long habitId, LocalDate date);
+    @Override
+    @Query("SELECT t FROM Task t WHERE t.habit.deletedAt IS NULL")
+    List<Task> findAll();
 
     /**
-     * Find tasks by user ID and habit ID
+     * Find all tasks for a specific user, leaving out tasks of soft-deleted habits
      */
-    List<Task> findByUserIdAndHabitId(Long userId, Long habitId);
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.habit.deletedAt IS NULL")
+    List<Task> findByUserId(@Param("userId") Long userId);
 
     /**
-     * Find tasks by user ID and completion status
+     * Find all tasks for a specific habit, none if the habit is soft-deleted
      */
-    List<Task> findByUserIdAndCompleted(Long userId, Boolean completed);
+    @Query("SELECT t FROM Task t WHERE t.habit.id = :habitId AND t.habit.deletedAt IS NULL")
+    List<Task> findByHabitId(@Param("habitId") Long habitId);
 
     /**
-     * Find tasks by habit ID and completion status
+     * Find tasks for a habit up to and including a date, ordered by date descending, none if the habit is soft-deleted
      */
-    List<Task> findByHabitIdAndCompleted(Long habitId, Boolean completed);
+    @Query("SELECT t FROM Task t WHERE t.habit.id = :habitId AND t.date <= :date AND t.habit.deletedAt IS NULL " +
+            "ORDER BY t.date DESC")
+    List<Task> findByHabitIdAndDateLessThanEqualOrderByDateDesc(@Param("habitId") Long habitId,
+                                                                @Param("date") LocalDate date);
 
     /**
-     * Find tasks by user ID within a date range
+     * Find tasks by user ID and habit ID, none if the habit is soft-deleted
      */
-    List<Task> findByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.habit.id = :habitId AND t.habit.deletedAt IS NULL")
+    List<Task> findByUserIdAndHabitId(@Param("userId") Long userId, @Param("habitId") Long habitId);
 
     /**
-     * Count tasks by user ID
+     * Find tasks by user ID and completion status, leaving out tasks of soft-deleted habits
      */
-    long countByUserId(Long userId);
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.completed = :completed AND t.habit.deletedAt IS NULL")
+    List<Task> findByUserIdAndCompleted(@Param("userId") Long userId, @Param("completed") Boolean completed);
 
     /**
-     * Count tasks by habit ID
+     * Find tasks by habit ID and completion status, none if the habit is soft-deleted
      */
-    long countByHabitId(Long habitId);
+    @Query("SELECT t FROM Task t WHERE t.habit.id = :habitId AND t.completed = :completed AND t.habit.deletedAt IS NULL")
+    List<Task> findByHabitIdAndCompleted(@Param("habitId") Long habitId, @Param("completed") Boolean completed);
 
     /**
-     * Check if a task exists for a specific habit and date
+     * Find tasks by user ID within a date range, leaving out tasks of soft-deleted habits
      */
-    boolean existsByHabitIdAndDate(Long habitId, LocalDate date);
-}
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.date BETWEEN :startDate AND :endDate " +
+            "AND t.habit.deletedAt IS NULL")
+    List<Task> findByUserIdAndDateBetween(@Param("userId") Long userId, @Param("startDate") LocalDate startDate,
+                                          @Param("endDate") LocalDate endDate);
+
+    /**
+     * Tasks and completed tasks per day of a habit within a date range, none if the habit is soft-deleted
+     */
+    @Query("SELECT new com.example.goalsmanager.dto.DayCountDTO(t.date, count(t), " +
+            "sum(CASE WHEN t.completed = true THEN 1L ELSE 0L END)) " +
+            "FROM Task t WHERE t.habit.id = :habitId AND t.habit.deletedAt IS NULL " +
+            "AND t.date BETWEEN :startDate AND :endDate GROUP BY t.date")
+    List<DayCountDTO> countDaysByHabitId(@Param("habitId") Long habitId, @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
+    /**
+     * Tasks and completed tasks per day across the live habits of a user within a date range
+     */
+    @Query("SELECT new com.example.goalsmanager.dto.DayCountDTO(t.date, count(t), " +
+            "sum(CASE WHEN t.completed = true THEN 1L ELSE 0L END)) " +
+            "FROM Task t WHERE t.habit.user.id = :userId AND t.habit.deletedAt IS NULL " +
+            "AND t.date BETWEEN :startDate AND :endDate GROUP BY t.date")
+    List<DayCountDTO> countDaysByUserId(@Param("userId") Long userId, @Param("startDate") LocalDate startDate,
+                                        @Param("endDate") LocalDate endDate);
+
+    /**
+     * Count tasks by user ID, leaving out tasks of soft-deleted habits
+     */
+    @Query("SELECT count(t) FROM Task t WHERE t.user.id = :userId AND t.habit.deletedAt IS NULL")
+    long countByUserId(@Param("userId") Long userId);
+
+    /**
+     * Count tasks by user ID and completion status, leaving out tasks of soft-deleted habits
+     */
+    @Query("SELECT count(t) FROM Task t WHERE t.user.id = :userId AND t.completed = :completed " +
+            "AND t.habit.deletedAt IS NULL")
+    long countByUserIdAndCompleted(@Param("userId") Long userId, @Param("completed") Boolean completed);
+
+    /**
+     * Count tasks by habit ID, none if the habit is soft-deleted
+     */
+    @Query("SELECT count(t) FROM Task t WHERE t.habit.id = :habitId AND t.habit.deletedAt IS NULL")
+    long countByHabitId(@Param("habitId") Long habitId);
+
+    /**
+     * Count a habit's tasks by completion status, none if the habit is soft-deleted
+     */
+    @Query("SELECT count(t) FROM Task t WHERE t.habit.id = :habitId AND t.completed = :completed " +
+            "AND t.habit.deletedAt IS NULL")
+    long countByHabitIdAndCompleted(@Param("habitId") Long habitId, @Param("completed") Boolean completed);
+
+    /**
+     * Count a user's tasks under a goal's live habits
+     */
+    @Query("SELECT count(t) FROM Task t WHERE t.habit.goal.id = :goalId AND t.user.id = :userId " +
+            "AND t.habit.deletedAt IS NULL")
+    long countByGoalIdAndUserId(@Param("goalId") Long goalId, @Param("userId") Long userId);
+
+    /**
+     * Count a user's tasks under a goal's live habits by completion status
+     */
+    @Query("SELECT count(t) FROM Task t WHERE t.habit.goal.id = :goalId AND t.user.id = :userId " +
+            "AND t.completed = :completed AND t.habit.deletedAt IS NULL")
+    long countByGoalIdAndUserIdAndCompleted(@Param("goalId") Long goalId, @Param("userId") Long userId,
+                                            @Param("completed") Boolean completed);
+
+    /**
+     * Check if a task exists for a specific habit and date, never for a soft-deleted habit
+     */
+    @Query("SELECT count(t) > 0 FROM Task t WHERE t.habit.id = :habitId AND t.date = :date AND t.habit.deletedAt IS NULL")
+    boolean existsByHabitIdAndDate(@Param("habitId") Long habitId, @Param("date") LocalDate date);
+
+    /**
+     * Whether the task row for a habit and date is soft-deleted, empty when there is none.
+     * Native so the soft-delete restriction does not hide the row.
+     */
+    @Query(value = "SELECT deleted_at IS NOT NULL FROM tasks WHERE habit_id = :habitId AND date = :date",
+            nativeQuery = true)
+    Optional<Boolean> findDeletedByHabitIdAndDate(@Param("habitId") Long habitId, @Param("date") LocalDate date);
+
+    /**
+     * Bring back a soft-deleted task as a new pending task
+     * @return the number of tasks restored, 0 or 1
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE tasks SET deleted_at = NULL, completed = FALSE, name = :name, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE habit_id = :habitId AND date = :date AND deleted_at IS NOT NULL", nativeQuery = true)
+    int restoreByHabitIdAndDate(@Param("habitId") Long habitId, @Param("date") LocalDate date,
+                                @Param("name") String name);
+
+    /**
+     * Find habits that still have tasks dated before a cutoff, leaving out soft-deleted habits
+     */
+    @Query("SELECT DISTINCT t.habit.id FROM Task t WHERE t.date < :cutoff AND t.habit.deletedAt IS NULL " +
+            "ORDER BY t.habit.id")
+    List<Long> findHabitIdsWithTasksBefore(@Param("cutoff") LocalDate cutoff, Pageable pageable);
+
+    /**
+     * Find tasks for a habit dated before a cutoff, oldest first, none if the habit is soft-deleted
+     */
+    @Query("SELECT t FROM Task t WHERE t.habit.id = :habitId AND t.date < :cutoff AND t.habit.deletedAt IS NULL " +
+            "ORDER BY t.date ASC")
+    List<Task> findByHabitIdAndDateBeforeOrderByDateAsc(@Param("habitId") Long habitId, @Param("cutoff") LocalDate cutoff);
+
+    /**
+     * Delete tasks for a habit dated before a cutoff in one statement
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.habit.id = :habitId AND t.date < :cutoff")
+    int deleteByHabitIdAndDateBefore(@Param("habitId") Long habitId, @Param("cutoff") LocalDate cutoff);
+
+    /**
+     * Soft-delete a task in one statement
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.deletedAt = CURRENT_TIMESTAMP WHERE t.id = :id")
+    int softDeleteById(@Param("id") Long id);
 
+    /**
+     * Delete all tasks of a user in one statement. Native so soft-deleted tasks go too.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM tasks WHERE user_id = :userId", nativeQuery = true)
+    int bulkDeleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Delete the tasks other users have on a user's habits, including habits under the user's goals.
+     * Native so tasks of soft-deleted habits go too.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM tasks WHERE habit_id IN (SELECT h.id FROM habits h WHERE h.user_id = :userId " +
+            "OR h.goal_id IN (SELECT g.id FROM goals g WHERE g.user_id = :userId))", nativeQuery = true)
+    int bulkDeleteByHabitsOfUserId(@Param("userId") Long userId);
+}
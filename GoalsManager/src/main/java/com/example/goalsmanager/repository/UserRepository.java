@@ -1,7 +1,11 @@
 package com.example.goalsmanager.repository;
 
 import com.example.goalsmanager.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -33,6 +37,42 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(String email);
     
+    /**
+     * Find a user by their username, ignoring case
+     * Written as lower() = lower() so it can use the uk_user_username_lower expression index
+     * @param username The username of the user, in any case
+     * @return Optional containing the user if found
+     */
+    @Query("SELECT u FROM User u WHERE lower(u.username) = lower(:username)")
+    Optional<User> findByUsernameIgnoreCase(@Param("username") String username);
+    
+    /**
+     * Find a user by their email, ignoring case
+     * Written as lower() = lower() so it can use the uk_user_email_lower expression index
+     * @param email The email of the user, in any case
+     * @return Optional containing the user if found
+     */
+    @Query("SELECT u FROM User u WHERE lower(u.email) = lower(:email)")
+    Optional<User> findByEmailIgnoreCase(@Param("email") String email);
+    
+    /**
+     * Check whether a user other than the given one has the username, ignoring case
+     * @param username The username, in any case
+     * @param id The user to leave out, null for a new user
+     * @return true if the username is taken
+     */
+    @Query("SELECT count(u) > 0 FROM User u WHERE lower(u.username) = lower(:username) AND (:id IS NULL OR u.id <> :id)")
+    boolean existsByUsernameIgnoreCaseAndIdNot(@Param("username") String username, @Param("id") Long id);
+    
+    /**
+     * Check whether a user other than the given one has the email, ignoring case
+     * @param email The email, in any case
+     * @param id The user to leave out, null for a new user
+     * @return true if the email is taken
+     */
+    @Query("SELECT count(u) > 0 FROM User u WHERE lower(u.email) = lower(:email) AND (:id IS NULL OR u.id <> :id)")
+    boolean existsByEmailIgnoreCaseAndIdNot(@Param("email") String email, @Param("id") Long id);
+    
     /**
      * Find all users by authentication provider
      * @param provider The authentication provider
@@ -47,4 +87,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if user exists, false otherwise
      */
     boolean existsByProviderAndProviderId(String provider, String providerId);
+
+    /**
+     * Page through user IDs in ascending order
+     * @param afterId The last ID of the previous page, 0 for the first page
+     * @return The next page of user IDs
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Delete a user in one statement; everything the user owns must be deleted first
+     * @param id The user ID
+     * @return The number of users deleted, 0 or 1
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM User u WHERE u.id = :id")
+    int bulkDeleteById(@Param("id") Long id);
 }
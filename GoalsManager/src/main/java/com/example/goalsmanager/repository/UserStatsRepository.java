@@ -0,0 +1,47 @@
+package com.example.goalsmanager.repository;
+
+import com.example.goalsmanager.model.UserStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+    /**
+     * Find a user's stats and lock them until the transaction ends, so concurrent writes
+     * by the same user do not lose each other's increments
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserStats s WHERE s.userId = :userId")
+    Optional<UserStats> findByIdForUpdate(@Param("userId") Long userId);
+
+    /**
+     * Insert an all-zero stats row for a user unless one exists. A concurrent insert of the same
+     * row waits for the first to commit and then does nothing, instead of failing on the key.
+     * @return 1 if the row was inserted
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_stats (user_id, goals_not_started, goals_in_progress, goals_completed, "
+            + "goals_paused, goals_cancelled, habits, tasks, completed_tasks, updated_at) "
+            + "VALUES (:userId, 0, 0, 0, 0, 0, 0, 0, 0, LOCALTIMESTAMP) "
+            + "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertIfMissing(@Param("userId") Long userId);
+
+    /**
+     * {@link #insertIfMissing} for databases without ON CONFLICT, where concurrent inserts can
+     * still collide on the key
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_stats (user_id, goals_not_started, goals_in_progress, goals_completed, "
+            + "goals_paused, goals_cancelled, habits, tasks, completed_tasks, updated_at) "
+            + "SELECT :userId, 0, 0, 0, 0, 0, 0, 0, 0, LOCALTIMESTAMP "
+            + "WHERE NOT EXISTS (SELECT 1 FROM user_stats WHERE user_id = :userId)", nativeQuery = true)
+    int insertIfMissingPortable(@Param("userId") Long userId);
+}
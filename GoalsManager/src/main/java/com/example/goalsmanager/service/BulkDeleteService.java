@@ -0,0 +1,82 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.repository.GoalRepository;
+import com.example.goalsmanager.repository.HabitRepository;
+import com.example.goalsmanager.repository.NoteRepository;
+import com.example.goalsmanager.repository.TaskArchiveRepository;
+import com.example.goalsmanager.repository.TaskRepository;
+import com.example.goalsmanager.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Deletes users with one set-based statement per table, children first, and soft-deletes
+ * goals and habits with one update per table. The JPA cascades on the entities would load
+ * every child row and delete them one by one. Soft-deleted rows are removed by SoftDeletePurger.
+ * habit_bitmaps and user_stats rows go with their habit or user through ON DELETE CASCADE.
+ * Each statement clears the persistence context, so callers must not reuse loaded entities.
+ */
+@Service
+@Transactional
+@Timed("goals.service")
+public class BulkDeleteService {
+
+    private final UserRepository userRepository;
+    private final GoalRepository goalRepository;
+    private final HabitRepository habitRepository;
+    private final TaskRepository taskRepository;
+    private final TaskArchiveRepository taskArchiveRepository;
+    private final NoteRepository noteRepository;
+
+    @Autowired
+    public BulkDeleteService(final UserRepository userRepository,
+                             final GoalRepository goalRepository,
+                             final HabitRepository habitRepository,
+                             final TaskRepository taskRepository,
+                             final TaskArchiveRepository taskArchiveRepository,
+                             final NoteRepository noteRepository) {
+        this.userRepository = userRepository;
+        this.goalRepository = goalRepository;
+        this.habitRepository = habitRepository;
+        this.taskRepository = taskRepository;
+        this.taskArchiveRepository = taskArchiveRepository;
+        this.noteRepository = noteRepository;
+    }
+
+    /**
+     * Soft-delete a habit; its tasks are hidden with it and purged later
+     * @return the number of rows soft-deleted
+     */
+    public int softDeleteHabit(final Long habitId) {
+        return habitRepository.softDeleteById(habitId);
+    }
+
+    /**
+     * Soft-delete a goal with its notes and habits; the habits' tasks are hidden with them
+     * @return the number of rows soft-deleted
+     */
+    public int softDeleteGoal(final Long goalId) {
+        int rows = habitRepository.softDeleteByGoalId(goalId);
+        rows += noteRepository.softDeleteByGoalId(goalId);
+        rows += goalRepository.softDeleteById(goalId);
+        return rows;
+    }
+
+    /**
+     * Delete a user with everything they own: tasks, habits, goals and notes, soft-deleted or
+     * not, plus other users' tasks and habits hanging off them, as the JPA cascades did
+     * @return the number of rows deleted
+     */
+    public int deleteUser(final Long userId) {
+        int rows = taskRepository.bulkDeleteByUserId(userId);
+        rows += taskRepository.bulkDeleteByHabitsOfUserId(userId);
+        rows += taskArchiveRepository.bulkDeleteByUserId(userId);
+        rows += habitRepository.bulkDeleteByUserId(userId);
+        rows += noteRepository.bulkDeleteByUserId(userId);
+        rows += goalRepository.bulkDeleteByUserId(userId);
+        rows += userRepository.bulkDeleteById(userId);
+        return rows;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.config.DatabaseProduct;
+import com.example.goalsmanager.dto.CompletionAnalyticsDTO;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import com.example.goalsmanager.model.Habit;
+import com.example.goalsmanager.repository.GoalDailyRollupRepository;
+import com.example.goalsmanager.repository.GoalRepository;
+import com.example.goalsmanager.repository.HabitDailyRollupRepository;
+import com.example.goalsmanager.repository.HabitRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps the daily completion rollups of habits and goals in step with their tasks, and
+ * answers windowed completion rates from the rollups alone.
+ * Writers report task changes as increments in their own transaction. Archiving tasks does
+ * not change the rollups, so they keep the full history.
+ * Also keeps each goal's progress counters, which count tasks dated up to the goal's progress
+ * date. The goal row is written before the rollups, so rolling the date forward never misses
+ * or double counts a concurrent change.
+ */
+@Service
+@Transactional
+@Timed("goals.service")
+public class CompletionRollupService {
+
+    private final HabitDailyRollupRepository habitDailyRollupRepository;
+    private final GoalDailyRollupRepository goalDailyRollupRepository;
+    private final HabitRepository habitRepository;
+    private final GoalRepository goalRepository;
+    private final DatabaseProduct databaseProduct;
+
+    @Autowired
+    public CompletionRollupService(final HabitDailyRollupRepository habitDailyRollupRepository,
+                                   final GoalDailyRollupRepository goalDailyRollupRepository,
+                                   final HabitRepository habitRepository,
+                                   final GoalRepository goalRepository,
+                                   final DatabaseProduct databaseProduct) {
+        this.habitDailyRollupRepository = habitDailyRollupRepository;
+        this.goalDailyRollupRepository = goalDailyRollupRepository;
+        this.habitRepository = habitRepository;
+        this.goalRepository = goalRepository;
+        this.databaseProduct = databaseProduct;
+    }
+
+    /**
+     * Record a new task
+     */
+    public void taskCreated(final Habit habit, final LocalDate date, final boolean completed) {
+        add(habit, date, 1, completed ? 1 : 0);
+    }
+
+    /**
+     * Record a habit's new or restored tasks on the dates, already saved, with one statement per table
+     */
+    public void tasksCreated(final Habit habit, final List<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return;
+        }
+        final LocalDate today = LocalDate.now();
+        if (dates.stream().anyMatch(date -> !date.isAfter(today))) {
+            goalRepository.addTaskProgress(habit.getId(), dates);
+        }
+        if (databaseProduct.isPostgres()) {
+            habitDailyRollupRepository.addTasks(habit.getId(), dates);
+            goalDailyRollupRepository.addTasks(habit.getId(), dates);
+        } else {
+            habitDailyRollupRepository.addTasksPortable(habit.getId(), dates);
+            goalDailyRollupRepository.addTasksPortable(habit.getId(), dates);
+        }
+    }
+
+    /**
+     * Record a task being completed or reopened
+     */
+    public void taskCompletionChanged(final Habit habit, final LocalDate date, final boolean completed) {
+        add(habit, date, 0, completed ? 1 : -1);
+    }
+
+    /**
+     * Record a deleted task, or one moved away from the date
+     */
+    public void taskDeleted(final Habit habit, final LocalDate date, final boolean completed) {
+        add(habit, date, -1, completed ? -1 : 0);
+    }
+
+    /**
+     * Take a deleted habit out of its goal's rollups; its own rows stay until it is purged
+     */
+    public void habitDeleted(final Long habitId) {
+        goalRepository.subtractHabitProgress(habitId);
+        goalDailyRollupRepository.subtractHabit(habitId);
+    }
+
+    /**
+     * Count the days after the goals' progress date up to today into their progress
+     * @return the number of goals rolled forward
+     */
+    public int rollGoalProgress(final List<Long> goalIds, final LocalDate today) {
+        return goalRepository.rollProgress(goalIds, today);
+    }
+
+    /**
+     * Get a habit's completion rates over the last 7, 30 and 90 days and all time
+     */
+    @Transactional(readOnly = true)
+    public CompletionAnalyticsDTO getHabitAnalytics(final Long habitId) {
+        if (!habitRepository.existsById(habitId)) {
+            throw new ResourceNotFoundException("Habit", habitId);
+        }
+        final LocalDate today = LocalDate.now();
+        final CompletionAnalyticsDTO analytics = habitDailyRollupRepository.sumByHabitId(
+                habitId, today, today.minusDays(6), today.minusDays(29), today.minusDays(89));
+        analytics.setHabitId(habitId);
+        analytics.setAsOf(today);
+        return analytics;
+    }
+
+    /**
+     * Get a goal's completion rates across its live habits over the last 7, 30 and 90 days and all time
+     */
+    @Transactional(readOnly = true)
+    public CompletionAnalyticsDTO getGoalAnalytics(final Long goalId) {
+        if (!goalRepository.existsById(goalId)) {
+            throw new ResourceNotFoundException("Goal", goalId);
+        }
+        final LocalDate today = LocalDate.now();
+        final CompletionAnalyticsDTO analytics = goalDailyRollupRepository.sumByGoalId(
+                goalId, today, today.minusDays(6), today.minusDays(29), today.minusDays(89));
+        analytics.setGoalId(goalId);
+        analytics.setAsOf(today);
+        return analytics;
+    }
+
+    private void add(final Habit habit, final LocalDate date, final int scheduled, final int completed) {
+        if (!date.isAfter(LocalDate.now())) {
+            goalRepository.addProgress(habit.getGoal().getId(), date, scheduled, completed);
+        }
+        if (databaseProduct.isPostgres()) {
+            habitDailyRollupRepository.add(habit.getId(), date, scheduled, completed);
+            goalDailyRollupRepository.add(habit.getGoal().getId(), date, scheduled, completed);
+        } else {
+            habitDailyRollupRepository.addPortable(habit.getId(), date, scheduled, completed);
+            goalDailyRollupRepository.addPortable(habit.getGoal().getId(), date, scheduled, completed);
+        }
+    }
+}
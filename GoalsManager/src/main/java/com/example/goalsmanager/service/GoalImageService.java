@@ -0,0 +1,48 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.dto.GoalDTO;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import com.example.goalsmanager.storage.ImageStorage;
+import com.example.goalsmanager.storage.ThumbnailService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Goal image uploads. Not transactional: the upload is streamed to disk and hashed before the
+ * goal's own short transaction, so no pooled connection waits on a slow client, and thumbnails
+ * are queued only once the new imageUrl is committed.
+ */
+@Service
+@Timed("goals.service")
+public class GoalImageService {
+
+    private final GoalService goalService;
+    private final ImageStorage imageStorage;
+    private final ThumbnailService thumbnailService;
+
+    @Autowired
+    public GoalImageService(final GoalService goalService, final ImageStorage imageStorage,
+                            final ThumbnailService thumbnailService) {
+        this.goalService = goalService;
+        this.imageStorage = imageStorage;
+        this.thumbnailService = thumbnailService;
+    }
+
+    /**
+     * Store an uploaded image and make it the goal's image. Its thumbnails are made in the
+     * background; until they exist, requests for a size get the full image.
+     */
+    public GoalDTO uploadGoalImage(final Long id, final InputStream image) throws IOException {
+        if (!goalService.existsById(id)) {
+            throw new ResourceNotFoundException("Goal", id);
+        }
+        final String key = imageStorage.store(image);
+        final GoalDTO goal = goalService.setGoalImage(id, ImageStorage.url(key));
+        thumbnailService.generateAsync(key);
+        return goal;
+    }
+}
@@ -3,11 +3,15 @@ package com.example.goalsmanager.service;
 import com.example.goalsmanager.dto.CreateGoalRequest;
 import com.example.goalsmanager.dto.GoalDTO;
 import com.example.goalsmanager.dto.UpdateGoalRequest;
+import com.example.goalsmanager.exception.InvalidReferenceException;
+import com.example.goalsmanager.exception.InvalidRequestException;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
 import com.example.goalsmanager.goalutils.GoalStatus;
 import com.example.goalsmanager.model.Goal;
 import com.example.goalsmanager.model.User;
 import com.example.goalsmanager.repository.GoalRepository;
 import com.example.goalsmanager.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,15 +22,26 @@ import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed("goals.service")
 public class GoalService {
 
     private final GoalRepository goalRepository;
     private final UserRepository userRepository;
+    private final UserStatsService userStatsService;
+    private final BulkDeleteService bulkDeleteService;
+    private final HeatmapCache heatmapCache;
+    private final LeaderboardService leaderboardService;
 
     @Autowired
-    public GoalService(final GoalRepository goalRepository, final UserRepository userRepository) {
+    public GoalService(final GoalRepository goalRepository, final UserRepository userRepository,
+                       final UserStatsService userStatsService, final BulkDeleteService bulkDeleteService,
+                       final HeatmapCache heatmapCache, final LeaderboardService leaderboardService) {
         this.goalRepository = goalRepository;
         this.userRepository = userRepository;
+        this.userStatsService = userStatsService;
+        this.bulkDeleteService = bulkDeleteService;
+        this.heatmapCache = heatmapCache;
+        this.leaderboardService = leaderboardService;
     }
 
     /**
@@ -35,7 +50,7 @@ public class GoalService {
     public GoalDTO createGoal(final CreateGoalRequest request) {
         // Validate user exists
         final User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + request.getUserId()));
+                .orElseThrow(() -> new InvalidReferenceException("User", request.getUserId()));
 
         // Validate dates
         validateDates(request.getStartDate(), request.getEndDate());
@@ -52,6 +67,7 @@ public class GoalService {
         goal.setUser(user);
 
         final Goal savedGoal = goalRepository.save(goal);
+        userStatsService.goalCreated(user.getId(), savedGoal.getStatus());
         return convertToDTO(savedGoal);
     }
 
@@ -61,7 +77,7 @@ public class GoalService {
     @Transactional(readOnly = true)
     public GoalDTO getGoalById(final Long id) {
         final Goal goal = goalRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Goal not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Goal", id));
         return convertToDTO(goal);
     }
 
@@ -71,7 +87,7 @@ public class GoalService {
     @Transactional(readOnly = true)
     public List<GoalDTO> getAllGoals() {
         return goalRepository.findAll().stream()
-                .map(this::convertToDTO)
+                .map(GoalService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
@@ -82,10 +98,10 @@ public class GoalService {
     public List<GoalDTO> getGoalsByUserId(final Long userId) {
         // Verify user exists
         if (!userRepository.existsById(userId)) {
-            throw new RuntimeException("User not found with id: " + userId);
+            throw new ResourceNotFoundException("User", userId);
         }
         return goalRepository.findByUserId(userId).stream()
-                .map(this::convertToDTO)
+                .map(GoalService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
@@ -96,10 +112,10 @@ public class GoalService {
     public List<GoalDTO> getGoalsByUserIdAndStatus(final Long userId, final GoalStatus status) {
         // Verify user exists
         if (!userRepository.existsById(userId)) {
-            throw new RuntimeException("User not found with id: " + userId);
+            throw new ResourceNotFoundException("User", userId);
         }
         return goalRepository.findByUserIdAndStatus(userId, status).stream()
-                .map(this::convertToDTO)
+                .map(GoalService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
@@ -109,7 +125,7 @@ public class GoalService {
     @Transactional(readOnly = true)
     public List<GoalDTO> getGoalsByStatus(final GoalStatus status) {
         return goalRepository.findByStatus(status).stream()
-                .map(this::convertToDTO)
+                .map(GoalService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
@@ -118,7 +134,8 @@ public class GoalService {
      */
     public GoalDTO updateGoal(final Long id, final UpdateGoalRequest request) {
         final Goal goal = goalRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Goal not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Goal", id));
+        final GoalStatus previousStatus = goal.getStatus();
 
         // Update only non-null fields
         if (request.getTitle() != null) {
@@ -149,29 +166,47 @@ public class GoalService {
         }
 
         final Goal updatedGoal = goalRepository.save(goal);
+        userStatsService.goalStatusChanged(updatedGoal.getUser().getId(), previousStatus, updatedGoal.getStatus());
         return convertToDTO(updatedGoal);
     }
 
+    /**
+     * Point the goal's image at an image already stored, see {@link GoalImageService}
+     */
+    public GoalDTO setGoalImage(final Long id, final String imageUrl) {
+        final Goal goal = goalRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Goal", id));
+        goal.setImageUrl(imageUrl);
+        return convertToDTO(goalRepository.save(goal));
+    }
+
     /**
      * Update goal status
      */
     public GoalDTO updateGoalStatus(final Long id, final GoalStatus status) {
         final Goal goal = goalRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Goal not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Goal", id));
 
+        final GoalStatus previousStatus = goal.getStatus();
         goal.setStatus(status);
         final Goal updatedGoal = goalRepository.save(goal);
+        userStatsService.goalStatusChanged(updatedGoal.getUser().getId(), previousStatus, status);
         return convertToDTO(updatedGoal);
     }
 
     /**
-     * Delete goal
+     * Soft-delete goal with set-based statements
+     * Its habits and their tasks go with it, so they leave the owner's stats, cached heatmaps are
+     * dropped and the owner's leaderboard standing refreshed
      */
     public void deleteGoal(final Long id) {
-        if (!goalRepository.existsById(id)) {
-            throw new RuntimeException("Goal not found with id: " + id);
-        }
-        goalRepository.deleteById(id);
+        final Goal goal = goalRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Goal", id));
+        final Long userId = goal.getUser().getId();
+        userStatsService.goalDeleted(userId, id, goal.getStatus());
+        bulkDeleteService.softDeleteGoal(id);
+        heatmapCache.evictUser(userId);
+        leaderboardService.refreshUser(userId);
     }
 
     /**
@@ -183,19 +218,19 @@ public class GoalService {
     }
 
     /**
-     * Count goals by user
+     * Count goals by user, read from the user's stats row
      */
     @Transactional(readOnly = true)
     public long countGoalsByUserId(final Long userId) {
-        return goalRepository.countByUserId(userId);
+        return userStatsService.getUserStats(userId).getGoals();
     }
 
     /**
-     * Count goals by user and status
+     * Count goals by user and status, read from the user's stats row
      */
     @Transactional(readOnly = true)
     public long countGoalsByUserIdAndStatus(final Long userId, final GoalStatus status) {
-        return goalRepository.countByUserIdAndStatus(userId, status);
+        return userStatsService.getUserStats(userId).getGoals(status);
     }
 
     /**
@@ -210,7 +245,7 @@ public class GoalService {
                 .filter(goal -> goal.getEndDate().isBefore(today)
                         && goal.getStatus() != GoalStatus.COMPLETED
                         && goal.getStatus() != GoalStatus.CANCELLED)
-                .map(this::convertToDTO)
+                .map(GoalService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
@@ -226,7 +261,7 @@ public class GoalService {
                 .filter(goal -> (goal.getStatus() == GoalStatus.IN_PROGRESS
                         || goal.getStatus() == GoalStatus.NOT_STARTED)
                         && !goal.getEndDate().isBefore(today))
-                .map(this::convertToDTO)
+                .map(GoalService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
@@ -236,7 +271,7 @@ public class GoalService {
     @Transactional(readOnly = true)
     public List<GoalDTO> getCompletedGoalsByUserId(final Long userId) {
         return goalRepository.findByUserIdAndStatus(userId, GoalStatus.COMPLETED).stream()
-                .map(this::convertToDTO)
+                .map(GoalService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
@@ -245,15 +280,15 @@ public class GoalService {
      */
     private void validateDates(final LocalDate startDate, final LocalDate endDate) {
         if (startDate != null && endDate != null && endDate.isBefore(startDate)) {
-            throw new RuntimeException("End date must be after start date");
+            throw InvalidRequestException.INVALID_DATE_RANGE;
         }
     }
 
     /**
-     * Convert Goal entity to GoalDTO
+     * Convert Goal entity to GoalDTO; progress comes from the goal's own counters, so lists need no extra query
      */
-    private GoalDTO convertToDTO(final Goal goal) {
-        return new GoalDTO(
+    static GoalDTO convertToDTO(final Goal goal) {
+        final GoalDTO dto = new GoalDTO(
                 goal.getId(),
                 goal.getTitle(),
                 goal.getDescription(),
@@ -267,6 +302,8 @@ public class GoalService {
                 goal.getCreatedAt(),
                 goal.getUpdatedAt()
         );
+        dto.setProgress(goal.getProgress());
+        return dto;
     }
 }
 
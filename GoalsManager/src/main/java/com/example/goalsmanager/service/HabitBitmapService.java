@@ -0,0 +1,207 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.goalutils.CompletionBitmap;
+import com.example.goalsmanager.goalutils.MonthDays;
+import com.example.goalsmanager.model.Habit;
+import com.example.goalsmanager.model.HabitBitmap;
+import com.example.goalsmanager.model.Task;
+import com.example.goalsmanager.model.TaskArchive;
+import com.example.goalsmanager.repository.HabitBitmapRepository;
+import com.example.goalsmanager.repository.HabitRepository;
+import com.example.goalsmanager.repository.TaskArchiveRepository;
+import com.example.goalsmanager.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps each habit's completion bitmap in step with its tasks.
+ * A habit without a stored bitmap gets one built from its tasks and archives on first write,
+ * or earlier by the {@link com.example.goalsmanager.jobs.HabitBitmapBackfill}.
+ * Writes to past months also evict those months from the {@link HeatmapCache}.
+ */
+@Service
+@Transactional
+@Timed("goals.service")
+public class HabitBitmapService {
+
+    private final HabitBitmapRepository habitBitmapRepository;
+    private final TaskRepository taskRepository;
+    private final TaskArchiveRepository taskArchiveRepository;
+    private final HabitRepository habitRepository;
+    private final HeatmapCache heatmapCache;
+
+    @Autowired
+    public HabitBitmapService(final HabitBitmapRepository habitBitmapRepository,
+                              final TaskRepository taskRepository,
+                              final TaskArchiveRepository taskArchiveRepository,
+                              final HabitRepository habitRepository,
+                              final HeatmapCache heatmapCache) {
+        this.habitBitmapRepository = habitBitmapRepository;
+        this.taskRepository = taskRepository;
+        this.taskArchiveRepository = taskArchiveRepository;
+        this.habitRepository = habitRepository;
+        this.heatmapCache = heatmapCache;
+    }
+
+    /**
+     * A habit's bitmap after a write, and the task and archive rows read to build it;
+     * none when the bitmap was already stored
+     */
+    public record Recorded(CompletionBitmap bitmap, int rowsScanned) {
+    }
+
+    /**
+     * A locked bitmap row, and the rows read to build it if it was just created
+     */
+    private record Locked(HabitBitmap stored, int rowsScanned) {
+    }
+
+    /**
+     * Record the current state of tasks belonging to the habit
+     * @return the updated bitmap
+     */
+    public Recorded recordTasks(final Habit habit, final List<Task> tasks) {
+        final Locked locked = lock(habit);
+        final CompletionBitmap bitmap = restore(locked.stored());
+        for (final Task task : tasks) {
+            bitmap.set(task.getDate(), Boolean.TRUE.equals(task.getCompleted()));
+            heatmapCache.evict(habit.getId(), habit.getUser().getId(), task.getDate());
+        }
+        return new Recorded(save(locked.stored(), bitmap), locked.rowsScanned());
+    }
+
+    /**
+     * Record the current state of one task
+     * @return the updated bitmap
+     */
+    public Recorded recordTask(final Task task) {
+        return recordTasks(task.getHabit(), List.of(task));
+    }
+
+    /**
+     * Forget the task a habit had on the date
+     */
+    public void removeTask(final Habit habit, final LocalDate date) {
+        final HabitBitmap stored = lock(habit).stored();
+        final CompletionBitmap bitmap = restore(stored);
+        bitmap.clear(date);
+        heatmapCache.evict(habit.getId(), habit.getUser().getId(), date);
+        save(stored, bitmap);
+    }
+
+    /**
+     * Build and store the bitmaps of habits that have none yet
+     * @return the number of bitmaps stored
+     */
+    public int backfill(final List<Long> habitIds) {
+        final List<Habit> habits = habitRepository.findAllById(habitIds);
+        for (final Habit habit : habits) {
+            habitBitmapRepository.save(lock(habit).stored());
+        }
+        return habits.size();
+    }
+
+    /**
+     * Get a habit's bitmap, built in memory if none is stored yet
+     */
+    @Transactional(readOnly = true)
+    public CompletionBitmap getBitmap(final Long habitId) {
+        return habitBitmapRepository.findById(habitId)
+                .map(HabitBitmapService::restore)
+                .orElseGet(() -> build(habitId));
+    }
+
+    /**
+     * Get the bitmaps of a user's live habits, building in memory those not stored yet
+     */
+    @Transactional(readOnly = true)
+    public List<CompletionBitmap> getBitmapsByUserId(final Long userId) {
+        final Map<Long, CompletionBitmap> stored = getStoredBitmapsByUserId(userId);
+        return habitRepository.findIdsByUserId(userId).stream()
+                .map(habitId -> stored.containsKey(habitId) ? stored.get(habitId) : build(habitId))
+                .toList();
+    }
+
+    /**
+     * Get the stored bitmaps of a user's live habits by habit id
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, CompletionBitmap> getStoredBitmapsByUserId(final Long userId) {
+        return byHabitId(habitBitmapRepository.findByUserId(userId));
+    }
+
+    /**
+     * Get the stored bitmaps of the live habits of users on the leaderboard by habit id
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, CompletionBitmap> getStoredLeaderboardBitmaps() {
+        return byHabitId(habitBitmapRepository.findByLeaderboardUsers());
+    }
+
+    /**
+     * Lock a habit's bitmap, creating it if missing. Creators lock the habit row first and look
+     * again, so of two concurrent first writes the second finds the first one's bitmap.
+     */
+    private Locked lock(final Habit habit) {
+        return habitBitmapRepository.findByIdForUpdate(habit.getId())
+                .or(() -> {
+                    habitRepository.findByIdForUpdate(habit.getId());
+                    return habitBitmapRepository.findByIdForUpdate(habit.getId());
+                })
+                .map(stored -> new Locked(stored, 0))
+                .orElseGet(() -> {
+                    final List<TaskArchive> archives = taskArchiveRepository.findByHabitIdNewestFirst(habit.getId());
+                    final List<Task> tasks = taskRepository.findByHabitId(habit.getId());
+                    final HabitBitmap created = new HabitBitmap(habit);
+                    write(created, build(archives, tasks));
+                    return new Locked(created, archives.size() + tasks.size());
+                });
+    }
+
+    private CompletionBitmap save(final HabitBitmap stored, final CompletionBitmap bitmap) {
+        write(stored, bitmap);
+        habitBitmapRepository.save(stored);
+        return bitmap;
+    }
+
+    /**
+     * Rebuild a bitmap from the habit's archived months and live tasks
+     */
+    private CompletionBitmap build(final Long habitId) {
+        return build(taskArchiveRepository.findByHabitIdNewestFirst(habitId), taskRepository.findByHabitId(habitId));
+    }
+
+    private static CompletionBitmap build(final List<TaskArchive> archives, final List<Task> tasks) {
+        final CompletionBitmap bitmap = CompletionBitmap.empty();
+        for (final TaskArchive archive : archives) {
+            for (final LocalDate date : MonthDays.dates(archive.getMonthStart(), archive.getScheduledDays())) {
+                bitmap.set(date, MonthDays.contains(archive.getCompletedDays(), date));
+            }
+        }
+        for (final Task task : tasks) {
+            bitmap.set(task.getDate(), Boolean.TRUE.equals(task.getCompleted()));
+        }
+        return bitmap;
+    }
+
+    private static Map<Long, CompletionBitmap> byHabitId(final List<HabitBitmap> stored) {
+        return stored.stream().collect(Collectors.toMap(HabitBitmap::getHabitId, HabitBitmapService::restore));
+    }
+
+    private static CompletionBitmap restore(final HabitBitmap stored) {
+        return CompletionBitmap.of(stored.getOrigin(), stored.getTaskDays(), stored.getCompletedDays());
+    }
+
+    private static void write(final HabitBitmap stored, final CompletionBitmap bitmap) {
+        stored.setOrigin(bitmap.origin());
+        stored.setTaskDays(bitmap.taskBytes());
+        stored.setCompletedDays(bitmap.completedBytes());
+    }
+}
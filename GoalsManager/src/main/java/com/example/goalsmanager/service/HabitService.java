@@ -2,13 +2,19 @@ package com.example.goalsmanager.service;
 
 import com.example.goalsmanager.dto.CreateHabitRequest;
 import com.example.goalsmanager.dto.HabitDTO;
+import com.example.goalsmanager.dto.HabitStatsDTO;
 import com.example.goalsmanager.dto.UpdateHabitRequest;
+import com.example.goalsmanager.exception.InvalidReferenceException;
+import com.example.goalsmanager.exception.InvalidRequestException;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import com.example.goalsmanager.goalutils.CompletionBitmap;
 import com.example.goalsmanager.model.Goal;
 import com.example.goalsmanager.model.Habit;
 import com.example.goalsmanager.model.User;
 import com.example.goalsmanager.repository.GoalRepository;
 import com.example.goalsmanager.repository.HabitRepository;
 import com.example.goalsmanager.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,19 +25,38 @@ import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed("goals.service")
 public class HabitService {
 
     private final HabitRepository habitRepository;
     private final GoalRepository goalRepository;
     private final UserRepository userRepository;
+    private final HabitBitmapService habitBitmapService;
+    private final UserStatsService userStatsService;
+    private final BulkDeleteService bulkDeleteService;
+    private final HeatmapCache heatmapCache;
+    private final CompletionRollupService completionRollupService;
+    private final LeaderboardService leaderboardService;
 
     @Autowired
     public HabitService(final HabitRepository habitRepository,
                         final GoalRepository goalRepository,
-                        final UserRepository userRepository) {
+                        final UserRepository userRepository,
+                        final HabitBitmapService habitBitmapService,
+                        final UserStatsService userStatsService,
+                        final BulkDeleteService bulkDeleteService,
+                        final HeatmapCache heatmapCache,
+                        final CompletionRollupService completionRollupService,
+                        final LeaderboardService leaderboardService) {
         this.habitRepository = habitRepository;
         this.goalRepository = goalRepository;
         this.userRepository = userRepository;
+        this.habitBitmapService = habitBitmapService;
+        this.userStatsService = userStatsService;
+        this.bulkDeleteService = bulkDeleteService;
+        this.heatmapCache = heatmapCache;
+        this.completionRollupService = completionRollupService;
+        this.leaderboardService = leaderboardService;
     }
 
     /**
@@ -40,11 +65,11 @@ public class HabitService {
     public HabitDTO createHabit(final CreateHabitRequest request) {
         // Validate goal exists
         final Goal goal = goalRepository.findById(request.getGoalId())
-                .orElseThrow(() -> new RuntimeException("Goal not found with id: " + request.getGoalId()));
+                .orElseThrow(() -> new InvalidReferenceException("Goal", request.getGoalId()));
 
         // Validate user exists
         final User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + request.getUserId()));
+                .orElseThrow(() -> new InvalidReferenceException("User", request.getUserId()));
 
         // Validate dates
         validateDates(request.getStartDate(), request.getEndDate());
@@ -62,6 +87,7 @@ public class HabitService {
         habit.setUser(user);
 
         final Habit savedHabit = habitRepository.save(habit);
+        userStatsService.habitCreated(user.getId());
         return convertToDTO(savedHabit);
     }
 
@@ -71,17 +97,43 @@ public class HabitService {
     @Transactional(readOnly = true)
     public HabitDTO getHabitById(final Long id) {
         final Habit habit = habitRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Habit not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Habit", id));
         return convertToDTO(habit);
     }
 
+    /**
+     * Get streaks and the completion rate of a habit over [startDate, endDate]
+     * The window defaults to the habit's start date through today
+     */
+    @Transactional(readOnly = true)
+    public HabitStatsDTO getHabitStats(final Long id, final LocalDate startDate, final LocalDate endDate) {
+        final Habit habit = habitRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Habit", id));
+        final LocalDate today = LocalDate.now();
+        final LocalDate from = startDate != null ? startDate : habit.getStartDate();
+        final LocalDate to = endDate != null ? endDate : today;
+        validateDates(from, to);
+
+        final CompletionBitmap bitmap = habitBitmapService.getBitmap(id);
+        return new HabitStatsDTO(
+                id,
+                from,
+                to,
+                bitmap.currentStreak(today),
+                bitmap.longestStreak(today),
+                bitmap.taskCount(from, to),
+                bitmap.completedCount(from, to),
+                bitmap.completionRate(from, to)
+        );
+    }
+
     /**
      * Get all habits
      */
     @Transactional(readOnly = true)
     public List<HabitDTO> getAllHabits() {
         return habitRepository.findAll().stream()
-                .map(this::convertToDTO)
+                .map(HabitService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
@@ -92,10 +144,10 @@ public class HabitService {
     public List<HabitDTO> getHabitsByUserId(final Long userId) {
         // Verify user exists
         if (!userRepository.existsById(userId)) {
-            throw new RuntimeException("User not found with id: " + userId);
+            throw new ResourceNotFoundException("User", userId);
         }
         return habitRepository.findByUserId(userId).stream()
-                .map(this::convertToDTO)
+                .map(HabitService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
@@ -106,10 +158,10 @@ public class HabitService {
     public List<HabitDTO> getHabitsByGoalId(final Long goalId) {
         // Verify goal exists
         if (!goalRepository.existsById(goalId)) {
-            throw new RuntimeException("Goal not found with id: " + goalId);
+            throw new ResourceNotFoundException("Goal", goalId);
         }
         return habitRepository.findByGoalId(goalId).stream()
-                .map(this::convertToDTO)
+                .map(HabitService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
@@ -118,7 +170,7 @@ public class HabitService {
      */
     public HabitDTO updateHabit(final Long id, final UpdateHabitRequest request) {
         final Habit habit = habitRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Habit not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Habit", id));
 
         // Update only non-null fields
         if (request.getName() != null) {
@@ -148,18 +200,24 @@ public class HabitService {
             validateDates(habit.getStartDate(), habit.getEndDate());
         }
 
+        // The leaderboards take streaks from the bitmaps, so an edited streakStatus never reaches them
         final Habit updatedHabit = habitRepository.save(habit);
         return convertToDTO(updatedHabit);
     }
 
     /**
-     * Delete habit
+     * Soft-delete habit in one statement
+     * Its tasks go with it, so they leave the owner's stats, cached heatmaps are dropped, its
+     * goal's rollups reduced and the owner's leaderboard standing refreshed
      */
     public void deleteHabit(final Long id) {
-        if (!habitRepository.existsById(id)) {
-            throw new RuntimeException("Habit not found with id: " + id);
-        }
-        habitRepository.deleteById(id);
+        final Long userId = habitRepository.findUserIdById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Habit", id));
+        userStatsService.habitDeleted(userId, id);
+        bulkDeleteService.softDeleteHabit(id);
+        completionRollupService.habitDeleted(id);
+        heatmapCache.evictUser(userId);
+        leaderboardService.refreshUser(userId);
     }
 
     /**
@@ -171,11 +229,11 @@ public class HabitService {
     }
 
     /**
-     * Count habits by user
+     * Count habits by user, read from the user's stats row
      */
     @Transactional(readOnly = true)
     public long countHabitsByUserId(final Long userId) {
-        return habitRepository.countByUserId(userId);
+        return userStatsService.getUserStats(userId).getHabits();
     }
 
     /**
@@ -191,14 +249,14 @@ public class HabitService {
      */
     private void validateDates(final LocalDate startDate, final LocalDate endDate) {
         if (startDate != null && endDate != null && endDate.isBefore(startDate)) {
-            throw new RuntimeException("End date must be after start date");
+            throw InvalidRequestException.INVALID_DATE_RANGE;
         }
     }
 
     /**
      * Convert Habit entity to HabitDTO
      */
-    private HabitDTO convertToDTO(final Habit habit) {
+    static HabitDTO convertToDTO(final Habit habit) {
         return new HabitDTO(
                 habit.getId(),
                 habit.getName(),
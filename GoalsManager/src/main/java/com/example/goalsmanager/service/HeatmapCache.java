@@ -0,0 +1,106 @@
+package com.example.goalsmanager.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Heatmap cells of past months, per habit and per user, least recently used dropped first.
+ * Past months rarely change, but editing an old task still can, so every bitmap write evicts
+ * the month it touched. Evictions bump a generation; a month read from the database before
+ * an eviction is not stored after it.
+ */
+@Component
+public class HeatmapCache {
+
+    static final int MAX_ENTRIES = 20_000;
+
+    enum Scope { HABIT, USER }
+
+    record Key(Scope scope, Long id, YearMonth month) {
+    }
+
+    /**
+     * Tasks and completed tasks per day of one month
+     */
+    record MonthCells(int[] scheduled, int[] completed) {
+    }
+
+    private final Map<Key, MonthCells> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, MonthCells> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private long generation;
+
+    /**
+     * Current generation; pass it to {@link #put} for months read after this call
+     */
+    synchronized long generation() {
+        return generation;
+    }
+
+    synchronized MonthCells get(final Key key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Store a month unless something was evicted since the generation was taken
+     */
+    synchronized void put(final long readGeneration, final Key key, final MonthCells cells) {
+        if (readGeneration == generation) {
+            entries.put(key, cells);
+        }
+    }
+
+    /**
+     * Forget the month of the date for the habit and its owner, now and again after commit,
+     * when readers can see the change. Current and future months are never cached, so
+     * writes to them, which are most writes, cost nothing here.
+     */
+    public void evict(final Long habitId, final Long userId, final LocalDate date) {
+        final YearMonth month = YearMonth.from(date);
+        if (!month.isBefore(YearMonth.now())) {
+            return;
+        }
+        afterCommit(() -> {
+            remove(new Key(Scope.HABIT, habitId, month));
+            remove(new Key(Scope.USER, userId, month));
+        });
+    }
+
+    /**
+     * Forget every month of a user, e.g. when one of their habits is deleted
+     */
+    public void evictUser(final Long userId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                entries.keySet().removeIf(key -> key.scope() == Scope.USER && key.id().equals(userId));
+                generation++;
+            }
+        });
+    }
+
+    private synchronized void remove(final Key key) {
+        entries.remove(key);
+        generation++;
+    }
+
+    private static void afterCommit(final Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
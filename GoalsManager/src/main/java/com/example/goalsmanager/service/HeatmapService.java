@@ -0,0 +1,149 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.dto.DayCountDTO;
+import com.example.goalsmanager.dto.HeatmapDTO;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import com.example.goalsmanager.goalutils.CompletionBitmap;
+import com.example.goalsmanager.repository.HabitRepository;
+import com.example.goalsmanager.repository.TaskRepository;
+import com.example.goalsmanager.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Yearly completion heatmaps of a habit or of all of a user's habits.
+ * Past months come from the {@link HeatmapCache}, filled from the completion bitmaps on a miss.
+ * The current month and later are counted live by one aggregate query over tasks.
+ */
+@Service
+@Transactional(readOnly = true)
+@Timed("goals.service")
+public class HeatmapService {
+
+    private final HabitRepository habitRepository;
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final HabitBitmapService habitBitmapService;
+    private final HeatmapCache heatmapCache;
+
+    @Autowired
+    public HeatmapService(final HabitRepository habitRepository,
+                          final UserRepository userRepository,
+                          final TaskRepository taskRepository,
+                          final HabitBitmapService habitBitmapService,
+                          final HeatmapCache heatmapCache) {
+        this.habitRepository = habitRepository;
+        this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.habitBitmapService = habitBitmapService;
+        this.heatmapCache = heatmapCache;
+    }
+
+    /**
+     * Get the heatmap of one habit over a year, the current year if none is given
+     */
+    public HeatmapDTO getHabitHeatmap(final Long habitId, final Integer year) {
+        final Long userId = habitRepository.findUserIdById(habitId)
+                .orElseThrow(() -> new ResourceNotFoundException("Habit", habitId));
+        return heatmap(HeatmapCache.Scope.HABIT, habitId, userId, year,
+                () -> List.of(habitBitmapService.getBitmap(habitId)),
+                (from, to) -> taskRepository.countDaysByHabitId(habitId, from, to));
+    }
+
+    /**
+     * Get the heatmap of all of a user's habits over a year, the current year if none is given
+     */
+    public HeatmapDTO getUserHeatmap(final Long userId, final Integer year) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", userId);
+        }
+        return heatmap(HeatmapCache.Scope.USER, userId, userId, year,
+                () -> habitBitmapService.getBitmapsByUserId(userId),
+                (from, to) -> taskRepository.countDaysByUserId(userId, from, to));
+    }
+
+    private HeatmapDTO heatmap(final HeatmapCache.Scope scope, final Long id, final Long userId, final Integer year,
+                               final Supplier<List<CompletionBitmap>> bitmaps,
+                               final BiFunction<LocalDate, LocalDate, List<DayCountDTO>> liveCounts) {
+        final YearMonth current = YearMonth.now();
+        final int heatmapYear = year != null ? year : current.getYear();
+        final LocalDate start = LocalDate.of(heatmapYear, 1, 1);
+        final LocalDate end = LocalDate.of(heatmapYear, 12, 31);
+        final int[] scheduled = new int[start.lengthOfYear()];
+        final int[] completed = new int[start.lengthOfYear()];
+
+        // Past months: cached, and on a miss read from the bitmaps once for all missing months
+        final List<YearMonth> missing = new ArrayList<>();
+        for (int month = 1; month <= 12; month++) {
+            final YearMonth yearMonth = YearMonth.of(heatmapYear, month);
+            if (!yearMonth.isBefore(current)) {
+                break;
+            }
+            final HeatmapCache.MonthCells cells = heatmapCache.get(new HeatmapCache.Key(scope, id, yearMonth));
+            if (cells == null) {
+                missing.add(yearMonth);
+            } else {
+                copy(cells, start, yearMonth, scheduled, completed);
+            }
+        }
+        if (!missing.isEmpty()) {
+            final long generation = heatmapCache.generation();
+            final List<CompletionBitmap> read = bitmaps.get();
+            for (final YearMonth yearMonth : missing) {
+                final HeatmapCache.MonthCells cells = cells(read, yearMonth);
+                heatmapCache.put(generation, new HeatmapCache.Key(scope, id, yearMonth), cells);
+                copy(cells, start, yearMonth, scheduled, completed);
+            }
+        }
+
+        // Current month onwards: live, since today's toggles land there
+        final LocalDate liveFrom = start.isAfter(current.atDay(1)) ? start : current.atDay(1);
+        if (!liveFrom.isAfter(end)) {
+            for (final DayCountDTO day : liveCounts.apply(liveFrom, end)) {
+                final int index = (int) ChronoUnit.DAYS.between(start, day.getDate());
+                scheduled[index] = day.getScheduled().intValue();
+                completed[index] = day.getCompleted().intValue();
+            }
+        }
+
+        return new HeatmapDTO(scope == HeatmapCache.Scope.HABIT ? id : null, userId, heatmapYear,
+                start, end, scheduled, completed);
+    }
+
+    /**
+     * Sum the bitmaps' days of one month
+     */
+    private static HeatmapCache.MonthCells cells(final List<CompletionBitmap> bitmaps, final YearMonth month) {
+        final int[] scheduled = new int[month.lengthOfMonth()];
+        final int[] completed = new int[month.lengthOfMonth()];
+        for (final CompletionBitmap bitmap : bitmaps) {
+            final byte[] days = bitmap.heatmap(month.atDay(1), month.atEndOfMonth());
+            for (int day = 0; day < days.length; day++) {
+                if (days[day] != CompletionBitmap.NO_TASK) {
+                    scheduled[day]++;
+                }
+                if (days[day] == CompletionBitmap.COMPLETED) {
+                    completed[day]++;
+                }
+            }
+        }
+        return new HeatmapCache.MonthCells(scheduled, completed);
+    }
+
+    private static void copy(final HeatmapCache.MonthCells cells, final LocalDate start, final YearMonth month,
+                             final int[] scheduled, final int[] completed) {
+        final int offset = (int) ChronoUnit.DAYS.between(start, month.atDay(1));
+        System.arraycopy(cells.scheduled(), 0, scheduled, offset, cells.scheduled().length);
+        System.arraycopy(cells.completed(), 0, completed, offset, cells.completed().length);
+    }
+}
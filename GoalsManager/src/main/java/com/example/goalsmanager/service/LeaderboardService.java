@@ -0,0 +1,146 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.dto.HabitStreakDTO;
+import com.example.goalsmanager.dto.LeaderboardEntryDTO;
+import com.example.goalsmanager.exception.InvalidRequestException;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import com.example.goalsmanager.goalutils.CompletionBitmap;
+import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.repository.HabitRepository;
+import com.example.goalsmanager.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opt-in streak leaderboards. Rankings are answered from the in-memory {@link StreakLeaderboard}
+ * without touching the database; this service loads it at startup and keeps opted-in users on it.
+ * Streaks always come from the completion bitmaps, never from the client-editable streakStatus.
+ */
+@Service
+@Timed("goals.service")
+public class LeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    static final int MAX_LIMIT = 100;
+
+    private final UserRepository userRepository;
+    private final HabitRepository habitRepository;
+    private final HabitBitmapService habitBitmapService;
+    private final StreakLeaderboard streakLeaderboard;
+
+    @Autowired
+    public LeaderboardService(final UserRepository userRepository,
+                              final HabitRepository habitRepository,
+                              final HabitBitmapService habitBitmapService,
+                              final StreakLeaderboard streakLeaderboard) {
+        this.userRepository = userRepository;
+        this.habitRepository = habitRepository;
+        this.habitBitmapService = habitBitmapService;
+        this.streakLeaderboard = streakLeaderboard;
+    }
+
+    /**
+     * Load every opted-in user's habits and their bitmaps, one query each. Not read-only, so it
+     * reads the primary rather than a replica that may not have the latest toggles yet.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        rebuild(LocalDate.now());
+    }
+
+    /**
+     * Reload every opted-in user with their streaks as of the date, so current streaks broken by
+     * a missed day since their last toggle drop out. Users changed while loading keep their change.
+     */
+    @Transactional
+    public void rebuild(final LocalDate today) {
+        final long readAfter = streakLeaderboard.changes();
+        streakLeaderboard.replaceAll(withStreaks(habitRepository.findLeaderboardHabits(),
+                habitBitmapService.getStoredLeaderboardBitmaps(), today), readAfter);
+        log.info("Streak leaderboard loaded with {} users as of {}", streakLeaderboard.size(), today);
+    }
+
+    /**
+     * Put a user on the leaderboards
+     */
+    @Transactional
+    public void optIn(final Long userId) {
+        final User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", userId));
+        user.setLeaderboardOptIn(true);
+        join(userId);
+    }
+
+    /**
+     * Take a user off the leaderboards
+     */
+    @Transactional
+    public void optOut(final Long userId) {
+        final User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", userId));
+        user.setLeaderboardOptIn(false);
+        streakLeaderboard.leave(userId);
+    }
+
+    /**
+     * Reload an opted-in user's habits, e.g. after habits were deleted or the user was renamed; free for everyone else
+     */
+    @Transactional
+    public void refreshUser(final Long userId) {
+        if (streakLeaderboard.contains(userId)) {
+            join(userId);
+        }
+    }
+
+    /**
+     * Get the best users of a leaderboard
+     */
+    public List<LeaderboardEntryDTO> getTop(final StreakLeaderboard.Board board, final int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return streakLeaderboard.top(board, limit);
+    }
+
+    /**
+     * Get a user's place on a leaderboard
+     */
+    public LeaderboardEntryDTO getRank(final StreakLeaderboard.Board board, final Long userId) {
+        return streakLeaderboard.rankOf(board, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Leaderboard entry", userId));
+    }
+
+    private void join(final Long userId) {
+        streakLeaderboard.join(userId, withStreaks(habitRepository.findLeaderboardHabitsByUserId(userId),
+                habitBitmapService.getStoredBitmapsByUserId(userId), LocalDate.now()));
+    }
+
+    /**
+     * Fill in each habit's current and longest streak from its bitmap, built in memory if not stored
+     */
+    private List<HabitStreakDTO> withStreaks(final List<HabitStreakDTO> habits, final Map<Long, CompletionBitmap> stored,
+                                             final LocalDate today) {
+        for (final HabitStreakDTO habit : habits) {
+            if (habit.getHabitId() != null) {
+                final CompletionBitmap bitmap = stored.containsKey(habit.getHabitId())
+                        ? stored.get(habit.getHabitId())
+                        : habitBitmapService.getBitmap(habit.getHabitId());
+                habit.setCurrentStreak(bitmap.currentStreak(today));
+                habit.setLongestStreak(bitmap.longestStreak(today));
+            }
+        }
+        return habits;
+    }
+}
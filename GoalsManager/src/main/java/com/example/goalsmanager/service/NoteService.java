@@ -2,29 +2,56 @@ package com.example.goalsmanager.service;
 
 import com.example.goalsmanager.dto.CreateNoteRequest;
 import com.example.goalsmanager.dto.NoteDTO;
+import com.example.goalsmanager.dto.NotePreviewDTO;
+import com.example.goalsmanager.dto.NoteRevisionDTO;
+import com.example.goalsmanager.dto.NoteTimelineDTO;
 import com.example.goalsmanager.dto.UpdateNoteRequest;
+import com.example.goalsmanager.exception.InvalidReferenceException;
+import com.example.goalsmanager.exception.InvalidRequestException;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import com.example.goalsmanager.goalutils.TextDelta;
 import com.example.goalsmanager.model.Goal;
 import com.example.goalsmanager.model.Note;
+import com.example.goalsmanager.model.NoteRevision;
 import com.example.goalsmanager.repository.GoalRepository;
 import com.example.goalsmanager.repository.NoteRepository;
+import com.example.goalsmanager.repository.NoteRevisionRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed("goals.service")
 public class NoteService {
 
+    static final int MAX_TIMELINE_SIZE = 50;
+
+    /**
+     * Every this many versions a revision stores the whole content, so rebuilding any
+     * version reads at most this many rows
+     */
+    static final int SNAPSHOT_INTERVAL = 10;
+
     private final NoteRepository noteRepository;
     private final GoalRepository goalRepository;
+    private final NoteRevisionRepository noteRevisionRepository;
 
     @Autowired
-    public NoteService(final NoteRepository noteRepository, final GoalRepository goalRepository) {
+    public NoteService(final NoteRepository noteRepository, final GoalRepository goalRepository,
+                       final NoteRevisionRepository noteRevisionRepository) {
         this.noteRepository = noteRepository;
         this.goalRepository = goalRepository;
+        this.noteRevisionRepository = noteRevisionRepository;
     }
 
     /**
@@ -33,7 +60,7 @@ public class NoteService {
     public NoteDTO createNote(final CreateNoteRequest request) {
         // Validate goal exists
         final Goal goal = goalRepository.findById(request.getGoalId())
-                .orElseThrow(() -> new RuntimeException("Goal not found with id: " + request.getGoalId()));
+                .orElseThrow(() -> new InvalidReferenceException("Goal", request.getGoalId()));
 
         // Create note
         final Note note = new Note();
@@ -50,7 +77,7 @@ public class NoteService {
     @Transactional(readOnly = true)
     public NoteDTO getNoteById(final Long id) {
         final Note note = noteRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Note not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Note", id));
         return convertToDTO(note);
     }
 
@@ -61,23 +88,57 @@ public class NoteService {
     public List<NoteDTO> getNotesByGoalId(final Long goalId) {
         // Verify goal exists
         if (!goalRepository.existsById(goalId)) {
-            throw new RuntimeException("Goal not found with id: " + goalId);
+            throw new ResourceNotFoundException("Goal", goalId);
         }
         return noteRepository.findByGoalIdOrderByCreatedAtDesc(goalId).stream()
-                .map(this::convertToDTO)
+                .map(NoteService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Update a note
+     * Get one page of a goal's note timeline, newest first, as previews.
+     * Pages are keyed on (createdAt, id) rather than offsets, so each page costs the same
+     * however far back it is and notes added meanwhile do not shift the following pages.
+     * @param cursor nextCursor of the previous page, null for the first page
+     */
+    @Transactional(readOnly = true)
+    public NoteTimelineDTO getNoteTimeline(final Long goalId, final String cursor, final int size) {
+        if (size < 1 || size > MAX_TIMELINE_SIZE) {
+            throw new InvalidRequestException("Size must be between 1 and " + MAX_TIMELINE_SIZE);
+        }
+        if (!goalRepository.existsById(goalId)) {
+            throw new ResourceNotFoundException("Goal", goalId);
+        }
+
+        // One extra row tells whether another page follows
+        final PageRequest limit = PageRequest.of(0, size + 1);
+        final List<NotePreviewDTO> notes;
+        if (cursor == null || cursor.isEmpty()) {
+            notes = noteRepository.findPreviewsByGoalId(goalId, limit);
+        } else {
+            final NotePreviewDTO after = decodeCursor(cursor);
+            notes = noteRepository.findPreviewsByGoalIdBefore(goalId, after.getCreatedAt(), after.getId(), limit);
+        }
+
+        if (notes.size() <= size) {
+            return new NoteTimelineDTO(notes, null);
+        }
+        final List<NotePreviewDTO> page = notes.subList(0, size);
+        return new NoteTimelineDTO(page, encodeCursor(page.get(size - 1)));
+    }
+
+    /**
+     * Update a note, recording the previous content in its revision history
      */
     public NoteDTO updateNote(final Long id, final UpdateNoteRequest request) {
-        final Note note = noteRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Note not found with id: " + id));
+        final Note note = noteRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Note", id));
 
-        // Update only if content is provided
-        if (request.getContent() != null && !request.getContent().trim().isEmpty()) {
-            note.setContent(request.getContent());
+        // Update only if content is provided and differs
+        final String content = request.getContent();
+        if (content != null && !content.trim().isEmpty() && !content.equals(note.getContent())) {
+            recordRevision(note, content);
+            note.setContent(content);
         }
 
         final Note updatedNote = noteRepository.save(note);
@@ -85,20 +146,51 @@ public class NoteService {
     }
 
     /**
-     * Delete a note
+     * List the versions of a note, newest first
      */
-    public void deleteNote(final Long id) {
+    @Transactional(readOnly = true)
+    public List<NoteRevisionDTO> getNoteRevisions(final Long id) {
+        if (!noteRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Note", id);
+        }
+        return noteRevisionRepository.findVersions(id);
+    }
+
+    /**
+     * Rebuild one version of a note from its nearest snapshot and the deltas after it
+     */
+    @Transactional(readOnly = true)
+    public NoteRevisionDTO getNoteRevision(final Long id, final int version) {
         if (!noteRepository.existsById(id)) {
-            throw new RuntimeException("Note not found with id: " + id);
+            throw new ResourceNotFoundException("Note", id);
         }
-        noteRepository.deleteById(id);
+        final List<NoteRevision> chain = noteRevisionRepository.findChain(id, version);
+        if (chain.isEmpty() || chain.get(chain.size() - 1).getVersion() != version) {
+            throw new ResourceNotFoundException("Note revision", version);
+        }
+
+        String content = "";
+        for (final NoteRevision revision : chain) {
+            content = new TextDelta(revision.getPrefixLength(), revision.getSuffixLength(), revision.getContent())
+                    .applyTo(content);
+        }
+        return new NoteRevisionDTO(id, version, content, chain.get(chain.size() - 1).getCreatedAt());
     }
 
     /**
-     * Delete all notes for a specific goal
+     * Soft-delete a note
+     */
+    public void deleteNote(final Long id) {
+        if (noteRepository.softDeleteById(id) == 0) {
+            throw new ResourceNotFoundException("Note", id);
+        }
+    }
+
+    /**
+     * Soft-delete all notes for a specific goal
      */
     public void deleteNotesByGoalId(final Long goalId) {
-        noteRepository.deleteByGoalId(goalId);
+        noteRepository.softDeleteByGoalId(goalId);
     }
 
     /**
@@ -109,10 +201,63 @@ public class NoteService {
         return noteRepository.countByGoalId(goalId);
     }
 
+    /**
+     * Append the new content to a note's history as a delta against its current content.
+     * Notes that were never edited have no history, so the first edit also stores the
+     * original content as version 1; notes written once cost nothing extra.
+     */
+    private void recordRevision(final Note note, final String content) {
+        final Integer latest = noteRevisionRepository.findLatestVersion(note.getId());
+        final int version;
+        if (latest == null) {
+            noteRevisionRepository.save(revision(note, 1, TextDelta.snapshot(note.getContent()), note.getCreatedAt()));
+            version = 2;
+        } else {
+            version = latest + 1;
+        }
+
+        // A rewrite stores about as much either way, so a snapshot costs nothing and shortens the chain
+        final TextDelta delta = TextDelta.between(note.getContent(), content);
+        final boolean snapshot = (version - 1) % SNAPSHOT_INTERVAL == 0
+                || delta.inserted().length() >= content.length() / 2;
+        noteRevisionRepository.save(revision(note, version,
+                snapshot ? TextDelta.snapshot(content) : delta, LocalDateTime.now()));
+    }
+
+    private static NoteRevision revision(final Note note, final int version, final TextDelta delta,
+                                         final LocalDateTime createdAt) {
+        return new NoteRevision(note, version, delta.isSnapshot(), delta.prefixLength(),
+                delta.suffixLength(), delta.inserted(), createdAt);
+    }
+
+    /**
+     * Opaque cursor for the position after the note: its creation time and id, URL-safe
+     */
+    static String encodeCursor(final NotePreviewDTO note) {
+        final String position = note.getCreatedAt() + "|" + note.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Position encoded by {@link #encodeCursor}, as a preview with only createdAt and id set
+     */
+    static NotePreviewDTO decodeCursor(final String cursor) {
+        try {
+            final String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final int separator = position.indexOf('|');
+            final NotePreviewDTO note = new NotePreviewDTO();
+            note.setCreatedAt(LocalDateTime.parse(position.substring(0, separator)));
+            note.setId(Long.parseLong(position.substring(separator + 1)));
+            return note;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
     /**
      * Convert Note entity to NoteDTO
      */
-    private NoteDTO convertToDTO(final Note note) {
+    static NoteDTO convertToDTO(final Note note) {
         return new NoteDTO(
                 note.getId(),
                 note.getContent(),
@@ -0,0 +1,256 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.config.DatabaseProduct;
+import com.example.goalsmanager.dto.SearchResultDTO;
+import com.example.goalsmanager.dto.SearchResultsDTO;
+import com.example.goalsmanager.exception.InvalidRequestException;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import com.example.goalsmanager.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Full-text search over a user's notes, goals and habits, ranked, highlighted and paginated.
+ * On PostgreSQL the query runs against the GIN expression indexes of V9 and only the rows of
+ * the requested page go through ts_headline. Other databases (H2 in tests and local runs) get
+ * a LIKE scan that is ranked and highlighted in Java.
+ */
+@Service
+@Transactional(readOnly = true)
+@Timed("goals.service")
+public class SearchService {
+
+    public static final String NOTE = "NOTE";
+    public static final String GOAL = "GOAL";
+    public static final String HABIT = "HABIT";
+
+    static final int MAX_PAGE_SIZE = 50;
+
+    // Match markers ts_headline and the portable search put around matched words; the
+    // snippet is HTML-escaped afterwards and the markers become <mark> tags
+    private static final char MARK_START = '\u0001';
+    private static final char MARK_END = '\u0002';
+
+    private static final String HEADLINE_OPTIONS =
+            "StartSel=" + MARK_START + ", StopSel=" + MARK_END + ", MaxFragments=2, MaxWords=30, MinWords=10";
+
+    /**
+     * Documents are the exact expressions the V9 indexes are built on, or PostgreSQL cannot use them.
+     * The page is left-joined to the one-row total, so a page past the end still returns the total,
+     * on a row without a result.
+     */
+    static final String SEARCH_SQL = """
+            WITH q AS (SELECT websearch_to_tsquery('english', ?) AS query),
+            ranked AS (
+                SELECT 'NOTE' AS type, n.id, n.goal_id, g.title, n.content AS body,
+                       ts_rank_cd(to_tsvector('english', n.content), q.query, 32) AS rank
+                FROM notes n JOIN goals g ON g.id = n.goal_id, q
+                WHERE g.user_id = ? AND g.deleted_at IS NULL AND n.deleted_at IS NULL
+                  AND to_tsvector('english', n.content) @@ q.query
+                UNION ALL
+                SELECT 'GOAL', g.id, g.id, g.title, g.title || ' ' || coalesce(g.description, ''),
+                       ts_rank_cd(to_tsvector('english', g.title || ' ' || coalesce(g.description, '')), q.query, 32)
+                FROM goals g, q
+                WHERE g.user_id = ? AND g.deleted_at IS NULL
+                  AND to_tsvector('english', g.title || ' ' || coalesce(g.description, '')) @@ q.query
+                UNION ALL
+                SELECT 'HABIT', h.id, h.goal_id, h.name, h.name || ' ' || coalesce(h.description, ''),
+                       ts_rank_cd(to_tsvector('english', h.name || ' ' || coalesce(h.description, '')), q.query, 32)
+                FROM habits h, q
+                WHERE h.user_id = ? AND h.deleted_at IS NULL
+                  AND to_tsvector('english', h.name || ' ' || coalesce(h.description, '')) @@ q.query
+            ),
+            total AS (SELECT count(*) AS total FROM ranked),
+            page AS (
+                SELECT * FROM ranked
+                ORDER BY rank DESC, type, id LIMIT ? OFFSET ?
+            )
+            SELECT page.type, page.id, page.goal_id, page.title, page.rank, total.total,
+                   ts_headline('english', page.body, q.query, ?) AS snippet
+            FROM total CROSS JOIN q LEFT JOIN page ON true
+            ORDER BY page.rank DESC, page.type, page.id
+            """;
+
+    private static final String PORTABLE_NOTES_SQL = """
+            SELECT n.id, n.goal_id, g.title, n.content AS body FROM notes n JOIN goals g ON g.id = n.goal_id
+            WHERE g.user_id = ? AND g.deleted_at IS NULL AND n.deleted_at IS NULL
+            """;
+
+    private static final String PORTABLE_GOALS_SQL = """
+            SELECT g.id, g.id AS goal_id, g.title, g.title || ' ' || coalesce(g.description, '') AS body FROM goals g
+            WHERE g.user_id = ? AND g.deleted_at IS NULL
+            """;
+
+    private static final String PORTABLE_HABITS_SQL = """
+            SELECT h.id, h.goal_id, h.name AS title, h.name || ' ' || coalesce(h.description, '') AS body FROM habits h
+            WHERE h.user_id = ? AND h.deleted_at IS NULL
+            """;
+
+    private static final int SNIPPET_LENGTH = 200;
+    private static final int SNIPPET_LEAD = 60;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final DatabaseProduct databaseProduct;
+
+    @Autowired
+    public SearchService(final JdbcTemplate jdbcTemplate, final UserRepository userRepository,
+                         final DatabaseProduct databaseProduct) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.databaseProduct = databaseProduct;
+    }
+
+    /**
+     * Search a user's notes, goals and habits, best matches first.
+     * The query takes web search syntax on PostgreSQL: "quoted phrases", or, -excluded.
+     * @param page zero-based page number
+     */
+    public SearchResultsDTO search(final Long userId, final String query, final int page, final int size) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query is required");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Page must be 0 or more and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", userId);
+        }
+        return databaseProduct.isPostgres()
+                ? searchPostgres(userId, query, page, size)
+                : searchPortable(userId, query, page, size);
+    }
+
+    private SearchResultsDTO searchPostgres(final Long userId, final String query, final int page, final int size) {
+        final long[] total = {0};
+        final List<SearchResultDTO> results = new ArrayList<>();
+        jdbcTemplate.query(SEARCH_SQL, (RowCallbackHandler) rs -> {
+            total[0] = rs.getLong("total");
+            if (rs.getString("type") != null) {
+                results.add(new SearchResultDTO(
+                        rs.getString("type"),
+                        rs.getLong("id"),
+                        rs.getLong("goal_id"),
+                        rs.getString("title"),
+                        toHtml(rs.getString("snippet")),
+                        rs.getDouble("rank")));
+            }
+        }, query, userId, userId, userId, size, (long) page * size, HEADLINE_OPTIONS);
+        return new SearchResultsDTO(query, page, size, total[0], results);
+    }
+
+    /**
+     * All query words must occur in a document; rank grows with the number of occurrences
+     */
+    private SearchResultsDTO searchPortable(final Long userId, final String query, final int page, final int size) {
+        final List<String> terms = Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toList();
+        final List<SearchResultDTO> matches = new ArrayList<>();
+        if (!terms.isEmpty()) {
+            matches.addAll(portableMatches(NOTE, PORTABLE_NOTES_SQL, "n.content", userId, terms));
+            matches.addAll(portableMatches(GOAL, PORTABLE_GOALS_SQL, "g.title || ' ' || coalesce(g.description, '')", userId, terms));
+            matches.addAll(portableMatches(HABIT, PORTABLE_HABITS_SQL, "h.name || ' ' || coalesce(h.description, '')", userId, terms));
+        }
+        matches.sort(Comparator.comparing(SearchResultDTO::getRank).reversed()
+                .thenComparing(SearchResultDTO::getType)
+                .thenComparing(SearchResultDTO::getId));
+
+        final int from = (int) Math.min((long) page * size, matches.size());
+        final int to = Math.min(from + size, matches.size());
+        return new SearchResultsDTO(query, page, size, (long) matches.size(), matches.subList(from, to));
+    }
+
+    private List<SearchResultDTO> portableMatches(final String type, final String sql, final String document,
+                                                  final Long userId, final List<String> terms) {
+        final StringBuilder filtered = new StringBuilder(sql);
+        final Object[] args = new Object[terms.size() + 1];
+        args[0] = userId;
+        for (int i = 0; i < terms.size(); i++) {
+            filtered.append(" AND lower(").append(document).append(") LIKE ?");
+            args[i + 1] = "%" + terms.get(i) + "%";
+        }
+        return jdbcTemplate.query(filtered.toString(), (rs, rowNum) -> {
+            final String body = rs.getString("body");
+            final String lower = body.toLowerCase(Locale.ROOT);
+            int occurrences = 0;
+            int first = lower.length();
+            for (final String term : terms) {
+                for (int at = lower.indexOf(term); at >= 0; at = lower.indexOf(term, at + term.length())) {
+                    occurrences++;
+                    first = Math.min(first, at);
+                }
+            }
+            return new SearchResultDTO(
+                    type,
+                    rs.getLong("id"),
+                    rs.getLong("goal_id"),
+                    rs.getString("title"),
+                    toHtml(markTerms(excerpt(body, first), terms)),
+                    occurrences / (occurrences + 1.0));
+        }, args);
+    }
+
+    /**
+     * Up to SNIPPET_LENGTH characters around the first match, cut at whitespace
+     */
+    private static String excerpt(final String body, final int firstMatch) {
+        if (body.length() <= SNIPPET_LENGTH) {
+            return body;
+        }
+        int start = Math.max(0, firstMatch - SNIPPET_LEAD);
+        while (start > 0 && !Character.isWhitespace(body.charAt(start - 1))) {
+            start--;
+        }
+        int end = Math.min(body.length(), start + SNIPPET_LENGTH);
+        while (end < body.length() && !Character.isWhitespace(body.charAt(end))) {
+            end++;
+        }
+        return (start > 0 ? "... " : "") + body.substring(start, end) + (end < body.length() ? " ..." : "");
+    }
+
+    private static String markTerms(final String text, final List<String> terms) {
+        final String lower = text.toLowerCase(Locale.ROOT);
+        final boolean[] marked = new boolean[text.length()];
+        for (final String term : terms) {
+            for (int at = lower.indexOf(term); at >= 0; at = lower.indexOf(term, at + term.length())) {
+                Arrays.fill(marked, at, at + term.length(), true);
+            }
+        }
+        final StringBuilder result = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            if (marked[i] && (i == 0 || !marked[i - 1])) {
+                result.append(MARK_START);
+            }
+            result.append(text.charAt(i));
+            if (marked[i] && (i == text.length() - 1 || !marked[i + 1])) {
+                result.append(MARK_END);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Escape the snippet for HTML, then turn the match markers into mark tags
+     */
+    static String toHtml(final String snippet) {
+        if (snippet == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(snippet)
+                .replace(String.valueOf(MARK_START), "<mark>")
+                .replace(String.valueOf(MARK_END), "</mark>");
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.dto.HabitStreakDTO;
+import com.example.goalsmanager.dto.LeaderboardEntryDTO;
+import com.example.goalsmanager.goalutils.OrderStatisticTree;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Opted-in users ranked by their best current and best longest habit streak, held in memory.
+ * Each board is an order-statistic tree, so a streak change, a user's rank and each entry of
+ * the top N cost O(log n). Changes apply after commit, so a rolled-back toggle never shows.
+ * {@link LeaderboardService} rebuilds the boards from the database at startup and every night,
+ * when current streaks broken by a missed day drop out.
+ */
+@Component
+public class StreakLeaderboard {
+
+    public enum Board { CURRENT, LONGEST }
+
+    private record Standing(Long userId, String username, int streak) {
+    }
+
+    /**
+     * Longest streak first; ties in user order so every standing has one place
+     */
+    private static final Comparator<Standing> RANKING =
+            Comparator.comparingInt(Standing::streak).reversed().thenComparing(Standing::userId);
+
+    /**
+     * An opted-in user's habits as {current, longest} streaks, and where they stand on each board
+     */
+    private static final class Member {
+        private final String username;
+        private final Map<Long, int[]> habits = new HashMap<>();
+        private final Map<Board, Standing> standings = new EnumMap<>(Board.class);
+
+        private Member(final String username) {
+            this.username = username;
+        }
+    }
+
+    private final Map<Long, Member> members = new HashMap<>();
+    /**
+     * Number of the last change applied to each user, for the changes a rebuild's read may have missed
+     */
+    private final Map<Long, Long> changedAt = new HashMap<>();
+    private long changes;
+    private final Map<Board, OrderStatisticTree<Standing>> boards = new EnumMap<>(Board.class);
+
+    public StreakLeaderboard() {
+        clear();
+    }
+
+    public synchronized boolean contains(final Long userId) {
+        return members.containsKey(userId);
+    }
+
+    public synchronized int size() {
+        return members.size();
+    }
+
+    /**
+     * Number of changes applied so far; a rebuild reads the database after taking it
+     */
+    public synchronized long changes() {
+        return changes;
+    }
+
+    /**
+     * Replace everything with the streaks of all opted-in users
+     */
+    public synchronized void replaceAll(final List<HabitStreakDTO> streaks) {
+        clear();
+        byUser(streaks).forEach(this::put);
+    }
+
+    /**
+     * Replace everything with the streaks of all opted-in users, read after {@link #changes()}
+     * returned readAfter. Users who joined, left or changed since keep what they have, as the
+     * read may have missed it.
+     */
+    public synchronized void replaceAll(final List<HabitStreakDTO> streaks, final long readAfter) {
+        final Map<Long, List<HabitStreakDTO>> byUser = byUser(streaks);
+        final Set<Long> userIds = new HashSet<>(members.keySet());
+        userIds.addAll(byUser.keySet());
+        for (final Long userId : userIds) {
+            if (changedAt.getOrDefault(userId, readAfter) > readAfter) {
+                continue;
+            }
+            final List<HabitStreakDTO> read = byUser.get(userId);
+            if (read == null) {
+                remove(userId);
+            } else {
+                put(userId, read);
+            }
+        }
+        changedAt.values().removeIf(change -> change <= readAfter);
+    }
+
+    /**
+     * Put a user on the boards, or replace their habits if already there, once the transaction commits
+     * @param streaks all of the user's live habits; a single row without a habit if there are none
+     */
+    public void join(final Long userId, final List<HabitStreakDTO> streaks) {
+        afterCommit(() -> {
+            synchronized (this) {
+                changed(userId);
+                put(userId, streaks);
+            }
+        });
+    }
+
+    /**
+     * Take a user off the boards once the transaction commits
+     */
+    public void leave(final Long userId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                changed(userId);
+                remove(userId);
+            }
+        });
+    }
+
+    /**
+     * Record a habit's new streaks once the transaction commits; ignored unless its owner opted in
+     */
+    public void habitStreakChanged(final Long userId, final Long habitId, final int current, final int longest) {
+        afterCommit(() -> {
+            synchronized (this) {
+                final Member member = members.get(userId);
+                if (member != null) {
+                    changed(userId);
+                    member.habits.put(habitId, new int[] {current, longest});
+                    rank(userId, member);
+                }
+            }
+        });
+    }
+
+    /**
+     * Top entries of a board, best first
+     */
+    public synchronized List<LeaderboardEntryDTO> top(final Board board, final int limit) {
+        final List<LeaderboardEntryDTO> entries = new ArrayList<>();
+        int rank = 0;
+        int previous = -1;
+        for (final Standing standing : boards.get(board).range(0, limit)) {
+            if (standing.streak() != previous) {
+                rank = entries.size() + 1;
+                previous = standing.streak();
+            }
+            entries.add(new LeaderboardEntryDTO(rank, standing.userId(), standing.username(), standing.streak()));
+        }
+        return entries;
+    }
+
+    /**
+     * A user's entry on a board, empty if they have not opted in
+     */
+    public synchronized Optional<LeaderboardEntryDTO> rankOf(final Board board, final Long userId) {
+        final Member member = members.get(userId);
+        if (member == null) {
+            return Optional.empty();
+        }
+        final Standing standing = member.standings.get(board);
+        // Everyone ahead has a longer streak, as the lowest possible user ID sorts first among equals
+        final int ahead = boards.get(board).rank(new Standing(Long.MIN_VALUE, null, standing.streak()));
+        return Optional.of(new LeaderboardEntryDTO(ahead + 1, userId, member.username, standing.streak()));
+    }
+
+    private void changed(final Long userId) {
+        changedAt.put(userId, ++changes);
+    }
+
+    private static Map<Long, List<HabitStreakDTO>> byUser(final List<HabitStreakDTO> streaks) {
+        final Map<Long, List<HabitStreakDTO>> byUser = new HashMap<>();
+        for (final HabitStreakDTO streak : streaks) {
+            byUser.computeIfAbsent(streak.getUserId(), userId -> new ArrayList<>()).add(streak);
+        }
+        return byUser;
+    }
+
+    private void put(final Long userId, final List<HabitStreakDTO> streaks) {
+        remove(userId);
+        final Member member = new Member(streaks.get(0).getUsername());
+        for (final HabitStreakDTO streak : streaks) {
+            if (streak.getHabitId() != null) {
+                member.habits.put(streak.getHabitId(),
+                        new int[] {value(streak.getCurrentStreak()), value(streak.getLongestStreak())});
+            }
+        }
+        members.put(userId, member);
+        rank(userId, member);
+    }
+
+    private void remove(final Long userId) {
+        final Member member = members.remove(userId);
+        if (member != null) {
+            member.standings.forEach((board, standing) -> boards.get(board).remove(standing));
+        }
+    }
+
+    /**
+     * Move a member to the standings of their best habits
+     */
+    private void rank(final Long userId, final Member member) {
+        int current = 0;
+        int longest = 0;
+        for (final int[] habit : member.habits.values()) {
+            current = Math.max(current, habit[0]);
+            longest = Math.max(longest, Math.max(habit[0], habit[1]));
+        }
+        move(Board.CURRENT, member, new Standing(userId, member.username, current));
+        move(Board.LONGEST, member, new Standing(userId, member.username, longest));
+    }
+
+    private void move(final Board board, final Member member, final Standing standing) {
+        final Standing previous = member.standings.put(board, standing);
+        if (standing.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            boards.get(board).remove(previous);
+        }
+        boards.get(board).add(standing);
+    }
+
+    private void clear() {
+        members.clear();
+        changedAt.clear();
+        for (final Board board : Board.values()) {
+            boards.put(board, new OrderStatisticTree<>(RANKING));
+        }
+    }
+
+    private static int value(final Integer streak) {
+        return streak == null ? 0 : streak;
+    }
+
+    private static void afterCommit(final Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.dto.TaskDTO;
+import com.example.goalsmanager.goalutils.MonthDays;
+import com.example.goalsmanager.model.Task;
+import com.example.goalsmanager.model.TaskArchive;
+import com.example.goalsmanager.repository.TaskArchiveRepository;
+import com.example.goalsmanager.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Archived tasks: whole months of a habit's tasks compacted into one TaskArchive row.
+ * Archived tasks are read-only and come back as TaskDTOs without id or timestamps.
+ */
+@Service
+@Transactional
+@Timed("goals.service")
+public class TaskArchiveService {
+
+    private final TaskArchiveRepository taskArchiveRepository;
+    private final TaskRepository taskRepository;
+
+    @Autowired
+    public TaskArchiveService(final TaskArchiveRepository taskArchiveRepository,
+                              final TaskRepository taskRepository) {
+        this.taskArchiveRepository = taskArchiveRepository;
+        this.taskRepository = taskRepository;
+    }
+
+    /**
+     * Compact a habit's tasks dated before the cutoff into monthly archive rows and delete them.
+     * Months archived earlier are merged into, so tasks generated late are not lost.
+     * @param cutoff first day of a month; tasks before it are archived
+     * @return the number of tasks archived
+     */
+    public int archiveHabit(final Long habitId, final LocalDate cutoff) {
+        final List<Task> tasks = taskRepository.findByHabitIdAndDateBeforeOrderByDateAsc(habitId, cutoff);
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+
+        final Map<LocalDate, List<Task>> byMonth = new LinkedHashMap<>();
+        for (final Task task : tasks) {
+            byMonth.computeIfAbsent(MonthDays.monthStart(task.getDate()), month -> new ArrayList<>()).add(task);
+        }
+
+        final List<TaskArchive> archives = new ArrayList<>(byMonth.size());
+        for (final Map.Entry<LocalDate, List<Task>> month : byMonth.entrySet()) {
+            final Task first = month.getValue().get(0);
+            final TaskArchive archive = taskArchiveRepository.findByHabitIdAndMonthStart(habitId, month.getKey())
+                    .orElseGet(() -> new TaskArchive(month.getKey(), first.getHabit(), first.getUser()));
+
+            int scheduled = archive.getScheduledDays();
+            int completed = archive.getCompletedDays();
+            for (final Task task : month.getValue()) {
+                final int bit = MonthDays.bit(task.getDate());
+                scheduled |= bit;
+                completed = Boolean.TRUE.equals(task.getCompleted()) ? completed | bit : completed & ~bit;
+                archive.setName(task.getName());
+            }
+            archive.setScheduledDays(scheduled);
+            archive.setCompletedDays(completed);
+            archives.add(archive);
+        }
+        taskArchiveRepository.saveAll(archives);
+
+        taskRepository.deleteByHabitIdAndDateBefore(habitId, cutoff);
+        return tasks.size();
+    }
+
+    /**
+     * Get archived months of a user's habits overlapping a date range
+     */
+    @Transactional(readOnly = true)
+    public List<TaskArchive> getArchivesByUserIdAndDateRange(final Long userId, final LocalDate startDate,
+                                                             final LocalDate endDate) {
+        return taskArchiveRepository.findByUserIdAndMonthStartBetween(
+                userId, MonthDays.monthStart(startDate), MonthDays.monthStart(endDate));
+    }
+
+    /**
+     * Get all archived tasks for a habit, oldest first
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getArchivedTasksByHabitId(final Long habitId) {
+        return toTaskDTOs(taskArchiveRepository.findByHabitIdNewestFirst(habitId).reversed(),
+                LocalDate.MIN, LocalDate.MAX);
+    }
+
+    /**
+     * Get all archived tasks for a user, oldest first
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getArchivedTasksByUserId(final Long userId) {
+        return toTaskDTOs(taskArchiveRepository.findByUserIdOldestFirst(userId), LocalDate.MIN, LocalDate.MAX);
+    }
+
+    /**
+     * Get archived tasks for a user with the given completion status, oldest first
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getArchivedTasksByUserIdAndCompleted(final Long userId, final boolean completed) {
+        return getArchivedTasksByUserId(userId).stream()
+                .filter(task -> task.getCompleted() == completed)
+                .toList();
+    }
+
+    /**
+     * Count archived tasks for a user
+     */
+    @Transactional(readOnly = true)
+    public long countArchivedTasksByUserId(final Long userId) {
+        return countScheduled(taskArchiveRepository.findByUserIdOldestFirst(userId));
+    }
+
+    /**
+     * Count archived tasks for a habit
+     */
+    @Transactional(readOnly = true)
+    public long countArchivedTasksByHabitId(final Long habitId) {
+        return countScheduled(taskArchiveRepository.findByHabitIdNewestFirst(habitId));
+    }
+
+    /**
+     * Expand archive rows into task DTOs dated within [startDate, endDate]
+     */
+    List<TaskDTO> toTaskDTOs(final List<TaskArchive> archives, final LocalDate startDate, final LocalDate endDate) {
+        final List<TaskDTO> tasks = new ArrayList<>();
+        for (final TaskArchive archive : archives) {
+            for (final LocalDate date : MonthDays.dates(archive.getMonthStart(), archive.getScheduledDays())) {
+                if (date.isBefore(startDate) || date.isAfter(endDate)) {
+                    continue;
+                }
+                tasks.add(new TaskDTO(
+                        null,
+                        archive.getName(),
+                        MonthDays.contains(archive.getCompletedDays(), date),
+                        date,
+                        archive.getHabit().getId(),
+                        archive.getHabit().getName(),
+                        archive.getHabit().getColor(),
+                        archive.getUser().getId(),
+                        archive.getUser().getUsername(),
+                        null,
+                        null
+                ));
+            }
+        }
+        return tasks;
+    }
+
+    private static long countScheduled(final List<TaskArchive> archives) {
+        long count = 0;
+        for (final TaskArchive archive : archives) {
+            count += Integer.bitCount(archive.getScheduledDays());
+        }
+        return count;
+    }
+}
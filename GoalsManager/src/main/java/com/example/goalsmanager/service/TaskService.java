@@ -3,37 +3,66 @@ package com.example.goalsmanager.service;
 import com.example.goalsmanager.dto.CreateTaskRequest;
 import com.example.goalsmanager.dto.TaskDTO;
 import com.example.goalsmanager.dto.UpdateTaskRequest;
+import com.example.goalsmanager.exception.InvalidReferenceException;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import com.example.goalsmanager.goalutils.CompletionBitmap;
+import com.example.goalsmanager.goalutils.HabitSchedule;
+import com.example.goalsmanager.goalutils.MonthDays;
+import com.example.goalsmanager.metrics.TaskMetrics;
 import com.example.goalsmanager.model.Habit;
 import com.example.goalsmanager.model.Task;
+import com.example.goalsmanager.model.TaskArchive;
 import com.example.goalsmanager.model.User;
 import com.example.goalsmanager.repository.HabitRepository;
 import com.example.goalsmanager.repository.TaskRepository;
 import com.example.goalsmanager.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed("goals.service")
 public class TaskService {
 
     private final TaskRepository taskRepository;
     private final HabitRepository habitRepository;
     private final UserRepository userRepository;
+    private final TaskMetrics taskMetrics;
+    private final TaskArchiveService taskArchiveService;
+    private final HabitBitmapService habitBitmapService;
+    private final UserStatsService userStatsService;
+    private final CompletionRollupService completionRollupService;
+    private final StreakLeaderboard streakLeaderboard;
 
     @Autowired
     public TaskService(final TaskRepository taskRepository,
                        final HabitRepository habitRepository,
-                       final UserRepository userRepository) {
+                       final UserRepository userRepository,
+                       final TaskMetrics taskMetrics,
+                       final TaskArchiveService taskArchiveService,
+                       final HabitBitmapService habitBitmapService,
+                       final UserStatsService userStatsService,
+                       final CompletionRollupService completionRollupService,
+                       final StreakLeaderboard streakLeaderboard) {
         this.taskRepository = taskRepository;
         this.habitRepository = habitRepository;
         this.userRepository = userRepository;
+        this.taskMetrics = taskMetrics;
+        this.taskArchiveService = taskArchiveService;
+        this.habitBitmapService = habitBitmapService;
+        this.userStatsService = userStatsService;
+        this.completionRollupService = completionRollupService;
+        this.streakLeaderboard = streakLeaderboard;
     }
 
     /**
@@ -42,11 +71,11 @@ public class TaskService {
     public TaskDTO createTask(final CreateTaskRequest request) {
         // Validate habit exists
         final Habit habit = habitRepository.findById(request.getHabitId())
-                .orElseThrow(() -> new RuntimeException("Habit not found with id: " + request.getHabitId()));
+                .orElseThrow(() -> new InvalidReferenceException("Habit", request.getHabitId()));
 
         // Validate user exists
         final User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + request.getUserId()));
+                .orElseThrow(() -> new InvalidReferenceException("User", request.getUserId()));
 
         // Create task
         final Task task = new Task();
@@ -57,6 +86,9 @@ public class TaskService {
         task.setUser(user);
 
         final Task savedTask = taskRepository.save(task);
+        habitBitmapService.recordTask(savedTask);
+        userStatsService.tasksCreated(user.getId(), 1);
+        completionRollupService.taskCreated(habit, savedTask.getDate(), false);
         return convertToDTO(savedTask);
     }
 
@@ -66,7 +98,7 @@ public class TaskService {
     @Transactional(readOnly = true)
     public TaskDTO getTaskById(final Long id) {
         final Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Task", id));
         return convertToDTO(task);
     }
 
@@ -76,167 +108,179 @@ public class TaskService {
     @Transactional(readOnly = true)
     public List<TaskDTO> getAllTasks() {
         return taskRepository.findAll().stream()
-                .map(this::convertToDTO)
+                .map(TaskService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Get all tasks for a specific user
+     * Get all tasks for a specific user, archived ones included
      */
     @Transactional(readOnly = true)
     public List<TaskDTO> getTasksByUserId(final Long userId) {
         // Verify user exists
         if (!userRepository.existsById(userId)) {
-            throw new RuntimeException("User not found with id: " + userId);
+            throw new ResourceNotFoundException("User", userId);
         }
-        return taskRepository.findByUserId(userId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        final List<TaskDTO> tasks = new ArrayList<>(taskArchiveService.getArchivedTasksByUserId(userId));
+        taskRepository.findByUserId(userId).stream()
+                .map(TaskService::convertToDTO)
+                .forEach(tasks::add);
+        return tasks;
     }
 
     /**
-     * Get all tasks for a specific habit
+     * Get all tasks for a specific habit, archived ones included
      */
     @Transactional(readOnly = true)
     public List<TaskDTO> getTasksByHabitId(final Long habitId) {
         // Verify habit exists
         if (!habitRepository.existsById(habitId)) {
-            throw new RuntimeException("Habit not found with id: " + habitId);
+            throw new ResourceNotFoundException("Habit", habitId);
         }
-        return taskRepository.findByHabitId(habitId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        final List<TaskDTO> tasks = new ArrayList<>(taskArchiveService.getArchivedTasksByHabitId(habitId));
+        taskRepository.findByHabitId(habitId).stream()
+                .map(TaskService::convertToDTO)
+                .forEach(tasks::add);
+        return tasks;
     }
 
     /**
-     * Get tasks by user ID and date range
+     * Get tasks by user ID and date range, archived ones included
      * Automatically generates missing tasks for the user's active habits
      */
     public List<TaskDTO> getTasksByUserIdAndDateRange(final Long userId, final LocalDate startDate, final LocalDate endDate) {
         // Verify user exists
         if (!userRepository.existsById(userId)) {
-            throw new RuntimeException("User not found with id: " + userId);
+            throw new ResourceNotFoundException("User", userId);
         }
 
+        // Archived months are complete, nothing is generated for them
+        final List<TaskArchive> archives = taskArchiveService.getArchivesByUserIdAndDateRange(userId, startDate, endDate);
+
         // Generate missing tasks for all user's habits in this date range
-        generateMissingTasksForUser(userId, startDate, endDate);
+        final int generated = generateMissingTasksForUser(userId, startDate, endDate, archivedMonths(archives));
+        taskMetrics.recordTasksGenerated(generated);
+        if (generated > 0) {
+            userStatsService.tasksCreated(userId, generated);
+        }
 
         // Return all tasks in the range (now including generated ones)
-        return taskRepository.findByUserIdAndDateBetween(userId, startDate, endDate).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        final List<TaskDTO> tasks = new ArrayList<>(taskArchiveService.toTaskDTOs(archives, startDate, endDate));
+        taskRepository.findByUserIdAndDateBetween(userId, startDate, endDate).stream()
+                .map(TaskService::convertToDTO)
+                .forEach(tasks::add);
+        return tasks;
+    }
+
+    /**
+     * A month of one habit's tasks
+     */
+    private record HabitMonth(Long habitId, LocalDate monthStart) {
+
+        static HabitMonth of(final Long habitId, final LocalDate date) {
+            return new HabitMonth(habitId, MonthDays.monthStart(date));
+        }
+    }
+
+    private static Set<HabitMonth> archivedMonths(final List<TaskArchive> archives) {
+        final Set<HabitMonth> months = new HashSet<>();
+        for (final TaskArchive archive : archives) {
+            months.add(new HabitMonth(archive.getHabit().getId(), archive.getMonthStart()));
+        }
+        return months;
     }
 
     /**
      * Generate missing tasks for all habits of a user within a date range
      * This method is idempotent - it only creates tasks that don't already exist
+     * @return the number of tasks created
      */
-    private void generateMissingTasksForUser(final Long userId, final LocalDate startDate, final LocalDate endDate) {
+    private int generateMissingTasksForUser(final Long userId, final LocalDate startDate, final LocalDate endDate,
+                                            final Set<HabitMonth> archivedMonths) {
         // Get all habits for the user
         final List<Habit> userHabits = habitRepository.findByUserId(userId);
 
+        int generated = 0;
         for (final Habit habit : userHabits) {
-            generateTasksForHabit(habit, startDate, endDate);
+            generated += generateTasksForHabit(habit, startDate, endDate, archivedMonths);
         }
+        return generated;
     }
 
     /**
      * Generate tasks for a specific habit within a date range
      * Only generates tasks for dates that match the habit's daysOfWeek pattern
+     * @return the number of tasks created
      */
-    private void generateTasksForHabit(final Habit habit, final LocalDate rangeStart, final LocalDate rangeEnd) {
-        // Parse the habit's days of week (e.g., "Mon, Wed, Fri")
-        final String[] selectedDays = habit.getDaysOfWeek().split(",\\s*");
-        final List<DayOfWeek> habitDays = parseDaysOfWeek(selectedDays);
-
-        if (habitDays.isEmpty()) {
-            return; // No days selected, nothing to generate
-        }
-
-        // Determine the actual start and end dates for task generation
-        // Tasks should only be generated within the habit's active period
-        final LocalDate effectiveStart = rangeStart.isBefore(habit.getStartDate()) ? habit.getStartDate() : rangeStart;
-        final LocalDate effectiveEnd = rangeEnd.isAfter(habit.getEndDate()) ? habit.getEndDate() : rangeEnd;
-
-        if (effectiveStart.isAfter(effectiveEnd)) {
-            return; // No overlap between range and habit period
-        }
+    private int generateTasksForHabit(final Habit habit, final LocalDate rangeStart, final LocalDate rangeEnd,
+                                      final Set<HabitMonth> archivedMonths) {
+        // Tasks should only be generated on scheduled days within the habit's active period
+        final List<LocalDate> scheduledDates = HabitSchedule.scheduledDates(habit, rangeStart, rangeEnd);
 
-        // Generate tasks for each matching day
         final List<Task> tasksToCreate = new ArrayList<>();
-        LocalDate currentDate = effectiveStart;
-
-        while (!currentDate.isAfter(effectiveEnd)) {
-            // Check if this day matches the habit's schedule
-            if (habitDays.contains(currentDate.getDayOfWeek())) {
-                // Check if task already exists for this date
-                final boolean taskExists = taskRepository.existsByHabitIdAndDate(habit.getId(), currentDate);
-
-                if (!taskExists) {
-                    // Create new task
-                    final Task task = new Task();
-                    task.setName(habit.getName());
-                    task.setDate(currentDate);
-                    task.setCompleted(false);
-                    task.setHabit(habit);
-                    task.setUser(habit.getUser());
-                    tasksToCreate.add(task);
-                }
+        final List<Task> restoredTasks = new ArrayList<>();
+        for (final LocalDate date : scheduledDates) {
+            if (!archivedMonths.isEmpty() && archivedMonths.contains(HabitMonth.of(habit.getId(), date))) {
+                continue;
+            }
+            // Check if task already exists for this date
+            final Optional<Boolean> deleted = taskRepository.findDeletedByHabitIdAndDate(habit.getId(), date);
+            if (deleted.isEmpty()) {
+                final Task task = new Task();
+                task.setName(habit.getName());
+                task.setDate(date);
+                task.setCompleted(false);
+                task.setHabit(habit);
+                task.setUser(habit.getUser());
+                tasksToCreate.add(task);
+            } else if (deleted.get() && taskRepository.restoreByHabitIdAndDate(habit.getId(), date, habit.getName()) > 0) {
+                // A soft-deleted task still holds the date until purged, bring it back as pending
+                restoredTasks.add(new Task(habit.getName(), date, habit, habit.getUser()));
             }
-            currentDate = currentDate.plusDays(1);
         }
 
         // Bulk save all tasks
         if (!tasksToCreate.isEmpty()) {
             taskRepository.saveAll(tasksToCreate);
+            habitBitmapService.recordTasks(habit, tasksToCreate);
         }
-    }
-
-    /**
-     * Parse day of week strings (Mon, Tue, etc.) into DayOfWeek enum values
-     */
-    private List<DayOfWeek> parseDaysOfWeek(final String[] dayStrings) {
-        final List<DayOfWeek> days = new ArrayList<>();
-        for (final String dayStr : dayStrings) {
-            switch (dayStr.trim()) {
-                case "Mon": days.add(DayOfWeek.MONDAY); break;
-                case "Tue": days.add(DayOfWeek.TUESDAY); break;
-                case "Wed": days.add(DayOfWeek.WEDNESDAY); break;
-                case "Thu": days.add(DayOfWeek.THURSDAY); break;
-                case "Fri": days.add(DayOfWeek.FRIDAY); break;
-                case "Sat": days.add(DayOfWeek.SATURDAY); break;
-                case "Sun": days.add(DayOfWeek.SUNDAY); break;
-            }
+        if (!restoredTasks.isEmpty()) {
+            habitBitmapService.recordTasks(habit, restoredTasks);
         }
-        return days;
+        final List<LocalDate> added = new ArrayList<>();
+        tasksToCreate.forEach(task -> added.add(task.getDate()));
+        restoredTasks.forEach(task -> added.add(task.getDate()));
+        completionRollupService.tasksCreated(habit, added);
+        return tasksToCreate.size() + restoredTasks.size();
     }
 
     /**
-     * Get completed tasks for a user
+     * Get completed tasks for a user, archived ones included
      */
     @Transactional(readOnly = true)
     public List<TaskDTO> getCompletedTasksByUserId(final Long userId) {
-        // Verify user exists
-        if (!userRepository.existsById(userId)) {
-            throw new RuntimeException("User not found with id: " + userId);
-        }
-        return taskRepository.findByUserIdAndCompleted(userId, true).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return getTasksByUserIdAndCompleted(userId, true);
     }
 
     /**
-     * Get pending tasks for a user
+     * Get pending tasks for a user, archived ones included
      */
     @Transactional(readOnly = true)
     public List<TaskDTO> getPendingTasksByUserId(final Long userId) {
+        return getTasksByUserIdAndCompleted(userId, false);
+    }
+
+    private List<TaskDTO> getTasksByUserIdAndCompleted(final Long userId, final boolean completed) {
         // Verify user exists
         if (!userRepository.existsById(userId)) {
-            throw new RuntimeException("User not found with id: " + userId);
+            throw new ResourceNotFoundException("User", userId);
         }
-        return taskRepository.findByUserIdAndCompleted(userId, false).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        final List<TaskDTO> tasks = new ArrayList<>(
+                taskArchiveService.getArchivedTasksByUserIdAndCompleted(userId, completed));
+        taskRepository.findByUserIdAndCompleted(userId, completed).stream()
+                .map(TaskService::convertToDTO)
+                .forEach(tasks::add);
+        return tasks;
     }
 
     /**
@@ -244,7 +288,9 @@ public class TaskService {
      */
     public TaskDTO updateTask(final Long id, final UpdateTaskRequest request) {
         final Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Task", id));
+        final LocalDate previousDate = task.getDate();
+        final Boolean previousCompleted = task.getCompleted();
 
         // Update only non-null fields
         if (request.getName() != null) {
@@ -258,6 +304,25 @@ public class TaskService {
         }
 
         final Task updatedTask = taskRepository.save(task);
+
+        // Keep the habit bitmap in step when the day or completion moved
+        if (!updatedTask.getDate().equals(previousDate)) {
+            habitBitmapService.removeTask(updatedTask.getHabit(), previousDate);
+            habitBitmapService.recordTask(updatedTask);
+        } else if (!updatedTask.getCompleted().equals(previousCompleted)) {
+            habitBitmapService.recordTask(updatedTask);
+        }
+        if (!updatedTask.getCompleted().equals(previousCompleted)) {
+            userStatsService.taskCompletionChanged(updatedTask.getUser().getId(), updatedTask.getCompleted());
+        }
+
+        // Move the task between days of the rollups, or just its completion
+        if (!updatedTask.getDate().equals(previousDate)) {
+            completionRollupService.taskDeleted(updatedTask.getHabit(), previousDate, Boolean.TRUE.equals(previousCompleted));
+            completionRollupService.taskCreated(updatedTask.getHabit(), updatedTask.getDate(), updatedTask.getCompleted());
+        } else if (!updatedTask.getCompleted().equals(previousCompleted)) {
+            completionRollupService.taskCompletionChanged(updatedTask.getHabit(), updatedTask.getDate(), updatedTask.getCompleted());
+        }
         return convertToDTO(updatedTask);
     }
 
@@ -266,69 +331,48 @@ public class TaskService {
      */
     public TaskDTO toggleTaskCompletion(final Long id) {
         final Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Task", id));
 
         task.setCompleted(!task.getCompleted());
         final Task updatedTask = taskRepository.save(task);
 
         // Update habit streak after toggling task
-        updateHabitStreak(task.getHabit());
+        final long startNanos = System.nanoTime();
+        final HabitBitmapService.Recorded recorded = habitBitmapService.recordTask(updatedTask);
+        updateHabitStreak(task.getHabit(), recorded, startNanos);
+        userStatsService.taskCompletionChanged(updatedTask.getUser().getId(), updatedTask.getCompleted());
+        completionRollupService.taskCompletionChanged(updatedTask.getHabit(), updatedTask.getDate(), updatedTask.getCompleted());
 
         return convertToDTO(updatedTask);
     }
 
     /**
-     * Calculate and update habit streak based on completed tasks
-     * Only looks at actual scheduled tasks, not arbitrary days
+     * Update habit streaks from its completion bitmap and move the owner on the leaderboards
+     * Only counts days that have a task, archived ones included, so task rows are read only
+     * when the habit's bitmap is built on its first write
      */
-    private void updateHabitStreak(final Habit habit) {
+    private void updateHabitStreak(final Habit habit, final HabitBitmapService.Recorded recorded, final long startNanos) {
+        final CompletionBitmap bitmap = recorded.bitmap();
         final LocalDate today = LocalDate.now();
-
-        // Get all past tasks (from start date to today) ordered by date descending (newest first)
-        final List<Task> pastTasks = taskRepository.findByHabitIdAndDateLessThanEqualOrderByDateDesc(
-            habit.getId(), today
-        );
-
-        if (pastTasks.isEmpty()) {
-            habit.setStreakStatus(0);
-            habitRepository.save(habit);
-            return;
-        }
-
-        // Check the most recent task
-        final Task mostRecentTask = pastTasks.get(0);
-
-        // If the last task was not completed, streak is 0
-        if (!mostRecentTask.getCompleted()) {
-            habit.setStreakStatus(0);
-            habitRepository.save(habit);
-            return;
-        }
-
-        // Count backwards from the most recent task
-        // Keep counting as long as tasks are completed
-        int streak = 0;
-        for (final Task task : pastTasks) {
-            if (task.getCompleted()) {
-                streak++;
-            } else {
-                // Found an incomplete task, stop counting
-                break;
-            }
-        }
+        final int streak = bitmap.currentStreak(today);
+        final int longest = bitmap.longestStreak(today);
 
         habit.setStreakStatus(streak);
         habitRepository.save(habit);
+        streakLeaderboard.habitStreakChanged(habit.getUser().getId(), habit.getId(), streak, longest);
+        taskMetrics.recordStreakRecompute(System.nanoTime() - startNanos, recorded.rowsScanned());
     }
 
     /**
-     * Delete task
+     * Soft-delete task
      */
     public void deleteTask(final Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new RuntimeException("Task not found with id: " + id);
-        }
-        taskRepository.deleteById(id);
+        final Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task", id));
+        habitBitmapService.removeTask(task.getHabit(), task.getDate());
+        taskRepository.softDeleteById(id);
+        userStatsService.taskDeleted(task.getUser().getId(), Boolean.TRUE.equals(task.getCompleted()));
+        completionRollupService.taskDeleted(task.getHabit(), task.getDate(), Boolean.TRUE.equals(task.getCompleted()));
     }
 
     /**
@@ -340,25 +384,25 @@ public class TaskService {
     }
 
     /**
-     * Count tasks by user
+     * Count tasks by user, archived ones included, read from the user's stats row
      */
     @Transactional(readOnly = true)
     public long countTasksByUserId(final Long userId) {
-        return taskRepository.countByUserId(userId);
+        return userStatsService.getUserStats(userId).getTasks();
     }
 
     /**
-     * Count tasks by habit
+     * Count tasks by habit, archived ones included
      */
     @Transactional(readOnly = true)
     public long countTasksByHabitId(final Long habitId) {
-        return taskRepository.countByHabitId(habitId);
+        return taskRepository.countByHabitId(habitId) + taskArchiveService.countArchivedTasksByHabitId(habitId);
     }
 
     /**
      * Convert Task entity to TaskDTO
      */
-    private TaskDTO convertToDTO(final Task task) {
+    static TaskDTO convertToDTO(final Task task) {
         return new TaskDTO(
                 task.getId(),
                 task.getName(),
@@ -2,8 +2,10 @@ package com.example.goalsmanager.service;
 
 import com.example.goalsmanager.dto.CreateUserRequest;
 import com.example.goalsmanager.dto.UserDTO;
+import com.example.goalsmanager.exception.InvalidRequestException;
 import com.example.goalsmanager.model.User;
 import com.example.goalsmanager.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,13 +15,21 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("goals.service")
 public class UserService {
 
     private final UserRepository userRepository;
+    private final BulkDeleteService bulkDeleteService;
+    private final LeaderboardService leaderboardService;
+    private final StreakLeaderboard streakLeaderboard;
 
     @Autowired
-    public UserService(final UserRepository userRepository) {
+    public UserService(final UserRepository userRepository, final BulkDeleteService bulkDeleteService,
+                       final LeaderboardService leaderboardService, final StreakLeaderboard streakLeaderboard) {
         this.userRepository = userRepository;
+        this.bulkDeleteService = bulkDeleteService;
+        this.leaderboardService = leaderboardService;
+        this.streakLeaderboard = streakLeaderboard;
     }
 
     /**
@@ -47,7 +57,19 @@ public class UserService {
             updateUserFromRequest(user, request);
         }
 
+        // Lookups ignore case, so "Bob" and "bob" cannot both exist
+        if (userRepository.existsByUsernameIgnoreCaseAndIdNot(user.getUsername(), user.getId())) {
+            throw new InvalidRequestException("Username is already taken");
+        }
+        if (user.getEmail() != null && userRepository.existsByEmailIgnoreCaseAndIdNot(user.getEmail(), user.getId())) {
+            throw new InvalidRequestException("Email is already taken");
+        }
+
         final User savedUser = userRepository.save(user);
+        if (savedUser.isLeaderboardOptIn()) {
+            // The leaderboards show the username
+            leaderboardService.refreshUser(savedUser.getId());
+        }
         return new UserDTO(savedUser);
     }
 
@@ -68,18 +90,18 @@ public class UserService {
     }
 
     /**
-     * Get a user by their username
+     * Get a user by their username (case-insensitive)
      */
     public Optional<UserDTO> getUserByUsername(final String username) {
-        return userRepository.findByUsername(username)
+        return userRepository.findByUsernameIgnoreCase(username)
                 .map(UserDTO::new);
     }
 
     /**
-     * Get a user by their email
+     * Get a user by their email (case-insensitive)
      */
     public Optional<UserDTO> getUserByEmail(final String email) {
-        return userRepository.findByEmail(email)
+        return userRepository.findByEmailIgnoreCase(email)
                 .map(UserDTO::new);
     }
 
@@ -93,12 +115,13 @@ public class UserService {
     }
 
     /**
-     * Delete a user by their ID
+     * Delete a user by their ID, with everything they own, in a fixed number of statements
      */
     @Transactional
     public boolean deleteUser(final Long id) {
         if (userRepository.existsById(id)) {
-            userRepository.deleteById(id);
+            bulkDeleteService.deleteUser(id);
+            streakLeaderboard.leave(id);
             return true;
         }
         return false;
@@ -0,0 +1,270 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.config.DatabaseProduct;
+import com.example.goalsmanager.dto.UserStatsDTO;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import com.example.goalsmanager.goalutils.GoalStatus;
+import com.example.goalsmanager.model.TaskArchive;
+import com.example.goalsmanager.model.UserStats;
+import com.example.goalsmanager.repository.GoalRepository;
+import com.example.goalsmanager.repository.HabitRepository;
+import com.example.goalsmanager.repository.TaskArchiveRepository;
+import com.example.goalsmanager.repository.TaskRepository;
+import com.example.goalsmanager.repository.UserRepository;
+import com.example.goalsmanager.repository.UserStatsRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Keeps each user's stats row in step with their goals, habits and tasks.
+ * Writers report changes as increments in their own transaction. A user without a stored
+ * row gets one counted from the tables on first write.
+ */
+@Service
+@Transactional
+@Timed("goals.service")
+public class UserStatsService {
+
+    private final UserStatsRepository userStatsRepository;
+    private final UserRepository userRepository;
+    private final GoalRepository goalRepository;
+    private final HabitRepository habitRepository;
+    private final TaskRepository taskRepository;
+    private final TaskArchiveRepository taskArchiveRepository;
+    private final DatabaseProduct databaseProduct;
+
+    @Autowired
+    public UserStatsService(final UserStatsRepository userStatsRepository,
+                            final UserRepository userRepository,
+                            final GoalRepository goalRepository,
+                            final HabitRepository habitRepository,
+                            final TaskRepository taskRepository,
+                            final TaskArchiveRepository taskArchiveRepository,
+                            final DatabaseProduct databaseProduct) {
+        this.userStatsRepository = userStatsRepository;
+        this.userRepository = userRepository;
+        this.goalRepository = goalRepository;
+        this.habitRepository = habitRepository;
+        this.taskRepository = taskRepository;
+        this.taskArchiveRepository = taskArchiveRepository;
+        this.databaseProduct = databaseProduct;
+    }
+
+    /**
+     * Record a new goal in the given status
+     */
+    public void goalCreated(final Long userId, final GoalStatus status) {
+        adjust(userId, stats -> stats.setGoals(status, stats.getGoals(status) + 1));
+    }
+
+    /**
+     * Record a goal moving from one status to another
+     */
+    public void goalStatusChanged(final Long userId, final GoalStatus from, final GoalStatus to) {
+        if (from == to) {
+            return;
+        }
+        adjust(userId, stats -> {
+            stats.setGoals(from, stats.getGoals(from) - 1);
+            stats.setGoals(to, stats.getGoals(to) + 1);
+        });
+    }
+
+    /**
+     * Record a new habit
+     */
+    public void habitCreated(final Long userId) {
+        adjust(userId, stats -> stats.setHabits(stats.getHabits() + 1));
+    }
+
+    /**
+     * Record new pending tasks
+     */
+    public void tasksCreated(final Long userId, final int count) {
+        adjust(userId, stats -> stats.setTasks(stats.getTasks() + count));
+    }
+
+    /**
+     * Record a task being completed or reopened
+     */
+    public void taskCompletionChanged(final Long userId, final boolean completed) {
+        adjust(userId, stats -> stats.setCompletedTasks(stats.getCompletedTasks() + (completed ? 1 : -1)));
+    }
+
+    /**
+     * Record a deleted task
+     */
+    public void taskDeleted(final Long userId, final boolean completed) {
+        adjust(userId, stats -> {
+            stats.setTasks(stats.getTasks() - 1);
+            if (completed) {
+                stats.setCompletedTasks(stats.getCompletedTasks() - 1);
+            }
+        });
+    }
+
+    /**
+     * Take a habit that is about to be soft-deleted out of its owner's stats, with its tasks and
+     * archived tasks. Counted under the stats row lock; a toggle racing the delete can leave the
+     * completed count off by one until the next reconciliation. Without a stored row nothing needs
+     * adjusting, as the stats are counted from the tables.
+     */
+    public void habitDeleted(final Long userId, final Long habitId) {
+        userStatsRepository.findByIdForUpdate(userId).ifPresent(stats -> {
+            stats.setHabits(stats.getHabits() - 1);
+            subtractTasks(stats, taskRepository.countByHabitId(habitId),
+                    taskRepository.countByHabitIdAndCompleted(habitId, true),
+                    taskArchiveRepository.findByHabitIdNewestFirst(habitId));
+            userStatsRepository.save(stats);
+        });
+    }
+
+    /**
+     * Take a goal that is about to be soft-deleted out of its owner's stats, with the owner's live
+     * habits under it and their tasks, as {@link #habitDeleted} does for a habit. Other users'
+     * habits under the goal are left to the reconciliation job.
+     */
+    public void goalDeleted(final Long userId, final Long goalId, final GoalStatus status) {
+        userStatsRepository.findByIdForUpdate(userId).ifPresent(stats -> {
+            stats.setGoals(status, stats.getGoals(status) - 1);
+            stats.setHabits(stats.getHabits() - habitRepository.countByGoalIdAndUserId(goalId, userId));
+            subtractTasks(stats, taskRepository.countByGoalIdAndUserId(goalId, userId),
+                    taskRepository.countByGoalIdAndUserIdAndCompleted(goalId, userId, true),
+                    taskArchiveRepository.findByGoalIdAndUserId(goalId, userId));
+            userStatsRepository.save(stats);
+        });
+    }
+
+    /**
+     * Recount a user's stats from the tables and store them
+     * @return whether the stored row was missing or differed from the count
+     */
+    public boolean reconcile(final Long userId) {
+        // Lock before counting: writers change their rows before adjusting the stats, so every
+        // change is either in the count or applied as an increment after this commits. A missing
+        // row is inserted empty first, as there is nothing to lock; concurrent first writers wait
+        // on that insert and then lock the row instead of inserting their own.
+        final Optional<UserStats> existing = userStatsRepository.findByIdForUpdate(userId);
+        final boolean inserted = existing.isEmpty() && insertIfMissing(userId);
+        final UserStats stored = existing.or(() -> userStatsRepository.findByIdForUpdate(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("User", userId));
+        final UserStats counted = count(userId);
+        if (!inserted && sameCounts(stored, counted)) {
+            return false;
+        }
+        copyCounts(counted, stored);
+        userStatsRepository.save(stored);
+        return true;
+    }
+
+    /**
+     * Get a user's stats, counted from the tables if none are stored yet
+     */
+    @Transactional(readOnly = true)
+    public UserStats getUserStats(final Long userId) {
+        return userStatsRepository.findById(userId).orElseGet(() -> count(userId));
+    }
+
+    /**
+     * Get a user's stats as a DTO
+     */
+    @Transactional(readOnly = true)
+    public UserStatsDTO getStats(final Long userId) {
+        final UserStats stats = userStatsRepository.findById(userId).orElseGet(() -> {
+            if (!userRepository.existsById(userId)) {
+                throw new ResourceNotFoundException("User", userId);
+            }
+            return count(userId);
+        });
+
+        final Map<GoalStatus, Long> goalsByStatus = new EnumMap<>(GoalStatus.class);
+        for (final GoalStatus status : GoalStatus.values()) {
+            goalsByStatus.put(status, stats.getGoals(status));
+        }
+        return new UserStatsDTO(
+                userId,
+                stats.getGoals(),
+                goalsByStatus,
+                stats.getHabits(),
+                stats.getTasks(),
+                stats.getCompletedTasks(),
+                stats.getTasks() - stats.getCompletedTasks()
+        );
+    }
+
+    /**
+     * Apply a change to the user's locked stats row. Without a row the user is counted
+     * instead, which already includes the change since the count queries flush it first.
+     */
+    private void adjust(final Long userId, final Consumer<UserStats> change) {
+        userStatsRepository.findByIdForUpdate(userId).ifPresentOrElse(stats -> {
+            change.accept(stats);
+            userStatsRepository.save(stats);
+        }, () -> reconcile(userId));
+    }
+
+    private boolean insertIfMissing(final Long userId) {
+        return (databaseProduct.isPostgres()
+                ? userStatsRepository.insertIfMissing(userId)
+                : userStatsRepository.insertIfMissingPortable(userId)) > 0;
+    }
+
+    /**
+     * Count a user's goals, habits and tasks, archived tasks included, into a detached row
+     */
+    private UserStats count(final Long userId) {
+        final UserStats stats = new UserStats();
+        for (final Object[] row : goalRepository.countByUserIdGroupByStatus(userId)) {
+            stats.setGoals((GoalStatus) row[0], (Long) row[1]);
+        }
+        stats.setHabits(habitRepository.countByUserId(userId));
+
+        long tasks = taskRepository.countByUserId(userId);
+        long completed = taskRepository.countByUserIdAndCompleted(userId, true);
+        for (final TaskArchive archive : taskArchiveRepository.findByUserIdOldestFirst(userId)) {
+            tasks += Integer.bitCount(archive.getScheduledDays());
+            completed += Integer.bitCount(archive.getScheduledDays() & archive.getCompletedDays());
+        }
+        stats.setTasks(tasks);
+        stats.setCompletedTasks(completed);
+        return stats;
+    }
+
+    private static void subtractTasks(final UserStats stats, long tasks, long completed,
+                                      final List<TaskArchive> archives) {
+        for (final TaskArchive archive : archives) {
+            tasks += Integer.bitCount(archive.getScheduledDays());
+            completed += Integer.bitCount(archive.getScheduledDays() & archive.getCompletedDays());
+        }
+        stats.setTasks(stats.getTasks() - tasks);
+        stats.setCompletedTasks(stats.getCompletedTasks() - completed);
+    }
+
+    private static boolean sameCounts(final UserStats a, final UserStats b) {
+        for (final GoalStatus status : GoalStatus.values()) {
+            if (a.getGoals(status) != b.getGoals(status)) {
+                return false;
+            }
+        }
+        return a.getHabits() == b.getHabits()
+                && a.getTasks() == b.getTasks()
+                && a.getCompletedTasks() == b.getCompletedTasks();
+    }
+
+    private static void copyCounts(final UserStats from, final UserStats to) {
+        for (final GoalStatus status : GoalStatus.values()) {
+            to.setGoals(status, from.getGoals(status));
+        }
+        to.setHabits(from.getHabits());
+        to.setTasks(from.getTasks());
+        to.setCompletedTasks(from.getCompletedTasks());
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.goalsmanager.storage;
+
+import com.example.goalsmanager.exception.InvalidRequestException;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Goal images on local disk, content-addressed: every image is stored once, named after the
+ * SHA-256 of its bytes, as {directory}/ab/cd/{sha256}.{ext}. Stored files never change, so
+ * clients may cache them forever and the same upload twice costs no extra space.
+ */
+@Component
+public class ImageStorage {
+
+    private static final Pattern KEY = Pattern.compile("([0-9a-f]{64})\\.(png|jpg|gif|webp)");
+    private static final int SNIFF_BYTES = 12;
+
+    private final Path root;
+    private final Path uploads;
+    private final long maxBytes;
+
+    @Autowired
+    public ImageStorage(final ImageStorageProperties properties) throws IOException {
+        this.root = Paths.get(properties.getDirectory()).toAbsolutePath().normalize();
+        this.uploads = Files.createDirectories(root.resolve("tmp"));
+        this.maxBytes = properties.getMaxSize().toBytes();
+    }
+
+    /**
+     * Store an image and return its key. The type is taken from the first bytes, not from the
+     * client's Content-Type, so only real PNG, JPEG, GIF and WebP files are accepted.
+     * The upload is streamed to a temporary file while it is hashed, then moved into place.
+     */
+    public String store(final InputStream content) throws IOException {
+        final Path upload = Files.createTempFile(uploads, "upload", null);
+        try {
+            final MessageDigest digest = sha256();
+            final byte[] head = new byte[SNIFF_BYTES];
+            int headLength = 0;
+            long size = 0;
+            try (OutputStream out = Files.newOutputStream(upload)) {
+                final byte[] buffer = new byte[8192];
+                int read;
+                while ((read = content.read(buffer)) > 0) {
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new InvalidRequestException("Image must not be larger than " + maxBytes + " bytes");
+                    }
+                    if (headLength < SNIFF_BYTES) {
+                        final int copied = Math.min(read, SNIFF_BYTES - headLength);
+                        System.arraycopy(buffer, 0, head, headLength, copied);
+                        headLength += copied;
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+
+            final String extension = extension(head, headLength);
+            if (extension == null) {
+                throw new InvalidRequestException("Image must be a PNG, JPEG, GIF or WebP file");
+            }
+            final String key = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+            final Path target = path(key);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                // Same name means same bytes, so a concurrent upload of the same image may win
+                Files.move(upload, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return key;
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    /**
+     * File of a stored image
+     * @throws ResourceNotFoundException if the key is malformed or nothing is stored under it
+     */
+    public Path resolve(final String key) {
+        if (!KEY.matcher(key).matches()) {
+            throw new ResourceNotFoundException("Image", key);
+        }
+        final Path file = path(key);
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Image", key);
+        }
+        return file;
+    }
+
+    /**
+     * Path the image is served from, see ImageController
+     */
+    public static String url(final String key) {
+        return "/api/images/" + key;
+    }
+
+    /**
+     * Media type of a stored image or thumbnail, from its file name
+     */
+    public static MediaType mediaType(final String name) {
+        if (name.endsWith(".png")) {
+            return MediaType.IMAGE_PNG;
+        }
+        if (name.endsWith(".jpg")) {
+            return MediaType.IMAGE_JPEG;
+        }
+        if (name.endsWith(".gif")) {
+            return MediaType.IMAGE_GIF;
+        }
+        if (name.endsWith(".webp")) {
+            return MediaType.parseMediaType("image/webp");
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    /**
+     * Root directory of the stored images
+     */
+    Path root() {
+        return root;
+    }
+
+    /**
+     * Directory for files being written; on the same file system as the stored images,
+     * so finished files can be moved into place atomically
+     */
+    Path uploads() {
+        return uploads;
+    }
+
+    /**
+     * Two levels of directories from the hash keep each directory small
+     */
+    private Path path(final String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    /**
+     * File extension for the image type recognised from its first bytes, null if none is
+     */
+    static String extension(final byte[] head, final int length) {
+        if (startsWith(head, length, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "png";
+        }
+        if (startsWith(head, length, 0xFF, 0xD8, 0xFF)) {
+            return "jpg";
+        }
+        if (startsWith(head, length, 'G', 'I', 'F', '8')) {
+            return "gif";
+        }
+        if (startsWith(head, length, 'R', 'I', 'F', 'F') && length >= 12
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return "webp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(final byte[] head, final int length, final int... signature) {
+        if (length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((head[i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
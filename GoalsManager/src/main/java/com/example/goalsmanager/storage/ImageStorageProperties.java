@@ -0,0 +1,98 @@
+package com.example.goalsmanager.storage;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Local storage for uploaded goal images
+ *
+ * goals.images.directory=data/images
+ * goals.images.max-size=5MB
+ * goals.images.cache-max-age=365d
+ * goals.images.thumbnail-threads=2
+ * goals.images.thumbnail-queue-capacity=100
+ * goals.images.thumbnail-cache-size=256MB
+ */
+@ConfigurationProperties(prefix = "goals.images")
+public class ImageStorageProperties {
+
+    /**
+     * Root directory of the stored images; created on startup
+     */
+    private String directory = "data/images";
+
+    /**
+     * Largest accepted upload. Keep spring.servlet.multipart.max-file-size at least this large.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(5);
+
+    /**
+     * Cache-Control max-age of served images. Stored images never change, so this can be long.
+     */
+    private Duration cacheMaxAge = Duration.ofDays(365);
+
+    /**
+     * Worker threads that generate thumbnails
+     */
+    private int thumbnailThreads = 2;
+
+    /**
+     * Images waiting for a worker; further uploads get their thumbnails on first request
+     */
+    private int thumbnailQueueCapacity = 100;
+
+    /**
+     * Disk space for thumbnails; the least recently used are deleted beyond it
+     */
+    private DataSize thumbnailCacheSize = DataSize.ofMegabytes(256);
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Duration getCacheMaxAge() {
+        return cacheMaxAge;
+    }
+
+    public void setCacheMaxAge(Duration cacheMaxAge) {
+        this.cacheMaxAge = cacheMaxAge;
+    }
+
+    public int getThumbnailThreads() {
+        return thumbnailThreads;
+    }
+
+    public void setThumbnailThreads(int thumbnailThreads) {
+        this.thumbnailThreads = thumbnailThreads;
+    }
+
+    public int getThumbnailQueueCapacity() {
+        return thumbnailQueueCapacity;
+    }
+
+    public void setThumbnailQueueCapacity(int thumbnailQueueCapacity) {
+        this.thumbnailQueueCapacity = thumbnailQueueCapacity;
+    }
+
+    public DataSize getThumbnailCacheSize() {
+        return thumbnailCacheSize;
+    }
+
+    public void setThumbnailCacheSize(DataSize thumbnailCacheSize) {
+        this.thumbnailCacheSize = thumbnailCacheSize;
+    }
+}
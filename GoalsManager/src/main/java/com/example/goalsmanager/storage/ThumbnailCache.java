@@ -0,0 +1,117 @@
+package com.example.goalsmanager.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Thumbnails on disk, bounded in total size; the least recently used are deleted first.
+ * Recency is tracked in memory. On startup the files' modification times seed it, so after
+ * a restart thumbnails count as used when they were written.
+ */
+public class ThumbnailCache {
+
+    private final Path directory;
+    private final long maxBytes;
+
+    /**
+     * File name to size in bytes, least recently used first
+     */
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public ThumbnailCache(final Path directory, final long maxBytes) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+
+        final List<Path> files;
+        try (Stream<Path> listed = Files.list(directory)) {
+            files = listed.filter(Files::isRegularFile).toList();
+        }
+        final Map<Path, Long> modified = new LinkedHashMap<>();
+        for (final Path file : files) {
+            modified.put(file, Files.getLastModifiedTime(file).toMillis());
+        }
+        for (final Path file : files.stream().sorted(Comparator.comparing(modified::get)).toList()) {
+            final long size = Files.size(file);
+            entries.put(file.getFileName().toString(), size);
+            totalBytes += size;
+        }
+        delete(evict());
+    }
+
+    /**
+     * The cached file, or null; a hit makes the entry the most recently used
+     */
+    public synchronized Path get(final String name) {
+        return entries.get(name) == null ? null : directory.resolve(name);
+    }
+
+    /**
+     * Move a finished file into the cache under the name, then evict down to the size limit.
+     * The move happens under the lock, so an eviction of an earlier file with the same name
+     * can never delete this one.
+     */
+    public void put(final String name, final Path file) throws IOException {
+        final long size = Files.size(file);
+        final List<String> evicted;
+        synchronized (this) {
+            Files.move(file, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+            final Long previous = entries.put(name, size);
+            totalBytes += size - (previous == null ? 0 : previous);
+            evicted = evict();
+        }
+        delete(evicted);
+    }
+
+    /**
+     * Forget an entry whose file has gone from disk
+     */
+    public synchronized void remove(final String name) {
+        final Long size = entries.remove(name);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Drop least recently used entries until the cache fits; the caller deletes their files
+     */
+    private List<String> evict() {
+        final List<String> evicted = new ArrayList<>();
+        final Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            final Map.Entry<String, Long> entry = eldest.next();
+            totalBytes -= entry.getValue();
+            evicted.add(entry.getKey());
+            eldest.remove();
+        }
+        return evicted;
+    }
+
+    /**
+     * Delete evicted files, taking the lock per file rather than for the whole batch. A name
+     * put again since it was evicted is skipped: the file on disk is then the new one.
+     */
+    private void delete(final List<String> names) throws IOException {
+        for (final String name : names) {
+            synchronized (this) {
+                if (!entries.containsKey(name)) {
+                    Files.deleteIfExists(directory.resolve(name));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.goalsmanager.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thumbnails of stored images in every {@link ThumbnailSize}, generated in the background on a
+ * bounded pool and kept in a {@link ThumbnailCache}. JPEG images get JPEG thumbnails, PNG and
+ * GIF images PNG ones, so transparency survives. WebP has no decoder in the JDK and is served
+ * at full size.
+ */
+@Component
+public class ThumbnailService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+
+    /**
+     * Larger images are not decoded at all: decoding time grows with the pixel count
+     */
+    static final long MAX_SOURCE_PIXELS = 100_000_000L;
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final ImageStorage imageStorage;
+    private final ThumbnailCache cache;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Images queued or being processed, so each is queued once
+     */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public ThumbnailService(final ImageStorage imageStorage, final ImageStorageProperties properties) throws IOException {
+        this.imageStorage = imageStorage;
+        this.cache = new ThumbnailCache(imageStorage.root().resolve("thumbnails"),
+                properties.getThumbnailCacheSize().toBytes());
+        this.executor = new ThreadPoolExecutor(properties.getThumbnailThreads(), properties.getThumbnailThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getThumbnailQueueCapacity()),
+                threadFactory());
+    }
+
+    /**
+     * Whether thumbnails can be made for the stored image
+     */
+    public static boolean isSupported(final String key) {
+        return !key.endsWith(".webp");
+    }
+
+    /**
+     * Queue thumbnail generation for all sizes and return at once. When the queue is full the
+     * image is skipped; its thumbnails are then queued again on first request.
+     */
+    public void generateAsync(final String key) {
+        if (!isSupported(key) || !pending.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(key);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Could not make thumbnails of image {}", key, e);
+                } finally {
+                    pending.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(key);
+        }
+    }
+
+    /**
+     * The cached thumbnail, or null after queueing its generation
+     */
+    public Path find(final String key, final ThumbnailSize size) {
+        final Path thumbnail = cache.get(name(key, size));
+        if (thumbnail == null) {
+            generateAsync(key);
+        }
+        return thumbnail;
+    }
+
+    /**
+     * The thumbnail found earlier has gone from disk: drop its entry and queue it to be made again
+     */
+    public void missing(final String key, final ThumbnailSize size) {
+        cache.remove(name(key, size));
+        generateAsync(key);
+    }
+
+    /**
+     * File name of a thumbnail, e.g. {sha256}-card.jpg
+     */
+    public static String name(final String key, final ThumbnailSize size) {
+        final int dot = key.lastIndexOf('.');
+        return key.substring(0, dot) + "-" + size.parameter() + (key.endsWith(".jpg") ? ".jpg" : ".png");
+    }
+
+    /**
+     * Decode the image once and write every missing size, largest first, each scaled down from
+     * the previous one. Scaling in steps of at most about 2x keeps bilinear filtering sharp.
+     */
+    void generate(final String key) throws IOException {
+        BufferedImage image = read(imageStorage.resolve(key));
+        if (image == null) {
+            return;
+        }
+        final ThumbnailSize[] sizes = ThumbnailSize.values();
+        for (int i = sizes.length - 1; i >= 0; i--) {
+            image = scaleDown(image, sizes[i].getPixels());
+            final String name = name(key, sizes[i]);
+            if (cache.get(name) == null) {
+                cache.put(name, write(image, name.endsWith(".jpg")));
+            }
+        }
+    }
+
+    /**
+     * Decode the image, skipping pixels while decoding when it is far larger than the largest
+     * thumbnail, so a 4000 px photo never needs a full-size raster in memory
+     */
+    private static BufferedImage read(final Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                final int width = reader.getWidth(0);
+                final int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    log.warn("Image {} is {}x{} pixels, too large for thumbnails", file.getFileName(), width, height);
+                    return null;
+                }
+                final int target = 2 * ThumbnailSize.LARGE.getPixels();
+                final int step = Math.max(1, Math.max(width, height) / target);
+                final ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scaleDown(final BufferedImage image, final int pixels) {
+        final int longer = Math.max(image.getWidth(), image.getHeight());
+        if (longer <= pixels) {
+            return image;
+        }
+        final int width = Math.max(1, (int) Math.round((double) image.getWidth() * pixels / longer));
+        final int height = Math.max(1, (int) Math.round((double) image.getHeight() * pixels / longer));
+        final BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Write the thumbnail to a temporary file next to the stored images
+     */
+    private Path write(final BufferedImage image, final boolean jpeg) throws IOException {
+        final Path file = Files.createTempFile(imageStorage.uploads(), "thumbnail", null);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            final ImageWriter writer = ImageIO.getImageWritersByFormatName(jpeg ? "jpeg" : "png").next();
+            try {
+                writer.setOutput(out);
+                if (jpeg) {
+                    final ImageWriteParam param = writer.getDefaultWriteParam();
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(JPEG_QUALITY);
+                    writer.write(null, new IIOImage(opaque(image), null, null), param);
+                } else {
+                    writer.write(image);
+                }
+            } finally {
+                writer.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * JPEG has no alpha channel
+     */
+    private static BufferedImage opaque(final BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) {
+            return image;
+        }
+        final BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        final Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    /**
+     * Wait until the queued thumbnails are written; for tests
+     */
+    boolean awaitIdle(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!pending.isEmpty()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory threadFactory() {
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "thumbnails-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.goalsmanager.storage;
+
+import com.example.goalsmanager.exception.InvalidRequestException;
+
+import java.util.Locale;
+
+/**
+ * Fixed thumbnail sizes, by the length of the longer side in pixels. Images are only ever
+ * scaled down, so a thumbnail is never larger than its original.
+ */
+public enum ThumbnailSize {
+
+    SMALL(128),
+    CARD(320),
+    LARGE(640);
+
+    private final int pixels;
+
+    ThumbnailSize(final int pixels) {
+        this.pixels = pixels;
+    }
+
+    public int getPixels() {
+        return pixels;
+    }
+
+    /**
+     * Name used in the size request parameter and in thumbnail file names
+     */
+    public String parameter() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Size for a request parameter value such as "card"
+     */
+    public static ThumbnailSize fromParameter(final String value) {
+        for (final ThumbnailSize size : values()) {
+            if (size.parameter().equalsIgnoreCase(value)) {
+                return size;
+            }
+        }
+        throw new InvalidRequestException("Size must be one of small, card or large");
+    }
+}
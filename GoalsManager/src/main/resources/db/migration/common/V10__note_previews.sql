@@ -0,0 +1,8 @@
+-- Note previews for the goal timeline (see NoteService#getNoteTimeline). The timeline reads
+-- these short columns instead of the TEXT content; Note keeps them in step on every write.
+-- The backfill rewrites every note once, so run it in a quiet window on large tables.
+ALTER TABLE notes ADD COLUMN IF NOT EXISTS preview VARCHAR(200);
+ALTER TABLE notes ADD COLUMN IF NOT EXISTS content_length INTEGER;
+UPDATE notes SET preview = substring(content, 1, 200), content_length = char_length(content) WHERE preview IS NULL;
+ALTER TABLE notes ALTER COLUMN preview SET NOT NULL;
+ALTER TABLE notes ALTER COLUMN content_length SET NOT NULL;
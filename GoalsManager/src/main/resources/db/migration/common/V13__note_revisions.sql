@@ -0,0 +1,13 @@
+-- Note version history as deltas against the previous version with periodic snapshots (see NoteRevision)
+CREATE TABLE IF NOT EXISTS note_revisions (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    note_id       BIGINT NOT NULL,
+    version       INTEGER NOT NULL,
+    snapshot      BOOLEAN NOT NULL,
+    prefix_length INTEGER NOT NULL,
+    suffix_length INTEGER NOT NULL,
+    content       TEXT NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_note_revision_note_version UNIQUE (note_id, version),
+    CONSTRAINT fk_note_revision_note FOREIGN KEY (note_id) REFERENCES notes (id) ON DELETE CASCADE
+);
@@ -0,0 +1,21 @@
+-- Daily task and completion counts per habit and per goal (see HabitDailyRollup, GoalDailyRollup).
+-- Existing history is loaded by the PostgreSQL backfill that follows.
+CREATE TABLE IF NOT EXISTS habit_daily_rollups (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    habit_id  BIGINT NOT NULL,
+    date      DATE NOT NULL,
+    scheduled INTEGER NOT NULL,
+    completed INTEGER NOT NULL,
+    CONSTRAINT uk_habit_daily_rollup_habit_date UNIQUE (habit_id, date),
+    CONSTRAINT fk_habit_daily_rollup_habit FOREIGN KEY (habit_id) REFERENCES habits (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS goal_daily_rollups (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    goal_id   BIGINT NOT NULL,
+    date      DATE NOT NULL,
+    scheduled INTEGER NOT NULL,
+    completed INTEGER NOT NULL,
+    CONSTRAINT uk_goal_daily_rollup_goal_date UNIQUE (goal_id, date),
+    CONSTRAINT fk_goal_daily_rollup_goal FOREIGN KEY (goal_id) REFERENCES goals (id) ON DELETE CASCADE
+);
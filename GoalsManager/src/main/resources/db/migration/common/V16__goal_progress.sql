@@ -0,0 +1,12 @@
+-- Per-goal progress counters (see Goal.getProgress). Tasks dated up to progress_date are
+-- counted; GoalProgressRoller moves the date forward each day. Loaded here from the goal
+-- rollups, which on PostgreSQL were backfilled by V15.
+ALTER TABLE goals ADD COLUMN IF NOT EXISTS scheduled_tasks INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE goals ADD COLUMN IF NOT EXISTS completed_tasks INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE goals ADD COLUMN IF NOT EXISTS progress_date DATE NOT NULL DEFAULT CURRENT_DATE;
+
+UPDATE goals SET
+    scheduled_tasks = COALESCE((SELECT SUM(r.scheduled) FROM goal_daily_rollups r
+                                WHERE r.goal_id = goals.id AND r.date <= goals.progress_date), 0),
+    completed_tasks = COALESCE((SELECT SUM(r.completed) FROM goal_daily_rollups r
+                                WHERE r.goal_id = goals.id AND r.date <= goals.progress_date), 0);
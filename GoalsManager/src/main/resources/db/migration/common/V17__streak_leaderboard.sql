@@ -0,0 +1,3 @@
+-- Streak leaderboard (see StreakLeaderboard). Nobody is opted in yet, and a user's streaks are
+-- computed from their bitmaps when they opt in, so nothing needs a backfill.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS leaderboard_opt_in BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,78 @@
+-- Baseline schema, equivalent to what ddl-auto=update created from the entities.
+-- IF NOT EXISTS lets databases created by ddl-auto adopt migrations without changes
+-- (spring.flyway.baseline-version=0, so this script runs against them too).
+
+CREATE TABLE IF NOT EXISTS users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    provider    VARCHAR(255) NOT NULL,
+    provider_id VARCHAR(255) NOT NULL,
+    username    VARCHAR(255) NOT NULL,
+    email       VARCHAR(255),
+    name        VARCHAR(255),
+    avatar_url  VARCHAR(255),
+    bio         VARCHAR(255),
+    location    VARCHAR(255),
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_user_provider_provider_id UNIQUE (provider, provider_id),
+    CONSTRAINT uk_user_username UNIQUE (username),
+    CONSTRAINT uk_user_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS goals (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255) NOT NULL,
+    description TEXT,
+    image_url   VARCHAR(255),
+    emoji       VARCHAR(255),
+    start_date  DATE NOT NULL,
+    end_date    DATE NOT NULL,
+    status      VARCHAR(255) NOT NULL
+        CHECK (status IN ('NOT_STARTED', 'IN_PROGRESS', 'COMPLETED', 'PAUSED', 'CANCELLED')),
+    user_id     BIGINT NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_goal_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS habits (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          VARCHAR(255) NOT NULL,
+    description   TEXT,
+    days_of_week  VARCHAR(255),
+    start_date    DATE NOT NULL,
+    end_date      DATE NOT NULL,
+    streak_status INTEGER,
+    color         VARCHAR(7),
+    goal_id       BIGINT NOT NULL,
+    user_id       BIGINT NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL,
+    updated_at    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_habit_goal FOREIGN KEY (goal_id) REFERENCES goals (id),
+    CONSTRAINT fk_habit_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS notes (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    content    TEXT NOT NULL,
+    goal_id    BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_note_goal FOREIGN KEY (goal_id) REFERENCES goals (id)
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    completed  BOOLEAN NOT NULL,
+    date       DATE NOT NULL,
+    habit_id   BIGINT NOT NULL,
+    user_id    BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_task_habit_date UNIQUE (habit_id, date),
+    CONSTRAINT fk_task_habit FOREIGN KEY (habit_id) REFERENCES habits (id),
+    CONSTRAINT fk_task_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_user_date ON tasks (user_id, date);
+CREATE INDEX IF NOT EXISTS idx_task_habit_date ON tasks (habit_id, date);
@@ -0,0 +1,17 @@
+-- Monthly per-habit summaries of archived tasks, one bit per day of month (see TaskArchive)
+CREATE TABLE IF NOT EXISTS task_archives (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name           VARCHAR(255) NOT NULL,
+    month_start    DATE NOT NULL,
+    scheduled_days INTEGER NOT NULL,
+    completed_days INTEGER NOT NULL,
+    habit_id       BIGINT NOT NULL,
+    user_id        BIGINT NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_task_archive_habit_month UNIQUE (habit_id, month_start),
+    CONSTRAINT fk_task_archive_habit FOREIGN KEY (habit_id) REFERENCES habits (id),
+    CONSTRAINT fk_task_archive_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_archive_user_month ON task_archives (user_id, month_start);
@@ -0,0 +1,9 @@
+-- Per-habit completion bitmaps (see HabitBitmap). Rows are built from tasks on first use.
+CREATE TABLE IF NOT EXISTS habit_bitmaps (
+    habit_id       BIGINT NOT NULL PRIMARY KEY,
+    origin         DATE,
+    task_days      BYTEA NOT NULL,
+    completed_days BYTEA NOT NULL,
+    updated_at     TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_habit_bitmap_habit FOREIGN KEY (habit_id) REFERENCES habits (id) ON DELETE CASCADE
+);
@@ -0,0 +1,15 @@
+-- Per-user counters (see UserStats). Rows are built from COUNT queries on first use and
+-- checked nightly by UserStatsReconciler, so existing users need no backfill here.
+CREATE TABLE IF NOT EXISTS user_stats (
+    user_id           BIGINT NOT NULL PRIMARY KEY,
+    goals_not_started BIGINT NOT NULL,
+    goals_in_progress BIGINT NOT NULL,
+    goals_completed   BIGINT NOT NULL,
+    goals_paused      BIGINT NOT NULL,
+    goals_cancelled   BIGINT NOT NULL,
+    habits            BIGINT NOT NULL,
+    tasks             BIGINT NOT NULL,
+    completed_tasks   BIGINT NOT NULL,
+    updated_at        TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_user_stats_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
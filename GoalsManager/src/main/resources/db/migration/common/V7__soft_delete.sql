@@ -0,0 +1,6 @@
+-- Soft deletes (see BulkDeleteService, SoftDeletePurger). Nullable without a default, so
+-- adding the columns only touches the catalog, even on the partitioned tasks table.
+ALTER TABLE goals ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
+ALTER TABLE habits ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
+ALTER TABLE notes ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
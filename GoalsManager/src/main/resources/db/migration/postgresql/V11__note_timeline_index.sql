@@ -0,0 +1,11 @@
+-- Keyset index for the goal note timeline: (goal_id, created_at, id) matches the cursor
+-- comparison and the sort, scanned backwards. The preview columns and deleted_at are included
+-- so a page is an index-only scan that never touches the heap or the TOASTed content.
+-- Not partial: the native bulk delete by goal still needs it for soft-deleted notes.
+-- It replaces idx_note_goal_created (V2), which is a prefix of it.
+-- CONCURRENTLY cannot run inside a transaction; see the .conf file next to this script.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_note_goal_created_id ON notes (goal_id, created_at, id)
+    INCLUDE (preview, content_length, deleted_at);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_note_goal_created;
@@ -0,0 +1,10 @@
+-- Compress long note content inside PostgreSQL rather than in the application, so the GIN
+-- search indexes (V9) and the LIKE fallback keep seeing plain text.
+-- lz4 decompresses several times faster than the default pglz at a similar ratio. Every stored
+-- value records its own method, so existing pglz values stay readable and are recompressed
+-- only when rewritten. Needs a server built with lz4, as the official images are.
+ALTER TABLE notes ALTER COLUMN content SET COMPRESSION lz4;
+
+-- Try to compress rows over 1 KB instead of the default 2 KB, so mid-sized entries shrink
+-- too. Values are decompressed only when content is selected; the timeline (V11) never does.
+ALTER TABLE notes SET (toast_tuple_target = 1024);
@@ -0,0 +1,22 @@
+-- Load the daily rollups from live tasks and from the day bits of archived months.
+-- Runs before the application starts, so no increments can race with it.
+INSERT INTO habit_daily_rollups (habit_id, date, scheduled, completed)
+SELECT habit_id, date, SUM(scheduled), SUM(completed)
+FROM (
+    SELECT habit_id, date, 1 AS scheduled, CASE WHEN completed THEN 1 ELSE 0 END AS completed
+    FROM tasks
+    WHERE deleted_at IS NULL
+    UNION ALL
+    SELECT a.habit_id, a.month_start + d.day, 1, (a.completed_days >> d.day) & 1
+    FROM task_archives a
+    CROSS JOIN generate_series(0, 30) AS d (day)
+    WHERE (a.scheduled_days >> d.day) & 1 = 1
+) days
+GROUP BY habit_id, date;
+
+INSERT INTO goal_daily_rollups (goal_id, date, scheduled, completed)
+SELECT h.goal_id, r.date, SUM(r.scheduled), SUM(r.completed)
+FROM habit_daily_rollups r
+JOIN habits h ON h.id = r.habit_id
+WHERE h.deleted_at IS NULL
+GROUP BY h.goal_id, r.date;
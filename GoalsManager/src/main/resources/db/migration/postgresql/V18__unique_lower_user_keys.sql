@@ -0,0 +1,28 @@
+-- Usernames and emails are looked up case-insensitively (UserRepository.findByUsernameIgnoreCase,
+-- findByEmailIgnoreCase), so "Bob" and "bob" must not both exist. Make the lower() indexes from V2 unique.
+-- CONCURRENTLY cannot run inside a transaction; see the .conf file next to this script.
+
+-- Existing collisions would fail the index build. Which account keeps a name is for an operator to
+-- decide, not a migration, so stop here and list them; rerun once they are resolved.
+DO $$
+DECLARE
+    collisions TEXT;
+BEGIN
+    SELECT string_agg(collision, '; ') INTO collisions FROM (
+        SELECT 'username ' || lower(username) || ' (users ' || string_agg(id::TEXT, ', ' ORDER BY id) || ')' AS collision
+        FROM users GROUP BY lower(username) HAVING count(*) > 1
+        UNION ALL
+        SELECT 'email ' || lower(email) || ' (users ' || string_agg(id::TEXT, ', ' ORDER BY id) || ')'
+        FROM users WHERE email IS NOT NULL GROUP BY lower(email) HAVING count(*) > 1
+    ) found;
+    IF collisions IS NOT NULL THEN
+        RAISE EXCEPTION 'Usernames or emails that differ only in case must be resolved before V18: %', collisions;
+    END IF;
+END
+$$;
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_user_username_lower ON users (lower(username));
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_user_email_lower ON users (lower(email));
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_user_username_lower;
+DROP INDEX CONCURRENTLY IF EXISTS idx_user_email_lower;
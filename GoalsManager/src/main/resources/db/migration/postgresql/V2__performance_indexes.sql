@@ -0,0 +1,29 @@
+-- Indexes for every repository finder (see PERFORMANCE.md, "Schema Migrations").
+-- Built CONCURRENTLY so they can be applied to a live database without blocking writes.
+-- CONCURRENTLY cannot run inside a transaction; see the .conf file next to this script.
+-- A failed concurrent build leaves an INVALID index behind: drop it and re-run the migration.
+
+-- GoalRepository: findByUserId, findByUserIdAndStatus, existsByUserId, countByUserId, countByUserIdAndStatus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_goal_user_status ON goals (user_id, status);
+
+-- GoalRepository: findByUserIdAndStartDateBetween
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_goal_user_start_date ON goals (user_id, start_date);
+
+-- GoalRepository: findByStatus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_goal_status ON goals (status);
+
+-- GoalRepository: findByEndDateBefore, findByEndDateAfter
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_goal_end_date ON goals (end_date);
+
+-- HabitRepository: findByUserId, findByUserIdAndGoalId, existsByUserId, countByUserId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_habit_user_goal ON habits (user_id, goal_id);
+
+-- HabitRepository: findByGoalId, countByGoalId; also the goal delete cascade
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_habit_goal ON habits (goal_id);
+
+-- NoteRepository: findByGoalIdOrderByCreatedAtDesc (read backwards), findByGoalId, countByGoalId, deleteByGoalId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_note_goal_created ON notes (goal_id, created_at);
+
+-- UserRepository: findByUsernameIgnoreCase, findByEmailIgnoreCase
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_username_lower ON users (lower(username));
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_email_lower ON users (lower(email));
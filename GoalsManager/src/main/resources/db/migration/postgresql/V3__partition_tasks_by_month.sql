@@ -0,0 +1,80 @@
+-- Range-partition tasks by month on date so week views, streak scans and retention only touch
+-- the partitions they need. The table is rebuilt and its rows copied in one transaction, which
+-- locks tasks for the duration: run this in a maintenance window on large databases.
+
+-- Move the unpartitioned table out of the way; index names are schema wide
+ALTER TABLE tasks RENAME TO tasks_unpartitioned;
+ALTER INDEX IF EXISTS tasks_pkey RENAME TO tasks_unpartitioned_pkey;
+ALTER INDEX IF EXISTS uk_task_habit_date RENAME TO uk_task_habit_date_unpartitioned;
+ALTER INDEX IF EXISTS idx_task_user_date RENAME TO idx_task_user_date_unpartitioned;
+ALTER INDEX IF EXISTS idx_task_habit_date RENAME TO idx_task_habit_date_unpartitioned;
+
+-- Unique constraints on a partitioned table must include the partition key, hence (id, date)
+CREATE TABLE tasks (
+    id         BIGINT NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    completed  BOOLEAN NOT NULL,
+    date       DATE NOT NULL,
+    habit_id   BIGINT NOT NULL,
+    user_id    BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT tasks_pkey PRIMARY KEY (id, date),
+    CONSTRAINT uk_task_habit_date UNIQUE (habit_id, date),
+    CONSTRAINT fk_task_habit FOREIGN KEY (habit_id) REFERENCES habits (id),
+    CONSTRAINT fk_task_user FOREIGN KEY (user_id) REFERENCES users (id)
+) PARTITION BY RANGE (date);
+
+CREATE INDEX idx_task_user_date ON tasks (user_id, date);
+CREATE INDEX idx_task_habit_date ON tasks (habit_id, date);
+
+-- Catches rows dated past the newest monthly partition so inserts never fail
+CREATE TABLE tasks_default PARTITION OF tasks DEFAULT;
+
+-- Creates the missing monthly partitions tasks_pYYYYMM from from_date through to_date and
+-- returns how many were created. Rows already sitting in tasks_default for a new month are
+-- moved into it first, otherwise attaching the partition would fail. Months whose partition
+-- was detached are left alone.
+CREATE OR REPLACE FUNCTION create_task_partitions(from_date DATE, to_date DATE) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    month_start    DATE := date_trunc('month', from_date)::DATE;
+    month_end      DATE;
+    partition_name TEXT;
+    created        INTEGER := 0;
+BEGIN
+    WHILE month_start <= to_date LOOP
+        month_end := (month_start + INTERVAL '1 month')::DATE;
+        partition_name := 'tasks_p' || to_char(month_start, 'YYYYMM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I (LIKE tasks INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+            EXECUTE format('WITH moved AS (DELETE FROM tasks_default WHERE date >= %L AND date < %L RETURNING *) '
+                               || 'INSERT INTO %I SELECT * FROM moved', month_start, month_end, partition_name);
+            -- ATTACH builds the new partition's copy of every index on tasks, those created ON ONLY
+            -- tasks included, while only this function can see the table, so no writes wait on it
+            EXECUTE format('ALTER TABLE tasks ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, month_start, month_end);
+            created := created + 1;
+        END IF;
+        month_start := month_end;
+    END LOOP;
+    RETURN created;
+END
+$$;
+
+-- Partitions for the existing history plus three months ahead; the application keeps extending this
+SELECT create_task_partitions(COALESCE((SELECT min(date) FROM tasks_unpartitioned), current_date),
+                              (current_date + INTERVAL '3 months')::DATE);
+
+INSERT INTO tasks (id, name, completed, date, habit_id, user_id, created_at, updated_at)
+SELECT id, name, completed, date, habit_id, user_id, created_at, updated_at
+FROM tasks_unpartitioned;
+
+DROP TABLE tasks_unpartitioned;
+
+-- Identity columns on partitioned tables need PostgreSQL 17, a serial style sequence works everywhere
+CREATE SEQUENCE tasks_id_seq OWNED BY tasks.id;
+SELECT setval('tasks_id_seq', COALESCE((SELECT max(id) FROM tasks), 0) + 1, false);
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT nextval('tasks_id_seq');
+
+ANALYZE tasks;
@@ -0,0 +1,13 @@
+-- Partial indexes for SoftDeletePurger: only soft-deleted rows are indexed, so they stay
+-- tiny and let the purger find its work without scanning the tables.
+-- CONCURRENTLY cannot run inside a transaction; see the .conf file next to this script.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_goal_deleted ON goals (id) WHERE deleted_at IS NOT NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_habit_deleted ON habits (id) WHERE deleted_at IS NOT NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_note_deleted ON notes (id) WHERE deleted_at IS NOT NULL;
+
+-- tasks is partitioned (V3), and an index on a partitioned table cannot be built concurrently; a
+-- plain build would lock each partition against writes while it scans it. ON ONLY creates the index
+-- on the parent alone, at once and invalid. TaskPartitionMaintenance then builds each partition's
+-- copy concurrently and attaches it, after which the index is valid.
+CREATE INDEX IF NOT EXISTS idx_task_deleted ON ONLY tasks (id, date) WHERE deleted_at IS NOT NULL;
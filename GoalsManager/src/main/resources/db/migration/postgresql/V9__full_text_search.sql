@@ -0,0 +1,13 @@
+-- GIN expression indexes for SearchService. The expressions must match SEARCH_SQL exactly,
+-- or the planner cannot use them. Partial, like the queries, so soft-deleted rows stay out.
+-- PostgreSQL keeps the indexes current on every insert, update and delete.
+-- CONCURRENTLY cannot run inside a transaction; see the .conf file next to this script.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_note_search ON notes
+    USING GIN (to_tsvector('english', content)) WHERE deleted_at IS NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_goal_search ON goals
+    USING GIN (to_tsvector('english', title || ' ' || coalesce(description, ''))) WHERE deleted_at IS NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_habit_search ON habits
+    USING GIN (to_tsvector('english', name || ' ' || coalesce(description, ''))) WHERE deleted_at IS NULL;
@@ -0,0 +1,129 @@
+package com.example.goalsmanager.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primarydb",
+        "goals.datasource.replica.enabled=true",
+        "goals.datasource.replica.url=jdbc:h2:mem:replicadb",
+        "goals.datasource.replica.username=sa",
+        "goals.datasource.replica.password=",
+        "goals.datasource.replica.read-your-writes-window=1m",
+        "goals.datasource.replica.max-lag=10s"
+})
+@DisplayName("Read Replica Routing Tests")
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagGuard replicaLagGuard;
+
+    /**
+     * The test context binds a mock request per test; start each test outside any request
+     */
+    @BeforeEach
+    void setUp() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        replicaLagGuard.recordLag(Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and the rest to the primary")
+    void shouldRouteByReadOnlyFlag() {
+        // When / Then
+        assertThat(database(true)).isEqualTo("REPLICADB");
+        assertThat(database(false)).isEqualTo("PRIMARYDB");
+        assertThat(jdbcTemplate.queryForObject("SELECT DATABASE()", String.class)).isEqualTo("PRIMARYDB");
+    }
+
+    @Test
+    @DisplayName("Should read a client's own writes from the primary")
+    void shouldReadYourWritesFromPrimary() {
+        // Given
+        bindClient("10.0.0.1");
+        database(false);
+
+        // When / Then
+        assertThat(database(true)).isEqualTo("PRIMARYDB");
+
+        bindClient("10.0.0.2");
+        assertThat(database(true)).isEqualTo("REPLICADB");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica lags")
+    void shouldFallBackWhileReplicaLags() {
+        // Given
+        replicaLagGuard.recordLag(Duration.ofMinutes(1));
+
+        // When / Then
+        assertThat(database(true)).isEqualTo("PRIMARYDB");
+
+        replicaLagGuard.recordLag(null);
+        assertThat(database(true)).isEqualTo("PRIMARYDB");
+
+        replicaLagGuard.recordLag(Duration.ofSeconds(1));
+        assertThat(database(true)).isEqualTo("REPLICADB");
+    }
+
+    @Test
+    @DisplayName("Should use the replica again once the read-your-writes window has passed")
+    void shouldExpireReadYourWritesWindow() {
+        // Given
+        final AtomicLong now = new AtomicLong();
+        final ReplicaLagGuard guard = new ReplicaLagGuard(Duration.ofSeconds(5), Duration.ofSeconds(10), now::get);
+        final TransactionTemplate write = new TransactionTemplate(transactionManager);
+        bindClient("10.0.0.3");
+
+        // When
+        write.execute(status -> {
+            guard.afterCommit(status, null);
+            return null;
+        });
+
+        // Then
+        assertThat(guard.requiresPrimary()).isTrue();
+        now.set(Duration.ofSeconds(5).toNanos());
+        assertThat(guard.requiresPrimary()).isFalse();
+        guard.evictExpired();
+        assertThat(guard.requiresPrimary()).isFalse();
+    }
+
+    private String database(final boolean readOnly) {
+        final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+
+    private static void bindClient(final String remoteAddr) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
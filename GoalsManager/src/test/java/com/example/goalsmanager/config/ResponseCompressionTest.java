@@ -0,0 +1,133 @@
+package com.example.goalsmanager.config;
+
+import com.example.goalsmanager.goalutils.GoalStatus;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.repository.GoalRepository;
+import com.example.goalsmanager.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:compressiontest"
+)
+@DisplayName("Response Compression and HTTP/2 Tests")
+class ResponseCompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setProvider("github");
+        testUser.setProviderId("12345");
+        testUser.setUsername("testuser");
+        testUser.setEmail("test@example.com");
+        testUser.setName("Test User");
+        testUser = userRepository.save(testUser);
+    }
+
+    @AfterEach
+    void tearDown() {
+        goalRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should gzip list responses above the size threshold")
+    void shouldGzipLargeListResponses() throws Exception {
+        // Given - enough goals to push the payload well past 1KB
+        for (int i = 0; i < 20; i++) {
+            saveGoal("Goal " + i, "Keep showing up every day and track the progress in the journal");
+        }
+
+        // When
+        final HttpResponse<byte[]> response = get("/api/goals/user/" + testUser.getId(), HttpClient.Version.HTTP_1_1);
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        final String json = gunzip(response.body());
+        assertThat(json).contains("\"title\":\"Goal 19\"");
+        assertThat(response.body().length).isLessThan(json.length() / 2);
+    }
+
+    @Test
+    @DisplayName("Should not compress responses below the size threshold")
+    void shouldNotCompressSmallResponses() throws Exception {
+        // Given
+        saveGoal("Only goal", "Short");
+
+        // When
+        final HttpResponse<byte[]> response = get("/api/goals/user/" + testUser.getId() + "/count", HttpClient.Version.HTTP_1_1);
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(new String(response.body())).contains("\"count\":1");
+    }
+
+    @Test
+    @DisplayName("Should upgrade cleartext connections to HTTP/2 (h2c)")
+    void shouldUpgradeToH2c() throws Exception {
+        // When
+        final HttpResponse<byte[]> response = get("/api/goals/user/" + testUser.getId(), HttpClient.Version.HTTP_2);
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.version()).isEqualTo(HttpClient.Version.HTTP_2);
+    }
+
+    private void saveGoal(final String title, final String description) {
+        final Goal goal = new Goal();
+        goal.setTitle(title);
+        goal.setDescription(description);
+        goal.setStartDate(LocalDate.of(2025, 1, 1));
+        goal.setEndDate(LocalDate.of(2025, 12, 31));
+        goal.setStatus(GoalStatus.IN_PROGRESS);
+        goal.setUser(testUser);
+        goalRepository.save(goal);
+    }
+
+    private HttpResponse<byte[]> get(final String path, final HttpClient.Version version)
+            throws IOException, InterruptedException {
+        final HttpClient client = HttpClient.newBuilder().version(version).build();
+        final HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private String gunzip(final byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.goalsmanager.config;
+
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the portable migrations on H2 in PostgreSQL mode and lets Hibernate validate the
+ * result against the entities. PostgreSQL-only scripts are checked statically.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrationtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/{vendor}",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@DisplayName("Schema Migration Tests")
+class SchemaMigrationTest {
+
+    private static final Pattern CREATE_INDEX = Pattern.compile("CREATE\\s+(UNIQUE\\s+)?INDEX\\s+(\\w+\\s+)*?(\\w+)\\s+ON",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern PARTITIONED = Pattern.compile("PARTITION\\s+BY", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ON_PARENT_ONLY = Pattern.compile("\\sON\\s+ONLY\\s", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Should apply the common migrations and match the entity model")
+    void shouldApplyCommonMigrations() {
+        // Then - the context only starts if Hibernate validated the migrated schema
+        final List<String> versions = jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"success\" ORDER BY \"installed_rank\"", String.class);
+        assertThat(versions).contains("1");
+    }
+
+    @Test
+    @DisplayName("Should build PostgreSQL indexes concurrently outside a transaction")
+    void shouldBuildIndexesConcurrently() throws IOException {
+        // Given
+        final Resource[] scripts = resources("classpath:db/migration/postgresql/*.sql");
+
+        // Then - scripts indexing existing tables build concurrently; a partitioned table's index is
+        // created on the parent alone and its partitions' copies are built concurrently by the application
+        for (final Resource script : scripts) {
+            final String sql = read(script);
+            if (!CREATE_INDEX.matcher(sql).find() || PARTITIONED.matcher(sql).find()) {
+                continue;
+            }
+            assertThat(sql.lines().filter(line -> line.matches("(?i)\\s*CREATE\\s+(UNIQUE\\s+)?INDEX.*"))
+                    .filter(line -> !ON_PARENT_ONLY.matcher(line).find()))
+                    .as(script.getFilename())
+                    .allMatch(line -> line.toUpperCase().contains("CONCURRENTLY"));
+            final Resource conf = script.createRelative(script.getFilename() + ".conf");
+            assertThat(conf.exists()).as(script.getFilename() + ".conf").isTrue();
+            assertThat(read(conf)).contains("executeInTransaction=false");
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the partitioned tasks table compatible with the entity")
+    void shouldPartitionTasksCompatibly() throws IOException {
+        // Given
+        final String sql = read(resources("classpath:db/migration/postgresql/V3__partition_tasks_by_month.sql")[0]);
+
+        // Then - unique keys include the partition key and ids still come from a column default
+        assertThat(sql).contains("PARTITION BY RANGE (date)")
+                .contains("PRIMARY KEY (id, date)")
+                .contains("CONSTRAINT uk_task_habit_date UNIQUE (habit_id, date)")
+                .contains("PARTITION OF tasks DEFAULT")
+                .contains("SET DEFAULT nextval('tasks_id_seq')");
+    }
+
+    @Test
+    @DisplayName("Should create every index declared on the entities in a migration")
+    void shouldMigrateEveryEntityIndex() throws IOException {
+        // Given
+        final List<String> migrated = new ArrayList<>();
+        for (final Resource script : resources("classpath:db/migration/**/*.sql")) {
+            final Matcher matcher = CREATE_INDEX.matcher(read(script));
+            while (matcher.find()) {
+                migrated.add(matcher.group(3).toLowerCase());
+            }
+        }
+
+        // Then
+        for (final EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            final Table table = entity.getJavaType().getAnnotation(Table.class);
+            for (final jakarta.persistence.Index index : table.indexes()) {
+                assertThat(migrated).as(entity.getName()).contains(index.name().toLowerCase());
+            }
+        }
+    }
+
+    private static Resource[] resources(final String pattern) throws IOException {
+        return new PathMatchingResourcePatternResolver().getResources(pattern);
+    }
+
+    private static String read(final Resource resource) throws IOException {
+        return resource.getContentAsString(StandardCharsets.UTF_8);
+    }
+}
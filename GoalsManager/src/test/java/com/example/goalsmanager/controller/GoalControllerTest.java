@@ -230,6 +230,36 @@ class GoalControllerTest {
                 .andExpect(jsonPath("$.status").value("COMPLETED"));
     }
 
+    @Test
+    @DisplayName("PATCH /api/goals/{id}/status - Should return 400 for invalid status")
+    void shouldReturn400ForInvalidStatusTest() throws Exception {
+        // Given
+        Map<String, String> statusUpdate = new HashMap<>();
+        statusUpdate.put("status", "FINISHED");
+
+        // When & Then
+        mockMvc.perform(patch("/api/goals/{id}/status", testGoal.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statusUpdate)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid status value"));
+    }
+
+    @Test
+    @DisplayName("PUT /api/goals/{id} - Should return 400 when dates are invalid")
+    void shouldReturn400WhenUpdatingWithInvalidDatesTest() throws Exception {
+        // Given
+        UpdateGoalRequest request = new UpdateGoalRequest();
+        request.setEndDate(LocalDate.of(2024, 1, 1)); // Before the goal's start date
+
+        // When & Then
+        mockMvc.perform(put("/api/goals/{id}", testGoal.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("End date must be after start date"));
+    }
+
     @Test
     @DisplayName("DELETE /api/goals/{id} - Should delete goal successfully")
     void shouldDeleteGoalSuccessfullyTest() throws Exception {
@@ -5,9 +5,11 @@ import com.example.goalsmanager.dto.UpdateHabitRequest;
 import com.example.goalsmanager.goalutils.GoalStatus;
 import com.example.goalsmanager.model.Goal;
 import com.example.goalsmanager.model.Habit;
+import com.example.goalsmanager.model.Task;
 import com.example.goalsmanager.model.User;
 import com.example.goalsmanager.repository.GoalRepository;
 import com.example.goalsmanager.repository.HabitRepository;
+import com.example.goalsmanager.repository.TaskRepository;
 import com.example.goalsmanager.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -41,6 +43,9 @@ class HabitControllerTest {
     @Autowired
     private HabitRepository habitRepository;
 
+    @Autowired
+    private TaskRepository taskRepository;
+
     @Autowired
     private GoalRepository goalRepository;
 
@@ -313,5 +318,31 @@ class HabitControllerTest {
                 .andExpect(jsonPath("$.name").value("Morning Run")) // Unchanged
                 .andExpect(jsonPath("$.daysOfWeek").value("Mon,Wed,Fri")); // Unchanged
     }
-}
 
+    @Test
+    @DisplayName("GET /api/habits/{id}/stats - Should report streaks and completion rate from toggled tasks")
+    void shouldGetHabitStatsTest() throws Exception {
+        // Given - Mon 3 to Fri 7 March: the week view generates three tasks, two get completed
+        mockMvc.perform(get("/api/tasks/user/{userId}/week", testUser.getId())
+                        .param("startDate", "2025-03-03")
+                        .param("endDate", "2025-03-09"))
+                .andExpect(status().isOk());
+        for (Task task : taskRepository.findByHabitId(testHabit.getId())) {
+            if (!task.getDate().equals(LocalDate.of(2025, 3, 3))) {
+                mockMvc.perform(patch("/api/tasks/{id}/toggle", task.getId())).andExpect(status().isOk());
+            }
+        }
+
+        // When & Then
+        mockMvc.perform(get("/api/habits/{id}/stats", testHabit.getId())
+                        .param("startDate", "2025-03-01")
+                        .param("endDate", "2025-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currentStreak").value(2))
+                .andExpect(jsonPath("$.longestStreak").value(2))
+                .andExpect(jsonPath("$.totalTasks").value(3))
+                .andExpect(jsonPath("$.completedTasks").value(2));
+        mockMvc.perform(get("/api/habits/{id}", testHabit.getId()))
+                .andExpect(jsonPath("$.streakStatus").value(2));
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.goalsmanager.controller;
+
+import com.example.goalsmanager.goalutils.GoalStatus;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.repository.GoalRepository;
+import com.example.goalsmanager.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@Transactional
+@DisplayName("Image Controller Integration Tests")
+class ImageControllerTest {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Goal goal;
+
+    @BeforeEach
+    void setUp() {
+        final User user = new User();
+        user.setProvider("github");
+        user.setProviderId("4242");
+        user.setUsername("painter");
+        userRepository.save(user);
+
+        goal = new Goal();
+        goal.setTitle("Paint every day");
+        goal.setStartDate(LocalDate.of(2025, 1, 1));
+        goal.setEndDate(LocalDate.of(2025, 12, 31));
+        goal.setStatus(GoalStatus.IN_PROGRESS);
+        goal.setUser(user);
+        goalRepository.save(goal);
+    }
+
+    @Test
+    @DisplayName("Should store an upload by content hash and serve it with long-lived cache headers")
+    void shouldUploadAndServeImage() throws Exception {
+        // Given
+        final byte[] image = png(1000, 1);
+
+        // When
+        final String url = upload(image);
+        final String again = upload(image);
+
+        // Then - the same bytes get the same address
+        assertThat(url).matches("/api/images/[0-9a-f]{64}\\.png");
+        assertThat(again).isEqualTo(url);
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(image))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, image.length))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + url.substring(url.lastIndexOf('/') + 1) + "\""))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"));
+    }
+
+    @Test
+    @DisplayName("Should answer byte ranges, unsatisfiable ranges and conditional requests")
+    void shouldServeRanges() throws Exception {
+        // Given
+        final byte[] image = png(1000, 2);
+        final String url = upload(image);
+        final String etag = "\"" + url.substring(url.lastIndexOf('/') + 1) + "\"";
+
+        // When / Then
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=10-19"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/1000"))
+                .andExpect(content().bytes(Arrays.copyOfRange(image, 10, 20)));
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(image, 995, 1000)));
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=5000-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */1000"));
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=10-19").header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(image));
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Should hand large images to Tomcat's sendfile instead of copying them")
+    void shouldUseSendfile() throws Exception {
+        // Given
+        final byte[] image = png((int) ImageController.SENDFILE_MIN_BYTES * 2, 3);
+        final String url = upload(image);
+
+        // When
+        final MvcResult result = mockMvc.perform(get(url)
+                        .requestAttr(ImageController.SENDFILE_SUPPORT, Boolean.TRUE)
+                        .header(HttpHeaders.RANGE, "bytes=100-"))
+                .andExpect(status().isPartialContent())
+                .andReturn();
+
+        // Then - the connector writes the body, the handler only names the file range
+        assertThat(result.getResponse().getContentAsByteArray()).isEmpty();
+        assertThat(result.getResponse().getContentLengthLong()).isEqualTo(image.length - 100L);
+        assertThat((String) result.getRequest().getAttribute(ImageController.SENDFILE_FILENAME)).endsWith(url.substring(url.lastIndexOf('/') + 1));
+        assertThat(result.getRequest().getAttribute(ImageController.SENDFILE_START)).isEqualTo(100L);
+        assertThat(result.getRequest().getAttribute(ImageController.SENDFILE_END)).isEqualTo((long) image.length);
+    }
+
+    @Test
+    @DisplayName("Should serve the requested thumbnail size once it has been made")
+    void shouldServeThumbnails() throws Exception {
+        // Given
+        final BufferedImage source = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        final ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(source, "png", png);
+        final String url = upload(png.toByteArray());
+
+        // When - until the worker is done, the full image comes back without long caching
+        MvcResult result = mockMvc.perform(get(url).param("size", "card")).andReturn();
+        for (int attempt = 0; attempt < 300 && "no-cache".equals(result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)); attempt++) {
+            Thread.sleep(100);
+            result = mockMvc.perform(get(url).param("size", "card")).andReturn();
+        }
+
+        // Then
+        assertThat(result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).endsWith("-card.png\"");
+        final BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()));
+        assertThat(thumbnail.getWidth()).isEqualTo(320);
+        assertThat(thumbnail.getHeight()).isEqualTo(240);
+        mockMvc.perform(get(url).param("size", "huge"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should reject non-images and answer 404 for unknown or malformed keys")
+    void shouldRejectInvalidImages() throws Exception {
+        mockMvc.perform(multipart("/api/goals/{id}/image", goal.getId())
+                        .file(new MockMultipartFile("file", "notes.txt", "image/png", "not an image".getBytes())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("PNG")));
+        mockMvc.perform(multipart("/api/goals/{id}/image", 999_999L)
+                        .file(new MockMultipartFile("file", "a.png", "image/png", png(100, 4))))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/images/{key}", "0".repeat(64) + ".png"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/images/{key}", "..%2F..%2Fapplication.properties"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String upload(final byte[] image) throws Exception {
+        final MvcResult result = mockMvc.perform(multipart("/api/goals/{id}/image", goal.getId())
+                        .file(new MockMultipartFile("file", "image.png", "image/png", image)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(goal.getId()))
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("imageUrl").asText();
+    }
+
+    /**
+     * PNG signature followed by random bytes; the storage only checks the signature
+     */
+    private static byte[] png(final int size, final long seed) {
+        final byte[] image = new byte[size];
+        new Random(seed).nextBytes(image);
+        System.arraycopy(PNG_SIGNATURE, 0, image, 0, PNG_SIGNATURE.length);
+        return image;
+    }
+}
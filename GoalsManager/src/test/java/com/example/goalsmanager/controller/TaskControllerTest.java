@@ -3,6 +3,7 @@ package com.example.goalsmanager.controller;
 import com.example.goalsmanager.dto.CreateTaskRequest;
 import com.example.goalsmanager.dto.UpdateTaskRequest;
 import com.example.goalsmanager.goalutils.GoalStatus;
+import com.example.goalsmanager.jobs.HabitBitmapBackfill;
 import com.example.goalsmanager.model.Goal;
 import com.example.goalsmanager.model.Habit;
 import com.example.goalsmanager.model.Task;
@@ -11,6 +12,7 @@ import com.example.goalsmanager.repository.GoalRepository;
 import com.example.goalsmanager.repository.HabitRepository;
 import com.example.goalsmanager.repository.TaskRepository;
 import com.example.goalsmanager.repository.UserRepository;
+import com.example.goalsmanager.service.UserStatsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -52,6 +54,12 @@ class TaskControllerTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private HabitBitmapBackfill habitBitmapBackfill;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
     private User testUser;
     private Goal testGoal;
     private Habit testHabit;
@@ -104,6 +112,11 @@ class TaskControllerTest {
         testTask.setHabit(testHabit);
         testTask.setUser(testUser);
         testTask = taskRepository.save(testTask);
+
+        // Existing habits have their bitmaps stored at startup
+        habitBitmapBackfill.backfill();
+        // and their stats rows since their first write
+        userStatsService.reconcile(testUser.getId());
     }
 
     @Test
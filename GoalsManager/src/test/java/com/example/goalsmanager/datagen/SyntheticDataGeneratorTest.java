@@ -0,0 +1,141 @@
+package com.example.goalsmanager.datagen;
+
+import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:datagentest")
+@DisplayName("Synthetic Data Generator Tests")
+class SyntheticDataGeneratorTest {
+
+    private static final DatasetSpec SPEC = DatasetSpec.small().withUsers(40);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        for (final String table : new String[]{"habit_daily_rollups", "goal_daily_rollups", "tasks", "notes", "habits", "goals", "users"}) {
+            jdbcTemplate.execute("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    @DisplayName("Should write the reported number of rows with valid references")
+    void shouldWriteConsistentDataset() throws SQLException {
+        // When
+        final GeneratedDataset dataset = generate(SPEC);
+
+        // Then
+        assertThat(count("users")).isEqualTo(dataset.users()).isEqualTo(40);
+        assertThat(count("goals")).isEqualTo(dataset.goals()).isGreaterThanOrEqualTo(40);
+        assertThat(count("habits")).isEqualTo(dataset.habits()).isGreaterThanOrEqualTo(dataset.goals());
+        assertThat(count("notes")).isEqualTo(dataset.notes());
+        assertThat(count("tasks")).isEqualTo(dataset.tasks()).isPositive();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM habits h JOIN goals g ON g.id = h.goal_id "
+                + "WHERE g.user_id <> h.user_id", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks t JOIN habits h ON h.id = t.habit_id "
+                + "WHERE h.user_id <> t.user_id OR t.date < h.start_date OR t.completed AND t.date > ?",
+                Long.class, LocalDate.now())).isZero();
+    }
+
+    @Test
+    @DisplayName("Should write rollups and goal progress that match the tasks")
+    void shouldWriteMatchingRollupsAndProgress() throws SQLException {
+        // When
+        final GeneratedDataset dataset = generate(SPEC);
+
+        // Then
+        assertThat(count("habit_daily_rollups")).isEqualTo(dataset.tasks());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM habit_daily_rollups r JOIN tasks t "
+                + "ON t.habit_id = r.habit_id AND t.date = r.date WHERE r.completed <> CASE WHEN t.completed THEN 1 ELSE 0 END",
+                Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM goal_daily_rollups r WHERE r.scheduled <> "
+                + "(SELECT COUNT(*) FROM tasks t JOIN habits h ON h.id = t.habit_id WHERE h.goal_id = r.goal_id AND t.date = r.date) "
+                + "OR r.completed <> (SELECT COUNT(*) FROM tasks t JOIN habits h ON h.id = t.habit_id "
+                + "WHERE h.goal_id = r.goal_id AND t.date = r.date AND t.completed)", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(scheduled) FROM goal_daily_rollups", Long.class))
+                .isEqualTo(dataset.tasks());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM goals g WHERE g.scheduled_tasks <> "
+                + "(SELECT COUNT(*) FROM tasks t JOIN habits h ON h.id = t.habit_id WHERE h.goal_id = g.id AND t.date <= g.progress_date) "
+                + "OR g.completed_tasks <> (SELECT COUNT(*) FROM tasks t JOIN habits h ON h.id = t.habit_id "
+                + "WHERE h.goal_id = g.id AND t.date <= g.progress_date AND t.completed)", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(completed_tasks) FROM goals", Long.class)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should produce the same dataset for the same seed")
+    void shouldBeDeterministic() throws SQLException {
+        // Given
+        final GeneratedDataset first = generate(SPEC);
+        final long completed = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE completed", Long.class);
+        tearDown();
+
+        // When
+        final GeneratedDataset second = generate(SPEC);
+
+        // Then
+        assertThat(second.tasks()).isEqualTo(first.tasks());
+        assertThat(second.habits()).isEqualTo(first.habits());
+        assertThat(second.currentWeekTaskIds()).containsExactly(first.currentWeekTaskIds());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE completed", Long.class))
+                .isEqualTo(completed);
+    }
+
+    @Test
+    @DisplayName("Should sample current-week tasks and store matching streaks")
+    void shouldSampleCurrentWeekAndStoreStreaks() throws SQLException {
+        // When
+        final GeneratedDataset dataset = generate(SPEC);
+
+        // Then
+        assertThat(dataset.currentWeekTaskIds()).isNotEmpty();
+        for (final long taskId : dataset.currentWeekTaskIds()) {
+            final LocalDate date = jdbcTemplate.queryForObject("SELECT date FROM tasks WHERE id = ?", LocalDate.class, taskId);
+            assertThat(date).isAfterOrEqualTo(dataset.weekStart());
+        }
+        final long longStreaks = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM habits WHERE streak_status > 0", Long.class);
+        assertThat(longStreaks).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should continue identity columns after the generated ids")
+    void shouldRestartIdentityColumns() throws SQLException {
+        // Given
+        generate(SPEC);
+
+        // When
+        final User user = userRepository.save(new User("github", "after-seed", "afterseed", "after@example.com"));
+
+        // Then
+        assertThat(user.getId()).isEqualTo(41L);
+    }
+
+    private GeneratedDataset generate(final DatasetSpec spec) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return new SyntheticDataGenerator(spec).generate(connection);
+        }
+    }
+
+    private long count(final String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
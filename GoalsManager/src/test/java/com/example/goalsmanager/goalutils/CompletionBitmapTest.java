@@ -0,0 +1,100 @@
+package com.example.goalsmanager.goalutils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Completion Bitmap Tests")
+class CompletionBitmapTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    @Test
+    @DisplayName("Should count the current streak only over days with a task")
+    void shouldCountCurrentStreakOverTaskDays() {
+        // Given - Mon missed, Wed and Fri done, weekend without tasks
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+        bitmap.set(MONDAY, false);
+        bitmap.set(MONDAY.plusDays(2), true);
+        bitmap.set(MONDAY.plusDays(4), true);
+
+        // When & Then
+        assertThat(bitmap.currentStreak(MONDAY.plusDays(6))).isEqualTo(2);
+        assertThat(bitmap.currentStreak(MONDAY.plusDays(3))).isEqualTo(1);
+        assertThat(bitmap.currentStreak(MONDAY)).isZero();
+        assertThat(bitmap.currentStreak(MONDAY.minusDays(1))).isZero();
+    }
+
+    @Test
+    @DisplayName("Should ignore future tasks when counting streaks")
+    void shouldIgnoreFutureTasks() {
+        // Given
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+        bitmap.set(MONDAY, true);
+        bitmap.set(MONDAY.plusDays(1), true);
+        bitmap.set(MONDAY.plusDays(7), false);
+
+        // When & Then
+        assertThat(bitmap.currentStreak(MONDAY.plusDays(2))).isEqualTo(2);
+        assertThat(bitmap.longestStreak(MONDAY.plusDays(2))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should find the longest run between misses")
+    void shouldFindLongestStreak() {
+        // Given - 3 done, miss, 4 done, miss, 1 done
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+        boolean[] days = {true, true, true, false, true, true, true, true, false, true};
+        for (int i = 0; i < days.length; i++) {
+            bitmap.set(MONDAY.plusDays(i), days[i]);
+        }
+
+        // When & Then
+        assertThat(bitmap.longestStreak(MONDAY.plusDays(20))).isEqualTo(4);
+        assertThat(bitmap.currentStreak(MONDAY.plusDays(20))).isEqualTo(1);
+        assertThat(bitmap.longestStreak(MONDAY.plusDays(2))).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should compute completion rates and heatmaps for any window")
+    void shouldComputeWindowStats() {
+        // Given
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+        bitmap.set(MONDAY, true);
+        bitmap.set(MONDAY.plusDays(2), false);
+        bitmap.set(MONDAY.plusDays(4), true);
+
+        // When & Then
+        assertThat(bitmap.taskCount(MONDAY.minusDays(10), MONDAY.plusDays(10))).isEqualTo(3);
+        assertThat(bitmap.completionRate(MONDAY.plusDays(1), MONDAY.plusDays(4))).isEqualTo(0.5);
+        assertThat(bitmap.completionRate(MONDAY.plusDays(5), MONDAY.plusDays(9))).isZero();
+        assertThat(bitmap.heatmap(MONDAY.minusDays(1), MONDAY.plusDays(5))).containsExactly(
+                CompletionBitmap.NO_TASK, CompletionBitmap.COMPLETED, CompletionBitmap.NO_TASK,
+                CompletionBitmap.PENDING, CompletionBitmap.NO_TASK, CompletionBitmap.COMPLETED,
+                CompletionBitmap.NO_TASK);
+    }
+
+    @Test
+    @DisplayName("Should move the origin back for earlier dates and survive a round trip")
+    void shouldExtendBackwardsAndRoundTrip() {
+        // Given
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+        bitmap.set(MONDAY, true);
+        bitmap.set(MONDAY.minusDays(40), true);
+        bitmap.set(MONDAY.plusDays(1), false);
+        bitmap.clear(MONDAY.plusDays(1));
+
+        // When
+        CompletionBitmap restored = CompletionBitmap.of(bitmap.origin(), bitmap.taskBytes(), bitmap.completedBytes());
+
+        // Then
+        assertThat(restored.origin()).isEqualTo(MONDAY.minusDays(40));
+        assertThat(restored.hasTask(MONDAY.minusDays(40))).isTrue();
+        assertThat(restored.isCompleted(MONDAY)).isTrue();
+        assertThat(restored.hasTask(MONDAY.plusDays(1))).isFalse();
+        assertThat(restored.currentStreak(MONDAY.plusDays(1))).isEqualTo(2);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.goalsmanager.goalutils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Order Statistic Tree Tests")
+class OrderStatisticTreeTest {
+
+    @Test
+    @DisplayName("Should rank, index and page elements like a sorted list")
+    void shouldMatchSortedList() {
+        // Given - random adds and removes mirrored into a TreeSet
+        final OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.reverseOrder());
+        final TreeSet<Integer> expected = new TreeSet<>(Comparator.reverseOrder());
+        final Random random = new Random(42);
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            final int value = random.nextInt(1_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(tree.remove(value)).isEqualTo(expected.remove(value));
+            } else {
+                assertThat(tree.add(value)).isEqualTo(expected.add(value));
+            }
+        }
+
+        // Then
+        final List<Integer> sorted = new ArrayList<>(expected);
+        assertThat(tree.size()).isEqualTo(sorted.size());
+        assertThat(tree.range(0, sorted.size())).isEqualTo(sorted);
+        assertThat(tree.range(10, 25)).isEqualTo(sorted.subList(10, 35));
+        assertThat(tree.range(sorted.size() - 3, 10)).isEqualTo(sorted.subList(sorted.size() - 3, sorted.size()));
+        for (int index = 0; index < sorted.size(); index += 17) {
+            assertThat(tree.get(index)).isEqualTo(sorted.get(index));
+            assertThat(tree.rank(sorted.get(index))).isEqualTo(index);
+        }
+    }
+
+    @Test
+    @DisplayName("Should rank absent values by where they would go")
+    void shouldRankAbsentValues() {
+        // Given
+        final OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        List.of(10, 20, 30).forEach(tree::add);
+
+        // When & Then
+        assertThat(tree.rank(5)).isZero();
+        assertThat(tree.rank(25)).isEqualTo(2);
+        assertThat(tree.rank(99)).isEqualTo(3);
+        assertThat(tree.contains(25)).isFalse();
+        assertThat(tree.range(5, 10)).isEmpty();
+        assertThatThrownBy(() -> tree.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.goalsmanager.goalutils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Text Delta Tests")
+class TextDeltaTest {
+
+    @Test
+    @DisplayName("Should keep only the edited region of a text")
+    void shouldKeepOnlyEditedRegion() {
+        // Given
+        final String before = "Ran 5 km along the river before work.";
+        final String after = "Ran 7.5 km along the river before work.";
+
+        // When
+        final TextDelta delta = TextDelta.between(before, after);
+
+        // Then
+        assertThat(delta.inserted()).isEqualTo("7.");
+        assertThat(delta.applyTo(before)).isEqualTo(after);
+        assertThat(TextDelta.between(after, before).applyTo(after)).isEqualTo(before);
+        assertThat(TextDelta.between(before, before + " Felt great.").inserted()).isEqualTo(" Felt great.");
+        assertThat(TextDelta.between(before, "").applyTo(before)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not overlap prefix and suffix on repeated text")
+    void shouldHandleRepeats() {
+        // Given - "aaa" to "aaaa" matches a prefix of 3 and leaves no room for a suffix
+        final TextDelta grown = TextDelta.between("aaa", "aaaa");
+        final TextDelta shrunk = TextDelta.between("abab", "ab");
+
+        // When & Then
+        assertThat(grown.applyTo("aaa")).isEqualTo("aaaa");
+        assertThat(shrunk.applyTo("abab")).isEqualTo("ab");
+        assertThat(shrunk.inserted()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should never split a surrogate pair")
+    void shouldNotSplitSurrogatePairs() {
+        // Given - two emoji sharing their high surrogate
+        final String before = "Mood: 😀 today";
+        final String after = "Mood: 😢 today";
+
+        // When
+        final TextDelta delta = TextDelta.between(before, after);
+
+        // Then
+        assertThat(delta.inserted()).isEqualTo("😢");
+        assertThat(delta.applyTo(before)).isEqualTo(after);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.goalsmanager.jobs;
+
+import com.example.goalsmanager.fixtures.EntityFixtures;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.Habit;
+import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.repository.HabitBitmapRepository;
+import com.example.goalsmanager.service.HabitBitmapService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@DisplayName("Habit Bitmap Backfill Tests")
+class HabitBitmapBackfillTest {
+
+    @Autowired
+    private HabitBitmapBackfill habitBitmapBackfill;
+
+    @Autowired
+    private HabitBitmapService habitBitmapService;
+
+    @Autowired
+    private HabitBitmapRepository habitBitmapRepository;
+
+    @Autowired
+    private EntityFixtures fixtures;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Should store bitmaps built from the tasks of habits that have none")
+    void shouldBackfillMissingBitmaps() {
+        // Given - a daily habit with a week of tasks, the last three done, written without the bitmap
+        final LocalDate today = LocalDate.now();
+        final User user = fixtures.saveUser("backfill", "1");
+        final Goal goal = fixtures.saveGoal(user, "Stretch", null, today.minusDays(6));
+        final Habit habit = fixtures.saveHabit(goal, user, "Stretch");
+        fixtures.saveTasksWithoutBitmap(habit, 7, day -> day >= 4);
+        entityManager.flush();
+
+        // When
+        final int stored = habitBitmapBackfill.backfill();
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then - a second run has nothing left to do
+        assertThat(stored).isEqualTo(1);
+        assertThat(habitBitmapRepository.findById(habit.getId())).isPresent();
+        assertThat(habitBitmapService.getBitmap(habit.getId()).currentStreak(today)).isEqualTo(3);
+        assertThat(habitBitmapBackfill.backfill()).isZero();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.goalsmanager.jobs;
+
+import com.example.goalsmanager.fixtures.EntityFixtures;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.Habit;
+import com.example.goalsmanager.model.Note;
+import com.example.goalsmanager.model.TaskArchive;
+import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.repository.NoteRepository;
+import com.example.goalsmanager.repository.TaskArchiveRepository;
+import com.example.goalsmanager.repository.TaskRepository;
+import com.example.goalsmanager.service.GoalService;
+import com.example.goalsmanager.service.HabitService;
+import com.example.goalsmanager.service.NoteService;
+import com.example.goalsmanager.service.TaskService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@DisplayName("Soft Delete Purger Tests")
+class SoftDeletePurgerTest {
+
+    private static final LocalDate START = EntityFixtures.START;
+    private static final int TASKS_PER_HABIT = 20;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private HabitService habitService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private EntityFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskArchiveRepository taskArchiveRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    private SoftDeletePurgeProperties properties;
+    private Habit keptHabit;
+
+    @BeforeEach
+    void setUp() {
+        final User user = fixtures.saveUser("purger", "1");
+
+        // Given - a deleted goal with a habit, an archive and a note
+        final Goal deletedGoal = fixtures.saveGoal(user, "Old Goal");
+        final Habit deletedGoalHabit = saveHabit(deletedGoal, user, "Old Habit");
+        final TaskArchive archive = new TaskArchive(LocalDate.of(2023, 12, 1), deletedGoalHabit, user);
+        archive.setName("Old Habit");
+        archive.setScheduledDays(0b11);
+        archive.setCompletedDays(0b01);
+        taskArchiveRepository.save(archive);
+        noteRepository.save(new Note("Gave up", deletedGoal));
+
+        // A kept goal with a deleted habit, a deleted task and a deleted note
+        final Goal keptGoal = fixtures.saveGoal(user, "Kept Goal");
+        keptHabit = saveHabit(keptGoal, user, "Kept Habit");
+        final Habit deletedHabit = saveHabit(keptGoal, user, "Dropped Habit");
+        final Note deletedNote = noteRepository.save(new Note("Typo", keptGoal));
+        noteRepository.save(new Note("Week one done", keptGoal));
+
+        goalService.deleteGoal(deletedGoal.getId());
+        habitService.deleteHabit(deletedHabit.getId());
+        taskService.deleteTask(taskRepository.findByHabitId(keptHabit.getId()).get(0).getId());
+        noteService.deleteNote(deletedNote.getId());
+        entityManager.flush();
+
+        properties = new SoftDeletePurgeProperties();
+        properties.setBatchSize(7);
+        properties.setPause(Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should delete soft-deleted rows and everything under them in batches")
+    void shouldPurgeSoftDeletedRows() {
+        // When
+        final long purged = new SoftDeletePurger(jdbcTemplate, properties).purge();
+
+        // Then - two habits with their tasks, the single task, the archive, two notes and the goal
+        assertThat(purged).isEqualTo(2L * TASKS_PER_HABIT + 2 + 1 + 1 + 2 + 1);
+        assertThat(fixtures.rows("goals")).isEqualTo(1);
+        assertThat(fixtures.rows("habits")).isEqualTo(1);
+        assertThat(fixtures.rows("tasks")).isEqualTo(TASKS_PER_HABIT - 1);
+        assertThat(fixtures.rows("task_archives")).isZero();
+        assertThat(fixtures.rows("notes")).isEqualTo(1);
+        assertThat(fixtures.rows("habit_bitmaps")).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tasks WHERE deleted_at IS NOT NULL", Long.class))
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Should stop once max-duration has passed and leave the rest for the next run")
+    void shouldStopAtMaxDuration() {
+        // Given
+        properties.setMaxDuration(Duration.ZERO);
+
+        // When
+        final long purged = new SoftDeletePurger(jdbcTemplate, properties).purge();
+
+        // Then
+        assertThat(purged).isZero();
+        assertThat(fixtures.rows("tasks")).isEqualTo(3L * TASKS_PER_HABIT);
+    }
+
+    @Test
+    @DisplayName("Should bring back a soft-deleted task when its day is generated again")
+    void shouldRestoreSoftDeletedTaskOnGeneration() {
+        // When
+        taskService.getTasksByUserIdAndDateRange(keptHabit.getUser().getId(), START, START.plusDays(6));
+
+        // Then
+        assertThat(taskRepository.findByHabitId(keptHabit.getId())).hasSize(TASKS_PER_HABIT);
+        assertThat(taskRepository.findDeletedByHabitIdAndDate(keptHabit.getId(), START)).contains(false);
+        assertThat(fixtures.rows("tasks")).isEqualTo(3L * TASKS_PER_HABIT);
+    }
+
+    /**
+     * A daily habit with TASKS_PER_HABIT open tasks and a stored bitmap
+     */
+    private Habit saveHabit(final Goal goal, final User user, final String name) {
+        final Habit habit = fixtures.saveHabit(goal, user, name);
+        fixtures.saveTasks(habit, TASKS_PER_HABIT, day -> false);
+        return habit;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.goalsmanager.jobs;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Task Partition Maintenance Tests")
+class TaskPartitionMaintenanceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private TaskPartitioningProperties properties;
+    private TaskPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TaskPartitioningProperties();
+        final Clock clock = Clock.fixed(Instant.parse("2025-10-15T03:15:00Z"), ZoneOffset.UTC);
+        maintenance = new TaskPartitionMaintenance(jdbcTemplate, properties, clock);
+    }
+
+    @Test
+    @DisplayName("Should do nothing on databases other than PostgreSQL")
+    @SuppressWarnings("unchecked")
+    void shouldSkipOtherDatabases() {
+        // Given
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+        // When
+        maintenance.maintain();
+
+        // Then
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Integer.class));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when tasks has not been partitioned yet")
+    @SuppressWarnings("unchecked")
+    void shouldSkipUnpartitionedTable() {
+        // Given
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Integer.class))).thenReturn(0);
+
+        // When
+        maintenance.maintain();
+
+        // Then
+        verify(jdbcTemplate, never()).queryForObject(contains("create_task_partitions"), eq(Integer.class), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should create partitions through months-ahead without detaching by default")
+    @SuppressWarnings("unchecked")
+    void shouldCreatePartitionsAhead() {
+        // Given
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Integer.class))).thenReturn(1);
+        when(jdbcTemplate.queryForObject(contains("create_task_partitions"), eq(Integer.class), any(), any()))
+                .thenReturn(1);
+
+        // When
+        maintenance.maintain();
+
+        // Then
+        verify(jdbcTemplate).queryForObject("SELECT create_task_partitions(?, ?)", Integer.class,
+                Date.valueOf(LocalDate.of(2025, 10, 15)), Date.valueOf(LocalDate.of(2026, 1, 1)));
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Should detach monthly partitions that ended before the retention cutoff")
+    @SuppressWarnings("unchecked")
+    void shouldDetachOldPartitions() {
+        // Given
+        properties.setDetachAfterMonths(12);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Integer.class))).thenReturn(1);
+        when(jdbcTemplate.queryForObject(contains("create_task_partitions"), eq(Integer.class), any(), any()))
+                .thenReturn(0);
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class))).thenReturn(
+                List.of("tasks_p202410", "tasks_default", "tasks_p202409", "tasks_p202411", "tasks_p202510"));
+
+        // When
+        maintenance.maintain();
+
+        // Then
+        verify(jdbcTemplate).execute("ALTER TABLE tasks DETACH PARTITION tasks_p202409");
+        verify(jdbcTemplate, times(1)).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Should build the partitions' copies of an ON ONLY index concurrently and attach them")
+    @SuppressWarnings("unchecked")
+    void shouldIndexPartitionsConcurrently() throws SQLException {
+        // Given - V8's index created on the parent alone, with two partitions still missing it
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Integer.class))).thenReturn(1);
+        when(jdbcTemplate.queryForObject(contains("create_task_partitions"), eq(Integer.class), any(), any()))
+                .thenReturn(0);
+        final ResultSet rows = mock(ResultSet.class);
+        when(rows.getString("parent_index")).thenReturn("idx_task_deleted");
+        when(rows.getString("partition")).thenReturn("tasks_default", "tasks_p202510");
+        when(rows.getString("definition")).thenReturn(
+                "CREATE INDEX idx_task_deleted ON ONLY public.tasks USING btree (id, date) WHERE (deleted_at IS NOT NULL)");
+        when(jdbcTemplate.query(contains("indisvalid"), any(RowMapper.class))).thenAnswer(invocation -> {
+            final RowMapper<Object> mapper = invocation.getArgument(1);
+            return List.of(mapper.mapRow(rows, 0), mapper.mapRow(rows, 1));
+        });
+
+        // When
+        maintenance.maintain();
+
+        // Then
+        final InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("DROP INDEX CONCURRENTLY IF EXISTS tasks_default_idx_task_deleted");
+        inOrder.verify(jdbcTemplate).execute("CREATE INDEX CONCURRENTLY tasks_default_idx_task_deleted ON tasks_default "
+                + "USING btree (id, date) WHERE (deleted_at IS NOT NULL)");
+        inOrder.verify(jdbcTemplate).execute("ALTER INDEX idx_task_deleted ATTACH PARTITION tasks_default_idx_task_deleted");
+        inOrder.verify(jdbcTemplate).execute("CREATE INDEX CONCURRENTLY tasks_p202510_idx_task_deleted ON tasks_p202510 "
+                + "USING btree (id, date) WHERE (deleted_at IS NOT NULL)");
+        inOrder.verify(jdbcTemplate).execute("ALTER INDEX idx_task_deleted ATTACH PARTITION tasks_p202510_idx_task_deleted");
+    }
+
+    @Test
+    @DisplayName("Should name partitions after the month they hold")
+    void shouldRoundTripPartitionNames() {
+        // When
+        final String name = TaskPartitions.name(YearMonth.of(2026, 3));
+
+        // Then
+        assertThat(name).isEqualTo("tasks_p202603");
+        assertThat(TaskPartitions.month(name)).contains(YearMonth.of(2026, 3));
+        assertThat(TaskPartitions.month("tasks_default")).isEmpty();
+        assertThat(TaskPartitions.month("tasks_p202613")).isEmpty();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.goalsmanager.metrics;
+
+import com.example.goalsmanager.goalutils.GoalStatus;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.Habit;
+import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.repository.GoalRepository;
+import com.example.goalsmanager.repository.HabitRepository;
+import com.example.goalsmanager.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metricstest")
+@AutoConfigureMockMvc(addFilters = false)
+@AutoConfigureObservability
+@Transactional
+@DisplayName("Metrics Endpoint Tests")
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setProvider("github");
+        testUser.setProviderId("12345");
+        testUser.setUsername("testuser");
+        testUser.setEmail("test@example.com");
+        testUser = userRepository.save(testUser);
+
+        Goal goal = new Goal();
+        goal.setTitle("Get Fit");
+        goal.setStartDate(LocalDate.of(2025, 1, 1));
+        goal.setEndDate(LocalDate.of(2025, 12, 31));
+        goal.setStatus(GoalStatus.IN_PROGRESS);
+        goal.setUser(testUser);
+        goal = goalRepository.save(goal);
+
+        Habit habit = new Habit();
+        habit.setName("Morning Run");
+        habit.setDaysOfWeek("Mon,Wed,Fri");
+        habit.setStartDate(LocalDate.of(2025, 1, 1));
+        habit.setEndDate(LocalDate.of(2025, 12, 31));
+        habit.setGoal(goal);
+        habit.setUser(testUser);
+        habitRepository.save(habit);
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus - Should expose service, repository and domain metrics")
+    void shouldExposeServiceRepositoryAndDomainMetrics() throws Exception {
+        // Given - a week view request that generates tasks
+        mockMvc.perform(get("/api/tasks/user/{userId}/week", testUser.getId())
+                        .param("startDate", "2025-10-20")
+                        .param("endDate", "2025-10-26"))
+                .andExpect(status().isOk());
+
+        // When
+        final String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertThat(scrape)
+                .containsPattern("goals_service_seconds_count\\{[^}]*class=\"com.example.goalsmanager.service.TaskService\"[^}]*method=\"getTasksByUserIdAndDateRange\"[^}]*} 1")
+                .containsPattern("spring_data_repository_invocations_seconds_count\\{[^}]*repository=\"TaskRepository\"")
+                .containsPattern("goals_tasks_generated_tasks_sum\\{[^}]*} 3.0")
+                .contains("goals_streak_recompute_seconds_count")
+                .contains("goals_streak_rows_scanned_rows_count");
+    }
+}
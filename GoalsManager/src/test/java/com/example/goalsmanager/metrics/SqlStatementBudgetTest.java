@@ -0,0 +1,124 @@
+package com.example.goalsmanager.metrics;
+
+import com.example.goalsmanager.goalutils.GoalStatus;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.repository.GoalRepository;
+import com.example.goalsmanager.repository.UserRepository;
+import com.example.goalsmanager.service.GoalService;
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@Transactional
+@DisplayName("SQL Statement Budget Tests")
+class SqlStatementBudgetTest {
+
+    private static final String GOALS_BY_USER = "GET /api/goals/user/{userId}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private SqlStatementCounter counter;
+
+    @Autowired
+    private SqlStatementBudgetProperties budgetProperties;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        goalRepository.deleteAll();
+        userRepository.deleteAll();
+
+        testUser = new User();
+        testUser.setProvider("github");
+        testUser.setProviderId("12345");
+        testUser.setUsername("testuser");
+        testUser.setEmail("test@example.com");
+        testUser = userRepository.save(testUser);
+
+        for (int i = 0; i < 10; i++) {
+            Goal goal = new Goal();
+            goal.setTitle("Goal " + i);
+            goal.setStartDate(LocalDate.of(2025, 1, 1));
+            goal.setEndDate(LocalDate.of(2025, 12, 31));
+            goal.setStatus(GoalStatus.IN_PROGRESS);
+            goal.setUser(testUser);
+            goalRepository.save(goal);
+        }
+
+        // Start from an empty persistence context so lazy loads in DTO mapping hit the database
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should report the statement count in a response header")
+    void shouldReportStatementCountHeader() throws Exception {
+        // When & Then - existence check, goals query and one load of the shared user
+        mockMvc.perform(get("/api/goals/user/{userId}", testUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementCountHeaderAdvice.HEADER, "3"));
+    }
+
+    @Test
+    @DisplayName("Should fail the request when the endpoint exceeds its budget")
+    void shouldFailWhenBudgetExceeded() {
+        // Given
+        budgetProperties.getEndpoints().put(GOALS_BY_USER, 2);
+
+        try {
+            // When & Then
+            assertThatThrownBy(() -> mockMvc.perform(get("/api/goals/user/{userId}", testUser.getId())))
+                    .isInstanceOf(ServletException.class)
+                    .hasRootCauseInstanceOf(SqlStatementBudgetExceededException.class)
+                    .rootCause()
+                    .hasMessageContaining(GOALS_BY_USER + ": 3 statements, budget 2");
+        } finally {
+            budgetProperties.getEndpoints().remove(GOALS_BY_USER);
+        }
+    }
+
+    @Test
+    @DisplayName("Should count statements around a direct service call")
+    void shouldCountStatementsAroundServiceCall() {
+        // When
+        try (SqlStatementCounter.Scope scope = counter.open()) {
+            goalService.getGoalsByUserId(testUser.getId());
+
+            // Then - mapping ten goals must not issue a query per goal
+            assertThat(scope.count()).isEqualTo(3);
+        }
+    }
+}
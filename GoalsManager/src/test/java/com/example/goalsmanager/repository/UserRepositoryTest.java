@@ -0,0 +1,64 @@
+package com.example.goalsmanager.repository;
+
+import com.example.goalsmanager.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DisplayName("User Repository Tests")
+class UserRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setProvider("github");
+        testUser.setProviderId("12345");
+        testUser.setUsername("TestUser");
+        testUser.setEmail("Test.User@Example.com");
+        testUser.setName("Test User");
+        entityManager.persist(testUser);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should find user by username regardless of case")
+    void shouldFindByUsernameIgnoreCase() {
+        // When / Then
+        assertThat(userRepository.findByUsernameIgnoreCase("testuser")).contains(testUser);
+        assertThat(userRepository.findByUsernameIgnoreCase("TESTUSER")).contains(testUser);
+        assertThat(userRepository.findByUsernameIgnoreCase("otheruser")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should find user by email regardless of case")
+    void shouldFindByEmailIgnoreCase() {
+        // When / Then
+        assertThat(userRepository.findByEmailIgnoreCase("test.user@example.com")).contains(testUser);
+        assertThat(userRepository.findByEmailIgnoreCase("other@example.com")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report usernames and emails taken by other users regardless of case")
+    void shouldFindTakenKeysIgnoreCase() {
+        // When / Then
+        assertThat(userRepository.existsByUsernameIgnoreCaseAndIdNot("TESTUSER", null)).isTrue();
+        assertThat(userRepository.existsByUsernameIgnoreCaseAndIdNot("testuser", testUser.getId())).isFalse();
+        assertThat(userRepository.existsByUsernameIgnoreCaseAndIdNot("otheruser", null)).isFalse();
+        assertThat(userRepository.existsByEmailIgnoreCaseAndIdNot("test.user@example.com", 999_999L)).isTrue();
+        assertThat(userRepository.existsByEmailIgnoreCaseAndIdNot("test.user@example.com", testUser.getId())).isFalse();
+    }
+}
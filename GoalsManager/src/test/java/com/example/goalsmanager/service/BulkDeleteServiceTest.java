@@ -0,0 +1,261 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.dto.TaskDTO;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import com.example.goalsmanager.fixtures.EntityFixtures;
+import com.example.goalsmanager.metrics.SqlStatementCounter;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.Habit;
+import com.example.goalsmanager.model.Note;
+import com.example.goalsmanager.model.TaskArchive;
+import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.repository.GoalRepository;
+import com.example.goalsmanager.repository.HabitRepository;
+import com.example.goalsmanager.repository.NoteRepository;
+import com.example.goalsmanager.repository.TaskArchiveRepository;
+import com.example.goalsmanager.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+@DisplayName("Bulk and Soft Delete Integration Tests")
+class BulkDeleteServiceTest {
+
+    private static final LocalDate START = EntityFixtures.START;
+    private static final int TASKS_PER_HABIT = 60;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private HabitService habitService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private SqlStatementCounter counter;
+
+    @Autowired
+    private EntityFixtures fixtures;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskArchiveRepository taskArchiveRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    private User owner;
+    private User other;
+    private Goal firstGoal;
+    private Goal secondGoal;
+    private Goal otherGoal;
+    private Habit firstHabit;
+    private Habit otherHabitOnFirstGoal;
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.saveUser("owner", "1");
+        other = fixtures.saveUser("other", "2");
+
+        firstGoal = fixtures.saveGoal(owner, "Get Fit");
+        secondGoal = fixtures.saveGoal(owner, "Read More");
+        otherGoal = fixtures.saveGoal(other, "Learn Piano");
+
+        firstHabit = saveHabit(firstGoal, owner, "Run");
+        saveHabit(firstGoal, owner, "Stretch");
+        saveHabit(secondGoal, owner, "Read");
+        // Another user's habit under the owner's goal goes with that goal
+        otherHabitOnFirstGoal = saveHabit(firstGoal, other, "Run Together");
+        saveHabit(otherGoal, other, "Scales");
+
+        noteRepository.save(new Note("Week one done", firstGoal));
+        noteRepository.save(new Note("Bought a book", secondGoal));
+        noteRepository.save(new Note("First lesson", otherGoal));
+
+        final TaskArchive archive = new TaskArchive(LocalDate.of(2023, 12, 1), firstHabit, owner);
+        archive.setName("Run");
+        archive.setScheduledDays(0b111);
+        archive.setCompletedDays(0b011);
+        taskArchiveRepository.save(archive);
+
+        userStatsService.reconcile(owner.getId());
+        userStatsService.reconcile(other.getId());
+    }
+
+    @Test
+    @DisplayName("Should delete a user with everything hanging off them in a fixed number of statements")
+    void shouldDeleteUserInFixedStatements() {
+        // Given - nothing left over from the setup to flush
+        entityManager.flush();
+
+        // When
+        final int statements;
+        try (SqlStatementCounter.Scope scope = counter.open()) {
+            assertThat(userService.deleteUser(owner.getId())).isTrue();
+            statements = scope.count();
+        }
+
+        // Then - one existence check plus one delete per table, however many tasks there were
+        assertThat(statements).isEqualTo(8);
+        assertThat(fixtures.rows("users")).isEqualTo(1);
+        assertThat(fixtures.rows("goals")).isEqualTo(1);
+        assertThat(fixtures.rows("habits")).isEqualTo(1);
+        assertThat(fixtures.rows("tasks")).isEqualTo(TASKS_PER_HABIT);
+        assertThat(fixtures.rows("notes")).isEqualTo(1);
+        assertThat(fixtures.rows("task_archives")).isZero();
+        assertThat(fixtures.rows("habit_bitmaps")).isEqualTo(1);
+        assertThat(fixtures.rows("user_stats")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should delete a user's soft-deleted rows too")
+    void shouldDeleteSoftDeletedRowsOfUser() {
+        // Given
+        goalService.deleteGoal(firstGoal.getId());
+        taskService.deleteTask(taskRepository.findByUserId(owner.getId()).get(0).getId());
+
+        // When
+        assertThat(userService.deleteUser(owner.getId())).isTrue();
+
+        // Then
+        assertThat(fixtures.rows("users")).isEqualTo(1);
+        assertThat(fixtures.rows("goals")).isEqualTo(1);
+        assertThat(fixtures.rows("habits")).isEqualTo(1);
+        assertThat(fixtures.rows("tasks")).isEqualTo(TASKS_PER_HABIT);
+        assertThat(fixtures.rows("notes")).isEqualTo(1);
+        assertThat(fixtures.rows("task_archives")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should soft-delete a goal with its notes and habits, hiding their tasks")
+    void shouldSoftDeleteGoalSubtree() {
+        // When
+        goalService.deleteGoal(firstGoal.getId());
+
+        // Then - hidden from every query but left in the tables for the purger
+        assertThat(goalRepository.existsById(firstGoal.getId())).isFalse();
+        assertThat(goalRepository.findByUserId(owner.getId())).extracting(Goal::getId).containsExactly(secondGoal.getId());
+        assertThat(habitRepository.existsById(otherHabitOnFirstGoal.getId())).isFalse();
+        assertThat(habitRepository.countByGoalId(secondGoal.getId())).isEqualTo(1);
+        assertThat(noteRepository.countByGoalId(firstGoal.getId())).isZero();
+        assertThat(noteRepository.countByGoalId(secondGoal.getId())).isEqualTo(1);
+        assertThat(taskRepository.findByUserId(owner.getId())).hasSize(TASKS_PER_HABIT);
+        assertThat(taskRepository.findByUserIdAndDateBetween(other.getId(), START, START.plusDays(TASKS_PER_HABIT)))
+                .hasSize(TASKS_PER_HABIT);
+        assertThat(taskArchiveRepository.findByUserIdOldestFirst(owner.getId())).isEmpty();
+        assertThat(fixtures.rows("goals")).isEqualTo(3);
+        assertThat(fixtures.rows("habits")).isEqualTo(5);
+        assertThat(fixtures.rows("tasks")).isEqualTo(5L * TASKS_PER_HABIT);
+
+        assertThat(userStatsService.getStats(owner.getId()).getTotalHabits()).isEqualTo(1);
+        assertThat(userStatsService.getStats(owner.getId()).getTotalTasks()).isEqualTo(TASKS_PER_HABIT);
+        // The stats were adjusted, not recounted, and still match a recount
+        assertThat(userStatsService.reconcile(owner.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should soft-delete a habit in one statement, hiding its tasks and archived months")
+    void shouldSoftDeleteHabit() {
+        // Given
+        entityManager.flush();
+
+        // When
+        final int statements;
+        try (SqlStatementCounter.Scope scope = counter.open()) {
+            habitService.deleteHabit(firstHabit.getId());
+            statements = scope.count();
+        }
+
+        // Then - owner lookup, the stats row locked, the habit's task and archive counts and the stats
+        // update, one update and the goal progress and rollup adjustments, however many tasks there were
+        assertThat(statements).isEqualTo(9);
+        assertThat(habitRepository.existsById(firstHabit.getId())).isFalse();
+        assertThat(taskRepository.countByUserId(owner.getId())).isEqualTo(2L * TASKS_PER_HABIT);
+        assertThat(taskArchiveRepository.findByUserIdOldestFirst(owner.getId())).isEmpty();
+        assertThat(fixtures.rows("tasks")).isEqualTo(5L * TASKS_PER_HABIT);
+        assertThat(userStatsService.getStats(owner.getId()).getTotalTasks()).isEqualTo(2L * TASKS_PER_HABIT);
+        assertThat(userStatsService.reconcile(owner.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should leave the tasks of a soft-deleted habit out of getAllTasks")
+    void shouldHideTasksOfDeletedHabitFromAllTasks() {
+        // When
+        habitService.deleteHabit(firstHabit.getId());
+
+        // Then
+        assertThat(taskService.getAllTasks())
+                .hasSize(4 * TASKS_PER_HABIT)
+                .extracting(TaskDTO::getHabitId)
+                .doesNotContain(firstHabit.getId());
+    }
+
+    @Test
+    @DisplayName("Should not find a task of a soft-deleted habit by ID")
+    void shouldNotFindTaskOfDeletedHabit() {
+        // Given
+        final Long taskId = taskRepository.findByHabitId(firstHabit.getId()).get(0).getId();
+
+        // When
+        habitService.deleteHabit(firstHabit.getId());
+
+        // Then - not found rather than a failed conversion, and not toggled behind the habit's back
+        assertThatThrownBy(() -> taskService.getTaskById(taskId)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> taskService.toggleTaskCompletion(taskId)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(taskRepository.findByHabitId(firstHabit.getId())).isEmpty();
+        assertThat(taskRepository.countByHabitId(firstHabit.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not find a task of a soft-deleted goal by ID")
+    void shouldNotFindTaskOfDeletedGoal() {
+        // Given
+        final Long taskId = taskRepository.findByHabitId(firstHabit.getId()).get(0).getId();
+
+        // When
+        goalService.deleteGoal(firstGoal.getId());
+
+        // Then
+        assertThatThrownBy(() -> taskService.getTaskById(taskId)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(taskService.getAllTasks()).hasSize(2 * TASKS_PER_HABIT);
+    }
+
+    /**
+     * A daily habit with TASKS_PER_HABIT tasks and a stored bitmap
+     */
+    private Habit saveHabit(final Goal goal, final User user, final String name) {
+        final Habit habit = fixtures.saveHabit(goal, user, name);
+        fixtures.saveTasks(habit, TASKS_PER_HABIT, day -> day % 3 != 0);
+        return habit;
+    }
+}
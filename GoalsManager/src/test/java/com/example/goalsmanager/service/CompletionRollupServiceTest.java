@@ -0,0 +1,215 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.dto.CompletionAnalyticsDTO;
+import com.example.goalsmanager.dto.CompletionRateDTO;
+import com.example.goalsmanager.dto.CreateTaskRequest;
+import com.example.goalsmanager.dto.GoalDTO;
+import com.example.goalsmanager.dto.TaskDTO;
+import com.example.goalsmanager.dto.UpdateTaskRequest;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import com.example.goalsmanager.goalutils.GoalStatus;
+import com.example.goalsmanager.jobs.GoalProgressRoller;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.Habit;
+import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.repository.GoalRepository;
+import com.example.goalsmanager.repository.HabitRepository;
+import com.example.goalsmanager.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+@DisplayName("Completion Rollup Service Tests")
+class CompletionRollupServiceTest {
+
+    @Autowired
+    private CompletionRollupService completionRollupService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private HabitService habitService;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private GoalProgressRoller goalProgressRoller;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    private final LocalDate today = LocalDate.now();
+    private User user;
+    private Goal goal;
+    private Habit run;
+    private Habit read;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setProvider("github");
+        user.setProviderId("1");
+        user.setUsername("analyst");
+        userRepository.save(user);
+
+        goal = new Goal();
+        goal.setTitle("Stay sharp");
+        goal.setStartDate(today.minusDays(100));
+        goal.setEndDate(today.plusDays(30));
+        goal.setStatus(GoalStatus.IN_PROGRESS);
+        goal.setUser(user);
+        goalRepository.save(goal);
+
+        run = habit("Run");
+        read = habit("Read");
+    }
+
+    @Test
+    @DisplayName("Should keep window rates in step with generated, created, toggled, moved and deleted tasks")
+    void shouldTrackTaskChanges() {
+        // Given - ten generated days for both habits and one older task for one of them
+        final Map<String, TaskDTO> tasks = taskService.getTasksByUserIdAndDateRange(user.getId(), today.minusDays(9), today)
+                .stream().collect(Collectors.toMap(task -> task.getHabitName() + task.getDate(), task -> task));
+        taskService.createTask(new CreateTaskRequest("Run", today.minusDays(60), run.getId(), user.getId()));
+        for (int daysAgo : List.of(0, 1, 2)) {
+            taskService.toggleTaskCompletion(tasks.get("Run" + today.minusDays(daysAgo)).getId());
+        }
+        taskService.toggleTaskCompletion(tasks.get("Read" + today.minusDays(8)).getId());
+
+        // When
+        final CompletionAnalyticsDTO habit = completionRollupService.getHabitAnalytics(run.getId());
+        final CompletionAnalyticsDTO both = completionRollupService.getGoalAnalytics(goal.getId());
+
+        // Then
+        assertRate(habit.getLast7Days(), 7, 3);
+        assertRate(habit.getLast30Days(), 10, 3);
+        assertRate(habit.getLast90Days(), 11, 3);
+        assertRate(habit.getAllTime(), 11, 3);
+        assertThat(habit.getLast7Days().getRate()).isEqualTo(3.0 / 7);
+        assertThat(habit.getAsOf()).isEqualTo(today);
+        assertRate(both.getLast7Days(), 14, 3);
+        assertRate(both.getLast30Days(), 20, 4);
+        assertRate(both.getAllTime(), 21, 4);
+
+        // When - a completed task moves out of the 90-day window, a pending one is deleted
+        final UpdateTaskRequest move = new UpdateTaskRequest();
+        move.setDate(today.minusDays(95));
+        taskService.updateTask(tasks.get("Run" + today).getId(), move);
+        taskService.deleteTask(tasks.get("Run" + today.minusDays(5)).getId());
+        final CompletionAnalyticsDTO edited = completionRollupService.getHabitAnalytics(run.getId());
+
+        // Then
+        assertRate(edited.getLast7Days(), 5, 2);
+        assertRate(edited.getLast90Days(), 9, 2);
+        assertRate(edited.getAllTime(), 10, 3);
+    }
+
+    @Test
+    @DisplayName("Should drop a deleted habit from its goal's rates")
+    void shouldDropDeletedHabitFromGoal() {
+        // Given
+        final List<TaskDTO> tasks = taskService.getTasksByUserIdAndDateRange(user.getId(), today.minusDays(2), today);
+        tasks.stream().filter(task -> task.getHabitName().equals("Read"))
+                .forEach(task -> taskService.toggleTaskCompletion(task.getId()));
+
+        // When
+        habitService.deleteHabit(read.getId());
+        final CompletionAnalyticsDTO analytics = completionRollupService.getGoalAnalytics(goal.getId());
+
+        // Then
+        assertRate(analytics.getLast7Days(), 3, 0);
+        assertRate(analytics.getAllTime(), 3, 0);
+        assertThat(analytics.getLast7Days().getRate()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep goal progress in step with toggles and count new days when rolled forward")
+    void shouldTrackGoalProgress() {
+        // Given - ten generated days for both habits, three of them done, and a task for tomorrow
+        final Map<String, TaskDTO> tasks = taskService.getTasksByUserIdAndDateRange(user.getId(), today.minusDays(9), today)
+                .stream().collect(Collectors.toMap(task -> task.getHabitName() + task.getDate(), task -> task));
+        for (int daysAgo : List.of(0, 1, 2)) {
+            taskService.toggleTaskCompletion(tasks.get("Run" + today.minusDays(daysAgo)).getId());
+        }
+        final TaskDTO tomorrow = taskService.createTask(new CreateTaskRequest("Run", today.plusDays(1), run.getId(), user.getId()));
+        taskService.toggleTaskCompletion(tomorrow.getId());
+
+        // When
+        entityManager.clear();
+        final GoalDTO before = goalService.getGoalsByUserId(user.getId()).get(0);
+
+        // Then - tomorrow's task is not counted yet
+        assertThat(before.getProgress()).isEqualTo(15);
+
+        // When
+        assertThat(goalProgressRoller.roll(today.plusDays(1))).isPositive();
+        entityManager.clear();
+
+        // Then
+        assertThat(goalProgressRoller.roll(today.plusDays(1))).isZero();
+        final Goal rolled = goalRepository.findById(goal.getId()).orElseThrow();
+        assertThat(rolled.getScheduledTasks()).isEqualTo(21);
+        assertThat(rolled.getCompletedTasks()).isEqualTo(4);
+        assertThat(rolled.getProgressDate()).isEqualTo(today.plusDays(1));
+        assertThat(goalService.getGoalById(goal.getId()).getProgress()).isEqualTo(19);
+
+        // When - a counted task is reopened and the other habit is deleted
+        taskService.toggleTaskCompletion(tasks.get("Run" + today).getId());
+        habitService.deleteHabit(read.getId());
+        entityManager.clear();
+
+        // Then
+        assertThat(goalService.getGoalById(goal.getId()).getProgress()).isEqualTo(27);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown habits and goals")
+    void shouldRejectUnknownTargets() {
+        assertThatThrownBy(() -> completionRollupService.getHabitAnalytics(999_999L))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> completionRollupService.getGoalAnalytics(999_999L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private Habit habit(final String name) {
+        final Habit habit = new Habit();
+        habit.setName(name);
+        habit.setDaysOfWeek("Mon,Tue,Wed,Thu,Fri,Sat,Sun");
+        habit.setStartDate(goal.getStartDate());
+        habit.setEndDate(goal.getEndDate());
+        habit.setStreakStatus(0);
+        habit.setGoal(goal);
+        habit.setUser(user);
+        return habitRepository.save(habit);
+    }
+
+    private static void assertRate(final CompletionRateDTO rate, final long scheduled, final long completed) {
+        assertThat(rate.getScheduled()).isEqualTo(scheduled);
+        assertThat(rate.getCompleted()).isEqualTo(completed);
+    }
+}
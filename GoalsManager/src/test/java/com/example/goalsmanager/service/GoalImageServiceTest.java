@@ -0,0 +1,73 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.dto.GoalDTO;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import com.example.goalsmanager.storage.ImageStorage;
+import com.example.goalsmanager.storage.ThumbnailService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Goal Image Service Tests")
+class GoalImageServiceTest {
+
+    private static final String KEY = "a".repeat(64) + ".png";
+
+    @Mock
+    private GoalService goalService;
+
+    @Mock
+    private ImageStorage imageStorage;
+
+    @Mock
+    private ThumbnailService thumbnailService;
+
+    @InjectMocks
+    private GoalImageService goalImageService;
+
+    @Test
+    @DisplayName("Should store the image before setting the goal's imageUrl and queue thumbnails last")
+    void shouldStoreThenSetThenQueue() throws IOException {
+        // Given
+        final InputStream image = new ByteArrayInputStream(new byte[] {1});
+        final GoalDTO goal = new GoalDTO();
+        when(goalService.existsById(1L)).thenReturn(true);
+        when(imageStorage.store(image)).thenReturn(KEY);
+        when(goalService.setGoalImage(1L, ImageStorage.url(KEY))).thenReturn(goal);
+
+        // When
+        final GoalDTO result = goalImageService.uploadGoalImage(1L, image);
+
+        // Then
+        assertThat(result).isSameAs(goal);
+        final InOrder order = inOrder(imageStorage, goalService, thumbnailService);
+        order.verify(imageStorage).store(image);
+        order.verify(goalService).setGoalImage(1L, ImageStorage.url(KEY));
+        order.verify(thumbnailService).generateAsync(KEY);
+    }
+
+    @Test
+    @DisplayName("Should not store uploads for unknown goals")
+    void shouldRejectUnknownGoal() {
+        // Given
+        when(goalService.existsById(999L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> goalImageService.uploadGoalImage(999L, new ByteArrayInputStream(new byte[] {1})))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(imageStorage, thumbnailService);
+    }
+}
@@ -3,9 +3,11 @@ package com.example.goalsmanager.service;
 import com.example.goalsmanager.dto.CreateGoalRequest;
 import com.example.goalsmanager.dto.GoalDTO;
 import com.example.goalsmanager.dto.UpdateGoalRequest;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
 import com.example.goalsmanager.goalutils.GoalStatus;
 import com.example.goalsmanager.model.Goal;
 import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.model.UserStats;
 import com.example.goalsmanager.repository.GoalRepository;
 import com.example.goalsmanager.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +40,18 @@ class GoalServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private BulkDeleteService bulkDeleteService;
+
+    @Mock
+    private HeatmapCache heatmapCache;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
     @InjectMocks
     private GoalService goalService;
 
@@ -96,6 +110,7 @@ class GoalServiceTest {
         
         verify(userRepository, times(1)).findById(1L);
         verify(goalRepository, times(1)).save(any(Goal.class));
+        verify(userStatsService, times(1)).goalCreated(1L, GoalStatus.NOT_STARTED);
     }
 
     @Test
@@ -160,6 +175,19 @@ class GoalServiceTest {
         verify(goalRepository, times(1)).findById(999L);
     }
 
+    @Test
+    @DisplayName("Should throw stackless not-found exception for unknown goal")
+    void shouldThrowStacklessNotFoundException() {
+        // Given
+        when(goalRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> goalService.getGoalById(999L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Goal not found with id: 999")
+                .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+    }
+
     @Test
     @DisplayName("Should get all goals for user")
     void shouldGetAllGoalsForUser() {
@@ -243,50 +271,55 @@ class GoalServiceTest {
         
         verify(goalRepository, times(1)).findById(1L);
         verify(goalRepository, times(1)).save(testGoal);
+        verify(userStatsService, times(1)).goalStatusChanged(1L, GoalStatus.NOT_STARTED, GoalStatus.COMPLETED);
     }
 
     @Test
-    @DisplayName("Should delete goal successfully")
+    @DisplayName("Should soft-delete goal successfully")
     void shouldDeleteGoalSuccessfully() {
         // Given
-        when(goalRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(goalRepository).deleteById(1L);
+        when(goalRepository.findById(1L)).thenReturn(Optional.of(testGoal));
 
         // When
         goalService.deleteGoal(1L);
 
         // Then
-        verify(goalRepository, times(1)).existsById(1L);
-        verify(goalRepository, times(1)).deleteById(1L);
+        verify(userStatsService, times(1)).goalDeleted(1L, 1L, GoalStatus.NOT_STARTED);
+        verify(bulkDeleteService, times(1)).softDeleteGoal(1L);
+        verify(goalRepository, never()).deleteById(anyLong());
     }
 
     @Test
     @DisplayName("Should throw exception when deleting non-existent goal")
     void shouldThrowExceptionWhenDeletingNonExistentGoal() {
         // Given
-        when(goalRepository.existsById(999L)).thenReturn(false);
+        when(goalRepository.findById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> goalService.deleteGoal(999L))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Goal not found");
         
-        verify(goalRepository, times(1)).existsById(999L);
-        verify(goalRepository, never()).deleteById(anyLong());
+        verify(goalRepository, times(1)).findById(999L);
+        verify(bulkDeleteService, never()).softDeleteGoal(anyLong());
     }
 
     @Test
     @DisplayName("Should count goals by user ID")
     void shouldCountGoalsByUserId() {
         // Given
-        when(goalRepository.countByUserId(1L)).thenReturn(5L);
+        final UserStats stats = new UserStats();
+        stats.setGoals(GoalStatus.NOT_STARTED, 2L);
+        stats.setGoals(GoalStatus.COMPLETED, 3L);
+        when(userStatsService.getUserStats(1L)).thenReturn(stats);
 
         // When
         long count = goalService.countGoalsByUserId(1L);
 
         // Then
         assertThat(count).isEqualTo(5L);
-        verify(goalRepository, times(1)).countByUserId(1L);
+        assertThat(goalService.countGoalsByUserIdAndStatus(1L, GoalStatus.COMPLETED)).isEqualTo(3L);
+        verify(goalRepository, never()).countByUserId(anyLong());
     }
 
     @Test
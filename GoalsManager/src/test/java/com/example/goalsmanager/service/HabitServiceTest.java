@@ -2,11 +2,15 @@ package com.example.goalsmanager.service;
 
 import com.example.goalsmanager.dto.CreateHabitRequest;
 import com.example.goalsmanager.dto.HabitDTO;
+import com.example.goalsmanager.dto.HabitStatsDTO;
 import com.example.goalsmanager.dto.UpdateHabitRequest;
+import com.example.goalsmanager.exception.InvalidRequestException;
+import com.example.goalsmanager.goalutils.CompletionBitmap;
 import com.example.goalsmanager.goalutils.GoalStatus;
 import com.example.goalsmanager.model.Goal;
 import com.example.goalsmanager.model.Habit;
 import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.model.UserStats;
 import com.example.goalsmanager.repository.GoalRepository;
 import com.example.goalsmanager.repository.HabitRepository;
 import com.example.goalsmanager.repository.UserRepository;
@@ -43,6 +47,24 @@ class HabitServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private HabitBitmapService habitBitmapService;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private BulkDeleteService bulkDeleteService;
+
+    @Mock
+    private HeatmapCache heatmapCache;
+
+    @Mock
+    private CompletionRollupService completionRollupService;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
     @InjectMocks
     private HabitService habitService;
 
@@ -121,6 +143,7 @@ class HabitServiceTest {
         verify(goalRepository, times(1)).findById(1L);
         verify(userRepository, times(1)).findById(1L);
         verify(habitRepository, times(1)).save(any(Habit.class));
+        verify(userStatsService, times(1)).habitCreated(1L);
     }
 
     @Test
@@ -291,50 +314,53 @@ class HabitServiceTest {
         assertThat(testHabit.getName()).isEqualTo("Evening Run");
         assertThat(testHabit.getStreakStatus()).isEqualTo(10);
         assertThat(testHabit.getDaysOfWeek()).isEqualTo("Mon,Wed,Fri,Sun");
+        verifyNoInteractions(leaderboardService);
     }
 
     @Test
-    @DisplayName("Should delete habit successfully")
+    @DisplayName("Should soft-delete habit successfully")
     void shouldDeleteHabitSuccessfully() {
         // Given
-        when(habitRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(habitRepository).deleteById(1L);
+        when(habitRepository.findUserIdById(1L)).thenReturn(Optional.of(1L));
 
         // When
         habitService.deleteHabit(1L);
 
         // Then
-        verify(habitRepository, times(1)).existsById(1L);
-        verify(habitRepository, times(1)).deleteById(1L);
+        verify(userStatsService, times(1)).habitDeleted(1L, 1L);
+        verify(bulkDeleteService, times(1)).softDeleteHabit(1L);
+        verify(habitRepository, never()).deleteById(anyLong());
     }
 
     @Test
     @DisplayName("Should throw exception when deleting non-existent habit")
     void shouldThrowExceptionWhenDeletingNonExistentHabit() {
         // Given
-        when(habitRepository.existsById(999L)).thenReturn(false);
+        when(habitRepository.findUserIdById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> habitService.deleteHabit(999L))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Habit not found");
         
-        verify(habitRepository, times(1)).existsById(999L);
-        verify(habitRepository, never()).deleteById(anyLong());
+        verify(habitRepository, times(1)).findUserIdById(999L);
+        verify(bulkDeleteService, never()).softDeleteHabit(anyLong());
     }
 
     @Test
     @DisplayName("Should count habits by user ID")
     void shouldCountHabitsByUserId() {
         // Given
-        when(habitRepository.countByUserId(1L)).thenReturn(5L);
+        final UserStats stats = new UserStats();
+        stats.setHabits(5L);
+        when(userStatsService.getUserStats(1L)).thenReturn(stats);
 
         // When
         long count = habitService.countHabitsByUserId(1L);
 
         // Then
         assertThat(count).isEqualTo(5L);
-        verify(habitRepository, times(1)).countByUserId(1L);
+        verify(habitRepository, never()).countByUserId(anyLong());
     }
 
     @Test
@@ -369,5 +395,41 @@ class HabitServiceTest {
         verify(habitRepository, times(1)).existsById(1L);
         verify(habitRepository, times(1)).existsById(999L);
     }
-}
 
+    @Test
+    @DisplayName("Should compute habit stats from the completion bitmap")
+    void shouldGetHabitStats() {
+        // Given - done, done, missed, done, done, done in March
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+        bitmap.set(LocalDate.of(2025, 3, 3), true);
+        bitmap.set(LocalDate.of(2025, 3, 5), true);
+        bitmap.set(LocalDate.of(2025, 3, 7), false);
+        bitmap.set(LocalDate.of(2025, 3, 10), true);
+        bitmap.set(LocalDate.of(2025, 3, 12), true);
+        bitmap.set(LocalDate.of(2025, 3, 14), true);
+        when(habitRepository.findById(1L)).thenReturn(Optional.of(testHabit));
+        when(habitBitmapService.getBitmap(1L)).thenReturn(bitmap);
+
+        // When
+        HabitStatsDTO stats = habitService.getHabitStats(1L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 9));
+
+        // Then
+        assertThat(stats.getCurrentStreak()).isEqualTo(3);
+        assertThat(stats.getLongestStreak()).isEqualTo(3);
+        assertThat(stats.getTotalTasks()).isEqualTo(3);
+        assertThat(stats.getCompletedTasks()).isEqualTo(2);
+        assertThat(stats.getCompletionRate()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    @DisplayName("Should reject habit stats for an inverted date range")
+    void shouldRejectInvertedStatsRange() {
+        // Given
+        when(habitRepository.findById(1L)).thenReturn(Optional.of(testHabit));
+
+        // When & Then
+        assertThatThrownBy(() -> habitService.getHabitStats(1L, LocalDate.of(2025, 3, 9), LocalDate.of(2025, 3, 1)))
+                .isInstanceOf(InvalidRequestException.class);
+        verify(habitBitmapService, never()).getBitmap(anyLong());
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.dto.CreateTaskRequest;
+import com.example.goalsmanager.dto.HeatmapDTO;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import com.example.goalsmanager.goalutils.GoalStatus;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.Habit;
+import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.repository.GoalRepository;
+import com.example.goalsmanager.repository.HabitRepository;
+import com.example.goalsmanager.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+@DisplayName("Heatmap Service Tests")
+class HeatmapServiceTest {
+
+    @Autowired
+    private HeatmapService heatmapService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private HabitService habitService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private Habit run;
+    private Habit read;
+    private LocalDate lastMonth;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        lastMonth = YearMonth.now().minusMonths(1).atDay(10);
+
+        user = new User();
+        user.setProvider("github");
+        user.setProviderId("1");
+        user.setUsername("streaker");
+        userRepository.save(user);
+
+        final Goal goal = new Goal();
+        goal.setTitle("Stay healthy");
+        goal.setStartDate(lastMonth.withDayOfMonth(1));
+        goal.setEndDate(today.plusYears(1));
+        goal.setStatus(GoalStatus.IN_PROGRESS);
+        goal.setUser(user);
+        goalRepository.save(goal);
+
+        run = habit("Run", goal);
+        read = habit("Read", goal);
+    }
+
+    @Test
+    @DisplayName("Should serve past months from the cache and count the current month live")
+    void shouldCachePastMonthsOnly() {
+        // Given
+        final Long pastTask = task(run, lastMonth);
+        taskService.toggleTaskCompletion(pastTask);
+        final Long nextTask = task(run, lastMonth.plusDays(1));
+        final Long todayTask = task(run, today);
+
+        // When - the first read caches last month, then last month changes behind the cache
+        final HeatmapDTO first = heatmapService.getHabitHeatmap(run.getId(), lastMonth.getYear());
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE tasks SET completed = TRUE WHERE id = ?", nextTask);
+        jdbcTemplate.update("DELETE FROM habit_bitmaps");
+        entityManager.clear();
+        final HeatmapDTO cached = heatmapService.getHabitHeatmap(run.getId(), lastMonth.getYear());
+        taskService.toggleTaskCompletion(todayTask);
+        final HeatmapDTO current = heatmapService.getHabitHeatmap(run.getId(), null);
+
+        // Then
+        assertThat(first.getScheduled()).hasSize(LocalDate.of(lastMonth.getYear(), 1, 1).lengthOfYear());
+        assertThat(cell(first.getScheduled(), lastMonth)).isEqualTo(1);
+        assertThat(cell(first.getCompleted(), lastMonth)).isEqualTo(1);
+        assertThat(cell(first.getScheduled(), lastMonth.plusDays(1))).isEqualTo(1);
+        assertThat(cell(first.getCompleted(), lastMonth.plusDays(1))).isZero();
+        assertThat(cell(cached.getCompleted(), lastMonth.plusDays(1))).isZero();
+        assertThat(cell(current.getCompleted(), today)).isEqualTo(1);
+        assertThat(current.getUserId()).isEqualTo(user.getId());
+
+        // When - editing an old task through the service evicts its month
+        taskService.toggleTaskCompletion(pastTask);
+        final HeatmapDTO edited = heatmapService.getHabitHeatmap(run.getId(), lastMonth.getYear());
+
+        // Then
+        assertThat(cell(edited.getCompleted(), lastMonth)).isZero();
+        assertThat(cell(edited.getCompleted(), lastMonth.plusDays(1))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should sum a user's live habits day by day")
+    void shouldSumUserHabits() {
+        // Given
+        taskService.toggleTaskCompletion(task(run, lastMonth));
+        task(read, lastMonth);
+        taskService.toggleTaskCompletion(task(read, today));
+
+        // When
+        final HeatmapDTO both = heatmapService.getUserHeatmap(user.getId(), lastMonth.getYear());
+        habitService.deleteHabit(read.getId());
+        final HeatmapDTO runOnly = heatmapService.getUserHeatmap(user.getId(), lastMonth.getYear());
+        final HeatmapDTO currentYear = heatmapService.getUserHeatmap(user.getId(), null);
+
+        // Then
+        assertThat(both.getHabitId()).isNull();
+        assertThat(cell(both.getScheduled(), lastMonth)).isEqualTo(2);
+        assertThat(cell(both.getCompleted(), lastMonth)).isEqualTo(1);
+        assertThat(cell(runOnly.getScheduled(), lastMonth)).isEqualTo(1);
+        assertThat(cell(runOnly.getCompleted(), lastMonth)).isEqualTo(1);
+        assertThat(cell(currentYear.getScheduled(), today)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown habits and users")
+    void shouldRejectUnknownOwners() {
+        assertThatThrownBy(() -> heatmapService.getHabitHeatmap(999_999L, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> heatmapService.getUserHeatmap(999_999L, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private Habit habit(final String name, final Goal goal) {
+        final Habit habit = new Habit();
+        habit.setName(name);
+        habit.setDaysOfWeek("Mon,Tue,Wed,Thu,Fri,Sat,Sun");
+        habit.setStartDate(goal.getStartDate());
+        habit.setEndDate(goal.getEndDate());
+        habit.setStreakStatus(0);
+        habit.setGoal(goal);
+        habit.setUser(user);
+        return habitRepository.save(habit);
+    }
+
+    private Long task(final Habit habit, final LocalDate date) {
+        return taskService.createTask(new CreateTaskRequest(habit.getName(), date, habit.getId(), user.getId())).getId();
+    }
+
+    private static int cell(final int[] days, final LocalDate date) {
+        return days[date.getDayOfYear() - 1];
+    }
+}
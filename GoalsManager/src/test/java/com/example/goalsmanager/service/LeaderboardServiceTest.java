@@ -0,0 +1,162 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.dto.LeaderboardEntryDTO;
+import com.example.goalsmanager.dto.TaskDTO;
+import com.example.goalsmanager.exception.InvalidRequestException;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import com.example.goalsmanager.goalutils.GoalStatus;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.Habit;
+import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.repository.GoalRepository;
+import com.example.goalsmanager.repository.HabitRepository;
+import com.example.goalsmanager.repository.UserRepository;
+import com.example.goalsmanager.service.StreakLeaderboard.Board;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+@DisplayName("Leaderboard Service Tests")
+class LeaderboardServiceTest {
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private StreakLeaderboard streakLeaderboard;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate today = LocalDate.now();
+    private User runner;
+    private Habit run;
+
+    @BeforeEach
+    void setUp() {
+        runner = user("runner");
+        final Goal goal = new Goal();
+        goal.setTitle("Run daily");
+        goal.setStartDate(today.minusDays(30));
+        goal.setEndDate(today.plusDays(30));
+        goal.setStatus(GoalStatus.IN_PROGRESS);
+        goal.setUser(runner);
+        goalRepository.save(goal);
+
+        run = new Habit();
+        run.setName("Run");
+        run.setDaysOfWeek("Mon,Tue,Wed,Thu,Fri,Sat,Sun");
+        run.setStartDate(goal.getStartDate());
+        run.setEndDate(goal.getEndDate());
+        run.setStreakStatus(0);
+        run.setGoal(goal);
+        run.setUser(runner);
+        habitRepository.save(run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        streakLeaderboard.replaceAll(List.of());
+    }
+
+    @Test
+    @DisplayName("Should take streaks from the bitmaps on opt-in and rebuild, ignoring streakStatus")
+    void shouldOptInAndRebuild() {
+        // Given - a four-day run that ended a week ago, and the last two days done
+        final Map<LocalDate, TaskDTO> tasks = taskService.getTasksByUserIdAndDateRange(runner.getId(), today.minusDays(9), today)
+                .stream().collect(Collectors.toMap(TaskDTO::getDate, task -> task));
+        for (int daysAgo : List.of(9, 8, 7, 6, 1, 0)) {
+            taskService.toggleTaskCompletion(tasks.get(today.minusDays(daysAgo)).getId());
+        }
+        entityManager.flush();
+        // A streak claimed through the habit update API
+        jdbcTemplate.update("UPDATE habits SET streak_status = 365 WHERE id = ?", run.getId());
+        entityManager.clear();
+        final User bystander = user("bystander");
+
+        // When
+        leaderboardService.optIn(runner.getId());
+        entityManager.flush();
+        leaderboardService.rebuild();
+
+        // Then
+        final List<LeaderboardEntryDTO> current = leaderboardService.getTop(Board.CURRENT, 10);
+        assertThat(current).extracting(LeaderboardEntryDTO::getUserId).containsExactly(runner.getId());
+        assertThat(current.get(0).getStreak()).isEqualTo(2);
+        assertThat(leaderboardService.getRank(Board.LONGEST, runner.getId()).getStreak()).isEqualTo(4);
+        assertThatThrownBy(() -> leaderboardService.getRank(Board.CURRENT, bystander.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should drop a current streak broken by a missed day without a toggle")
+    void shouldDropBrokenStreakOnRebuild() {
+        // Given - the last three days done, and the next two days' tasks already generated
+        final Map<LocalDate, TaskDTO> tasks = taskService.getTasksByUserIdAndDateRange(runner.getId(), today.minusDays(2), today.plusDays(2))
+                .stream().collect(Collectors.toMap(TaskDTO::getDate, task -> task));
+        for (int daysAgo : List.of(2, 1, 0)) {
+            taskService.toggleTaskCompletion(tasks.get(today.minusDays(daysAgo)).getId());
+        }
+        leaderboardService.optIn(runner.getId());
+        entityManager.flush();
+        leaderboardService.rebuild(today);
+        assertThat(leaderboardService.getRank(Board.CURRENT, runner.getId()).getStreak()).isEqualTo(3);
+
+        // When - two days pass without the runner toggling anything
+        leaderboardService.rebuild(today.plusDays(2));
+
+        // Then
+        assertThat(leaderboardService.getRank(Board.CURRENT, runner.getId()).getStreak()).isZero();
+        assertThat(leaderboardService.getRank(Board.LONGEST, runner.getId()).getStreak()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should reject out-of-range limits and unknown users")
+    void shouldRejectInvalidRequests() {
+        assertThatThrownBy(() -> leaderboardService.getTop(Board.CURRENT, 0))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> leaderboardService.getTop(Board.LONGEST, LeaderboardService.MAX_LIMIT + 1))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> leaderboardService.optIn(999_999L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private User user(final String username) {
+        final User user = new User();
+        user.setProvider("github");
+        user.setProviderId(username);
+        user.setUsername(username);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.dto.NotePreviewDTO;
+import com.example.goalsmanager.dto.NoteRevisionDTO;
+import com.example.goalsmanager.dto.NoteTimelineDTO;
+import com.example.goalsmanager.dto.UpdateNoteRequest;
+import com.example.goalsmanager.exception.InvalidRequestException;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import com.example.goalsmanager.goalutils.GoalStatus;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.Note;
+import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.repository.GoalRepository;
+import com.example.goalsmanager.repository.NoteRepository;
+import com.example.goalsmanager.repository.NoteRevisionRepository;
+import com.example.goalsmanager.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+@DisplayName("Note Service Tests")
+class NoteServiceTest {
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private NoteRevisionRepository noteRevisionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Goal goal;
+
+    @BeforeEach
+    void setUp() {
+        final User user = new User();
+        user.setProvider("github");
+        user.setProviderId("1");
+        user.setUsername("journaler");
+        userRepository.save(user);
+
+        goal = new Goal();
+        goal.setTitle("Learn Spanish");
+        goal.setStartDate(LocalDate.of(2025, 1, 1));
+        goal.setEndDate(LocalDate.of(2025, 12, 31));
+        goal.setStatus(GoalStatus.IN_PROGRESS);
+        goal.setUser(user);
+        goalRepository.save(goal);
+    }
+
+    @Test
+    @DisplayName("Should page through the timeline newest first, breaking timestamp ties by id")
+    void shouldPageThroughTimeline() {
+        // Given - six notes share a timestamp, one is older
+        final Note oldest = noteRepository.save(new Note("Signed up for classes", goal));
+        final List<Long> sameTime = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            sameTime.add(noteRepository.save(new Note("Lesson " + i, goal)).getId());
+        }
+        jdbcTemplate.update("UPDATE notes SET created_at = ? WHERE goal_id = ?", LocalDateTime.of(2025, 3, 1, 9, 0), goal.getId());
+        jdbcTemplate.update("UPDATE notes SET created_at = ? WHERE id = ?", LocalDateTime.of(2025, 2, 1, 9, 0), oldest.getId());
+
+        // When
+        final List<Long> seen = new ArrayList<>();
+        final List<String> cursors = new ArrayList<>();
+        String cursor = null;
+        do {
+            final NoteTimelineDTO page = noteService.getNoteTimeline(goal.getId(), cursor, 3);
+            page.getNotes().forEach(note -> seen.add(note.getId()));
+            cursor = page.getNextCursor();
+            cursors.add(cursor);
+        } while (cursor != null);
+
+        // Then
+        final List<Long> expected = new ArrayList<>(sameTime.reversed());
+        expected.add(oldest.getId());
+        assertThat(seen).containsExactlyElementsOf(expected);
+        assertThat(cursors).hasSize(3).endsWith((String) null);
+    }
+
+    @Test
+    @DisplayName("Should list truncated previews and leave the full content to getNoteById")
+    void shouldReturnPreviews() {
+        // Given
+        final String longContent = "Practised verbs. ".repeat(30);
+        final Note longNote = noteRepository.save(new Note(longContent, goal));
+        noteRepository.save(new Note("Short one", goal));
+        final Note deleted = noteRepository.save(new Note("Typo", goal));
+        noteService.deleteNote(deleted.getId());
+
+        // When
+        final List<NotePreviewDTO> notes = noteService.getNoteTimeline(goal.getId(), null, 20).getNotes();
+
+        // Then
+        assertThat(notes).hasSize(2);
+        final NotePreviewDTO preview = notes.stream().filter(note -> note.getId().equals(longNote.getId())).findFirst().orElseThrow();
+        assertThat(preview.getPreview()).isEqualTo(longContent.substring(0, Note.PREVIEW_LENGTH));
+        assertThat(preview.getContentLength()).isEqualTo(longContent.length());
+        assertThat(preview.getTruncated()).isTrue();
+        assertThat(notes).filteredOn(note -> note.getPreview().equals("Short one"))
+                .singleElement().extracting(NotePreviewDTO::getTruncated).isEqualTo(false);
+        assertThat(noteService.getNoteById(longNote.getId()).getContent()).isEqualTo(longContent);
+    }
+
+    @Test
+    @DisplayName("Should keep the preview in step with edited content")
+    void shouldUpdatePreview() {
+        // Given
+        final Note note = noteRepository.save(new Note("Draft", goal));
+        final UpdateNoteRequest request = new UpdateNoteRequest();
+        request.setContent("Finished chapter one");
+
+        // When
+        noteService.updateNote(note.getId(), request);
+        noteRepository.flush();
+
+        // Then
+        final NotePreviewDTO preview = noteService.getNoteTimeline(goal.getId(), null, 20).getNotes().get(0);
+        assertThat(preview.getPreview()).isEqualTo("Finished chapter one");
+        assertThat(preview.getContentLength()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should reject bad sizes, bad cursors and unknown goals")
+    void shouldValidateRequest() {
+        assertThatThrownBy(() -> noteService.getNoteTimeline(goal.getId(), null, 0))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> noteService.getNoteTimeline(goal.getId(), null, NoteService.MAX_TIMELINE_SIZE + 1))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> noteService.getNoteTimeline(goal.getId(), "not-a-cursor", 20))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> noteService.getNoteTimeline(999_999L, null, 20))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should rebuild every version from at most one snapshot interval of rows")
+    void shouldRebuildEveryVersion() {
+        // Given - 25 small edits to one journal entry
+        final Note note = noteRepository.save(new Note("Day 0.", goal));
+        final List<String> versions = new ArrayList<>(List.of("Day 0."));
+        final UpdateNoteRequest request = new UpdateNoteRequest();
+        for (int day = 1; day <= 25; day++) {
+            final String content = versions.get(versions.size() - 1) + " Day " + day + ".";
+            request.setContent(content);
+            noteService.updateNote(note.getId(), request);
+            versions.add(content);
+        }
+        noteRepository.flush();
+
+        // When
+        final List<NoteRevisionDTO> listed = noteService.getNoteRevisions(note.getId());
+
+        // Then
+        assertThat(listed).hasSize(versions.size());
+        assertThat(listed.get(0).getVersion()).isEqualTo(versions.size());
+        for (int version = 1; version <= versions.size(); version++) {
+            assertThat(noteService.getNoteRevision(note.getId(), version).getContent())
+                    .isEqualTo(versions.get(version - 1));
+            assertThat(noteRevisionRepository.findChain(note.getId(), version))
+                    .hasSizeLessThanOrEqualTo(NoteService.SNAPSHOT_INTERVAL);
+        }
+        final Integer storedChars = jdbcTemplate.queryForObject(
+                "SELECT SUM(CHAR_LENGTH(content)) FROM note_revisions WHERE note_id = ? AND NOT snapshot",
+                Integer.class, note.getId());
+        assertThat(storedChars).isLessThan(25 * 10);
+    }
+
+    @Test
+    @DisplayName("Should keep no history for unchanged or never-edited notes")
+    void shouldSkipUnchangedContent() {
+        // Given
+        final Note untouched = noteRepository.save(new Note("Written once", goal));
+        final Note note = noteRepository.save(new Note("Same", goal));
+        final UpdateNoteRequest request = new UpdateNoteRequest();
+        request.setContent("Same");
+
+        // When
+        noteService.updateNote(note.getId(), request);
+
+        // Then
+        assertThat(noteService.getNoteRevisions(untouched.getId())).isEmpty();
+        assertThat(noteService.getNoteRevisions(note.getId())).isEmpty();
+        assertThatThrownBy(() -> noteService.getNoteRevision(note.getId(), 1))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> noteService.getNoteRevisions(999_999L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
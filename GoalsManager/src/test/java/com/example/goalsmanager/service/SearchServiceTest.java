@@ -0,0 +1,149 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.dto.SearchResultDTO;
+import com.example.goalsmanager.dto.SearchResultsDTO;
+import com.example.goalsmanager.exception.InvalidRequestException;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import com.example.goalsmanager.fixtures.EntityFixtures;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.Habit;
+import com.example.goalsmanager.model.Note;
+import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.repository.NoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the portable search on H2; the PostgreSQL query is checked against its indexes statically
+ */
+@SpringBootTest
+@Transactional
+@DisplayName("Search Service Tests")
+class SearchServiceTest {
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private EntityFixtures fixtures;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    private User user;
+    private Goal goal;
+    private Habit habit;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.saveUser("searcher", "1");
+        final User other = fixtures.saveUser("other", "2");
+
+        goal = fixtures.saveGoal(user, "Run a marathon", "Build up to 42 km by running every week", EntityFixtures.START);
+        habit = fixtures.saveHabit(goal, user, "Morning run", "Easy pace before breakfast");
+        noteRepository.save(new Note("Ran 10 km today, the longest run so far. Running feels easier, next run on Sunday.", goal));
+        noteRepository.save(new Note("Rest day, stretched for twenty minutes", goal));
+
+        fixtures.saveGoal(other, "Run for fun", "Someone else's running goal", EntityFixtures.START);
+    }
+
+    @Test
+    @DisplayName("Should find notes, goals and habits, best matches first, with highlights")
+    void shouldRankAndHighlightMatches() {
+        // When
+        final SearchResultsDTO results = searchService.search(user.getId(), "run", 0, 20);
+
+        // Then - the other user's goal is not searched
+        assertThat(results.getTotal()).isEqualTo(3);
+        assertThat(results.getResults()).extracting(SearchResultDTO::getType)
+                .containsExactlyInAnyOrder(SearchService.NOTE, SearchService.GOAL, SearchService.HABIT);
+        assertThat(results.getResults()).extracting(SearchResultDTO::getRank).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+        assertThat(results.getResults().get(0).getType()).isEqualTo(SearchService.NOTE);
+        assertThat(results.getResults().get(0).getSnippet()).contains("longest <mark>run</mark> so far", "<mark>Run</mark>ning");
+
+        final SearchResultDTO habitResult = results.getResults().stream()
+                .filter(result -> SearchService.HABIT.equals(result.getType())).findFirst().orElseThrow();
+        assertThat(habitResult.getId()).isEqualTo(habit.getId());
+        assertThat(habitResult.getGoalId()).isEqualTo(goal.getId());
+        assertThat(habitResult.getTitle()).isEqualTo("Morning run");
+    }
+
+    @Test
+    @DisplayName("Should require every word of the query and page through the matches")
+    void shouldMatchAllWordsAndPaginate() {
+        // When
+        final SearchResultsDTO both = searchService.search(user.getId(), "run breakfast", 0, 20);
+        final SearchResultsDTO secondPage = searchService.search(user.getId(), "run", 1, 2);
+        final SearchResultsDTO pastTheEnd = searchService.search(user.getId(), "run", 5, 2);
+
+        // Then
+        assertThat(both.getResults()).extracting(SearchResultDTO::getId).containsExactly(habit.getId());
+        assertThat(secondPage.getTotal()).isEqualTo(3);
+        assertThat(secondPage.getResults()).hasSize(1);
+        assertThat(secondPage.getPage()).isEqualTo(1);
+        assertThat(pastTheEnd.getTotal()).isEqualTo(3);
+        assertThat(pastTheEnd.getResults()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should leave out soft-deleted notes and escape HTML in snippets")
+    void shouldSkipDeletedAndEscapeHtml() {
+        // Given
+        final Note deleted = noteRepository.save(new Note("Stretching routine", goal));
+        noteService.deleteNote(deleted.getId());
+        noteRepository.save(new Note("<b>Stretch</b> & relax", goal));
+
+        // When
+        final SearchResultsDTO results = searchService.search(user.getId(), "stretch", 0, 20);
+
+        // Then
+        assertThat(results.getResults()).extracting(SearchResultDTO::getSnippet)
+                .containsExactlyInAnyOrder("Rest day, <mark>stretch</mark>ed for twenty minutes",
+                        "&lt;b&gt;<mark>Stretch</mark>&lt;/b&gt; &amp; relax");
+    }
+
+    @Test
+    @DisplayName("Should reject blank queries, bad pages and unknown users")
+    void shouldValidateRequest() {
+        assertThatThrownBy(() -> searchService.search(user.getId(), " ", 0, 20))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> searchService.search(user.getId(), "run", 0, SearchService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> searchService.search(999_999L, "run", 0, 20))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should search on PostgreSQL with the exact expressions the GIN indexes are built on")
+    void shouldMatchIndexExpressions() throws IOException {
+        // Given
+        final String script = new ClassPathResource("db/migration/postgresql/V9__full_text_search.sql")
+                .getContentAsString(StandardCharsets.UTF_8);
+        final String query = SearchService.SEARCH_SQL.replaceAll("\\b[ngh]\\.", "");
+
+        // Then
+        final Matcher index = Pattern.compile("USING GIN \\((to_tsvector\\(.*\\))\\) WHERE").matcher(script);
+        int indexes = 0;
+        while (index.find()) {
+            assertThat(query).contains(index.group(1) + " @@ q.query");
+            indexes++;
+        }
+        assertThat(indexes).isEqualTo(3);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.dto.HabitStreakDTO;
+import com.example.goalsmanager.dto.LeaderboardEntryDTO;
+import com.example.goalsmanager.service.StreakLeaderboard.Board;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Streak Leaderboard Tests")
+class StreakLeaderboardTest {
+
+    private StreakLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new StreakLeaderboard();
+        leaderboard.replaceAll(List.of(
+                new HabitStreakDTO(1L, "ada", 11L, 3, 9),
+                new HabitStreakDTO(1L, "ada", 12L, 5, 5),
+                new HabitStreakDTO(2L, "bob", 21L, 7, 7),
+                new HabitStreakDTO(3L, "cy", 31L, 5, 12),
+                new HabitStreakDTO(4L, "dee", null, null, null)));
+    }
+
+    @Test
+    @DisplayName("Should rank users by their best habit and share ranks on ties")
+    void shouldRankByBestHabit() {
+        // When
+        final List<LeaderboardEntryDTO> current = leaderboard.top(Board.CURRENT, 10);
+        final List<LeaderboardEntryDTO> longest = leaderboard.top(Board.LONGEST, 2);
+
+        // Then
+        assertThat(current).extracting(LeaderboardEntryDTO::getUsername).containsExactly("bob", "ada", "cy", "dee");
+        assertThat(current).extracting(LeaderboardEntryDTO::getRank).containsExactly(1, 2, 2, 4);
+        assertThat(current).extracting(LeaderboardEntryDTO::getStreak).containsExactly(7, 5, 5, 0);
+        assertThat(longest).extracting(LeaderboardEntryDTO::getUsername).containsExactly("cy", "ada");
+        assertThat(leaderboard.rankOf(Board.CURRENT, 3L).orElseThrow().getRank()).isEqualTo(2);
+        assertThat(leaderboard.rankOf(Board.LONGEST, 2L).orElseThrow().getRank()).isEqualTo(3);
+        assertThat(leaderboard.rankOf(Board.CURRENT, 99L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should move users as streaks change and drop those who leave")
+    void shouldFollowChanges() {
+        // When - ada's second habit overtakes bob, and bob leaves
+        leaderboard.habitStreakChanged(1L, 12L, 8, 8);
+        leaderboard.habitStreakChanged(99L, 91L, 50, 50);
+        leaderboard.leave(2L);
+
+        // Then
+        assertThat(leaderboard.top(Board.CURRENT, 10)).extracting(LeaderboardEntryDTO::getUsername)
+                .containsExactly("ada", "cy", "dee");
+        assertThat(leaderboard.rankOf(Board.LONGEST, 1L).orElseThrow().getStreak()).isEqualTo(9);
+
+        // When - the habit's streak breaks; the longest streak stays with the other habit
+        leaderboard.habitStreakChanged(1L, 12L, 0, 8);
+
+        // Then
+        final LeaderboardEntryDTO ada = leaderboard.rankOf(Board.CURRENT, 1L).orElseThrow();
+        assertThat(ada.getStreak()).isEqualTo(3);
+        assertThat(ada.getRank()).isEqualTo(2);
+        assertThat(leaderboard.contains(2L)).isFalse();
+        assertThat(leaderboard.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep changes applied while a rebuild was reading")
+    void shouldKeepChangesMadeDuringRebuild() {
+        // Given - a rebuild starts reading, then ada toggles and bob leaves before it applies
+        final long readAfter = leaderboard.changes();
+        leaderboard.habitStreakChanged(1L, 12L, 8, 8);
+        leaderboard.leave(2L);
+
+        // When - the rebuild read ada and bob as they were, and cy's streak broken by a missed day
+        leaderboard.replaceAll(List.of(
+                new HabitStreakDTO(1L, "ada", 11L, 3, 9),
+                new HabitStreakDTO(1L, "ada", 12L, 5, 5),
+                new HabitStreakDTO(2L, "bob", 21L, 7, 7),
+                new HabitStreakDTO(3L, "cy", 31L, 0, 12)), readAfter);
+
+        // Then - dee opted out before the read
+        assertThat(leaderboard.top(Board.CURRENT, 10)).extracting(LeaderboardEntryDTO::getUsername)
+                .containsExactly("ada", "cy");
+        assertThat(leaderboard.rankOf(Board.CURRENT, 1L).orElseThrow().getStreak()).isEqualTo(8);
+        assertThat(leaderboard.rankOf(Board.CURRENT, 3L).orElseThrow().getStreak()).isZero();
+        assertThat(leaderboard.contains(2L)).isFalse();
+        assertThat(leaderboard.contains(4L)).isFalse();
+    }
+}
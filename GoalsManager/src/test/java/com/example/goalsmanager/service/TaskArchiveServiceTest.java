@@ -0,0 +1,202 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.dto.TaskDTO;
+import com.example.goalsmanager.goalutils.GoalStatus;
+import com.example.goalsmanager.jobs.TaskArchiver;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.Habit;
+import com.example.goalsmanager.model.Task;
+import com.example.goalsmanager.model.TaskArchive;
+import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.repository.GoalRepository;
+import com.example.goalsmanager.repository.HabitRepository;
+import com.example.goalsmanager.repository.TaskArchiveRepository;
+import com.example.goalsmanager.repository.TaskRepository;
+import com.example.goalsmanager.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@DisplayName("Task Archive Service Integration Tests")
+class TaskArchiveServiceTest {
+
+    private static final LocalDate CUTOFF = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskArchiver taskArchiver;
+
+    @Autowired
+    private TaskArchiveRepository taskArchiveRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+    private Habit testHabit;
+
+    @BeforeEach
+    void setUp() {
+        taskArchiveRepository.deleteAll();
+        taskRepository.deleteAll();
+        habitRepository.deleteAll();
+        goalRepository.deleteAll();
+        userRepository.deleteAll();
+
+        testUser = new User();
+        testUser.setProvider("github");
+        testUser.setProviderId("12345");
+        testUser.setUsername("testuser");
+        testUser.setEmail("test@example.com");
+        testUser.setName("Test User");
+        testUser = userRepository.save(testUser);
+
+        Goal goal = new Goal();
+        goal.setTitle("Get Fit");
+        goal.setStartDate(LocalDate.of(2024, 1, 1));
+        goal.setEndDate(LocalDate.of(2024, 12, 31));
+        goal.setStatus(GoalStatus.IN_PROGRESS);
+        goal.setUser(testUser);
+        goal = goalRepository.save(goal);
+
+        testHabit = new Habit();
+        testHabit.setName("Morning Run");
+        testHabit.setDaysOfWeek("Mon,Wed,Fri");
+        testHabit.setStartDate(LocalDate.of(2024, 1, 1));
+        testHabit.setEndDate(LocalDate.of(2024, 12, 31));
+        testHabit.setColor("#FF5733");
+        testHabit.setGoal(goal);
+        testHabit.setUser(testUser);
+        testHabit = habitRepository.save(testHabit);
+
+        // January: 1st missed, then completed; February: all completed; March stays hot
+        saveTask(LocalDate.of(2024, 1, 1), false);
+        saveTask(LocalDate.of(2024, 1, 3), true);
+        saveTask(LocalDate.of(2024, 1, 31), true);
+        saveTask(LocalDate.of(2024, 2, 2), true);
+        saveTask(LocalDate.of(2024, 2, 29), true);
+        saveTask(LocalDate.of(2024, 3, 1), true);
+    }
+
+    @Test
+    @DisplayName("Should compact old tasks into one row per habit and month and delete them")
+    void shouldCompactOldTasks() {
+        // When
+        int archived = taskArchiveService.archiveHabit(testHabit.getId(), CUTOFF);
+
+        // Then
+        assertThat(archived).isEqualTo(5);
+        assertThat(taskRepository.findByHabitId(testHabit.getId()))
+                .extracting(Task::getDate)
+                .containsExactly(LocalDate.of(2024, 3, 1));
+
+        List<TaskArchive> archives = taskArchiveRepository.findByHabitIdNewestFirst(testHabit.getId());
+        assertThat(archives).extracting(TaskArchive::getMonthStart)
+                .containsExactly(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1));
+        TaskArchive january = archives.get(1);
+        assertThat(january.getScheduledDays()).isEqualTo(1 | 1 << 2 | 1 << 30);
+        assertThat(january.getCompletedDays()).isEqualTo(1 << 2 | 1 << 30);
+    }
+
+    @Test
+    @DisplayName("Should read archived tasks transparently through the task service")
+    void shouldReadArchivedTasksTransparently() {
+        // Given
+        List<TaskDTO> before = taskService.getTasksByHabitId(testHabit.getId());
+
+        // When
+        taskArchiveService.archiveHabit(testHabit.getId(), CUTOFF);
+        List<TaskDTO> after = taskService.getTasksByHabitId(testHabit.getId());
+
+        // Then
+        assertThat(after).extracting(TaskDTO::getDate, TaskDTO::getCompleted, TaskDTO::getHabitName)
+                .containsExactlyElementsOf(before.stream()
+                        .map(task -> org.assertj.core.groups.Tuple.tuple(task.getDate(), task.getCompleted(),
+                                task.getHabitName()))
+                        .toList());
+        assertThat(taskService.countTasksByHabitId(testHabit.getId())).isEqualTo(6);
+        assertThat(taskService.getPendingTasksByUserId(testUser.getId()))
+                .extracting(TaskDTO::getDate)
+                .containsExactly(LocalDate.of(2024, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Should not regenerate tasks for archived months in the week view")
+    void shouldNotRegenerateArchivedMonths() {
+        // Given
+        taskArchiveService.archiveHabit(testHabit.getId(), CUTOFF);
+
+        // When - Mon 29 Jan to Sun 4 Feb 2024
+        List<TaskDTO> week = taskService.getTasksByUserIdAndDateRange(
+                testUser.getId(), LocalDate.of(2024, 1, 29), LocalDate.of(2024, 2, 4));
+
+        // Then - only the archived days come back, nothing new was stored
+        assertThat(week).extracting(TaskDTO::getDate)
+                .containsExactly(LocalDate.of(2024, 1, 31), LocalDate.of(2024, 2, 2));
+        assertThat(week).allMatch(task -> task.getId() == null);
+        assertThat(taskRepository.countByHabitId(testHabit.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should continue the current streak into the archive")
+    void shouldContinueStreakIntoArchive() {
+        // Given
+        taskArchiveService.archiveHabit(testHabit.getId(), CUTOFF);
+        Task march = taskRepository.findByHabitId(testHabit.getId()).get(0);
+        march.setCompleted(false);
+
+        // When - completing the only hot task joins it to the archived run
+        taskService.toggleTaskCompletion(march.getId());
+
+        // Then - 3 Jan, 31 Jan, 2 Feb, 29 Feb and 1 Mar
+        assertThat(habitRepository.findById(testHabit.getId()).orElseThrow().getStreakStatus()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should merge late tasks into an already archived month")
+    void shouldMergeIntoArchivedMonth() {
+        // Given
+        taskArchiveService.archiveHabit(testHabit.getId(), CUTOFF);
+        saveTask(LocalDate.of(2024, 1, 5), false);
+
+        // When
+        long archived = taskArchiver.archive();
+
+        // Then - the archiver's cutoff lies well past March 2024
+        assertThat(archived).isEqualTo(2);
+        assertThat(taskRepository.countByHabitId(testHabit.getId())).isZero();
+        TaskArchive january = taskArchiveRepository.findByHabitIdAndMonthStart(
+                testHabit.getId(), LocalDate.of(2024, 1, 1)).orElseThrow();
+        assertThat(january.getScheduledDays()).isEqualTo(1 | 1 << 2 | 1 << 4 | 1 << 30);
+    }
+
+    private void saveTask(final LocalDate date, final boolean completed) {
+        Task task = new Task(testHabit.getName(), date, testHabit, testUser);
+        task.setCompleted(completed);
+        taskRepository.save(task);
+    }
+}
@@ -3,11 +3,15 @@ package com.example.goalsmanager.service;
 import com.example.goalsmanager.dto.CreateTaskRequest;
 import com.example.goalsmanager.dto.TaskDTO;
 import com.example.goalsmanager.dto.UpdateTaskRequest;
+import com.example.goalsmanager.goalutils.CompletionBitmap;
 import com.example.goalsmanager.goalutils.GoalStatus;
+import com.example.goalsmanager.metrics.TaskMetrics;
 import com.example.goalsmanager.model.Goal;
 import com.example.goalsmanager.model.Habit;
 import com.example.goalsmanager.model.Task;
+import com.example.goalsmanager.model.TaskArchive;
 import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.model.UserStats;
 import com.example.goalsmanager.repository.HabitRepository;
 import com.example.goalsmanager.repository.TaskRepository;
 import com.example.goalsmanager.repository.UserRepository;
@@ -29,6 +33,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +49,24 @@ class TaskServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskMetrics taskMetrics;
+
+    @Mock
+    private TaskArchiveService taskArchiveService;
+
+    @Mock
+    private HabitBitmapService habitBitmapService;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private CompletionRollupService completionRollupService;
+
+    @Mock
+    private StreakLeaderboard streakLeaderboard;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -127,6 +150,7 @@ class TaskServiceTest {
         verify(habitRepository, times(1)).findById(1L);
         verify(userRepository, times(1)).findById(1L);
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(userStatsService, times(1)).tasksCreated(1L, 1);
     }
 
     @Test
@@ -331,6 +355,7 @@ class TaskServiceTest {
         // Given
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+        when(habitBitmapService.recordTask(testTask)).thenReturn(new HabitBitmapService.Recorded(CompletionBitmap.empty(), 0));
 
         // When - First toggle (false -> true)
         taskService.toggleTaskCompletion(1L);
@@ -343,50 +368,103 @@ class TaskServiceTest {
         // Then
         verify(taskRepository, times(2)).findById(1L);
         verify(taskRepository, times(2)).save(testTask);
+        verify(userStatsService, times(1)).taskCompletionChanged(1L, true);
+        verify(userStatsService, times(1)).taskCompletionChanged(1L, false);
+    }
+
+    @Test
+    @DisplayName("Should recompute the streak from the habit bitmap without reading tasks")
+    void shouldRecomputeStreakFromBitmap() {
+        // Given - completed on the two previous days, today's task is being completed now
+        LocalDate today = LocalDate.now();
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+        bitmap.set(today.minusDays(3), false);
+        bitmap.set(today.minusDays(2), true);
+        bitmap.set(today.minusDays(1), true);
+        bitmap.set(today, true);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+        when(habitBitmapService.recordTask(testTask)).thenReturn(new HabitBitmapService.Recorded(bitmap, 0));
+
+        // When
+        taskService.toggleTaskCompletion(1L);
+
+        // Then
+        assertThat(testHabit.getStreakStatus()).isEqualTo(3);
+        verify(taskRepository, never()).findByHabitIdAndDateLessThanEqualOrderByDateDesc(anyLong(), any(LocalDate.class));
+        verify(taskMetrics).recordStreakRecompute(anyLong(), eq(0));
     }
 
     @Test
-    @DisplayName("Should delete task successfully")
+    @DisplayName("Should not generate tasks in archived months")
+    void shouldNotGenerateTasksInArchivedMonths() {
+        // Given
+        LocalDate startDate = LocalDate.of(2025, 10, 20);
+        LocalDate endDate = LocalDate.of(2025, 10, 26);
+        TaskArchive october = new TaskArchive(LocalDate.of(2025, 10, 1), testHabit, testUser);
+        TaskDTO archived = new TaskDTO(null, "Morning Run", true, startDate, 1L, "Morning Run", null,
+                1L, "testuser", null, null);
+
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(taskArchiveService.getArchivesByUserIdAndDateRange(1L, startDate, endDate)).thenReturn(List.of(october));
+        when(taskArchiveService.toTaskDTOs(List.of(october), startDate, endDate)).thenReturn(List.of(archived));
+        when(habitRepository.findByUserId(1L)).thenReturn(List.of(testHabit));
+
+        // When
+        List<TaskDTO> results = taskService.getTasksByUserIdAndDateRange(1L, startDate, endDate);
+
+        // Then
+        assertThat(results).containsExactly(archived);
+        verify(taskRepository, never()).findDeletedByHabitIdAndDate(anyLong(), any(LocalDate.class));
+        verify(taskRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should soft-delete task successfully")
     void shouldDeleteTaskSuccessfully() {
         // Given
-        when(taskRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(taskRepository).deleteById(1L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
 
         // When
         taskService.deleteTask(1L);
 
         // Then
-        verify(taskRepository, times(1)).existsById(1L);
-        verify(taskRepository, times(1)).deleteById(1L);
+        verify(taskRepository, times(1)).findById(1L);
+        verify(taskRepository, never()).existsById(anyLong());
+        verify(taskRepository, times(1)).softDeleteById(1L);
+        verify(userStatsService, times(1)).taskDeleted(1L, false);
+        verify(taskRepository, never()).deleteById(anyLong());
     }
 
     @Test
     @DisplayName("Should throw exception when deleting non-existent task")
     void shouldThrowExceptionWhenDeletingNonExistentTask() {
         // Given
-        when(taskRepository.existsById(999L)).thenReturn(false);
+        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> taskService.deleteTask(999L))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Task not found");
         
-        verify(taskRepository, times(1)).existsById(999L);
-        verify(taskRepository, never()).deleteById(anyLong());
+        verify(taskRepository, times(1)).findById(999L);
+        verify(taskRepository, never()).softDeleteById(anyLong());
     }
 
     @Test
     @DisplayName("Should count tasks by user ID")
     void shouldCountTasksByUserId() {
         // Given
-        when(taskRepository.countByUserId(1L)).thenReturn(10L);
+        final UserStats stats = new UserStats();
+        stats.setTasks(10L);
+        when(userStatsService.getUserStats(1L)).thenReturn(stats);
 
         // When
         long count = taskService.countTasksByUserId(1L);
 
         // Then
         assertThat(count).isEqualTo(10L);
-        verify(taskRepository, times(1)).countByUserId(1L);
+        verify(taskRepository, never()).countByUserId(anyLong());
     }
 
     @Test
@@ -0,0 +1,196 @@
+package com.example.goalsmanager.service;
+
+import com.example.goalsmanager.dto.CreateGoalRequest;
+import com.example.goalsmanager.dto.CreateHabitRequest;
+import com.example.goalsmanager.dto.GoalDTO;
+import com.example.goalsmanager.dto.HabitDTO;
+import com.example.goalsmanager.dto.TaskDTO;
+import com.example.goalsmanager.dto.UserStatsDTO;
+import com.example.goalsmanager.exception.ResourceNotFoundException;
+import com.example.goalsmanager.goalutils.GoalStatus;
+import com.example.goalsmanager.jobs.UserStatsReconciler;
+import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.model.UserStats;
+import com.example.goalsmanager.repository.GoalRepository;
+import com.example.goalsmanager.repository.HabitRepository;
+import com.example.goalsmanager.repository.TaskRepository;
+import com.example.goalsmanager.repository.UserRepository;
+import com.example.goalsmanager.repository.UserStatsRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+@DisplayName("User Stats Service Integration Tests")
+class UserStatsServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private UserStatsReconciler userStatsReconciler;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private HabitService habitService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private User testUser;
+    private GoalDTO testGoal;
+    private List<TaskDTO> testTasks;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setProvider("github");
+        testUser.setProviderId("12345");
+        testUser.setUsername("testuser");
+        testUser.setEmail("test@example.com");
+        testUser = userRepository.save(testUser);
+
+        final CreateGoalRequest goalRequest = new CreateGoalRequest();
+        goalRequest.setTitle("Get Fit");
+        goalRequest.setStartDate(MONDAY);
+        goalRequest.setEndDate(MONDAY.plusYears(1));
+        goalRequest.setUserId(testUser.getId());
+        testGoal = goalService.createGoal(goalRequest);
+
+        final CreateHabitRequest habitRequest = new CreateHabitRequest();
+        habitRequest.setName("Morning Run");
+        habitRequest.setDaysOfWeek("Mon,Wed,Fri");
+        habitRequest.setStartDate(MONDAY);
+        habitRequest.setEndDate(MONDAY.plusYears(1));
+        habitRequest.setGoalId(testGoal.getId());
+        habitRequest.setUserId(testUser.getId());
+        final HabitDTO habit = habitService.createHabit(habitRequest);
+        assertThat(habit.getId()).isNotNull();
+
+        // Mon, Wed and Fri of the first week
+        testTasks = taskService.getTasksByUserIdAndDateRange(testUser.getId(), MONDAY, MONDAY.plusDays(6));
+    }
+
+    @Test
+    @DisplayName("Should keep the stats row in step with goal, habit and task writes")
+    void shouldKeepStatsInStep() {
+        // When
+        goalService.updateGoalStatus(testGoal.getId(), GoalStatus.IN_PROGRESS);
+        taskService.toggleTaskCompletion(testTasks.get(0).getId());
+        taskService.toggleTaskCompletion(testTasks.get(1).getId());
+        taskService.deleteTask(testTasks.get(1).getId());
+
+        // Then
+        final UserStats stored = userStatsRepository.findById(testUser.getId()).orElseThrow();
+        assertThat(stored.getGoals()).isEqualTo(goalRepository.countByUserId(testUser.getId())).isEqualTo(1);
+        assertThat(stored.getGoals(GoalStatus.IN_PROGRESS)).isEqualTo(1);
+        assertThat(stored.getGoals(GoalStatus.NOT_STARTED)).isZero();
+        assertThat(stored.getHabits()).isEqualTo(habitRepository.countByUserId(testUser.getId())).isEqualTo(1);
+        assertThat(stored.getTasks()).isEqualTo(taskRepository.countByUserId(testUser.getId())).isEqualTo(2);
+        assertThat(stored.getCompletedTasks()).isEqualTo(1);
+        assertThat(userStatsService.reconcile(testUser.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should recount when deleting a goal removes its habits and tasks")
+    void shouldRecountAfterGoalDelete() {
+        // Given - a fresh persistence context, as a separate request would have
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        goalService.deleteGoal(testGoal.getId());
+
+        // Then
+        final UserStatsDTO stats = userStatsService.getStats(testUser.getId());
+        assertThat(stats.getTotalGoals()).isZero();
+        assertThat(stats.getTotalHabits()).isZero();
+        assertThat(stats.getTotalTasks()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should serve counts and completed/pending splits from the stats row")
+    void shouldServeCountsFromStatsRow() {
+        // Given
+        taskService.toggleTaskCompletion(testTasks.get(0).getId());
+
+        // When
+        final UserStatsDTO stats = userStatsService.getStats(testUser.getId());
+
+        // Then
+        assertThat(stats.getGoalsByStatus()).containsEntry(GoalStatus.NOT_STARTED, 1L)
+                .containsEntry(GoalStatus.COMPLETED, 0L);
+        assertThat(stats.getTotalTasks()).isEqualTo(3);
+        assertThat(stats.getCompletedTasks()).isEqualTo(1);
+        assertThat(stats.getPendingTasks()).isEqualTo(2);
+        assertThat(goalService.countGoalsByUserId(testUser.getId())).isEqualTo(1);
+        assertThat(habitService.countHabitsByUserId(testUser.getId())).isEqualTo(1);
+        assertThat(taskService.countTasksByUserId(testUser.getId())).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should fix drifted and missing stats rows when reconciling")
+    void shouldReconcileDrift() {
+        // Given - a wrong row for the test user and no row for a second user
+        final UserStats stored = userStatsRepository.findById(testUser.getId()).orElseThrow();
+        stored.setTasks(42);
+        userStatsRepository.saveAndFlush(stored);
+
+        User other = new User();
+        other.setProvider("github");
+        other.setProviderId("67890");
+        other.setUsername("otheruser");
+        other = userRepository.save(other);
+
+        // When
+        final int fixed = userStatsReconciler.reconcile();
+
+        // Then
+        assertThat(fixed).isEqualTo(2);
+        assertThat(userStatsRepository.findById(testUser.getId()).orElseThrow().getTasks()).isEqualTo(3);
+        assertThat(userStatsRepository.findById(other.getId())).isPresent();
+        assertThat(userStatsReconciler.reconcile()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject stats of a non-existent user")
+    void shouldRejectUnknownUser() {
+        // When & Then
+        assertThatThrownBy(() -> userStatsService.getStats(999L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.goalsmanager.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Thumbnail Cache Tests")
+class ThumbnailCacheTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should evict the least recently used thumbnails beyond the size limit")
+    void shouldEvictLeastRecentlyUsed() throws IOException {
+        // Given
+        final ThumbnailCache cache = new ThumbnailCache(directory.resolve("cache"), 300);
+        cache.put("a.png", file(100));
+        cache.put("b.png", file(100));
+        cache.put("c.png", file(100));
+
+        // When - a is used, so b is now the eldest
+        assertThat(cache.get("a.png")).isNotNull();
+        cache.put("d.png", file(100));
+
+        // Then
+        assertThat(cache.get("b.png")).isNull();
+        assertThat(directory.resolve("cache/b.png")).doesNotExist();
+        assertThat(cache.get("a.png")).exists();
+        assertThat(cache.get("c.png")).exists();
+        assertThat(cache.get("d.png")).exists();
+        assertThat(cache.totalBytes()).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("Should pick up thumbnails left on disk, oldest first, and trim them to the limit")
+    void shouldRestoreFromDisk() throws IOException {
+        // Given
+        final Path cacheDirectory = Files.createDirectories(directory.resolve("cache"));
+        for (final String name : new String[]{"new.png", "old.png", "mid.png"}) {
+            Files.write(cacheDirectory.resolve(name), new byte[100]);
+        }
+        Files.setLastModifiedTime(cacheDirectory.resolve("old.png"), FileTime.fromMillis(1_000));
+        Files.setLastModifiedTime(cacheDirectory.resolve("mid.png"), FileTime.fromMillis(2_000));
+        Files.setLastModifiedTime(cacheDirectory.resolve("new.png"), FileTime.fromMillis(3_000));
+
+        // When
+        final ThumbnailCache cache = new ThumbnailCache(cacheDirectory, 200);
+
+        // Then
+        assertThat(cache.get("old.png")).isNull();
+        assertThat(cacheDirectory.resolve("old.png")).doesNotExist();
+        assertThat(cache.get("mid.png")).exists();
+        assertThat(cache.get("new.png")).exists();
+        assertThat(cache.totalBytes()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should forget an entry whose file has gone")
+    void shouldRemoveEntry() throws IOException {
+        // Given
+        final ThumbnailCache cache = new ThumbnailCache(directory.resolve("cache"), 300);
+        cache.put("a.png", file(100));
+        Files.delete(cache.get("a.png"));
+
+        // When
+        cache.remove("a.png");
+
+        // Then
+        assertThat(cache.get("a.png")).isNull();
+        assertThat(cache.totalBytes()).isZero();
+    }
+
+    private Path file(final int size) throws IOException {
+        return Files.write(Files.createTempFile(directory, "thumbnail", null), new byte[size]);
+    }
+}
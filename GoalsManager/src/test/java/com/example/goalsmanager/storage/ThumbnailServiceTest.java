@@ -0,0 +1,123 @@
+package com.example.goalsmanager.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Thumbnail Service Tests")
+class ThumbnailServiceTest {
+
+    @TempDir
+    private Path directory;
+
+    private ImageStorage imageStorage;
+    private ThumbnailService thumbnailService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final ImageStorageProperties properties = new ImageStorageProperties();
+        properties.setDirectory(directory.toString());
+        imageStorage = new ImageStorage(properties);
+        thumbnailService = new ThumbnailService(imageStorage, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        thumbnailService.destroy();
+    }
+
+    @Test
+    @DisplayName("Should make every size in the background, keeping the aspect ratio and format")
+    void shouldGenerateAllSizes() throws Exception {
+        // Given
+        final String photo = imageStorage.store(image(2000, 1000, BufferedImage.TYPE_INT_RGB, "jpg"));
+        final String logo = imageStorage.store(image(200, 400, BufferedImage.TYPE_INT_ARGB, "png"));
+
+        // When
+        thumbnailService.generateAsync(photo);
+        thumbnailService.generateAsync(logo);
+        assertThat(thumbnailService.awaitIdle(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then - photos shrink to each size, small images are never scaled up
+        assertDimensions(photo, ThumbnailSize.LARGE, 640, 320);
+        assertDimensions(photo, ThumbnailSize.CARD, 320, 160);
+        assertDimensions(photo, ThumbnailSize.SMALL, 128, 64);
+        assertThat(thumbnailService.find(photo, ThumbnailSize.CARD).toString()).endsWith("-card.jpg");
+
+        assertDimensions(logo, ThumbnailSize.LARGE, 200, 400);
+        assertDimensions(logo, ThumbnailSize.SMALL, 64, 128);
+        final BufferedImage small = ImageIO.read(thumbnailService.find(logo, ThumbnailSize.SMALL).toFile());
+        assertThat(small.getColorModel().hasAlpha()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should make a thumbnail again when its file has gone from disk")
+    void shouldRegenerateMissingFile() throws Exception {
+        // Given
+        final String photo = imageStorage.store(image(800, 600, BufferedImage.TYPE_INT_RGB, "png"));
+        thumbnailService.generateAsync(photo);
+        assertThat(thumbnailService.awaitIdle(30, TimeUnit.SECONDS)).isTrue();
+        Files.delete(thumbnailService.find(photo, ThumbnailSize.CARD));
+
+        // When
+        thumbnailService.missing(photo, ThumbnailSize.CARD);
+        assertThat(thumbnailService.awaitIdle(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(thumbnailService.find(photo, ThumbnailSize.CARD)).exists();
+        assertDimensions(photo, ThumbnailSize.CARD, 320, 240);
+    }
+
+    @Test
+    @DisplayName("Should queue generation on a miss and skip images it cannot decode")
+    void shouldGenerateOnMiss() throws Exception {
+        // Given
+        final String photo = imageStorage.store(image(800, 600, BufferedImage.TYPE_INT_RGB, "png"));
+
+        // When
+        final Path miss = thumbnailService.find(photo, ThumbnailSize.CARD);
+        assertThat(thumbnailService.awaitIdle(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(miss).isNull();
+        assertDimensions(photo, ThumbnailSize.CARD, 320, 240);
+        assertThat(ThumbnailService.isSupported("a.webp")).isFalse();
+        assertThat(ThumbnailService.name(photo, ThumbnailSize.SMALL)).endsWith("-small.png");
+    }
+
+    private void assertDimensions(final String key, final ThumbnailSize size, final int width, final int height)
+            throws IOException {
+        final Path thumbnail = thumbnailService.find(key, size);
+        assertThat(thumbnail).as(size.parameter()).isNotNull();
+        final BufferedImage image = ImageIO.read(thumbnail.toFile());
+        assertThat(image.getWidth()).as(size.parameter()).isEqualTo(width);
+        assertThat(image.getHeight()).as(size.parameter()).isEqualTo(height);
+    }
+
+    private static ByteArrayInputStream image(final int width, final int height, final int type,
+                                              final String format) throws IOException {
+        final BufferedImage image = new BufferedImage(width, height, type);
+        final Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillOval(0, 0, width, height);
+        graphics.dispose();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+}
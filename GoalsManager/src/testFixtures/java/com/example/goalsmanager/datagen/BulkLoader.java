@@ -0,0 +1,39 @@
+package com.example.goalsmanager.datagen;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Streams rows into one table at a time. Tables are written in full before the next is opened,
+ * which lets the PostgreSQL implementation use a single COPY per table.
+ */
+public interface BulkLoader {
+
+    /**
+     * Writer for one table; rows are flushed in batches and on close
+     */
+    interface TableWriter extends AutoCloseable {
+
+        void row(Object... values) throws SQLException;
+
+        @Override
+        void close() throws SQLException;
+    }
+
+    TableWriter open(String table, String... columns) throws SQLException;
+
+    /**
+     * Make the table's identity column continue after the ids written explicitly
+     */
+    void restartIdentity(String table, long next) throws SQLException;
+
+    /**
+     * COPY for PostgreSQL, batched JDBC inserts for anything else (H2 in tests)
+     */
+    static BulkLoader forConnection(final Connection connection) throws SQLException {
+        if ("PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+            return new PostgresCopyLoader(connection);
+        }
+        return new JdbcBatchLoader(connection, 1_000);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.goalsmanager.datagen;
+
+import java.time.LocalDate;
+
+/**
+ * Shape of a synthetic dataset. Counts per parent are drawn from geometric distributions
+ * around the given means, so most users are light and a long tail owns many goals and habits.
+ *
+ * @param users              number of users
+ * @param meanGoalsPerUser   mean goals per user (at least one each)
+ * @param meanHabitsPerGoal  mean habits per goal (at least one each)
+ * @param meanNotesPerGoal   mean notes per goal (may be zero)
+ * @param maxChildren        cap on goals per user, habits per goal and notes per goal
+ * @param historyDays        days of task history before the current week
+ * @param today              reference date; tasks are generated up to the end of its week
+ * @param sampleSize         how many current-week task ids to keep for callers (reservoir sample)
+ * @param seed               seed; the same spec always produces the same rows
+ */
+public record DatasetSpec(int users, double meanGoalsPerUser, double meanHabitsPerGoal, double meanNotesPerGoal,
+                          int maxChildren, int historyDays, LocalDate today, int sampleSize, long seed) {
+
+    public DatasetSpec {
+        if (users < 1) {
+            throw new IllegalArgumentException("At least one user is required");
+        }
+        if (meanGoalsPerUser < 1 || meanHabitsPerGoal < 1 || meanNotesPerGoal < 0) {
+            throw new IllegalArgumentException("Mean goals and habits must be at least 1, mean notes at least 0");
+        }
+    }
+
+    /**
+     * A few thousand rows; fast enough for unit tests
+     */
+    public static DatasetSpec small() {
+        return new DatasetSpec(50, 2, 2, 2, 10, 28, LocalDate.now(), 10_000, 42L);
+    }
+
+    /**
+     * Production scale: 100k users, ~1.2M habits and a few hundred million task rows.
+     * Load into PostgreSQL only.
+     */
+    public static DatasetSpec production() {
+        return new DatasetSpec(100_000, 4, 3, 5, 50, 365, LocalDate.now(), 100_000, 42L);
+    }
+
+    /**
+     * Override any field from system properties named prefix + field name, e.g. datagen.users
+     */
+    public DatasetSpec withSystemProperties(final String prefix) {
+        return new DatasetSpec(
+                Integer.getInteger(prefix + "users", users),
+                doubleProperty(prefix + "meanGoalsPerUser", meanGoalsPerUser),
+                doubleProperty(prefix + "meanHabitsPerGoal", meanHabitsPerGoal),
+                doubleProperty(prefix + "meanNotesPerGoal", meanNotesPerGoal),
+                Integer.getInteger(prefix + "maxChildren", maxChildren),
+                Integer.getInteger(prefix + "historyDays", historyDays),
+                System.getProperty(prefix + "today") == null ? today : LocalDate.parse(System.getProperty(prefix + "today")),
+                Integer.getInteger(prefix + "sampleSize", sampleSize),
+                Long.getLong(prefix + "seed", seed));
+    }
+
+    public DatasetSpec withUsers(final int newUsers) {
+        return new DatasetSpec(newUsers, meanGoalsPerUser, meanHabitsPerGoal, meanNotesPerGoal,
+                maxChildren, historyDays, today, sampleSize, seed);
+    }
+
+    public DatasetSpec withHistoryDays(final int newHistoryDays) {
+        return new DatasetSpec(users, meanGoalsPerUser, meanHabitsPerGoal, meanNotesPerGoal,
+                maxChildren, newHistoryDays, today, sampleSize, seed);
+    }
+
+    public DatasetSpec withSeed(final long newSeed) {
+        return new DatasetSpec(users, meanGoalsPerUser, meanHabitsPerGoal, meanNotesPerGoal,
+                maxChildren, historyDays, today, sampleSize, newSeed);
+    }
+
+    private static double doubleProperty(final String name, final double defaultValue) {
+        final String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.goalsmanager.datagen;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * What the generator wrote. Ids of users, goals, habits and notes are dense and start at 1,
+ * so a random id in [1, count] always exists.
+ *
+ * @param currentWeekTaskIds uniform sample of task ids dated in the current week
+ */
+public record GeneratedDataset(long users, long goals, long habits, long tasks, long notes,
+                               LocalDate weekStart, long[] currentWeekTaskIds, Duration elapsed) {
+
+    public long totalRows() {
+        return users + goals + habits + tasks + notes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d users, %,d goals, %,d habits, %,d tasks, %,d notes in %,d ms (%,.0f rows/s)",
+                users, goals, habits, tasks, notes, elapsed.toMillis(),
+                totalRows() / Math.max(elapsed.toNanos() / 1e9, 1e-9));
+    }
+}
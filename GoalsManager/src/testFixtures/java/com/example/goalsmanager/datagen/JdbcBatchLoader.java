@@ -0,0 +1,68 @@
+package com.example.goalsmanager.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+
+/**
+ * Batched multi-row JDBC inserts, committed once per batch
+ */
+final class JdbcBatchLoader implements BulkLoader {
+
+    private final Connection connection;
+    private final int batchSize;
+
+    JdbcBatchLoader(final Connection connection, final int batchSize) {
+        this.connection = connection;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public TableWriter open(final String table, final String... columns) throws SQLException {
+        final String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        final PreparedStatement statement = connection.prepareStatement(sql);
+
+        return new TableWriter() {
+            private int pending;
+
+            @Override
+            public void row(final Object... values) throws SQLException {
+                for (int i = 0; i < values.length; i++) {
+                    statement.setObject(i + 1, values[i]);
+                }
+                statement.addBatch();
+                if (++pending == batchSize) {
+                    flush();
+                }
+            }
+
+            @Override
+            public void close() throws SQLException {
+                try {
+                    flush();
+                } finally {
+                    statement.close();
+                }
+            }
+
+            private void flush() throws SQLException {
+                if (pending > 0) {
+                    statement.executeBatch();
+                    if (!connection.getAutoCommit()) {
+                        connection.commit();
+                    }
+                    pending = 0;
+                }
+            }
+        };
+    }
+
+    @Override
+    public void restartIdentity(final String table, final long next) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+    }
+}
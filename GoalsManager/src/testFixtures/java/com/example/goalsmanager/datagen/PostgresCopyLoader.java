@@ -0,0 +1,106 @@
+package com.example.goalsmanager.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * COPY FROM STDIN in text format, streamed in 1 MB chunks so memory stays flat
+ * regardless of table size
+ */
+final class PostgresCopyLoader implements BulkLoader {
+
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    private final Connection connection;
+
+    PostgresCopyLoader(final Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public TableWriter open(final String table, final String... columns) throws SQLException {
+        final CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN");
+
+        return new TableWriter() {
+            private final StringBuilder buffer = new StringBuilder(CHUNK_SIZE + 1024);
+
+            @Override
+            public void row(final Object... values) throws SQLException {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        buffer.append('\t');
+                    }
+                    append(values[i]);
+                }
+                buffer.append('\n');
+                if (buffer.length() >= CHUNK_SIZE) {
+                    flush();
+                }
+            }
+
+            @Override
+            public void close() throws SQLException {
+                try {
+                    flush();
+                    copy.endCopy();
+                } finally {
+                    if (copy.isActive()) {
+                        copy.cancelCopy();
+                    }
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            }
+
+            private void flush() throws SQLException {
+                final byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+                copy.writeToCopy(bytes, 0, bytes.length);
+                buffer.setLength(0);
+            }
+
+            private void append(final Object value) {
+                if (value == null) {
+                    buffer.append("\\N");
+                } else if (value instanceof Boolean bool) {
+                    buffer.append(bool ? 't' : 'f');
+                } else if (value instanceof LocalDateTime dateTime) {
+                    buffer.append(dateTime.toLocalDate()).append(' ').append(dateTime.toLocalTime());
+                } else if (value instanceof Number || value instanceof LocalDate) {
+                    buffer.append(value);
+                } else {
+                    escape(value.toString());
+                }
+            }
+
+            private void escape(final String text) {
+                for (int i = 0; i < text.length(); i++) {
+                    final char c = text.charAt(i);
+                    switch (c) {
+                        case '\\' -> buffer.append("\\\\");
+                        case '\t' -> buffer.append("\\t");
+                        case '\n' -> buffer.append("\\n");
+                        case '\r' -> buffer.append("\\r");
+                        default -> buffer.append(c);
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public void restartIdentity(final String table, final long next) throws SQLException {
+        try (var statement = connection.prepareStatement("SELECT setval(pg_get_serial_sequence(?, 'id'), ?, false)")) {
+            statement.setString(1, table);
+            statement.setLong(2, next);
+            statement.execute();
+        }
+    }
+}
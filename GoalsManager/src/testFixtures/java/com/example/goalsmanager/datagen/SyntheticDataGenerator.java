@@ -0,0 +1,535 @@
+package com.example.goalsmanager.datagen;
+
+import com.example.goalsmanager.goalutils.HabitSchedule;
+import com.example.goalsmanager.goalutils.NotePreview;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk-loads a synthetic dataset (users, goals, habits, tasks and notes) into an existing schema,
+ * along with the daily completion rollups and goal progress counters the services keep for them.
+ *
+ * Rows are streamed table by table through a {@link BulkLoader} and never held in memory, so the
+ * same code seeds a few thousand rows for a test or hundreds of millions for PostgreSQL.
+ * Every user, goal and habit draws from its own seeded random stream; each table pass can
+ * therefore re-derive the same structure instead of remembering it.
+ *
+ * Shared by the unit tests, the load tests (src/loadTest) and the JMH benchmarks (src/jmh).
+ * Run standalone with ./gradlew generateData, see PERFORMANCE.md.
+ */
+public final class SyntheticDataGenerator {
+
+    private static final String[] SCHEDULES = {
+            "Mon, Tue, Wed, Thu, Fri, Sat, Sun", "Mon, Tue, Wed, Thu, Fri", "Mon, Wed, Fri", "Tue, Thu", "Sat, Sun"
+    };
+    /** Cumulative weights in percent: daily habits are the most common, weekend-only the rarest */
+    private static final int[] SCHEDULE_WEIGHTS = {40, 65, 85, 95, 100};
+    private static final List<Set<DayOfWeek>> SCHEDULE_DAYS = Arrays.stream(SCHEDULES)
+            .map(HabitSchedule::parseDaysOfWeek)
+            .toList();
+    private static final String[] COLORS = {"#3B82F6", "#10B981", "#F59E0B", "#EF4444", "#8B5CF6", "#EC4899"};
+    /** Journal sentences for note content; each '#' becomes a random number */
+    private static final String[] NOTE_SENTENCES = {
+            "Kept the routine today and felt steady.",
+            "Ran # km at an easy pace, legs were heavy for the first # minutes.",
+            "Slept # hours, which made the morning session much easier.",
+            "Skipped the evening slot because work ran late until #:30.",
+            "Read # pages before bed and wrote down two ideas worth trying.",
+            "Next: push a little further and keep notes on how it goes.",
+            "Coach suggested cutting the warm-up to # minutes and adding strides.",
+            "Mood #/10. Energy dipped after lunch again, probably the coffee.",
+            "Spent # minutes on drills; the left side still lags behind.",
+            "Tracked every meal today, around # kcal in total."
+    };
+    /** Share of notes, in percent, that are long journal entries rather than a line or two */
+    private static final int LONG_NOTE_PERCENT = 10;
+
+    private static final long USER_STREAM = 1;
+    private static final long GOAL_STREAM = 2;
+    private static final long HABIT_STREAM = 3;
+    private static final long SAMPLE_STREAM = 4;
+
+    private final DatasetSpec spec;
+    private final LocalDate windowStart;
+    private final LocalDate weekStart;
+    private final LocalDate weekEnd;
+
+    public SyntheticDataGenerator(final DatasetSpec spec) {
+        this.spec = spec;
+        this.weekStart = spec.today().with(DayOfWeek.MONDAY);
+        this.weekEnd = weekStart.plusDays(6);
+        this.windowStart = weekStart.minusDays(spec.historyDays());
+    }
+
+    /**
+     * Write the dataset into empty tables. Uses the connection's auto-commit mode as found;
+     * with auto-commit off, each batch or COPY is committed as it completes.
+     */
+    public GeneratedDataset generate(final Connection connection) throws SQLException {
+        final long start = System.nanoTime();
+        final BulkLoader loader = BulkLoader.forConnection(connection);
+
+        final long users = writeUsers(loader);
+        final long goals = writeGoals(loader);
+        final long habits = writeHabits(loader);
+        final long notes = writeNotes(loader);
+        final TaskResult tasks = writeTasks(loader);
+        final long habitRollups = writeHabitRollups(loader);
+        final long goalRollups = writeGoalRollups(loader);
+
+        loader.restartIdentity("users", users + 1);
+        loader.restartIdentity("goals", goals + 1);
+        loader.restartIdentity("habits", habits + 1);
+        loader.restartIdentity("notes", notes + 1);
+        loader.restartIdentity("tasks", tasks.count + 1);
+        loader.restartIdentity("habit_daily_rollups", habitRollups + 1);
+        loader.restartIdentity("goal_daily_rollups", goalRollups + 1);
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+
+        return new GeneratedDataset(users, goals, habits, tasks.count, notes, weekStart,
+                tasks.sample, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private long writeUsers(final BulkLoader loader) throws SQLException {
+        final LocalDateTime created = windowStart.atTime(LocalTime.of(9, 0));
+        try (BulkLoader.TableWriter users = loader.open("users",
+                "id", "provider", "provider_id", "username", "email", "name", "created_at", "updated_at")) {
+            for (long userId = 1; userId <= spec.users(); userId++) {
+                users.row(userId, "github", "gen-" + userId, "user" + userId, "user" + userId + "@example.com",
+                        "User " + userId, created, created);
+            }
+        }
+        return spec.users();
+    }
+
+    /**
+     * Goals with their progress counters, which count tasks dated up to today
+     */
+    private long writeGoals(final BulkLoader loader) throws SQLException {
+        long goalId = 0;
+        long habitId = 0;
+        final GoalDays goalDays = new GoalDays();
+        try (BulkLoader.TableWriter goals = loader.open("goals",
+                "id", "title", "description", "start_date", "end_date", "status", "scheduled_tasks", "completed_tasks",
+                "progress_date", "user_id", "created_at", "updated_at")) {
+            for (long userId = 1; userId <= spec.users(); userId++) {
+                final UserPlan plan = plan(userId);
+                int habitIndex = 0;
+                for (int g = 0; g < plan.habitsPerGoal.length; g++) {
+                    goalId++;
+                    goalDays.fill(plan, habitIndex, habitId + 1, plan.habitsPerGoal[g]);
+                    habitIndex += plan.habitsPerGoal[g];
+                    habitId += plan.habitsPerGoal[g];
+                    final SplittableRandom random = stream(GOAL_STREAM, goalId);
+                    final String status = random.nextInt(10) < 8 ? "IN_PROGRESS" : "NOT_STARTED";
+                    final LocalDateTime created = windowStart.atTime(LocalTime.of(9, 0)).plusMinutes(g);
+                    goals.row(goalId, "Goal " + (g + 1) + " of user " + userId,
+                            "Keep showing up every day and track the progress in the journal",
+                            windowStart, weekEnd.plusMonths(6), status, goalDays.scheduledUpTo(spec.today()),
+                            goalDays.completedUpTo(spec.today()), spec.today(), userId, created, created);
+                }
+            }
+        }
+        return goalId;
+    }
+
+    private long writeHabits(final BulkLoader loader) throws SQLException {
+        long goalId = 0;
+        long habitId = 0;
+        final HabitTasks habitTasks = new HabitTasks();
+        try (BulkLoader.TableWriter habits = loader.open("habits",
+                "id", "name", "description", "days_of_week", "start_date", "end_date", "streak_status", "color",
+                "goal_id", "user_id", "created_at", "updated_at")) {
+            for (long userId = 1; userId <= spec.users(); userId++) {
+                final UserPlan plan = plan(userId);
+                int habitIndex = 0;
+                for (int g = 0; g < plan.habitsPerGoal.length; g++) {
+                    goalId++;
+                    for (int h = 0; h < plan.habitsPerGoal[g]; h++, habitIndex++) {
+                        habitId++;
+                        final LocalDate startDate = plan.habitStart(habitIndex);
+                        habitTasks.fill(plan, habitIndex, habitId);
+                        habits.row(habitId, "Habit " + (h + 1) + " of goal " + goalId, null,
+                                SCHEDULES[plan.schedules[habitIndex]], startDate, weekEnd.plusMonths(6),
+                                habitTasks.currentStreak(), COLORS[(int) (habitId % COLORS.length)],
+                                goalId, userId, startDate.atTime(LocalTime.NOON), startDate.atTime(LocalTime.NOON));
+                    }
+                }
+            }
+        }
+        return habitId;
+    }
+
+    private TaskResult writeTasks(final BulkLoader loader) throws SQLException {
+        long goalId = 0;
+        long habitId = 0;
+        long taskId = 0;
+        final HabitTasks habitTasks = new HabitTasks();
+        final Reservoir sample = new Reservoir(spec.sampleSize(), stream(SAMPLE_STREAM, 0));
+        try (BulkLoader.TableWriter tasks = loader.open("tasks",
+                "id", "name", "completed", "date", "habit_id", "user_id", "created_at", "updated_at")) {
+            for (long userId = 1; userId <= spec.users(); userId++) {
+                final UserPlan plan = plan(userId);
+                int habitIndex = 0;
+                for (int g = 0; g < plan.habitsPerGoal.length; g++) {
+                    goalId++;
+                    for (int h = 0; h < plan.habitsPerGoal[g]; h++, habitIndex++) {
+                        habitId++;
+                        habitTasks.fill(plan, habitIndex, habitId);
+                        final String name = "Habit " + (h + 1) + " of goal " + goalId;
+                        for (int i = 0; i < habitTasks.size; i++) {
+                            taskId++;
+                            final LocalDate date = habitTasks.dates.get(i);
+                            final LocalDateTime created = date.atTime(LocalTime.MIDNIGHT);
+                            tasks.row(taskId, name, habitTasks.completed[i], date, habitId, userId, created,
+                                    habitTasks.completed[i] ? date.atTime(20, 0) : created);
+                            if (!date.isBefore(weekStart)) {
+                                sample.offer(taskId);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return new TaskResult(taskId, sample.toArray());
+    }
+
+    /**
+     * One habit rollup row per task, as every habit has at most one task a day
+     */
+    private long writeHabitRollups(final BulkLoader loader) throws SQLException {
+        long habitId = 0;
+        long rollupId = 0;
+        final HabitTasks habitTasks = new HabitTasks();
+        try (BulkLoader.TableWriter rollups = loader.open("habit_daily_rollups",
+                "id", "habit_id", "date", "scheduled", "completed")) {
+            for (long userId = 1; userId <= spec.users(); userId++) {
+                final UserPlan plan = plan(userId);
+                for (int habitIndex = 0; habitIndex < plan.schedules.length; habitIndex++) {
+                    habitId++;
+                    habitTasks.fill(plan, habitIndex, habitId);
+                    for (int i = 0; i < habitTasks.size; i++) {
+                        rollups.row(++rollupId, habitId, habitTasks.dates.get(i), 1, habitTasks.completed[i] ? 1 : 0);
+                    }
+                }
+            }
+        }
+        return rollupId;
+    }
+
+    private long writeGoalRollups(final BulkLoader loader) throws SQLException {
+        long goalId = 0;
+        long habitId = 0;
+        long rollupId = 0;
+        final GoalDays goalDays = new GoalDays();
+        try (BulkLoader.TableWriter rollups = loader.open("goal_daily_rollups",
+                "id", "goal_id", "date", "scheduled", "completed")) {
+            for (long userId = 1; userId <= spec.users(); userId++) {
+                final UserPlan plan = plan(userId);
+                int habitIndex = 0;
+                for (int g = 0; g < plan.habitsPerGoal.length; g++) {
+                    goalId++;
+                    goalDays.fill(plan, habitIndex, habitId + 1, plan.habitsPerGoal[g]);
+                    habitIndex += plan.habitsPerGoal[g];
+                    habitId += plan.habitsPerGoal[g];
+                    for (int day = 0; day < goalDays.scheduled.length; day++) {
+                        if (goalDays.scheduled[day] > 0) {
+                            rollups.row(++rollupId, goalId, windowStart.plusDays(day),
+                                    goalDays.scheduled[day], goalDays.completed[day]);
+                        }
+                    }
+                }
+            }
+        }
+        return rollupId;
+    }
+
+    private long writeNotes(final BulkLoader loader) throws SQLException {
+        final long[] noteId = {0};
+        try (BulkLoader.TableWriter notes = loader.open("notes", "id", "content", "preview", "content_length", "goal_id", "created_at")) {
+            forEachNote((goalId, created, content) ->
+                    notes.row(++noteId[0], content, NotePreview.of(content), NotePreview.length(content), goalId, created));
+        }
+        return noteId[0];
+    }
+
+    /**
+     * Content of every note the dataset holds, in id order, without a database; e.g. as a corpus
+     * for the note compression benchmark
+     */
+    public List<String> noteContents() {
+        final List<String> contents = new ArrayList<>();
+        try {
+            forEachNote((goalId, created, content) -> contents.add(content));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return contents;
+    }
+
+    private interface NoteSink {
+        void accept(long goalId, LocalDateTime created, String content) throws SQLException;
+    }
+
+    private void forEachNote(final NoteSink sink) throws SQLException {
+        long goalId = 0;
+        for (long userId = 1; userId <= spec.users(); userId++) {
+            final UserPlan plan = plan(userId);
+            for (int g = 0; g < plan.habitsPerGoal.length; g++) {
+                goalId++;
+                final SplittableRandom random = stream(GOAL_STREAM, goalId);
+                random.nextInt(); // status draw in writeGoals
+                final int count = geometric(random, spec.meanNotesPerGoal(), 0, spec.maxChildren());
+                for (int n = 0; n < count; n++) {
+                    final LocalDateTime created = windowStart
+                            .plusDays(random.nextInt(spec.historyDays() + 7))
+                            .atTime(LocalTime.of(21, 0));
+                    sink.accept(goalId, created, noteContent(random, n + 1));
+                }
+            }
+        }
+    }
+
+    /**
+     * A note of one to three sentences, or for {@link #LONG_NOTE_PERCENT} of notes a journal
+     * entry of 15 to 80 sentences (roughly 1-4 KB) in paragraphs of five
+     */
+    private static String noteContent(final SplittableRandom random, final int day) {
+        final boolean longEntry = random.nextInt(100) < LONG_NOTE_PERCENT;
+        final int sentences = longEntry ? 15 + random.nextInt(66) : 1 + random.nextInt(3);
+        final StringBuilder content = new StringBuilder("Day ").append(day).append(": ");
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) {
+                content.append(i % 5 == 0 ? "\n\n" : " ");
+            }
+            final String sentence = NOTE_SENTENCES[random.nextInt(NOTE_SENTENCES.length)];
+            for (int c = 0; c < sentence.length(); c++) {
+                if (sentence.charAt(c) == '#') {
+                    content.append(1 + random.nextInt(60));
+                } else {
+                    content.append(sentence.charAt(c));
+                }
+            }
+        }
+        return content.toString();
+    }
+
+    /**
+     * Structure of one user's data: goals, habits per goal, and each habit's schedule and start
+     */
+    private UserPlan plan(final long userId) {
+        final SplittableRandom random = stream(USER_STREAM, userId);
+        final int goalCount = geometric(random, spec.meanGoalsPerUser(), 1, spec.maxChildren());
+        final double completionRate = 0.2 + 0.75 * random.nextDouble();
+
+        final int[] habitsPerGoal = new int[goalCount];
+        int habitCount = 0;
+        for (int g = 0; g < goalCount; g++) {
+            habitsPerGoal[g] = geometric(random, spec.meanHabitsPerGoal(), 1, spec.maxChildren());
+            habitCount += habitsPerGoal[g];
+        }
+
+        final byte[] schedules = new byte[habitCount];
+        final int[] startOffsets = new int[habitCount];
+        for (int h = 0; h < habitCount; h++) {
+            final int roll = random.nextInt(100);
+            int schedule = 0;
+            while (roll >= SCHEDULE_WEIGHTS[schedule]) {
+                schedule++;
+            }
+            schedules[h] = (byte) schedule;
+            // Skew towards older habits: most of the history belongs to long-running habits
+            final double u = random.nextDouble();
+            startOffsets[h] = (int) (spec.historyDays() * u * u);
+        }
+        return new UserPlan(habitsPerGoal, schedules, startOffsets, completionRate);
+    }
+
+    private SplittableRandom stream(final long kind, final long id) {
+        return new SplittableRandom(spec.seed() ^ (kind * 0x9E3779B97F4A7C15L) ^ (id * 0xBF58476D1CE4E5B9L));
+    }
+
+    /**
+     * Geometric draw with the given mean, shifted to start at min and capped at max
+     */
+    static int geometric(final SplittableRandom random, final double mean, final int min, final int max) {
+        final double excess = mean - min;
+        if (excess <= 0) {
+            return min;
+        }
+        final double p = 1 / (excess + 1);
+        final int value = min + (int) (Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+        return Math.min(value, max);
+    }
+
+    /**
+     * Command line entry point; settings come from -Ddatagen.* system properties
+     */
+    public static void main(final String[] args) throws SQLException {
+        final String url = System.getProperty("datagen.url");
+        if (url == null) {
+            throw new IllegalArgumentException("datagen.url is required, e.g. -Pdatagen.url=jdbc:postgresql://localhost:5432/project_mercury");
+        }
+        final DatasetSpec spec = DatasetSpec.production().withSystemProperties("datagen.");
+        try (Connection connection = DriverManager.getConnection(url,
+                System.getProperty("datagen.username", "postgres"), System.getProperty("datagen.password", "postgres"))) {
+            connection.setAutoCommit(false);
+            System.out.println("Generated " + new SyntheticDataGenerator(spec).generate(connection));
+        }
+    }
+
+    private record TaskResult(long count, long[] sample) {
+    }
+
+    private final class UserPlan {
+
+        private final int[] habitsPerGoal;
+        private final byte[] schedules;
+        private final int[] startOffsets;
+        private final double completionRate;
+
+        private UserPlan(final int[] habitsPerGoal, final byte[] schedules, final int[] startOffsets,
+                         final double completionRate) {
+            this.habitsPerGoal = habitsPerGoal;
+            this.schedules = schedules;
+            this.startOffsets = startOffsets;
+            this.completionRate = completionRate;
+        }
+
+        private LocalDate habitStart(final int habitIndex) {
+            return windowStart.plusDays(startOffsets[habitIndex]);
+        }
+    }
+
+    /**
+     * Scheduled dates of one habit up to the end of the current week, with completion flags.
+     * Reused across habits to avoid garbage on large runs.
+     */
+    private final class HabitTasks {
+
+        private List<LocalDate> dates = List.of();
+        private boolean[] completed = new boolean[512];
+        private int size;
+
+        private void fill(final UserPlan plan, final int habitIndex, final long habitId) {
+            dates = HabitSchedule.scheduledDates(SCHEDULE_DAYS.get(plan.schedules[habitIndex]),
+                    plan.habitStart(habitIndex), weekEnd, windowStart, weekEnd);
+            size = dates.size();
+            if (completed.length < size) {
+                completed = new boolean[size * 2];
+            }
+            final SplittableRandom random = stream(HABIT_STREAM, habitId);
+            final LocalDate today = spec.today();
+            for (int i = 0; i < size; i++) {
+                completed[i] = !dates.get(i).isAfter(today) && random.nextDouble() < plan.completionRate;
+            }
+        }
+
+        /**
+         * Same rule as StreakCalculator: consecutive completed tasks counting back from today
+         */
+        private int currentStreak() {
+            final LocalDate today = spec.today();
+            int streak = 0;
+            for (int i = size - 1; i >= 0; i--) {
+                if (dates.get(i).isAfter(today)) {
+                    continue;
+                }
+                if (!completed[i]) {
+                    break;
+                }
+                streak++;
+            }
+            return streak;
+        }
+    }
+
+    /**
+     * Task and completion counts per day across the habits of one goal, indexed from the window start.
+     * Reused across goals like {@link HabitTasks}.
+     */
+    private final class GoalDays {
+
+        private final HabitTasks habitTasks = new HabitTasks();
+        private final int[] scheduled = new int[(int) ChronoUnit.DAYS.between(windowStart, weekEnd) + 1];
+        private final int[] completed = new int[scheduled.length];
+
+        private void fill(final UserPlan plan, final int firstHabitIndex, final long firstHabitId, final int habits) {
+            Arrays.fill(scheduled, 0);
+            Arrays.fill(completed, 0);
+            for (int h = 0; h < habits; h++) {
+                habitTasks.fill(plan, firstHabitIndex + h, firstHabitId + h);
+                for (int i = 0; i < habitTasks.size; i++) {
+                    final int day = (int) ChronoUnit.DAYS.between(windowStart, habitTasks.dates.get(i));
+                    scheduled[day]++;
+                    if (habitTasks.completed[i]) {
+                        completed[day]++;
+                    }
+                }
+            }
+        }
+
+        private int scheduledUpTo(final LocalDate date) {
+            return sumUpTo(scheduled, date);
+        }
+
+        private int completedUpTo(final LocalDate date) {
+            return sumUpTo(completed, date);
+        }
+
+        private int sumUpTo(final int[] counts, final LocalDate date) {
+            final int last = (int) Math.min(ChronoUnit.DAYS.between(windowStart, date), counts.length - 1);
+            int sum = 0;
+            for (int day = 0; day <= last; day++) {
+                sum += counts[day];
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Uniform sample of a stream of ids (algorithm R)
+     */
+    private static final class Reservoir {
+
+        private final long[] ids;
+        private final SplittableRandom random;
+        private long seen;
+
+        private Reservoir(final int capacity, final SplittableRandom random) {
+            this.ids = new long[capacity];
+            this.random = random;
+        }
+
+        private void offer(final long id) {
+            if (seen < ids.length) {
+                ids[(int) seen] = id;
+            } else {
+                final long slot = random.nextLong(seen + 1);
+                if (slot < ids.length) {
+                    ids[(int) slot] = id;
+                }
+            }
+            seen++;
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(ids, (int) Math.min(seen, ids.length));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.goalsmanager.fixtures;
+
+import com.example.goalsmanager.goalutils.GoalStatus;
+import com.example.goalsmanager.model.Goal;
+import com.example.goalsmanager.model.Habit;
+import com.example.goalsmanager.model.Task;
+import com.example.goalsmanager.model.User;
+import com.example.goalsmanager.repository.GoalRepository;
+import com.example.goalsmanager.repository.HabitRepository;
+import com.example.goalsmanager.repository.TaskRepository;
+import com.example.goalsmanager.repository.UserRepository;
+import com.example.goalsmanager.service.HabitBitmapService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Users, goals, habits and tasks for the integration tests, saved through the repositories.
+ * Found by component scanning wherever the test fixtures are on the classpath.
+ */
+@Component
+public class EntityFixtures {
+
+    /**
+     * Default start of goals and habits
+     */
+    public static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private final UserRepository userRepository;
+    private final GoalRepository goalRepository;
+    private final HabitRepository habitRepository;
+    private final TaskRepository taskRepository;
+    private final HabitBitmapService habitBitmapService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public EntityFixtures(final UserRepository userRepository, final GoalRepository goalRepository,
+                          final HabitRepository habitRepository, final TaskRepository taskRepository,
+                          final HabitBitmapService habitBitmapService, final JdbcTemplate jdbcTemplate) {
+        this.userRepository = userRepository;
+        this.goalRepository = goalRepository;
+        this.habitRepository = habitRepository;
+        this.taskRepository = taskRepository;
+        this.habitBitmapService = habitBitmapService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Rows in a table, soft-deleted ones included
+     */
+    public long rows(final String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+
+    /**
+     * A GitHub user with the email {username}@example.com
+     */
+    public User saveUser(final String username, final String providerId) {
+        final User user = new User();
+        user.setProvider("github");
+        user.setProviderId(providerId);
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        return userRepository.save(user);
+    }
+
+    /**
+     * An in-progress goal for a year from {@link #START}
+     */
+    public Goal saveGoal(final User user, final String title) {
+        return saveGoal(user, title, null, START);
+    }
+
+    /**
+     * An in-progress goal for a year from the start date
+     */
+    public Goal saveGoal(final User user, final String title, final String description, final LocalDate startDate) {
+        final Goal goal = new Goal();
+        goal.setTitle(title);
+        goal.setDescription(description);
+        goal.setStartDate(startDate);
+        goal.setEndDate(startDate.plusYears(1));
+        goal.setStatus(GoalStatus.IN_PROGRESS);
+        goal.setUser(user);
+        return goalRepository.save(goal);
+    }
+
+    /**
+     * A daily habit over the goal's dates, without tasks
+     */
+    public Habit saveHabit(final Goal goal, final User user, final String name) {
+        return saveHabit(goal, user, name, null);
+    }
+
+    /**
+     * A daily habit over the goal's dates, without tasks
+     */
+    public Habit saveHabit(final Goal goal, final User user, final String name, final String description) {
+        final Habit habit = new Habit();
+        habit.setName(name);
+        habit.setDescription(description);
+        habit.setDaysOfWeek("Mon,Tue,Wed,Thu,Fri,Sat,Sun");
+        habit.setStartDate(goal.getStartDate());
+        habit.setEndDate(goal.getEndDate());
+        habit.setGoal(goal);
+        habit.setUser(user);
+        return habitRepository.save(habit);
+    }
+
+    /**
+     * Tasks on the habit's first days and its stored bitmap
+     * @param completed whether the task on the nth day is done
+     */
+    public List<Task> saveTasks(final Habit habit, final int days, final IntPredicate completed) {
+        final List<Task> tasks = saveTasksWithoutBitmap(habit, days, completed);
+        habitBitmapService.recordTasks(habit, tasks);
+        return tasks;
+    }
+
+    /**
+     * Tasks on the habit's first days, written as data from before the bitmaps would be
+     * @param completed whether the task on the nth day is done
+     */
+    public List<Task> saveTasksWithoutBitmap(final Habit habit, final int days, final IntPredicate completed) {
+        final List<Task> tasks = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            final Task task = new Task(habit.getName(), habit.getStartDate().plusDays(day), habit, habit.getUser());
+            task.setCompleted(completed.test(day));
+            tasks.add(task);
+        }
+        return taskRepository.saveAll(tasks);
+    }
+}